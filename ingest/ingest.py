@@ -48,6 +48,31 @@ def create_table(cur: cursor) -> None:
     """)
 
 
+def ensure_partitions(cur: cursor, articles: List[Dict[str, Any]]) -> None:
+    """Create the weekly news_articles partitions the batch needs, when the table is partitioned."""
+    cur.execute("SELECT to_regprocedure('create_news_article_partitions(timestamptz,timestamptz)') IS NOT NULL")
+    if not cur.fetchone()[0]:
+        return
+    dates = [article["publication_date"] for article in articles if article.get("publication_date")]
+    if dates:
+        cur.execute("SELECT create_news_article_partitions(%s::timestamptz, %s::timestamptz)",
+                    (min(dates), max(dates)))
+
+
+def delete_moved(cur: cursor, rows: List[tuple]) -> None:
+    """Delete stored articles of the batch whose publication_date changed.
+
+    The partitioned table's key is (id, publication_date), so without this an article whose date
+    moved would be inserted again into another week and show up twice. Afterwards the only
+    possible conflict is the same (id, publication_date), which ON CONFLICT DO NOTHING skips.
+    """
+    execute_values(cur, """
+      DELETE FROM news_articles n
+      USING (VALUES %s) AS v(id, publication_date)
+      WHERE n.id = v.id::uuid AND n.publication_date <> v.publication_date::timestamptz
+    """, [(row[0], row[4]) for row in rows])
+
+
 @backoff.on_exception(backoff.expo, psycopg2.Error, max_tries=3)
 def get_db_connection() -> connection:
     return psycopg2.connect(**DB_CONFIG)
@@ -105,12 +130,16 @@ def main():
                 rows = process_articles(articles)
                 
                 if rows:
+                    # The last copy of an id in the file wins, as in BulkArticleIngestService
+                    rows = list({row[0]: row for row in rows}.values())
+                    ensure_partitions(cur, articles)
+                    delete_moved(cur, rows)
                     execute_values(cur, """
                       INSERT INTO news_articles
                         (id, title, description, url, publication_date, source_name,
                          category, relevance_score, latitude, longitude, geom)
                       VALUES %s
-                      ON CONFLICT (id) DO NOTHING
+                      ON CONFLICT DO NOTHING
                     """, rows)
                     conn.commit()
 
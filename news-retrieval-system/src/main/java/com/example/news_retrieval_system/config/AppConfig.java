@@ -1,14 +1,32 @@
 package com.example.news_retrieval_system.config;
 
+import java.time.Duration;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import io.netty.channel.ChannelOption;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class AppConfig {
@@ -19,8 +37,45 @@ public class AppConfig {
     @Bean
     @Primary
     public ObjectMapper objectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
+        return configure(new ObjectMapper());
+    }
+
+    /**
+     * Smile and CBOR alongside JSON, picked by the Accept header. Both write UUIDs as 16 raw bytes
+     * instead of 36-character strings; Smile also refers back to field names and repeated short
+     * values (source names, categories) already written, which a list of articles is full of.
+     * Replaces the converters Spring would otherwise build with its own, differently configured mappers.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        SmileFactory factory = SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build();
+        return new MappingJackson2SmileHttpMessageConverter(configure(new ObjectMapper(factory)));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(configure(new CBORMapper()));
+    }
+
+    /** zstd for clients that ask for it, above the same threshold Tomcat applies to gzip. */
+    @Bean
+    public FilterRegistrationBean<ZstdResponseFilter> zstdResponseFilter(
+            @Value("${server.compression.min-response-size:2KB}") DataSize minSize,
+            @Value("${server.compression.mime-types:application/json}") List<String> mimeTypes,
+            @Value("${server.compression.zstd.level:3}") int level) {
+        FilterRegistrationBean<ZstdResponseFilter> registration =
+            new FilterRegistrationBean<>(new ZstdResponseFilter(minSize, mimeTypes, level));
+        registration.addUrlPatterns("/api/*");
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+
+    private static <T extends ObjectMapper> T configure(T mapper) {
         mapper.registerModule(new JavaTimeModule());
+        // Generated accessors instead of reflection for every DTO property
+        mapper.registerModule(new BlackbirdModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         return mapper;
     }
@@ -31,8 +86,39 @@ public class AppConfig {
         return WebClient.builder();
     }
 
+    /**
+     * Pooled client for the LLM service. Per-call deadlines are applied by LlmServiceClient; the
+     * timeouts here only bound what a single connection may hold on to.
+     */
     @Bean
-    public WebClient llmServiceClient(WebClient.Builder builder) {
-        return builder.baseUrl(llmServiceUrl).build();
+    public WebClient llmServiceClient(WebClient.Builder builder,
+                                      @Value("${llm.client.max-connections:100}") int maxConnections,
+                                      @Value("${llm.client.connect-timeout-ms:1000}") int connectTimeoutMs,
+                                      @Value("${llm.client.response-timeout-ms:10000}") long responseTimeoutMs) {
+        ConnectionProvider provider = ConnectionProvider.builder("llm-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxConnections * 4)
+                .pendingAcquireTimeout(Duration.ofMillis(connectTimeoutMs))
+                // uvicorn closes idle keep-alive connections after 5s; retire ours first
+                .maxIdleTime(Duration.ofSeconds(4))
+                .evictInBackground(Duration.ofSeconds(10))
+                .build();
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+        return builder.clone()
+                .baseUrl(llmServiceUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    /**
+     * Runs the per-intent branches of a compound query. Branches block on JDBC or Redis, so they
+     * get their own bounded pool rather than Reactor's shared one; excess branches queue.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler intentBranchScheduler(@Value("${intent.fusion.max-threads:16}") int maxThreads) {
+        return Schedulers.newBoundedElastic(maxThreads, maxThreads * 100, "intent-branch");
     }
 }
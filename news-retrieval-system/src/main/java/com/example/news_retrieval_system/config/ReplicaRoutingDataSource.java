@@ -0,0 +1,145 @@
+package com.example.news_retrieval_system.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Read-only side of the datasource: hands out connections from replica pools round-robin,
+ * skipping any replica whose replay lag exceeds {@code maxLagSeconds} or that failed its last
+ * check. When no replica is usable the primary serves the read instead of failing it.
+ *
+ * Replicas start out unhealthy and only take traffic after their first successful lag check.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // A replica that has replayed everything it received is current even if the primary has been idle
+    private static final String LAG_SQL = """
+        SELECT CASE
+            WHEN NOT pg_is_in_recovery() THEN 0
+            WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+            ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+        END
+        """;
+
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService checker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools,
+                                    double maxLagSeconds, long checkIntervalMs) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).collect(Collectors.toList());
+        this.maxLagSeconds = maxLagSeconds;
+        this.checker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.checker.scheduleWithFixedDelay(this::checkReplicas, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException e) {
+                replica.markDown("connection failed: " + e.getMessage());
+            }
+        }
+        logger.debug("No healthy replica available, routing read to primary");
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /** Runs on the checker thread; exposed for tests that cannot wait for the schedule. */
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = query(statement)) {
+                rs.next();
+                double lag = rs.getDouble(1);
+                replica.lagSeconds = lag;
+                if (lag > maxLagSeconds) {
+                    replica.markDown(String.format("replay lag %.1fs exceeds %.1fs", lag, maxLagSeconds));
+                } else {
+                    replica.markUp();
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown("lag check failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private static ResultSet query(Statement statement) throws SQLException {
+        statement.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+        return statement.executeQuery(LAG_SQL);
+    }
+
+    boolean isHealthy(String poolName) {
+        return replicas.stream().anyMatch(r -> r.pool.getPoolName().equals(poolName) && r.healthy);
+    }
+
+    @Override
+    public void close() {
+        checker.shutdownNow();
+        replicas.forEach(r -> r.pool.close());
+    }
+
+    private static final class Replica {
+        private final HikariDataSource pool;
+        private volatile boolean healthy;
+        private volatile double lagSeconds;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                logger.info("Replica {} is serving reads (lag {}s)", pool.getPoolName(), lagSeconds);
+            }
+            healthy = true;
+        }
+
+        private void markDown(String reason) {
+            if (healthy) {
+                logger.warn("Replica {} removed from read rotation: {}", pool.getPoolName(), reason);
+            }
+            healthy = false;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.news_retrieval_system.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.news_retrieval_system.search.ArticleEmbedder;
+import com.example.news_retrieval_system.search.HashingEmbedder;
+
+@Configuration
+public class SemanticSearchConfig {
+
+    /**
+     * Lexical default; declare another {@link ArticleEmbedder} bean to swap in a model-backed one.
+     */
+    @Bean
+    @ConditionalOnMissingBean(ArticleEmbedder.class)
+    public ArticleEmbedder articleEmbedder(@Value("${search.semantic.dimensions:256}") int dimensions) {
+        return new HashingEmbedder(dimensions);
+    }
+}
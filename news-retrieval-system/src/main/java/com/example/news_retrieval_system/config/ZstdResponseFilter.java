@@ -0,0 +1,117 @@
+package com.example.news_retrieval_system.config;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import com.github.luben.zstd.Zstd;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * zstd response compression for clients that accept it. Tomcat only speaks gzip, and skips any
+ * response that already carries a Content-Encoding, so clients sending {@code zstd} get zstd and
+ * everyone else still gets Tomcat's gzip. The same size threshold and media types apply to both.
+ *
+ * The body is buffered to decide on the threshold, which suits the bounded pages this API
+ * returns. Controllers returning a Mono finish on an async dispatch, so the buffer is carried
+ * over and only compressed once the async part has written it, as ShallowEtagHeaderFilter does.
+ */
+public class ZstdResponseFilter extends OncePerRequestFilter {
+
+    private static final String ZSTD = "zstd";
+
+    private final long minSize;
+    private final List<MediaType> mediaTypes;
+    private final int level;
+
+    public ZstdResponseFilter(DataSize minSize, List<String> mimeTypes, int level) {
+        this.minSize = minSize.toBytes();
+        this.mediaTypes = mimeTypes.stream().map(MediaType::parseMediaType).toList();
+        this.level = level;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!acceptsZstd(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (wrapper == null) {
+            wrapper = new ContentCachingResponseWrapper(response);
+        }
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                writeBody(wrapper);
+            }
+        }
+    }
+
+    private void writeBody(ContentCachingResponseWrapper wrapper) throws IOException {
+        HttpServletResponse raw = (HttpServletResponse) wrapper.getResponse();
+        if (!raw.isCommitted()) {
+            raw.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        byte[] body = wrapper.getContentAsByteArray();
+        if (raw.isCommitted() || body.length < minSize || wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) != null
+                || !compressible(wrapper.getContentType())) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        byte[] compressed = Zstd.compress(body, level);
+        raw.setHeader(HttpHeaders.CONTENT_ENCODING, ZSTD);
+        raw.setContentLength(compressed.length);
+        raw.getOutputStream().write(compressed);
+        raw.flushBuffer();
+    }
+
+    private boolean compressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType type = MediaType.parseMediaType(contentType);
+        return mediaTypes.stream().anyMatch(candidate -> candidate.includes(type));
+    }
+
+    static boolean acceptsZstd(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase(ZSTD)) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                try {
+                    if (parameter.startsWith("q=") && Double.parseDouble(parameter.substring(2)) == 0) {
+                        return false;
+                    }
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.news_retrieval_system.controller;
 
 import com.example.news_retrieval_system.dto.NewsArticleDto;
+import com.example.news_retrieval_system.dto.PageCursor;
 import com.example.news_retrieval_system.service.NewsService;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,13 +20,18 @@ public class NewsController {
     private static final Logger logger = LoggerFactory.getLogger(NewsController.class);
     private final NewsService newsService;
     private static final int MIN_QUERY_LENGTH = 3;
+    private static final int MAX_LIMIT = 50;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     public NewsController(NewsService newsService) {
         this.newsService = newsService;
     }
 
     @GetMapping("/query")
-    public Mono<ResponseEntity<List<NewsArticleDto>>> getNews(@RequestParam String q) {
+    public Mono<ResponseEntity<List<NewsArticleDto>>> getNews(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int limit) {
         try {
             // Input validation
             if (q == null || q.trim().isEmpty() || q.trim().length() < MIN_QUERY_LENGTH) {
@@ -33,9 +39,28 @@ public class NewsController {
                 return Mono.just(ResponseEntity.badRequest().body(List.of()));
             }
 
+            if (limit <= 0 || limit > MAX_LIMIT) {
+                logger.warn("Invalid limit parameter: {}", limit);
+                return Mono.just(ResponseEntity.badRequest().body(List.of()));
+            }
+
+            PageCursor pageCursor;
+            try {
+                pageCursor = cursor == null || cursor.isBlank() ? null : PageCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid cursor parameter: {}", e.getMessage());
+                return Mono.just(ResponseEntity.badRequest().body(List.of()));
+            }
+
             // Service call with error handling
-            return newsService.getNewsFromQuery(q.trim())
-                    .map(ResponseEntity::ok)
+            return newsService.getNewsFromQuery(q.trim(), pageCursor, limit)
+                    .map(page -> {
+                        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                        if (page.getNextCursor() != null) {
+                            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+                        }
+                        return response.body(page.getArticles());
+                    })
                     .onErrorResume(e -> {
                         logger.error("Error processing news query: {}", e.getMessage(), e);
                         return Mono.just(ResponseEntity.internalServerError().body(List.of()));
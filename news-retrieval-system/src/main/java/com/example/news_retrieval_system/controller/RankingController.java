@@ -0,0 +1,44 @@
+package com.example.news_retrieval_system.controller;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.news_retrieval_system.ranking.RankingEngine;
+
+@RestController
+@RequestMapping("/api/v1/ranking")
+public class RankingController {
+    private static final Logger logger = LoggerFactory.getLogger(RankingController.class);
+
+    private final RankingEngine rankingEngine;
+
+    public RankingController(RankingEngine rankingEngine) {
+        this.rankingEngine = rankingEngine;
+    }
+
+    @GetMapping("/weights")
+    public ResponseEntity<Map<String, Double>> getWeights() {
+        return ResponseEntity.ok(rankingEngine.getWeights());
+    }
+
+    /**
+     * Changes the weights of the named features; features left out keep their current weight.
+     */
+    @PutMapping("/weights")
+    public ResponseEntity<Map<String, ?>> updateWeights(@RequestBody Map<String, Double> weights) {
+        try {
+            return ResponseEntity.ok(rankingEngine.updateWeights(weights));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected ranking weights {}: {}", weights, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -9,10 +9,12 @@ import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.news_retrieval_system.service.TestDataLoaderService;
@@ -28,20 +30,32 @@ public class TestDataController {
         this.testDataLoaderService = testDataLoaderService;
     }
 
+    /** Starts synthetic user-event traffic in the background; progress is reported by /status. */
     @PostMapping("/generate")
-    public ResponseEntity<String> generateTestData() {
+    public ResponseEntity<Map<String, Object>> generateTestData(
+            @RequestParam(required = false) Integer rate,
+            @RequestParam(required = false) Integer durationSeconds,
+            @RequestParam(required = false) Long maxEvents) {
         try {
-            testDataLoaderService.loadTestData();
-            return ResponseEntity.ok("Test data generation completed. Check /status for details.");
-        } catch (InterruptedException e) {
-            logger.error("Test data generation was interrupted", e);
-            return ResponseEntity.status(503).body("Test data generation was interrupted: " + e.getMessage());
+            if (!testDataLoaderService.loadTestData(rate, durationSeconds, maxEvents)) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(testDataLoaderService.getTrafficStatus());
+            }
+            return ResponseEntity.accepted().body(testDataLoaderService.getTrafficStatus());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error generating test data", e);
-            return ResponseEntity.internalServerError().body("Error generating test data: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(
+                Collections.singletonMap("error", "Error generating test data: " + e.getMessage()));
         }
     }
 
+    @PostMapping("/stop")
+    public ResponseEntity<Map<String, Object>> stopTestData() {
+        testDataLoaderService.stopTestData();
+        return ResponseEntity.ok(testDataLoaderService.getTrafficStatus());
+    }
+
     @GetMapping("/status")
     public ResponseEntity<Map<String, Object>> getTestDataStatus() {
         try {
@@ -55,6 +69,7 @@ public class TestDataController {
             
             Optional<LocalDateTime> lastGenerated = testDataLoaderService.getLastGeneratedTime();
             lastGenerated.ifPresent(time -> status.put("lastGenerated", time.toString()));
+            status.put("traffic", testDataLoaderService.getTrafficStatus());
 
             return ResponseEntity.ok(status);
         } catch (Exception e) {
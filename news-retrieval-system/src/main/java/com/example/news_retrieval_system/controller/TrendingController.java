@@ -1,24 +1,59 @@
 package com.example.news_retrieval_system.controller;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.news_retrieval_system.dedup.ArticleClusterService;
+import com.example.news_retrieval_system.dto.HeatmapArticle;
+import com.example.news_retrieval_system.dto.HeatmapTile;
 import com.example.news_retrieval_system.dto.NewsArticleDto;
-import com.example.news_retrieval_system.model.NewsArticle;
+import com.example.news_retrieval_system.dto.PageCursor;
+import com.example.news_retrieval_system.dto.TrendingBatchRequest;
+import com.example.news_retrieval_system.dto.TrendingBatchResult;
+import com.example.news_retrieval_system.dto.TrendingEntry;
+import com.example.news_retrieval_system.dto.TrendingHeatmap;
+import com.example.news_retrieval_system.dto.TrendingLocation;
+import com.example.news_retrieval_system.geo.RecentArticleIndex;
+import com.example.news_retrieval_system.model.NewsArticleView;
+import com.example.news_retrieval_system.ranking.RankingContext;
+import com.example.news_retrieval_system.ranking.RankingEngine;
 import com.example.news_retrieval_system.repository.NewsArticleRepository;
 import com.example.news_retrieval_system.service.RedisService;
+import com.example.news_retrieval_system.service.TrendingCompactor;
+import com.example.news_retrieval_system.service.TrendingRebuildService;
+import com.example.news_retrieval_system.service.TrendingTiles;
+import com.example.news_retrieval_system.streams.TrendingStreamsService;
+
+import ch.hsr.geohash.WGS84Point;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -27,31 +62,80 @@ public class TrendingController {
     private static final Logger logger = LoggerFactory.getLogger(TrendingController.class);
     private static final double MAX_DISTANCE_KM = 100.0; // Maximum radius for fallback articles
     private static final int MAX_LIMIT = 50;
+    private static final int MAX_BATCH_LOCATIONS = 200;
+    private static final int MAX_HEATMAP_ARTICLES = 10;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String TRENDING_PHASE = "trending";
+    private static final String FALLBACK_PHASE = "fallback";
+    // Anchor of a fallback cursor that starts the fallback ranking from its first article
+    private static final UUID FALLBACK_START = new UUID(0, 0);
 
     private final RedisService redisService;
     private final NewsArticleRepository newsArticleRepository;
+    private final RankingEngine rankingEngine;
+    private final RecentArticleIndex recentArticleIndex;
+    private final TrendingCompactor trendingCompactor;
+    private final TrendingTiles trendingTiles;
+    private final TrendingStreamsService trendingStreams;
+    private final ArticleClusterService clusters;
+    private final TrendingRebuildService trendingRebuild;
+
+    @Value("${ranking.max-candidates:2000}")
+    private int maxCandidates;
+
+    // Trending articles are looked up in the weeks of this window first
+    @Value("${trending.lookup.recent-hours:48}")
+    private long lookupHours;
 
     public TrendingController(RedisService redisService,
-                            NewsArticleRepository newsArticleRepository) {
+                            NewsArticleRepository newsArticleRepository,
+                            RankingEngine rankingEngine,
+                            RecentArticleIndex recentArticleIndex,
+                            TrendingCompactor trendingCompactor,
+                            TrendingTiles trendingTiles,
+                            TrendingStreamsService trendingStreams,
+                            ArticleClusterService clusters,
+                            TrendingRebuildService trendingRebuild) {
         this.redisService = redisService;
         this.newsArticleRepository = newsArticleRepository;
+        this.rankingEngine = rankingEngine;
+        this.recentArticleIndex = recentArticleIndex;
+        this.trendingCompactor = trendingCompactor;
+        this.trendingTiles = trendingTiles;
+        this.trendingStreams = trendingStreams;
+        this.clusters = clusters;
+        this.trendingRebuild = trendingRebuild;
     }
 
     @GetMapping("/trending")
-    public ResponseEntity<List<NewsArticleDto>> getTrendingNews(
+    public Mono<ResponseEntity<List<NewsArticleDto>>> getTrendingNews(
             @RequestParam double lat,
             @RequestParam double lon,
             @RequestParam(defaultValue = "5") int limit,
-            @RequestParam(defaultValue = "100.0") double radiusKm) {
+            @RequestParam(defaultValue = "100.0") double radiusKm,
+            @RequestParam(required = false) String cursor) {
 
         if (limit <= 0 || limit > MAX_LIMIT) {
             logger.warn("Invalid limit parameter: {}", limit);
-            return ResponseEntity.badRequest().body(Collections.emptyList());
+            return Mono.just(ResponseEntity.badRequest().body(Collections.emptyList()));
         }
         
+        // Half-rebuilt leaderboards would rank whatever partitions were replayed first
+        if (!trendingRebuild.isReady()) {
+            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Collections.emptyList()));
+        }
+
         if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
             logger.warn("Invalid coordinates: lat={}, lon={}", lat, lon);
-            return ResponseEntity.badRequest().body(Collections.emptyList());
+            return Mono.just(ResponseEntity.badRequest().body(Collections.emptyList()));
+        }
+
+        PageCursor pageCursor;
+        try {
+            pageCursor = cursor == null || cursor.isBlank() ? null : PageCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid cursor parameter: {}", e.getMessage());
+            return Mono.just(ResponseEntity.badRequest().body(Collections.emptyList()));
         }
 
         // Ensure radius is within bounds
@@ -59,60 +143,313 @@ public class TrendingController {
 
         try {
             String geoKey = RedisService.geohash(lat, lon, 5);
-            List<String> articleIds = redisService.getTrendingArticles(geoKey, limit);
-
-            List<NewsArticleDto> articles;
-            if (articleIds.isEmpty()) {
-                logger.info("No trending articles in Redis for location: {}. Using fallback strategy.", geoKey);
-                articles = getFallbackArticles(lat, lon, validRadius, limit);
-            } else {
-                articles = getArticlesByIds(articleIds);
-                
-                // If we got fewer articles than requested, supplement with fallback
-                if (articles.size() < limit) {
-                    logger.debug("Found only {} trending articles, supplementing with fallback", articles.size());
-                    List<NewsArticleDto> fallbackArticles = getFallbackArticles(
-                        lat, lon, validRadius, limit - articles.size());
-                    articles.addAll(fallbackArticles);
-                }
-            }
+            List<NewsArticleDto> articles = new ArrayList<>();
+            // Near-duplicates collapse into their best-ranked copy across both phases of a page
+            Set<UUID> shownClusters = new HashSet<>();
 
-            if (articles.isEmpty()) {
-                logger.warn("No articles found within {}km of lat={}, lon={}", validRadius, lat, lon);
-            } else {
-                logger.info("Found {} articles within {}km of lat={}, lon={}", 
-                    articles.size(), validRadius, lat, lon);
+            // Pages walk the trending leaderboard first, then continue into the fallback ranking
+            Mono<Optional<PageCursor>> trendingPhase = Mono.just(Optional.empty());
+            if (pageCursor == null || TRENDING_PHASE.equals(pageCursor.getIntent())) {
+                Double afterScore = pageCursor == null ? null : pageCursor.getScore();
+                String afterMember = pageCursor == null ? null : pageCursor.getLastId().toString();
+                trendingPhase = getTrendingEntries(geoKey, afterScore, afterMember, clusters.fetchSize(limit))
+                    .map(entries -> {
+                        Map<UUID, Double> scores = new LinkedHashMap<>();
+                        entries.forEach(entry -> parseId(entry.getValue()).ifPresent(id -> scores.put(id, entry.getScore())));
+                        ArticleClusterService.Page<UUID> page =
+                            clusters.page(new ArrayList<>(scores.keySet()), limit, Function.identity(), shownClusters);
+                        articles.addAll(getArticlesByIds(page.items()));
+
+                        if (entries.isEmpty() && pageCursor == null) {
+                            logger.info("No trending articles for location: {}. Using fallback strategy.", geoKey);
+                        }
+                        if (page.anchor() != null) {
+                            return Optional.of(PageCursor.of(TRENDING_PHASE, scores.get(page.anchor()), page.anchor()));
+                        }
+                        // The leaderboard ran out exactly at the end of this page: fallback starts on the next
+                        return articles.size() >= limit
+                            ? Optional.of(PageCursor.of(FALLBACK_PHASE, FALLBACK_START)) : Optional.<PageCursor>empty();
+                    });
             }
 
-            return ResponseEntity.ok(articles);
+            return trendingPhase
+                .flatMap(next -> {
+                    // If we got fewer articles than requested, supplement with fallback
+                    if (next.isPresent() || articles.size() >= limit) {
+                        return Mono.just(next);
+                    }
+                    UUID afterId = pageCursor != null && FALLBACK_PHASE.equals(pageCursor.getIntent())
+                        && !FALLBACK_START.equals(pageCursor.getLastId()) ? pageCursor.getLastId() : null;
+                    int remaining = limit - articles.size();
+                    logger.debug("Found only {} trending articles, supplementing with fallback", articles.size());
+                    return getFallbackArticles(geoKey, lat, lon, validRadius, afterId, clusters.fetchSize(remaining))
+                        .map(fallbackArticles -> {
+                            ArticleClusterService.Page<NewsArticleView> page =
+                                clusters.page(fallbackArticles, remaining, NewsArticleView::id, shownClusters);
+                            // Fallback candidates carry no description; the page is read in full
+                            articles.addAll(getArticlesByIds(page.items().stream()
+                                .map(NewsArticleView::id)
+                                .collect(Collectors.toList())));
+                            return Optional.ofNullable(page.anchor())
+                                .map(anchor -> PageCursor.of(FALLBACK_PHASE, anchor.id()));
+                        });
+                })
+                .map(next -> {
+                    if (articles.isEmpty()) {
+                        logger.warn("No articles found within {}km of lat={}, lon={}", validRadius, lat, lon);
+                    } else {
+                        logger.info("Found {} articles within {}km of lat={}, lon={}", 
+                            articles.size(), validRadius, lat, lon);
+                    }
+
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    next.ifPresent(cursorAfter -> response.header(NEXT_CURSOR_HEADER, cursorAfter.encode()));
+                    return response.body(articles);
+                })
+                .onErrorResume(e -> {
+                    logger.error("Error processing trending request for lat={}, lon={}", lat, lon, e);
+                    return Mono.just(ResponseEntity.internalServerError().body(Collections.emptyList()));
+                });
             
         } catch (Exception e) {
             logger.error("Error processing trending request for lat={}, lon={}", lat, lon, e);
+            return Mono.just(ResponseEntity.internalServerError().body(Collections.emptyList()));
+        }
+    }
+
+    /**
+     * Trending articles for many locations at once. Locations in the same cell share one read, every
+     * cell is read in a single pipelined Redis call, and the union of their articles is loaded in one
+     * query, so cost grows with distinct cells and articles rather than with locations. Unlike
+     * {@code /trending} there is no fallback and no cursor: a cell without trending data yields an
+     * empty list.
+     */
+    @PostMapping("/trending/batch")
+    public ResponseEntity<List<TrendingBatchResult>> getTrendingBatch(@RequestBody TrendingBatchRequest request) {
+        List<TrendingLocation> locations = request.getLocations();
+        if (locations == null || locations.isEmpty() || locations.size() > MAX_BATCH_LOCATIONS) {
+            logger.warn("Invalid batch size: {}", locations == null ? null : locations.size());
+            return ResponseEntity.badRequest().body(Collections.emptyList());
+        }
+        if (!trendingRebuild.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Collections.emptyList());
+        }
+        Map<String, Integer> limitByCell = new LinkedHashMap<>();
+        List<String> cells = new ArrayList<>(locations.size());
+        for (TrendingLocation location : locations) {
+            if (location.getLimit() <= 0 || location.getLimit() > MAX_LIMIT
+                    || Math.abs(location.getLat()) > 90 || Math.abs(location.getLon()) > 180) {
+                logger.warn("Invalid batch location: {}", location);
+                return ResponseEntity.badRequest().body(Collections.emptyList());
+            }
+            String geoKey = RedisService.geohash(location.getLat(), location.getLon(), 5);
+            cells.add(geoKey);
+            limitByCell.merge(geoKey, location.getLimit(), Math::max);
+        }
+
+        try {
+            int maxLimit = limitByCell.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+            // No next page here, so no extra row; the rest leaves room for collapsed near-duplicates
+            Map<String, List<ZSetOperations.TypedTuple<String>>> entries =
+                redisService.getTrendingBatch(limitByCell.keySet(), clusters.fetchSize(maxLimit) - 1);
+
+            Set<UUID> union = new LinkedHashSet<>();
+            entries.values().forEach(cell -> cell.forEach(entry -> parseId(entry.getValue()).ifPresent(union::add)));
+            Map<UUID, NewsArticleDto> articles = new HashMap<>();
+            for (NewsArticleView view : newsArticleRepository.findViewsByIds(union, recentSince())) {
+                articles.put(view.id(), new NewsArticleDto(view, view.description()));
+            }
+
+            List<TrendingBatchResult> results = new ArrayList<>(locations.size());
+            for (int i = 0; i < locations.size(); i++) {
+                TrendingLocation location = locations.get(i);
+                List<NewsArticleDto> trending = clusters.collapse(entries.getOrDefault(cells.get(i), List.of()).stream()
+                    .map(entry -> parseId(entry.getValue()).map(articles::get).orElse(null))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList()), NewsArticleDto::getArticleId, location.getLimit());
+                results.add(new TrendingBatchResult(location.getLat(), location.getLon(), cells.get(i), trending));
+            }
+            logger.info("Trending batch: {} locations, {} cells, {} distinct articles",
+                locations.size(), limitByCell.size(), union.size());
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            logger.error("Error processing trending batch of {} locations", locations.size(), e);
             return ResponseEntity.internalServerError().body(Collections.emptyList());
         }
     }
 
-    private List<NewsArticleDto> getArticlesByIds(List<String> articleIds) {
-        return articleIds.stream()
-            .map(id -> {
-                try {
-                    Optional<NewsArticle> article = newsArticleRepository.findById(UUID.fromString(id));
-                    return article.map(a -> new NewsArticleDto(a, a.getDescription())).orElse(null);
-                } catch (IllegalArgumentException e) {
-                    logger.error("Invalid article ID: {}", id);
-                    return null;
+    /**
+     * Trending activity over a bounding box as tiles of one geohash level, with each active tile's
+     * top articles. Without {@code precision} the finest level that needs at most
+     * {@code trending.heatmap.max-tiles} tiles is used. Reads the precomputed tile counters and
+     * leaderboards, so the cost follows the number of tiles, not the number of events.
+     */
+    @GetMapping("/trending/heatmap")
+    public ResponseEntity<TrendingHeatmap> getTrendingHeatmap(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @RequestParam(required = false) Integer precision,
+            @RequestParam(defaultValue = "3") int top) {
+
+        if (minLat < -90 || maxLat > 90 || minLon < -180 || maxLon > 180 || minLat > maxLat || minLon > maxLon) {
+            logger.warn("Invalid bounding box: [{}, {}] - [{}, {}]", minLat, minLon, maxLat, maxLon);
+            return ResponseEntity.badRequest().build();
+        }
+        if (top < 0 || top > MAX_HEATMAP_ARTICLES) {
+            logger.warn("Invalid top parameter: {}", top);
+            return ResponseEntity.badRequest().build();
+        }
+        if (!trendingRebuild.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        int level = precision != null ? precision : trendingTiles.choosePrecision(minLat, minLon, maxLat, maxLon);
+        if (!trendingTiles.precisions().contains(level)
+                || trendingTiles.countTiles(minLat, minLon, maxLat, maxLon, level) > trendingTiles.maxTiles()) {
+            logger.warn("No heatmap level {} of at most {} tiles for [{}, {}] - [{}, {}]",
+                precision, trendingTiles.maxTiles(), minLat, minLon, maxLat, maxLon);
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            Map<String, Double> heat = redisService.getTrendingHeat(
+                trendingTiles.covering(minLat, minLon, maxLat, maxLon, level));
+            Map<String, List<ZSetOperations.TypedTuple<String>>> entries = top == 0 || heat.isEmpty()
+                ? Map.of()
+                : redisService.getTrendingBatch(heat.keySet(), clusters.fetchSize(top) - 1);
+
+            Set<UUID> union = new LinkedHashSet<>();
+            entries.values().forEach(tile -> tile.forEach(entry -> parseId(entry.getValue()).ifPresent(union::add)));
+            Map<UUID, String> titles = new HashMap<>();
+            if (!union.isEmpty()) {
+                newsArticleRepository.findViewsByIds(union, recentSince()).forEach(view -> titles.put(view.id(), view.title()));
+            }
+
+            List<HeatmapTile> tiles = new ArrayList<>(heat.size());
+            heat.forEach((tile, intensity) -> {
+                List<HeatmapArticle> articles = new ArrayList<>();
+                for (ZSetOperations.TypedTuple<String> entry : entries.getOrDefault(tile, List.of())) {
+                    parseId(entry.getValue())
+                        .filter(titles::containsKey)
+                        .ifPresent(id -> articles.add(new HeatmapArticle(id, titles.get(id), entry.getScore())));
                 }
-            })
-            .filter(java.util.Objects::nonNull)
-            .collect(Collectors.toList());
+                WGS84Point center = trendingTiles.center(tile);
+                tiles.add(new HeatmapTile(tile, center.getLatitude(), center.getLongitude(), intensity,
+                    clusters.collapse(articles, HeatmapArticle::getArticleId, top)));
+            });
+            logger.info("Trending heatmap: precision {}, {} active tiles, {} distinct articles",
+                level, tiles.size(), union.size());
+            return ResponseEntity.ok(new TrendingHeatmap(level, trendingTiles.tileHeight(level),
+                trendingTiles.tileWidth(level), tiles));
+        } catch (Exception e) {
+            logger.error("Error building trending heatmap for [{}, {}] - [{}, {}]", minLat, minLon, maxLat, maxLon, e);
+            return ResponseEntity.internalServerError().build();
+        }
     }
 
-    private List<NewsArticleDto> getFallbackArticles(double lat, double lon, double radiusKm, int limit) {
-        List<NewsArticle> fallbackArticles = newsArticleRepository.findFallbackArticles(
-            lat, lon, radiusKm, PageRequest.of(0, limit));
-            
-        return fallbackArticles.stream()
-            .map(article -> new NewsArticleDto(article, article.getDescription()))
+    /**
+     * A trending page straight from this instance's Kafka Streams store. Other instances forward
+     * here for cells whose partition this one owns; it never forwards again.
+     */
+    @GetMapping("/internal/trending/streams/{geoKey}")
+    public ResponseEntity<List<TrendingEntry>> getLocalStreamsTrending(
+            @PathVariable String geoKey,
+            @RequestParam(defaultValue = "5") int count,
+            @RequestParam(required = false) Double afterScore,
+            @RequestParam(required = false) String afterMember) {
+        if (!trendingStreams.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (count <= 0 || count > clusters.fetchSize(MAX_LIMIT) || (afterScore == null) != (afterMember == null)) {
+            logger.warn("Invalid streams trending query for {}: count={}, afterScore={}", geoKey, count, afterScore);
+            return ResponseEntity.badRequest().body(Collections.emptyList());
+        }
+        try {
+            List<TrendingEntry> entries = trendingStreams.getLocalPage(geoKey, afterScore, afterMember, count).stream()
+                .map(entry -> new TrendingEntry(entry.getValue(), entry.getScore()))
+                .collect(Collectors.toList());
+            return ResponseEntity.ok(entries);
+        } catch (Exception e) {
+            // Usually a rebalance moved the cell away; the caller treats it as no trending data
+            logger.error("Error reading local streams trending for {}: {}", geoKey, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Collections.emptyList());
+        }
+    }
+
+    /** Scores of the given articles straight from this instance's Kafka Streams store, as above. */
+    @PostMapping("/internal/trending/streams/{geoKey}/scores")
+    public ResponseEntity<List<TrendingEntry>> getLocalStreamsScores(@PathVariable String geoKey,
+                                                                     @RequestBody List<UUID> articleIds) {
+        if (!trendingStreams.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (articleIds == null || articleIds.size() > maxCandidates) {
+            logger.warn("Invalid streams score query for {}: {} ids", geoKey, articleIds == null ? null : articleIds.size());
+            return ResponseEntity.badRequest().body(Collections.emptyList());
+        }
+        try {
+            List<TrendingEntry> entries = new ArrayList<>();
+            trendingStreams.getLocalScores(geoKey, articleIds)
+                .forEach((id, score) -> entries.add(new TrendingEntry(id.toString(), score)));
+            return ResponseEntity.ok(entries);
+        } catch (Exception e) {
+            logger.error("Error reading local streams scores for {}: {}", geoKey, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Collections.emptyList());
+        }
+    }
+
+    /** Member count and Redis memory of each trending cell as of the last compaction, largest first. */
+    @GetMapping("/trending/cells")
+    public ResponseEntity<List<TrendingCompactor.CellUsage>> getTrendingCells() {
+        return ResponseEntity.ok(trendingCompactor.getUsage());
+    }
+
+    private static Optional<UUID> parseId(String id) {
+        try {
+            return Optional.of(UUID.fromString(id));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid article ID: {}", id);
+            return Optional.empty();
+        }
+    }
+
+    private List<NewsArticleDto> getArticlesByIds(List<UUID> ids) {
+        return newsArticleRepository.findViewsByIds(ids, recentSince()).stream()
+            .map(article -> new NewsArticleDto(article, article.description()))
             .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    /** Likely lower bound on the publication date of trending articles, so their lookup prunes to recent weeks. */
+    private LocalDateTime recentSince() {
+        return LocalDateTime.now().minusHours(lookupHours);
+    }
+
+    private Mono<List<ZSetOperations.TypedTuple<String>>> getTrendingEntries(String geoKey, Double afterScore,
+                                                                            String afterMember, int count) {
+        if (!trendingStreams.isEnabled()) {
+            return Mono.fromCallable(() -> redisService.getTrendingPage(geoKey, afterScore, afterMember, count));
+        }
+        // A forwarded page completes on a WebClient thread, which must not wait on the database
+        return trendingStreams.getTrendingPage(geoKey, afterScore, afterMember, count)
+            .publishOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<List<NewsArticleView>> getFallbackArticles(String geoKey, double lat, double lon, double radiusKm,
+                                                            UUID afterId, int limit) {
+        List<NewsArticleView> candidates = recentArticleIndex.findFallbackCandidates(lat, lon, radiusKm, maxCandidates);
+        List<UUID> candidateIds = candidates.stream().map(NewsArticleView::id).collect(Collectors.toList());
+        Mono<Map<UUID, Double>> trending = trendingStreams.isEnabled()
+            ? trendingStreams.getTrendingScores(geoKey, candidateIds).publishOn(Schedulers.boundedElastic())
+            : Mono.fromCallable(() -> redisService.getTrendingScores(geoKey, candidateIds));
+        return trending.map(scores -> {
+            // Leaderboard members and their copies were served by the trending phase, on this page or
+            // an earlier one; the anchor stays so the ranking can still resume after it
+            Set<UUID> served = scores.keySet().stream().map(clusters::clusterOf).collect(Collectors.toSet());
+            List<NewsArticleView> rest = candidates.stream()
+                .filter(view -> view.id().equals(afterId) || !served.contains(clusters.clusterOf(view.id())))
+                .collect(Collectors.toList());
+            return rankingEngine.rank(rest, RankingContext.forLocation(lat, lon, scores), limit, afterId);
+        });
+    }
+}
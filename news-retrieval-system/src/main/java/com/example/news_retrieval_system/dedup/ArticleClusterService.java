@@ -0,0 +1,332 @@
+package com.example.news_retrieval_system.dedup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.news_retrieval_system.model.NewsArticle;
+
+/**
+ * Near-duplicate clustering of articles, so wire copies of one story (the same ANI or PTI report
+ * run by several outlets with small edits) are served once.
+ *
+ * {@code BulkArticleIngestService} calls {@link #assign} before each chunk is copied, which sets
+ * {@code clusterId} from a {@link MinHasher} signature of title and description looked up in a
+ * {@link ClusterIndex} of the last {@code dedup.window-hours} of articles; the id is written to
+ * {@code news_articles.cluster_id} with the row. On start and every {@code dedup.reload-ms} the
+ * index catches up with rows it has not seen, which also brings in other instances' assignments,
+ * and rows written without a cluster (the Python ingest job) are assigned and updated in place.
+ * When another instance assigned such a row first, its stored cluster replaces the one computed
+ * here, so every instance ends up with the id in the table.
+ *
+ * List endpoints fetch {@link #fetchSize} rows instead of {@code limit + 1} and {@link #page}
+ * keeps the highest-ranked member of each cluster. Collapsing is per page: a copy ranked far
+ * below its original can still show up on a later page. Articles outside the window count as
+ * their own cluster.
+ *
+ * Off unless {@code dedup.enabled} is set: the index holds the whole window on the heap of every
+ * instance, which is worth it only where outlets actually republish each other's copy.
+ */
+@Service
+public class ArticleClusterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleClusterService.class);
+    private static final int FETCH_SIZE = 10_000;
+    // Rows are stamped with their transaction's start, so a chunk committed after a catch-up began
+    // can carry an earlier created_at; re-reading a few minutes is cheap since known ids are skipped
+    private static final Duration CREATED_OVERLAP = Duration.ofMinutes(5);
+
+    private static final String SELECT_SINCE = """
+        SELECT id, cluster_id, title, description, publication_date FROM news_articles
+        WHERE publication_date >= ? AND created_at >= ? ORDER BY publication_date, id
+        """;
+    private static final String UPDATE_CLUSTER =
+        "UPDATE news_articles SET cluster_id = ? WHERE id = ? AND publication_date = ? AND cluster_id IS NULL";
+    private static final String SELECT_CLUSTER =
+        "SELECT cluster_id FROM news_articles WHERE id = ? AND publication_date = ?";
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final MinHasher hasher;
+    private final Duration window;
+    private final int overfetch;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ClusterIndex index;
+    private final Object catchUpLock = new Object();
+    private volatile LocalDateTime lastCatchUp;
+
+    public ArticleClusterService(DataSource dataSource,
+                                 @Value("${dedup.enabled:false}") boolean enabled,
+                                 @Value("${dedup.bands:32}") int bands,
+                                 @Value("${dedup.rows:4}") int rows,
+                                 @Value("${dedup.shingle-size:3}") int shingleSize,
+                                 @Value("${dedup.threshold:0.5}") double threshold,
+                                 @Value("${dedup.window-hours:72}") long windowHours,
+                                 @Value("${dedup.overfetch:2}") int overfetch) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.hasher = new MinHasher(bands * rows, shingleSize);
+        this.window = Duration.ofHours(windowHours);
+        this.overfetch = Math.max(1, overfetch);
+        this.index = new ClusterIndex(bands, rows, threshold);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Rows to fetch for a page of {@code limit}: room for collapsed copies plus one to detect a next page. */
+    public int fetchSize(int limit) {
+        return enabled ? limit * overfetch + 1 : limit + 1;
+    }
+
+    /**
+     * Sets {@code clusterId} on each article, in order, so near-duplicates within the chunk
+     * cluster with each other too. Articles that already carry one keep it.
+     */
+    public void assign(List<NewsArticle> articles) {
+        if (!enabled) {
+            return;
+        }
+        if (lastCatchUp == null) {
+            // An ingest racing startup would otherwise cluster against an empty index
+            catchUp();
+        }
+        List<int[]> signatures = new ArrayList<>(articles.size());
+        for (NewsArticle article : articles) {
+            signatures.add(hasher.signature(textOf(article.getTitle(), article.getDescription())));
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < articles.size(); i++) {
+                NewsArticle article = articles.get(i);
+                long publishedAt = article.getPublicationDate() == null ? 0 : epochMillis(article.getPublicationDate());
+                article.setClusterId(index.add(article.getId(), signatures.get(i), article.getClusterId(), publishedAt));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** The cluster of an article, or its own id when it is not clustered. */
+    public UUID clusterOf(UUID id) {
+        if (!enabled) {
+            return id;
+        }
+        lock.readLock().lock();
+        try {
+            UUID cluster = index.clusterOf(id);
+            return cluster == null ? id : cluster;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean isIndexed(UUID id) {
+        lock.readLock().lock();
+        try {
+            return index.clusterOf(id) != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** The first member of each cluster in {@code ranked}, at most {@code limit}. */
+    public <T> List<T> collapse(List<T> ranked, Function<T, UUID> idOf, int limit) {
+        return page(ranked, limit, idOf, new HashSet<>()).items();
+    }
+
+    /**
+     * Collapses a ranked list fetched with {@link #fetchSize}{@code (limit)} rows into a page of at
+     * most {@code limit} cluster representatives, skipping clusters already in {@code shown} and
+     * adding the page's. The anchor is the row the next page continues after, or null on the last
+     * page: the last row shown when more representatives follow, or else the last row consumed,
+     * so copies collapsed at the end of this page are not fetched again.
+     */
+    public <T> Page<T> page(List<T> fetched, int limit, Function<T, UUID> idOf, Set<UUID> shown) {
+        int consumed = Math.min(fetched.size(), fetchSize(limit) - 1);
+        List<T> items = new ArrayList<>(Math.min(limit, consumed));
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < consumed; i++) {
+                T item = fetched.get(i);
+                UUID id = idOf.apply(item);
+                UUID cluster = enabled ? index.clusterOf(id) : null;
+                if (shown.contains(cluster == null ? id : cluster)) {
+                    continue;
+                }
+                if (items.size() == limit) {
+                    return new Page<>(items, items.get(limit - 1));
+                }
+                shown.add(cluster == null ? id : cluster);
+                items.add(item);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        T anchor = fetched.size() > consumed && consumed > 0 ? fetched.get(consumed - 1) : null;
+        return new Page<>(items, anchor);
+    }
+
+    /**
+     * Runs once at startup and then every {@code dedup.reload-ms}: indexes rows of the window it
+     * has not seen, assigns those without a cluster, and drops articles that left the window.
+     */
+    @Scheduled(fixedDelayString = "${dedup.reload-ms:300000}")
+    public void catchUp() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (catchUpLock) {
+            long start = System.currentTimeMillis();
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime since = now.minus(window);
+            Timestamp createdSince = lastCatchUp == null
+                ? new Timestamp(0) : Timestamp.valueOf(lastCatchUp.minus(CREATED_OVERLAP));
+            try (Connection connection = dataSource.getConnection()) {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try {
+                    int[] counts = indexSince(connection, since, createdSince);
+                    connection.commit();
+                    lastCatchUp = now;
+                    lock.writeLock().lock();
+                    try {
+                        index.retainSince(epochMillis(since));
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                    if (counts[0] > 0) {
+                        logger.info("Article clusters caught up: {} articles indexed, {} assigned, {} in window, in {} ms",
+                            counts[0], counts[1], index.size(), System.currentTimeMillis() - start);
+                    }
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+            } catch (SQLException e) {
+                logger.error("Error catching up article clusters: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /** Returns the number of rows indexed and of those assigned a cluster here or adopted from another instance. */
+    private int[] indexSince(Connection connection, LocalDateTime since, Timestamp createdSince) throws SQLException {
+        List<Row> rows = new ArrayList<>();
+        try (PreparedStatement select = connection.prepareStatement(SELECT_SINCE)) {
+            select.setFetchSize(FETCH_SIZE);
+            select.setTimestamp(1, Timestamp.valueOf(since));
+            select.setTimestamp(2, createdSince);
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    UUID id = rs.getObject("id", UUID.class);
+                    if (isIndexed(id)) {
+                        continue;
+                    }
+                    rows.add(new Row(id, rs.getObject("cluster_id", UUID.class), rs.getTimestamp("publication_date"),
+                        hasher.signature(textOf(rs.getString("title"), rs.getString("description")))));
+                }
+            }
+        }
+
+        List<Row> assigned = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            for (Row row : rows) {
+                UUID cluster = index.add(row.id(), row.signature(), row.clusterId(),
+                    epochMillis(row.publicationDate().toLocalDateTime()));
+                if (row.clusterId() == null) {
+                    assigned.add(new Row(row.id(), cluster, row.publicationDate(), null));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (!assigned.isEmpty()) {
+            int[] updated;
+            try (PreparedStatement update = connection.prepareStatement(UPDATE_CLUSTER)) {
+                for (Row row : assigned) {
+                    update.setObject(1, row.clusterId());
+                    update.setObject(2, row.id());
+                    update.setTimestamp(3, row.publicationDate());
+                    update.addBatch();
+                }
+                updated = update.executeBatch();
+            }
+            List<Row> lost = new ArrayList<>();
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    lost.add(assigned.get(i));
+                }
+            }
+            if (!lost.isEmpty()) {
+                adoptStored(connection, lost);
+            }
+        }
+        return new int[] {rows.size(), assigned.size()};
+    }
+
+    /**
+     * Rows whose update matched nothing were assigned by another instance since they were read (or
+     * moved to another week): re-reads their cluster and replaces the one this index computed.
+     */
+    private void adoptStored(Connection connection, List<Row> rows) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(SELECT_CLUSTER)) {
+            for (Row row : rows) {
+                select.setObject(1, row.id());
+                select.setTimestamp(2, row.publicationDate());
+                try (ResultSet rs = select.executeQuery()) {
+                    UUID stored = rs.next() ? rs.getObject("cluster_id", UUID.class) : null;
+                    if (stored != null && !stored.equals(row.clusterId())) {
+                        lock.writeLock().lock();
+                        try {
+                            index.adopt(row.id(), stored);
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static String textOf(String title, String description) {
+        return (title == null ? "" : title) + "\n" + (description == null ? "" : description);
+    }
+
+    /** Same zone-less mapping as {@code RecentArticleIndex}; only used for ordering. */
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    public record Page<T>(List<T> items, T anchor) {
+    }
+
+    private record Row(UUID id, UUID clusterId, Timestamp publicationDate, int[] signature) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.news_retrieval_system.dedup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Locality-sensitive hashing over MinHash signatures, and the cluster every indexed article was
+ * put in. A signature is cut into {@code bands} bands of {@code rows} values; articles sharing any
+ * band are candidates, and a candidate whose estimated similarity reaches {@code threshold} makes
+ * the new article a member of its cluster. A cluster is named after the first article put in it.
+ *
+ * With {@code b} bands of {@code r} rows, two texts of similarity {@code s} become candidates with
+ * probability {@code 1 - (1 - s^r)^b}: 32 bands of 4 catch 87% of pairs at 0.5 and all but a
+ * handful at 0.7, while only 5% of pairs at 0.2 get compared at all.
+ *
+ * Not thread-safe; {@link ArticleClusterService} guards it.
+ */
+final class ClusterIndex {
+
+    private final int bands;
+    private final int rows;
+    private final double threshold;
+
+    private final Map<UUID, Member> members = new HashMap<>();
+    private final List<Map<Long, List<UUID>>> buckets;
+
+    ClusterIndex(int bands, int rows, double threshold) {
+        this.bands = bands;
+        this.rows = rows;
+        this.threshold = threshold;
+        this.buckets = new ArrayList<>(bands);
+        for (int band = 0; band < bands; band++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    /** The cluster of an indexed article, or null. */
+    UUID clusterOf(UUID id) {
+        Member member = members.get(id);
+        return member == null ? null : member.clusterId();
+    }
+
+    /**
+     * Indexes an article and returns its cluster. An article already indexed keeps its cluster; a
+     * known {@code clusterId} (e.g. read back from {@code news_articles}) is kept as is; otherwise
+     * the most similar candidate at or above the threshold decides, or the article starts a
+     * cluster of its own. A null signature is never matched in either direction.
+     */
+    UUID add(UUID id, int[] signature, UUID clusterId, long publishedAt) {
+        Member existing = members.get(id);
+        if (existing != null) {
+            return existing.clusterId();
+        }
+        UUID cluster = clusterId;
+        if (cluster == null) {
+            cluster = signature == null ? id : closestCluster(signature, id);
+        }
+        members.put(id, new Member(cluster, signature, publishedAt));
+        if (signature != null) {
+            index(id, signature);
+        }
+        return cluster;
+    }
+
+    /**
+     * Moves an indexed article to the cluster stored for it elsewhere. Articles that joined its
+     * old cluster after it keep that name, as their rows do.
+     */
+    void adopt(UUID id, UUID clusterId) {
+        members.computeIfPresent(id, (key, member) -> new Member(clusterId, member.signature(), member.publishedAt()));
+    }
+
+    /** Drops articles published before {@code minPublishedAt} and rebuilds the bands. */
+    void retainSince(long minPublishedAt) {
+        if (!members.values().removeIf(member -> member.publishedAt() < minPublishedAt)) {
+            return;
+        }
+        buckets.forEach(Map::clear);
+        members.forEach((id, member) -> {
+            if (member.signature() != null) {
+                index(id, member.signature());
+            }
+        });
+    }
+
+    int size() {
+        return members.size();
+    }
+
+    private UUID closestCluster(int[] signature, UUID id) {
+        UUID best = id;
+        double bestSimilarity = threshold;
+        for (int band = 0; band < bands; band++) {
+            List<UUID> candidates = buckets.get(band).get(bandKey(signature, band));
+            if (candidates == null) {
+                continue;
+            }
+            for (UUID candidate : candidates) {
+                Member member = members.get(candidate);
+                double similarity = MinHasher.similarity(signature, member.signature());
+                if (similarity >= bestSimilarity) {
+                    best = member.clusterId();
+                    bestSimilarity = similarity;
+                }
+            }
+        }
+        return best;
+    }
+
+    private void index(UUID id, int[] signature) {
+        for (int band = 0; band < bands; band++) {
+            buckets.get(band).computeIfAbsent(bandKey(signature, band), key -> new ArrayList<>(1)).add(id);
+        }
+    }
+
+    private long bandKey(int[] signature, int band) {
+        long key = 1;
+        for (int i = band * rows; i < (band + 1) * rows; i++) {
+            key = key * 0x9E3779B97F4A7C15L + signature[i];
+        }
+        return key;
+    }
+
+    private record Member(UUID clusterId, int[] signature, long publishedAt) {
+    }
+}
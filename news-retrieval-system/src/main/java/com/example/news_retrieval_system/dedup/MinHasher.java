@@ -0,0 +1,86 @@
+package com.example.news_retrieval_system.dedup;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * MinHash signatures over word shingles. The share of positions two signatures agree on estimates
+ * the Jaccard similarity of the texts' shingle sets, so a rewritten headline or a trimmed wire
+ * copy still scores close to its original while unrelated stories score near zero.
+ *
+ * Each shingle is hashed once to 64 bits and the {@code hashes} functions are derived from that
+ * with {@code a * x + b} for random odd {@code a}; the seed is fixed, so signatures computed by
+ * different instances, or before and after a restart, are comparable.
+ */
+public class MinHasher {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final HashFunction HASH = Hashing.murmur3_128();
+    private static final long SEED = 0x5DEECE66DL;
+
+    private final int shingleSize;
+    private final long[] multipliers;
+    private final long[] increments;
+
+    public MinHasher(int hashes, int shingleSize) {
+        this.shingleSize = Math.max(1, shingleSize);
+        this.multipliers = new long[hashes];
+        this.increments = new long[hashes];
+        Random random = new Random(SEED);
+        for (int i = 0; i < hashes; i++) {
+            multipliers[i] = random.nextLong() | 1;
+            increments[i] = random.nextLong();
+        }
+    }
+
+    public int hashes() {
+        return multipliers.length;
+    }
+
+    /**
+     * The signature of {@code text}, or null when it has no words to compare by; such articles
+     * are never treated as duplicates of anything.
+     */
+    public int[] signature(String text) {
+        if (text == null) {
+            return null;
+        }
+        String[] tokens = Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+            .filter(token -> !token.isEmpty())
+            .toArray(String[]::new);
+        if (tokens.length == 0) {
+            return null;
+        }
+        int[] signature = new int[multipliers.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        // Texts shorter than one shingle are a single shingle of all their words
+        int shingles = Math.max(1, tokens.length - shingleSize + 1);
+        for (int start = 0; start < shingles; start++) {
+            String shingle = String.join(" ", Arrays.copyOfRange(tokens, start, Math.min(tokens.length, start + shingleSize)));
+            long hash = HASH.hashUnencodedChars(shingle).asLong();
+            for (int i = 0; i < signature.length; i++) {
+                int value = (int) ((multipliers[i] * hash + increments[i]) >>> 32);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /** Estimated Jaccard similarity of the texts behind two signatures of the same hasher. */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+}
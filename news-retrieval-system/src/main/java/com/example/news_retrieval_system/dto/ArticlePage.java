@@ -0,0 +1,13 @@
+package com.example.news_retrieval_system.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ArticlePage {
+    private List<NewsArticleDto> articles;
+    private String nextCursor; // null on the last page
+}
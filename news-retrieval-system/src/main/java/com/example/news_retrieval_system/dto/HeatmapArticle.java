@@ -0,0 +1,16 @@
+package com.example.news_retrieval_system.dto;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeatmapArticle {
+    private UUID articleId;
+    private String title;
+    private double score;
+}
@@ -0,0 +1,18 @@
+package com.example.news_retrieval_system.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeatmapTile {
+    private String geohash;
+    private double lat; // centre of the tile
+    private double lon;
+    private double intensity; // decayed sum of event scores in the tile
+    private List<HeatmapArticle> articles; // highest score first
+}
@@ -5,7 +5,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
-import com.example.news_retrieval_system.model.NewsArticle;
+import com.example.news_retrieval_system.model.NewsArticleView;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -33,17 +33,17 @@ public class NewsArticleDto implements Serializable {
     private double latitude;
     private double longitude;
 
-    public NewsArticleDto(NewsArticle article, String summary) {
-        this.articleId = article.getId(); 
-        this.title = article.getTitle();
-        this.description = article.getDescription();
-        this.url = article.getUrl();
-        this.publicationDate = article.getPublicationDate();
-        this.sourceName = article.getSourceName();
-        this.category = article.getCategory();
-        this.relevanceScore = article.getRelevanceScore();
+    public NewsArticleDto(NewsArticleView article, String summary) {
+        this.articleId = article.id(); 
+        this.title = article.title();
+        this.description = article.description();
+        this.url = article.url();
+        this.publicationDate = article.publicationDate();
+        this.sourceName = article.sourceName();
+        this.category = article.category();
+        this.relevanceScore = article.relevanceScore();
         this.llmSummary = summary;
-        this.latitude = article.getLatitude();
-        this.longitude = article.getLongitude();
+        this.latitude = article.latitude();
+        this.longitude = article.longitude();
     }
 }
\ No newline at end of file
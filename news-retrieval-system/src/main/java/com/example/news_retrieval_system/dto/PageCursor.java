@@ -0,0 +1,142 @@
+package com.example.news_retrieval_system.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor handed to clients between pages.
+ *
+ * A cursor pins the intent the first page was served with, the sort key of the last row
+ * (publication date, relevance score or Redis trending score) and that row's id as a tie-breaker.
+ * Intents ordered by a computed rank (nearby, fallback) carry only the id; the repository
+ * recomputes the anchor's rank inside the seek query. A filtered sequence carries the start of
+ * its time window instead, so every page applies the same filter. A cursor may also carry an
+ * opaque context, such as the query analysis of the first page, which later pages reuse instead
+ * of deriving it again.
+ */
+public class PageCursor {
+
+    private static final String SEPARATOR = "|";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private enum SortKey { DATE, SCORE, NONE, OPTIONAL_DATE }
+
+    // What each intent's sort key holds; decode rejects anything else before a query sees it
+    private static final Map<String, SortKey> SORT_KEYS = Map.ofEntries(
+        Map.entry("source", SortKey.DATE),
+        Map.entry("category", SortKey.DATE),
+        Map.entry("score", SortKey.SCORE),
+        Map.entry("trending", SortKey.SCORE),
+        Map.entry("nearby", SortKey.NONE),
+        Map.entry("semantic", SortKey.NONE),
+        Map.entry("search", SortKey.NONE),
+        Map.entry("fused", SortKey.NONE),
+        Map.entry("fallback", SortKey.NONE),
+        Map.entry("filtered", SortKey.OPTIONAL_DATE));
+
+    private final String intent;
+    private final String sortKey;
+    private final UUID lastId;
+    private final String context;
+
+    public PageCursor(String intent, String sortKey, UUID lastId) {
+        this(intent, sortKey, lastId, null);
+    }
+
+    private PageCursor(String intent, String sortKey, UUID lastId, String context) {
+        this.intent = intent;
+        this.sortKey = sortKey == null ? "" : sortKey;
+        this.lastId = lastId;
+        this.context = context;
+    }
+
+    public static PageCursor of(String intent, LocalDateTime publishedAt, UUID lastId) {
+        return new PageCursor(intent, publishedAt == null ? "" : publishedAt.toString(), lastId);
+    }
+
+    public static PageCursor of(String intent, double score, UUID lastId) {
+        return new PageCursor(intent, Double.toString(score), lastId);
+    }
+
+    public static PageCursor of(String intent, UUID lastId) {
+        return new PageCursor(intent, "", lastId);
+    }
+
+    /** The same position carrying {@code context}, or none when it is null. */
+    public PageCursor withContext(String context) {
+        return new PageCursor(intent, sortKey, lastId, context);
+    }
+
+    public String encode() {
+        String raw = intent + SEPARATOR + sortKey + SEPARATOR + lastId;
+        if (context != null) {
+            raw += SEPARATOR + ENCODER.encodeToString(context.getBytes(StandardCharsets.UTF_8));
+        }
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}, including
+     *         a sort key that does not parse as what its intent sorts by
+     */
+    public static PageCursor decode(String token) {
+        String raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+        String[] parts = raw.split("\\" + SEPARATOR, -1);
+        SortKey sortKey = parts.length == 3 || parts.length == 4 ? SORT_KEYS.get(parts[0]) : null;
+        if (sortKey == null) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        String context = parts.length == 4 ? new String(DECODER.decode(parts[3]), StandardCharsets.UTF_8) : null;
+        PageCursor cursor = new PageCursor(parts[0], parts[1], UUID.fromString(parts[2]), context);
+        try {
+            switch (sortKey) {
+                case DATE -> cursor.getPublishedAt();
+                case SCORE -> {
+                    if (!Double.isFinite(cursor.getScore())) {
+                        throw new IllegalArgumentException("Malformed cursor score");
+                    }
+                }
+                case OPTIONAL_DATE -> cursor.getWindowStart();
+                case NONE -> {
+                    if (!parts[1].isEmpty()) {
+                        throw new IllegalArgumentException("Malformed cursor");
+                    }
+                }
+            }
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor sort key for intent " + parts[0], e);
+        }
+        return cursor;
+    }
+
+    public String getIntent() {
+        return intent;
+    }
+
+    public UUID getLastId() {
+        return lastId;
+    }
+
+    /** Context attached by {@link #withContext}, or null when the cursor carries none. */
+    public String getContext() {
+        return context;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return LocalDateTime.parse(sortKey);
+    }
+
+    public double getScore() {
+        return Double.parseDouble(sortKey);
+    }
+
+    /** Start of a filtered sequence's time window, or null when it has none. */
+    public LocalDateTime getWindowStart() {
+        return sortKey.isEmpty() ? null : LocalDateTime.parse(sortKey);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.news_retrieval_system.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingBatchRequest {
+    private List<TrendingLocation> locations;
+}
@@ -0,0 +1,17 @@
+package com.example.news_retrieval_system.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingBatchResult {
+    private double lat;
+    private double lon;
+    private String geohash;
+    private List<NewsArticleDto> articles; // trending only, highest score first
+}
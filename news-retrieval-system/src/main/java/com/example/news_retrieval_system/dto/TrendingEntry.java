@@ -0,0 +1,13 @@
+package com.example.news_retrieval_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingEntry {
+    private String articleId;
+    private double score; // decayed to the time of the query
+}
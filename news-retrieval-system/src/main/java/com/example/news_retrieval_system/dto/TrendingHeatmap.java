@@ -0,0 +1,17 @@
+package com.example.news_retrieval_system.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingHeatmap {
+    private int precision; // geohash length of every tile
+    private double tileHeight; // degrees of latitude
+    private double tileWidth; // degrees of longitude
+    private List<HeatmapTile> tiles; // only tiles with activity
+}
@@ -0,0 +1,14 @@
+package com.example.news_retrieval_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingLocation {
+    private double lat;
+    private double lon;
+    private int limit = 5;
+}
@@ -0,0 +1,219 @@
+package com.example.news_retrieval_system.engagement;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.news_retrieval_system.model.UserEvent;
+
+/**
+ * Write-behind view/click/share counters per article and hour, persisted to
+ * {@code article_engagement}.
+ *
+ * A consumer group of its own reads {@code user_events} alongside the trending worker and only
+ * adds to in-memory counters, one per article and hour per partition, so no event causes a
+ * database write. Every {@code engagement.flush.interval-ms}, or as soon as
+ * {@code engagement.flush.max-pending} article-hours are buffered, the counters are swapped out
+ * and written by {@link EngagementStore} together with the next offset of each partition.
+ * Those stored offsets are where consumption resumes when a partition is assigned, after a
+ * restart or a rebalance; a partition never flushed starts from the beginning of the topic.
+ *
+ * A failed flush puts its counts back and is retried by the next scheduled flush only, so an
+ * unreachable database is not hit once per event; the buffer grows with distinct article-hours,
+ * not events, in the meantime. Revoked partitions are flushed before they move on; if that fails
+ * their counts are dropped, since the new owner replays them from the stored offset.
+ */
+@Service
+public class EngagementAggregator implements ConsumerSeekAware {
+
+    public static final String LISTENER_ID = "engagement-aggregator";
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementAggregator.class);
+
+    private static final int VIEWS = 0;
+    private static final int CLICKS = 1;
+    private static final int SHARES = 2;
+
+    private final EngagementStore store;
+    private final String topic;
+    private final int maxPending;
+
+    private final Object flushLock = new Object();
+    private Map<Integer, PartitionCounts> pending = new HashMap<>();
+    private int pendingKeys;
+    private volatile boolean healthy = true;
+
+    public EngagementAggregator(EngagementStore store,
+                                @Value("${spring.kafka.topics.user-events:user_events}") String topic,
+                                @Value("${engagement.flush.max-pending:50000}") int maxPending) {
+        this.store = store;
+        this.topic = topic;
+        this.maxPending = Math.max(1, maxPending);
+    }
+
+    @KafkaListener(id = LISTENER_ID, topics = "${spring.kafka.topics.user-events:user_events}",
+        groupId = "article_engagement", autoStartup = "${engagement.enabled:true}")
+    public void onEvent(ConsumerRecord<String, UserEvent> record) {
+        boolean full;
+        synchronized (this) {
+            PartitionCounts counts = pending.computeIfAbsent(record.partition(), partition -> new PartitionCounts());
+            counts.nextOffset = Math.max(counts.nextOffset, record.offset() + 1);
+            UserEvent event = record.value();
+            if (event != null && event.getArticleId() != null && event.getEventType() != null) {
+                pendingKeys += counts.add(new Key(event.getArticleId(), hourStart(event, record.timestamp())),
+                    column(event.getEventType()), 1);
+            }
+            full = pendingKeys >= maxPending;
+        }
+        if (full && healthy) {
+            flush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${engagement.flush.interval-ms:10000}")
+    public void flush() {
+        synchronized (flushLock) {
+            Map<Integer, PartitionCounts> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new HashMap<>();
+                pendingKeys = 0;
+            }
+            List<EngagementRow> rows = rows(batch);
+            Map<Integer, Long> offsets = new HashMap<>();
+            batch.forEach((partition, counts) -> offsets.put(partition, counts.nextOffset));
+            try {
+                long start = System.currentTimeMillis();
+                store.write(topic, rows, offsets);
+                healthy = true;
+                logger.debug("Flushed {} article engagement rows for {} partitions in {}ms", rows.size(),
+                    offsets.size(), System.currentTimeMillis() - start);
+            } catch (DataAccessException e) {
+                healthy = false;
+                logger.error("Error flushing article engagement, keeping {} rows for the next flush: {}", rows.size(),
+                    e.getMessage());
+                restore(batch);
+            }
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        List<Integer> partitions = assignments.keySet().stream().map(TopicPartition::partition).toList();
+        try {
+            Map<Integer, Long> offsets = store.readOffsets(topic, partitions);
+            for (TopicPartition partition : assignments.keySet()) {
+                Long offset = offsets.get(partition.partition());
+                if (offset != null) {
+                    callback.seek(partition.topic(), partition.partition(), offset);
+                } else {
+                    callback.seekToBeginning(partition.topic(), partition.partition());
+                }
+            }
+        } catch (DataAccessException e) {
+            logger.error("Error reading article engagement offsets, resuming from the group's committed offsets: {}",
+                e.getMessage());
+        }
+    }
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        flush();
+        synchronized (this) {
+            for (TopicPartition partition : partitions) {
+                PartitionCounts dropped = pending.remove(partition.partition());
+                if (dropped != null) {
+                    pendingKeys -= dropped.counts.size();
+                }
+            }
+        }
+    }
+
+    private synchronized void restore(Map<Integer, PartitionCounts> batch) {
+        batch.forEach((partition, counts) -> {
+            PartitionCounts current = pending.computeIfAbsent(partition, p -> new PartitionCounts());
+            current.nextOffset = Math.max(current.nextOffset, counts.nextOffset);
+            counts.counts.forEach((key, values) -> {
+                for (int column = 0; column < values.length; column++) {
+                    pendingKeys += current.add(key, column, values[column]);
+                }
+            });
+        });
+    }
+
+    /** One row per article and hour across all partitions, in key order. */
+    private static List<EngagementRow> rows(Map<Integer, PartitionCounts> batch) {
+        Map<Key, long[]> merged = new TreeMap<>(Comparator.comparing(Key::articleId).thenComparing(Key::hourStart));
+        for (PartitionCounts counts : batch.values()) {
+            counts.counts.forEach((key, values) -> {
+                long[] total = merged.computeIfAbsent(key, k -> new long[3]);
+                for (int column = 0; column < values.length; column++) {
+                    total[column] += values[column];
+                }
+            });
+        }
+        List<EngagementRow> rows = new ArrayList<>(merged.size());
+        merged.forEach((key, total) ->
+            rows.add(new EngagementRow(key.articleId(), key.hourStart(), total[VIEWS], total[CLICKS], total[SHARES])));
+        return rows;
+    }
+
+    private static Instant hourStart(UserEvent event, long recordTimestamp) {
+        // Same clock as the trending stream's timestamp extractor
+        Instant at = event.getTimestamp() != null
+            ? event.getTimestamp().atZone(ZoneId.systemDefault()).toInstant()
+            : Instant.ofEpochMilli(recordTimestamp);
+        return at.truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private static int column(UserEvent.EventType type) {
+        return switch (type) {
+            case VIEW -> VIEWS;
+            case CLICK -> CLICKS;
+            case SHARE -> SHARES;
+        };
+    }
+
+    record Key(UUID articleId, Instant hourStart) {
+    }
+
+    static final class PartitionCounts {
+        final Map<Key, long[]> counts = new HashMap<>();
+        long nextOffset = -1;
+
+        /** Adds to one counter; returns 1 if the article-hour is new to this partition. */
+        int add(Key key, int column, long amount) {
+            long[] values = counts.get(key);
+            int added = 0;
+            if (values == null) {
+                values = new long[3];
+                counts.put(key, values);
+                added = 1;
+            }
+            values[column] += amount;
+            return added;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.news_retrieval_system.engagement;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** Counts to add to one article's {@code article_engagement} row for one hour. */
+public record EngagementRow(UUID articleId, Instant hourStart, long views, long clicks, long shares) {
+}
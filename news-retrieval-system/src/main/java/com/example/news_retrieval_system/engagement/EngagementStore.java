@@ -0,0 +1,115 @@
+package com.example.news_retrieval_system.engagement;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * {@code article_engagement} and the Kafka offsets its counts were aggregated up to. Counts are
+ * additive, so the offsets are written in the same transaction: after a crash the aggregator
+ * resumes exactly after the last flush, and no event is counted twice or lost.
+ *
+ * Each batch of up to {@code engagement.flush.batch-size} rows is one {@code INSERT ... SELECT
+ * FROM unnest(...)} statement, i.e. one round trip, rather than a JDBC batch of single-row upserts.
+ */
+@Repository
+public class EngagementStore {
+
+    private static final String UPSERT_COUNTS = """
+        INSERT INTO article_engagement (article_id, hour_start, views, clicks, shares)
+        SELECT article_id, to_timestamp(hour_start), views, clicks, shares
+        FROM unnest(?::uuid[], ?::bigint[], ?::bigint[], ?::bigint[], ?::bigint[]) AS t(article_id, hour_start, views, clicks, shares)
+        ON CONFLICT (article_id, hour_start) DO UPDATE SET
+          views = article_engagement.views + EXCLUDED.views,
+          clicks = article_engagement.clicks + EXCLUDED.clicks,
+          shares = article_engagement.shares + EXCLUDED.shares,
+          updated_at = NOW()
+        """;
+
+    private static final String UPSERT_OFFSET = """
+        INSERT INTO article_engagement_offsets (topic, kafka_partition, next_offset) VALUES (?, ?, ?)
+        ON CONFLICT (topic, kafka_partition) DO UPDATE SET next_offset = EXCLUDED.next_offset, updated_at = NOW()
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public EngagementStore(JdbcTemplate jdbcTemplate, @Value("${engagement.flush.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Adds {@code rows} and records {@code offsets} (partition to next offset to consume) in one
+     * transaction. Rows should be in key order, so concurrent flushes lock them in the same order.
+     */
+    @Transactional
+    public void write(String topic, List<EngagementRow> rows, Map<Integer, Long> offsets) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<EngagementRow> batch = rows.subList(from, Math.min(rows.size(), from + batchSize));
+            jdbcTemplate.execute((Connection connection) -> {
+                try (PreparedStatement statement = connection.prepareStatement(UPSERT_COUNTS)) {
+                    int size = batch.size();
+                    String[] articleIds = new String[size];
+                    Long[] hours = new Long[size];
+                    Long[] views = new Long[size];
+                    Long[] clicks = new Long[size];
+                    Long[] shares = new Long[size];
+                    for (int i = 0; i < size; i++) {
+                        EngagementRow row = batch.get(i);
+                        articleIds[i] = row.articleId().toString();
+                        hours[i] = row.hourStart().getEpochSecond();
+                        views[i] = row.views();
+                        clicks[i] = row.clicks();
+                        shares[i] = row.shares();
+                    }
+                    statement.setArray(1, connection.createArrayOf("text", articleIds));
+                    statement.setArray(2, array(connection, hours));
+                    statement.setArray(3, array(connection, views));
+                    statement.setArray(4, array(connection, clicks));
+                    statement.setArray(5, array(connection, shares));
+                    return statement.executeUpdate();
+                }
+            });
+        }
+        List<Object[]> offsetRows = offsets.entrySet().stream()
+            .map(entry -> new Object[] {topic, entry.getKey(), entry.getValue()})
+            .toList();
+        if (!offsetRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_OFFSET, offsetRows);
+        }
+    }
+
+    /**
+     * The next offset to consume for each of {@code partitions} that has been flushed before. Read
+     * on the primary, since a lagging replica would hand back offsets behind the stored counts.
+     */
+    @Transactional
+    public Map<Integer, Long> readOffsets(String topic, Collection<Integer> partitions) {
+        Map<Integer, Long> offsets = new HashMap<>();
+        if (partitions.isEmpty()) {
+            return offsets;
+        }
+        jdbcTemplate.query(
+            "SELECT kafka_partition, next_offset FROM article_engagement_offsets WHERE topic = ? AND kafka_partition = ANY (?)",
+            rs -> {
+                offsets.put(rs.getInt("kafka_partition"), rs.getLong("next_offset"));
+            },
+            topic, partitions.toArray(Integer[]::new));
+        return offsets;
+    }
+
+    private static Array array(Connection connection, Long[] values) throws SQLException {
+        return connection.createArrayOf("bigint", values);
+    }
+}
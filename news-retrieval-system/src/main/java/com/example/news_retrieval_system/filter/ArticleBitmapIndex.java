@@ -0,0 +1,228 @@
+package com.example.news_retrieval_system.filter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Articles numbered by insertion order, with a {@link CompressedBitmap} of row numbers per
+ * category, per source and per publication hour. A filter intersects (or, within one dimension,
+ * unions) those bitmaps and then walks the surviving rows once, keeping the best {@code limit}
+ * in a bounded heap; exact time and score bounds are checked on that walk.
+ *
+ * Re-adding an id retires its earlier row, so an updated article is found under its new tags only.
+ * Ids are looked up through an open-addressing table of row numbers that compares against the id
+ * columns themselves, so no id is stored twice or boxed.
+ */
+final class ArticleBitmapIndex {
+
+    private static final long HOUR_MICROS = 3_600_000_000L;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[] idHigh = new long[1024];
+    private long[] idLow = new long[1024];
+    private long[] publishedAt = new long[1024];
+    private double[] score = new double[1024];
+    private int rows;
+    private final BitSet retired = new BitSet();
+    // row + 1 of each live id, 0 for a free slot; kept at most half full
+    private int[] rowSlots = new int[2048];
+    private int live;
+
+    private final CompressedBitmap all = new CompressedBitmap();
+    private final Map<String, CompressedBitmap> byCategory = new HashMap<>();
+    private final Map<String, CompressedBitmap> bySource = new HashMap<>();
+    private final TreeMap<Long, CompressedBitmap> byHour = new TreeMap<>();
+
+    void add(UUID id, LocalDateTime published, double relevanceScore, String sourceName, List<String> categories) {
+        lock.writeLock().lock();
+        try {
+            if (rows == idHigh.length) {
+                int capacity = rows * 2;
+                idHigh = Arrays.copyOf(idHigh, capacity);
+                idLow = Arrays.copyOf(idLow, capacity);
+                publishedAt = Arrays.copyOf(publishedAt, capacity);
+                score = Arrays.copyOf(score, capacity);
+            }
+            int row = rows++;
+            int slot = slotOf(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (rowSlots[slot] != 0) {
+                retired.set(rowSlots[slot] - 1);
+            } else {
+                live++;
+            }
+            idHigh[row] = id.getMostSignificantBits();
+            idLow[row] = id.getLeastSignificantBits();
+            rowSlots[slot] = row + 1;
+            if (live * 2 > rowSlots.length) {
+                growSlots();
+            }
+            publishedAt[row] = published == null ? Long.MIN_VALUE : epochMicros(published);
+            score[row] = relevanceScore;
+
+            all.add(row);
+            if (sourceName != null) {
+                bySource.computeIfAbsent(sourceName, s -> new CompressedBitmap()).add(row);
+            }
+            if (categories != null) {
+                for (String category : categories) {
+                    byCategory.computeIfAbsent(category, c -> new CompressedBitmap()).add(row);
+                }
+            }
+            if (published != null) {
+                byHour.computeIfAbsent(Math.floorDiv(publishedAt[row], HOUR_MICROS), h -> new CompressedBitmap()).add(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the best {@code limit} matches in the filter's order (ties by id descending),
+     * continuing after {@code afterId}; an anchor the index does not know ends the sequence.
+     */
+    List<UUID> find(ArticleFilter filter, UUID afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            int anchor = -1;
+            if (afterId != null) {
+                int row = rowSlots[slotOf(afterId.getMostSignificantBits(), afterId.getLeastSignificantBits())] - 1;
+                if (row < 0) {
+                    return List.of();
+                }
+                anchor = row;
+            }
+
+            CompressedBitmap candidates = null;
+            if (!filter.categories().isEmpty()) {
+                candidates = union(byCategory, filter.categories());
+            }
+            if (!filter.sources().isEmpty()) {
+                CompressedBitmap sources = union(bySource, filter.sources());
+                candidates = candidates == null ? sources : CompressedBitmap.and(candidates, sources);
+            }
+            long since = Long.MIN_VALUE;
+            if (filter.since() != null) {
+                since = epochMicros(filter.since());
+                CompressedBitmap recent = CompressedBitmap.orAll(byHour.tailMap(Math.floorDiv(since, HOUR_MICROS)).values());
+                candidates = candidates == null ? recent : CompressedBitmap.and(candidates, recent);
+            }
+            if (candidates == null) {
+                candidates = all;
+            }
+
+            boolean byScore = filter.order() == ArticleFilter.Order.SCORE;
+            double minScore = filter.minScore() == null ? Double.NEGATIVE_INFINITY : filter.minScore();
+            // Positive when row a ranks ahead of row b
+            RowOrder ahead = (a, b) -> {
+                int primary = byScore ? Double.compare(score[a], score[b]) : Long.compare(publishedAt[a], publishedAt[b]);
+                if (primary != 0) {
+                    return primary;
+                }
+                int high = Long.compareUnsigned(idHigh[a], idHigh[b]);
+                return high != 0 ? high : Long.compareUnsigned(idLow[a], idLow[b]);
+            };
+            // Min-heap on rank: the head is the weakest of the current top-k
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, ahead::compare);
+            int after = anchor;
+            long minPublished = since;
+            candidates.forEach(row -> {
+                if (retired.get(row) || publishedAt[row] < minPublished || !(score[row] > minScore)) {
+                    return;
+                }
+                if (after >= 0 && ahead.compare(row, after) >= 0) {
+                    return;
+                }
+                if (top.size() < limit) {
+                    top.add(row);
+                } else if (ahead.compare(row, top.peek()) > 0) {
+                    top.poll();
+                    top.add(row);
+                }
+            });
+
+            List<UUID> ids = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                int row = top.poll();
+                ids.add(new UUID(idHigh[row], idLow[row]));
+            }
+            Collections.reverse(ids);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** The slot holding the row of this id, or the free slot it would go in. */
+    private int slotOf(long high, long low) {
+        int mask = rowSlots.length - 1;
+        int i = slot(high, low, mask);
+        while (rowSlots[i] != 0) {
+            int row = rowSlots[i] - 1;
+            if (idHigh[row] == high && idLow[row] == low) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void growSlots() {
+        int[] old = rowSlots;
+        rowSlots = new int[old.length * 2];
+        int mask = rowSlots.length - 1;
+        for (int entry : old) {
+            if (entry != 0) {
+                int i = slot(idHigh[entry - 1], idLow[entry - 1], mask);
+                while (rowSlots[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                rowSlots[i] = entry;
+            }
+        }
+    }
+
+    private static int slot(long high, long low, int mask) {
+        long h = (high ^ low) * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & mask;
+    }
+
+    private static CompressedBitmap union(Map<String, CompressedBitmap> bitmaps, Iterable<String> keys) {
+        List<CompressedBitmap> present = new ArrayList<>();
+        for (String key : keys) {
+            CompressedBitmap bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                present.add(bitmap);
+            }
+        }
+        return present.size() == 1 ? present.get(0) : CompressedBitmap.orAll(present);
+    }
+
+    private static long epochMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    @FunctionalInterface
+    private interface RowOrder {
+        int compare(int a, int b);
+    }
+}
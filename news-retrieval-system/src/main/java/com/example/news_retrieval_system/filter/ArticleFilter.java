@@ -0,0 +1,26 @@
+package com.example.news_retrieval_system.filter;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * A conjunction of optional constraints: any of {@code categories} AND any of {@code sources}
+ * AND published at or after {@code since} AND relevance above {@code minScore}. Empty sets and
+ * nulls leave that dimension unconstrained.
+ */
+public record ArticleFilter(Set<String> categories, Set<String> sources, LocalDateTime since, Double minScore,
+                            Order order) {
+
+    public enum Order { RECENCY, SCORE }
+
+    public ArticleFilter {
+        categories = categories == null ? Set.of() : Set.copyOf(categories);
+        sources = sources == null ? Set.of() : Set.copyOf(sources);
+    }
+
+    /** Number of dimensions this filter constrains. */
+    public int constraints() {
+        return (categories.isEmpty() ? 0 : 1) + (sources.isEmpty() ? 0 : 1) + (since == null ? 0 : 1)
+            + (minScore == null ? 0 : 1);
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.news_retrieval_system.filter;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.news_retrieval_system.ingest.ArticleIngestListener;
+import com.example.news_retrieval_system.model.NewsArticle;
+
+/**
+ * Answers combined category/source/time/score filters from an in-process
+ * {@link ArticleBitmapIndex}, so "sports from PTI in the last 24h" needs no database round-trip
+ * until the page's rows are fetched by id.
+ *
+ * Only the last {@code filter.bitmap.window-hours} are indexed, and {@link #covers} lets a filter
+ * use the index only when its time bound falls inside that window; anything else goes to the
+ * database. The index is built from the window's weekly partitions at startup and rebuilt every
+ * {@code filter.bitmap.reload-ms}, reaching back one extra interval so a page sequence pinned to a
+ * window start keeps its oldest rows across a rebuild. Chunks committed by
+ * {@code BulkArticleIngestService} are added as they land, and those that arrive during a rebuild
+ * are replayed into the new index before it is swapped in.
+ */
+@Service
+public class BitmapFilterService implements ArticleIngestListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(BitmapFilterService.class);
+    private static final int FETCH_SIZE = 10_000;
+    private static final int LOG_INTERVAL = 100;
+
+    private static final String SELECT_WINDOW = """
+        SELECT id, publication_date, relevance_score, source_name, category FROM news_articles
+        WHERE publication_date >= ?
+        """;
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final Duration window;
+    private final Duration reloadInterval;
+
+    private final ReentrantLock swapLock = new ReentrantLock();
+    private volatile ArticleBitmapIndex index;
+    private List<NewsArticle> ingestedDuringReload;
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong lookupNanos = new AtomicLong();
+
+    public BitmapFilterService(DataSource dataSource,
+                               @Value("${filter.bitmap.enabled:true}") boolean enabled,
+                               @Value("${filter.bitmap.window-hours:720}") long windowHours,
+                               @Value("${filter.bitmap.reload-ms:600000}") long reloadMillis) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.window = Duration.ofHours(windowHours);
+        this.reloadInterval = Duration.ofMillis(reloadMillis);
+    }
+
+    public boolean isLoaded() {
+        return index != null;
+    }
+
+    /** Whether the index is loaded and holds every article {@code filter} can match. */
+    public boolean covers(ArticleFilter filter) {
+        return index != null && filter.since() != null && !filter.since().isBefore(LocalDateTime.now().minus(window));
+    }
+
+    /**
+     * Ids of the next page of articles matching {@code filter}, or empty while the index is
+     * not loaded.
+     */
+    public Optional<List<UUID>> findPage(ArticleFilter filter, UUID afterId, int limit) {
+        ArticleBitmapIndex current = index;
+        if (current == null) {
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        List<UUID> ids = current.find(filter, afterId, limit);
+        long total = lookups.incrementAndGet();
+        long nanos = lookupNanos.addAndGet(System.nanoTime() - start);
+        if (total % LOG_INTERVAL == 0) {
+            logger.info("Bitmap filter: {} lookups, avg {} us over {} articles",
+                total, TimeUnit.NANOSECONDS.toMicros(nanos / total), current.size());
+        }
+        return Optional.of(ids);
+    }
+
+    @Override
+    public void onArticlesIngested(List<NewsArticle> articles) {
+        if (!enabled) {
+            return;
+        }
+        swapLock.lock();
+        try {
+            ArticleBitmapIndex current = index;
+            if (current != null) {
+                LocalDateTime oldest = LocalDateTime.now().minus(window).minus(reloadInterval);
+                for (NewsArticle article : articles) {
+                    if (article.getPublicationDate() == null || article.getPublicationDate().isBefore(oldest)) {
+                        continue;
+                    }
+                    current.add(article.getId(), article.getPublicationDate(), article.getRelevanceScore(),
+                        article.getSourceName(), article.getCategory());
+                }
+            }
+            if (ingestedDuringReload != null) {
+                ingestedDuringReload.addAll(articles);
+            }
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    /**
+     * Runs once at startup and then every {@code filter.bitmap.reload-ms}.
+     */
+    @Scheduled(fixedDelayString = "${filter.bitmap.reload-ms:600000}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        swapLock.lock();
+        try {
+            ingestedDuringReload = new ArrayList<>();
+        } finally {
+            swapLock.unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        LocalDateTime oldest = LocalDateTime.now().minus(window).minus(reloadInterval);
+        ArticleBitmapIndex rebuilt = new ArticleBitmapIndex();
+        try {
+            load(rebuilt, oldest);
+        } catch (SQLException e) {
+            // Keep serving the previous index
+            logger.error("Error loading bitmap filter index: {}", e.getMessage(), e);
+            swapLock.lock();
+            try {
+                ingestedDuringReload = null;
+            } finally {
+                swapLock.unlock();
+            }
+            return;
+        }
+
+        swapLock.lock();
+        try {
+            for (NewsArticle article : ingestedDuringReload) {
+                if (article.getPublicationDate() == null || article.getPublicationDate().isBefore(oldest)) {
+                    continue;
+                }
+                rebuilt.add(article.getId(), article.getPublicationDate(), article.getRelevanceScore(),
+                    article.getSourceName(), article.getCategory());
+            }
+            ingestedDuringReload = null;
+            index = rebuilt;
+        } finally {
+            swapLock.unlock();
+        }
+        logger.info("Bitmap filter index loaded: {} articles in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    private void load(ArticleBitmapIndex target, LocalDateTime oldest) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            // Read-only routes to a replica when configured; a transaction lets pgjdbc stream with a cursor
+            connection.setReadOnly(true);
+            connection.setAutoCommit(false);
+            // The bound prunes the scan to the window's partitions
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_WINDOW)) {
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setTimestamp(1, Timestamp.valueOf(oldest));
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        Timestamp publishedAt = rs.getTimestamp("publication_date");
+                        Array category = rs.getArray("category");
+                        target.add(rs.getObject("id", UUID.class),
+                            publishedAt == null ? null : publishedAt.toLocalDateTime(),
+                            rs.getDouble("relevance_score"), rs.getString("source_name"),
+                            category == null ? null : Arrays.asList((String[]) category.getArray()));
+                    }
+                }
+            } finally {
+                connection.commit();
+            }
+        }
+    }
+}
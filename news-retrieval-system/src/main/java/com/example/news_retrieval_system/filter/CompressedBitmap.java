@@ -0,0 +1,292 @@
+package com.example.news_retrieval_system.filter;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of non-negative ints in the Roaring layout: values are split by their high 16 bits into
+ * chunks, and each chunk is stored as a sorted {@code char[]} while it holds at most 4096 values
+ * and as a 1024-word bitset above that. Sparse sets cost two bytes per value, dense ones one bit,
+ * and intersections skip whole chunks missing from either side.
+ *
+ * Not thread-safe; {@link ArticleBitmapIndex} guards mutation.
+ */
+final class CompressedBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private char[] keys = new char[4];
+    private Object[] containers = new Object[4];
+    private int[] cardinalities = new int[4];
+    private int size;
+
+    void add(int value) {
+        char key = (char) (value >>> 16);
+        char low = (char) value;
+        int index = size > 0 && keys[size - 1] == key ? size - 1 : Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            index = -index - 1;
+            insertChunk(index, key, new char[4], 0);
+        }
+        if (containers[index] instanceof char[] array) {
+            int count = cardinalities[index];
+            int position = count > 0 && array[count - 1] < low ? -count - 1 : Arrays.binarySearch(array, 0, count, low);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (count == ARRAY_MAX) {
+                long[] words = toWords(array, count);
+                words[low >>> 6] |= 1L << low;
+                containers[index] = words;
+            } else {
+                if (count == array.length) {
+                    array = Arrays.copyOf(array, Math.min(ARRAY_MAX, count * 2));
+                    containers[index] = array;
+                }
+                System.arraycopy(array, position, array, position + 1, count - position);
+                array[position] = low;
+            }
+        } else {
+            long[] words = (long[]) containers[index];
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) != 0) {
+                return;
+            }
+            words[low >>> 6] |= bit;
+        }
+        cardinalities[index]++;
+    }
+
+    int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += cardinalities[i];
+        }
+        return total;
+    }
+
+    /** Calls {@code action} with every value in ascending order. */
+    void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            int high = keys[i] << 16;
+            if (containers[i] instanceof char[] array) {
+                for (int j = 0; j < cardinalities[i]; j++) {
+                    action.accept(high | array[j]);
+                }
+            } else {
+                long[] words = (long[]) containers[i];
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    long word = words[w];
+                    while (word != 0) {
+                        action.accept(high | (w << 6) + Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+    }
+
+    static CompressedBitmap and(CompressedBitmap a, CompressedBitmap b) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                result.appendIfNotEmpty(a.keys[i], and(a.containers[i], a.cardinalities[i], b.containers[j], b.cardinalities[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    static CompressedBitmap or(CompressedBitmap a, CompressedBitmap b) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || i < a.size && a.keys[i] < b.keys[j]) {
+                result.appendIfNotEmpty(a.keys[i], copy(a.containers[i], a.cardinalities[i]));
+                i++;
+            } else if (i == a.size || a.keys[i] > b.keys[j]) {
+                result.appendIfNotEmpty(b.keys[j], copy(b.containers[j], b.cardinalities[j]));
+                j++;
+            } else {
+                result.appendIfNotEmpty(a.keys[i], or(a.containers[i], a.cardinalities[i], b.containers[j], b.cardinalities[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Union of many bitmaps in one pass: chunks are accumulated into per-key bitsets rather than
+     * copying the running result for every input as chained {@link #or} calls would.
+     */
+    static CompressedBitmap orAll(Collection<CompressedBitmap> bitmaps) {
+        TreeMap<Character, long[]> chunks = new TreeMap<>();
+        for (CompressedBitmap bitmap : bitmaps) {
+            for (int i = 0; i < bitmap.size; i++) {
+                long[] words = chunks.computeIfAbsent(bitmap.keys[i], k -> new long[BITMAP_WORDS]);
+                if (bitmap.containers[i] instanceof char[] array) {
+                    for (int j = 0; j < bitmap.cardinalities[i]; j++) {
+                        words[array[j] >>> 6] |= 1L << array[j];
+                    }
+                } else {
+                    long[] source = (long[]) bitmap.containers[i];
+                    for (int w = 0; w < BITMAP_WORDS; w++) {
+                        words[w] |= source[w];
+                    }
+                }
+            }
+        }
+        CompressedBitmap result = new CompressedBitmap();
+        for (Map.Entry<Character, long[]> chunk : chunks.entrySet()) {
+            long[] words = chunk.getValue();
+            int n = 0;
+            for (long word : words) {
+                n += Long.bitCount(word);
+            }
+            result.appendIfNotEmpty(chunk.getKey(), n > ARRAY_MAX ? new Chunk(words, n) : new Chunk(toArray(words, n), n));
+        }
+        return result;
+    }
+
+    private static Chunk and(Object a, int aCount, Object b, int bCount) {
+        if (a instanceof char[] left && b instanceof char[] right) {
+            char[] out = new char[Math.min(aCount, bCount)];
+            int n = 0;
+            for (int i = 0, j = 0; i < aCount && j < bCount; ) {
+                if (left[i] < right[j]) {
+                    i++;
+                } else if (left[i] > right[j]) {
+                    j++;
+                } else {
+                    out[n++] = left[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new Chunk(out, n);
+        }
+        if (a instanceof long[] && b instanceof char[]) {
+            return and(b, bCount, a, aCount);
+        }
+        if (a instanceof char[] left) {
+            long[] words = (long[]) b;
+            char[] out = new char[aCount];
+            int n = 0;
+            for (int i = 0; i < aCount; i++) {
+                if ((words[left[i] >>> 6] & 1L << left[i]) != 0) {
+                    out[n++] = left[i];
+                }
+            }
+            return new Chunk(out, n);
+        }
+        long[] left = (long[]) a;
+        long[] right = (long[]) b;
+        long[] words = new long[BITMAP_WORDS];
+        int n = 0;
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            words[w] = left[w] & right[w];
+            n += Long.bitCount(words[w]);
+        }
+        return n > ARRAY_MAX ? new Chunk(words, n) : new Chunk(toArray(words, n), n);
+    }
+
+    private static Chunk or(Object a, int aCount, Object b, int bCount) {
+        if (a instanceof char[] left && b instanceof char[] right) {
+            char[] out = new char[aCount + bCount];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < aCount || j < bCount) {
+                if (j == bCount || i < aCount && left[i] < right[j]) {
+                    out[n++] = left[i++];
+                } else if (i == aCount || left[i] > right[j]) {
+                    out[n++] = right[j++];
+                } else {
+                    out[n++] = left[i++];
+                    j++;
+                }
+            }
+            return n > ARRAY_MAX ? new Chunk(toWords(out, n), n) : new Chunk(out, n);
+        }
+        long[] words = a instanceof long[] aWords ? aWords.clone() : toWords((char[]) a, aCount);
+        if (b instanceof char[] right) {
+            for (int j = 0; j < bCount; j++) {
+                words[right[j] >>> 6] |= 1L << right[j];
+            }
+        } else {
+            long[] right = (long[]) b;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                words[w] |= right[w];
+            }
+        }
+        int n = 0;
+        for (long word : words) {
+            n += Long.bitCount(word);
+        }
+        return new Chunk(words, n);
+    }
+
+    private static Chunk copy(Object container, int count) {
+        return container instanceof char[] array ? new Chunk(Arrays.copyOf(array, count), count)
+            : new Chunk(((long[]) container).clone(), count);
+    }
+
+    private void appendIfNotEmpty(char key, Chunk chunk) {
+        if (chunk.cardinality() > 0) {
+            insertChunk(size, key, chunk.container(), chunk.cardinality());
+        }
+    }
+
+    private void insertChunk(int index, char key, Object container, int cardinality) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+            cardinalities = Arrays.copyOf(cardinalities, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        System.arraycopy(cardinalities, index, cardinalities, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        cardinalities[index] = cardinality;
+        size++;
+    }
+
+    private static long[] toWords(char[] values, int count) {
+        long[] words = new long[BITMAP_WORDS];
+        for (int i = 0; i < count; i++) {
+            words[values[i] >>> 6] |= 1L << values[i];
+        }
+        return words;
+    }
+
+    private static char[] toArray(long[] words, int count) {
+        char[] values = new char[count];
+        int n = 0;
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            long word = words[w];
+            while (word != 0) {
+                values[n++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return values;
+    }
+
+    private record Chunk(Object container, int cardinality) {
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.news_retrieval_system.geo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.example.news_retrieval_system.model.NewsArticleView;
+
+/**
+ * Immutable equal-angle grid over article coordinates, laid out like a CSR matrix: articles are
+ * sorted by cell and {@code cellStart[c]..cellStart[c + 1]} is the slice for cell {@code c}.
+ * Coordinates are kept in radians alongside {@code cos(lat)}, so a radius test is a handful of
+ * multiplications and one comparison against a precomputed haversine threshold.
+ *
+ * A radius lookup visits only the cells overlapping the circle's bounding box, wrapping across
+ * the antimeridian and widening to every longitude near the poles.
+ */
+final class RecentArticleGrid {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private final double cellDegrees;
+    private final int latCells;
+    private final int lonCells;
+    private final int[] cellStart;
+    private final double[] latRad;
+    private final double[] lonRad;
+    private final double[] cosLat;
+    private final long[] publishedAt;
+    private final NewsArticleView[] views;
+
+    private RecentArticleGrid(double cellDegrees, int latCells, int lonCells, int[] cellStart, double[] latRad,
+                              double[] lonRad, double[] cosLat, long[] publishedAt, NewsArticleView[] views) {
+        this.cellDegrees = cellDegrees;
+        this.latCells = latCells;
+        this.lonCells = lonCells;
+        this.cellStart = cellStart;
+        this.latRad = latRad;
+        this.lonRad = lonRad;
+        this.cosLat = cosLat;
+        this.publishedAt = publishedAt;
+        this.views = views;
+    }
+
+    /**
+     * @param articles articles with a publication date; those without one are skipped
+     */
+    static RecentArticleGrid build(Collection<NewsArticleView> articles, double cellDegrees) {
+        int latCells = (int) Math.ceil(180 / cellDegrees);
+        int lonCells = (int) Math.ceil(360 / cellDegrees);
+        int[] cellStart = new int[latCells * lonCells + 1];
+
+        List<NewsArticleView> kept = new ArrayList<>(articles.size());
+        int[] cellOf = new int[articles.size()];
+        for (NewsArticleView article : articles) {
+            if (article.publicationDate() == null) {
+                continue;
+            }
+            int cell = cell(article.latitude(), article.longitude(), cellDegrees, latCells, lonCells);
+            cellOf[kept.size()] = cell;
+            kept.add(article);
+            cellStart[cell + 1]++;
+        }
+        for (int c = 0; c < latCells * lonCells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+
+        int n = kept.size();
+        int[] next = cellStart.clone();
+        double[] latRad = new double[n];
+        double[] lonRad = new double[n];
+        double[] cosLat = new double[n];
+        long[] publishedAt = new long[n];
+        NewsArticleView[] views = new NewsArticleView[n];
+        for (int i = 0; i < n; i++) {
+            NewsArticleView article = kept.get(i);
+            int slot = next[cellOf[i]]++;
+            latRad[slot] = Math.toRadians(article.latitude());
+            lonRad[slot] = Math.toRadians(article.longitude());
+            cosLat[slot] = Math.cos(latRad[slot]);
+            publishedAt[slot] = RecentArticleIndex.epochMillis(article.publicationDate());
+            views[slot] = article;
+        }
+        return new RecentArticleGrid(cellDegrees, latCells, lonCells, cellStart, latRad, lonRad, cosLat, publishedAt, views);
+    }
+
+    int size() {
+        return views.length;
+    }
+
+    List<NewsArticleView> articles() {
+        return List.of(views);
+    }
+
+    /**
+     * Appends to {@code out} every article within {@code radiusKm} of the point that was
+     * published at or after {@code minPublishedAt} (see {@link RecentArticleIndex#epochMillis}).
+     */
+    void collectWithin(double lat, double lon, double radiusKm, long minPublishedAt, List<NewsArticleView> out) {
+        double queryLat = Math.toRadians(lat);
+        double queryLon = Math.toRadians(lon);
+        double cosQuery = Math.cos(queryLat);
+        double halfAngle = Math.sin(Math.min(radiusKm / EARTH_RADIUS_KM, Math.PI) / 2);
+        double threshold = halfAngle * halfAngle;
+
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double lonDelta = radiusKm / (KM_PER_DEGREE * Math.max(Math.cos(queryLat), 1e-6));
+        int fromLat = latIndex(Math.max(-90, lat - latDelta));
+        int toLat = latIndex(Math.min(90, lat + latDelta));
+        int fromLon;
+        int lonSpan;
+        if (lat - latDelta <= -90 || lat + latDelta >= 90 || lonDelta >= 180) {
+            fromLon = 0;
+            lonSpan = lonCells;
+        } else {
+            fromLon = (int) Math.floor((lon - lonDelta + 180) / cellDegrees);
+            lonSpan = Math.min(lonCells, (int) Math.floor((lon + lonDelta + 180) / cellDegrees) - fromLon + 1);
+        }
+
+        for (int latCell = fromLat; latCell <= toLat; latCell++) {
+            int row = latCell * lonCells;
+            for (int step = 0; step < lonSpan; step++) {
+                int cell = row + Math.floorMod(fromLon + step, lonCells);
+                for (int i = cellStart[cell], end = cellStart[cell + 1]; i < end; i++) {
+                    if (publishedAt[i] < minPublishedAt) {
+                        continue;
+                    }
+                    double sinLat = Math.sin((latRad[i] - queryLat) / 2);
+                    double sinLon = Math.sin((lonRad[i] - queryLon) / 2);
+                    if (sinLat * sinLat + cosQuery * cosLat[i] * sinLon * sinLon <= threshold) {
+                        out.add(views[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * {@link #collectWithin} for a short list that has not been gridded yet.
+     */
+    static void scanWithin(List<NewsArticleView> articles, double lat, double lon, double radiusKm,
+                           long minPublishedAt, List<NewsArticleView> out) {
+        double queryLat = Math.toRadians(lat);
+        double queryLon = Math.toRadians(lon);
+        double cosQuery = Math.cos(queryLat);
+        double halfAngle = Math.sin(Math.min(radiusKm / EARTH_RADIUS_KM, Math.PI) / 2);
+        double threshold = halfAngle * halfAngle;
+        for (NewsArticleView article : articles) {
+            if (article.publicationDate() == null
+                    || RecentArticleIndex.epochMillis(article.publicationDate()) < minPublishedAt) {
+                continue;
+            }
+            double latRad = Math.toRadians(article.latitude());
+            double sinLat = Math.sin((latRad - queryLat) / 2);
+            double sinLon = Math.sin((Math.toRadians(article.longitude()) - queryLon) / 2);
+            if (sinLat * sinLat + cosQuery * Math.cos(latRad) * sinLon * sinLon <= threshold) {
+                out.add(article);
+            }
+        }
+    }
+
+    private int latIndex(double lat) {
+        return Math.min(latCells - 1, (int) Math.floor((lat + 90) / cellDegrees));
+    }
+
+    private static int cell(double lat, double lon, double cellDegrees, int latCells, int lonCells) {
+        int latCell = Math.min(latCells - 1, Math.max(0, (int) Math.floor((lat + 90) / cellDegrees)));
+        int lonCell = Math.floorMod((int) Math.floor((lon + 180) / cellDegrees), lonCells);
+        return latCell * lonCells + lonCell;
+    }
+}
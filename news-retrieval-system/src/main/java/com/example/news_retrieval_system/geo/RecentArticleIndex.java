@@ -0,0 +1,202 @@
+package com.example.news_retrieval_system.geo;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.news_retrieval_system.ingest.ArticleIngestListener;
+import com.example.news_retrieval_system.model.NewsArticle;
+import com.example.news_retrieval_system.model.NewsArticleView;
+import com.example.news_retrieval_system.repository.NewsArticleRepository;
+
+/**
+ * Answers trending-fallback candidate lookups (last 48 hours within a radius) from memory.
+ *
+ * The recent window is loaded from Postgres into a {@link RecentArticleGrid} at startup and every
+ * {@code geo.index.reload-ms}, which also picks up rows written outside this process. Chunks
+ * committed by {@code BulkArticleIngestService} land in a small pending list that lookups scan
+ * linearly and that is folded into a fresh grid once it passes {@code geo.index.max-pending}.
+ * Until the first load completes, or when disabled, lookups go to Postgres.
+ *
+ * Like the repository query, candidates carry no description, which keeps the window small
+ * enough to hold; callers load the page they keep by id.
+ */
+@Service
+public class RecentArticleIndex implements ArticleIngestListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecentArticleIndex.class);
+    private static final int LOG_INTERVAL = 1000;
+    // Same window as NewsArticleViewRepository.findFallbackCandidates
+    private static final Duration WINDOW = Duration.ofHours(48);
+    private static final Comparator<NewsArticleView> NEWEST_FIRST = Comparator
+        .comparing(NewsArticleView::publicationDate, Comparator.reverseOrder())
+        .thenComparing(NewsArticleView::id, Comparator.reverseOrder());
+
+    private final NewsArticleRepository newsRepository;
+    private final boolean enabled;
+    private final double cellDegrees;
+    private final int maxPending;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile RecentArticleGrid grid;
+    private volatile List<NewsArticleView> pending = List.of();
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong lookupNanos = new AtomicLong();
+    private final AtomicLong databaseLookups = new AtomicLong();
+
+    public RecentArticleIndex(NewsArticleRepository newsRepository,
+                              @Value("${geo.index.enabled:true}") boolean enabled,
+                              @Value("${geo.index.cell-degrees:0.25}") double cellDegrees,
+                              @Value("${geo.index.max-pending:5000}") int maxPending) {
+        this.newsRepository = newsRepository;
+        this.enabled = enabled;
+        this.cellDegrees = cellDegrees;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Articles from the last 48 hours within {@code radiusKm}, newest first, at most
+     * {@code maxCandidates}; the same contract as the repository query it stands in for.
+     */
+    public List<NewsArticleView> findFallbackCandidates(double lat, double lon, double radiusKm, int maxCandidates) {
+        RecentArticleGrid current = grid;
+        if (!enabled || current == null) {
+            databaseLookups.incrementAndGet();
+            return newsRepository.findFallbackCandidates(lat, lon, radiusKm, maxCandidates);
+        }
+        long start = System.nanoTime();
+        List<NewsArticleView> recent = pending;
+        long minPublishedAt = epochMillis(LocalDateTime.now().minus(WINDOW));
+
+        List<NewsArticleView> matches = new ArrayList<>();
+        current.collectWithin(lat, lon, radiusKm, minPublishedAt, matches);
+        if (!recent.isEmpty()) {
+            // A pending copy of an article replaces the one in the grid
+            Set<UUID> pendingIds = new HashSet<>();
+            for (NewsArticleView article : recent) {
+                pendingIds.add(article.id());
+            }
+            matches.removeIf(article -> pendingIds.contains(article.id()));
+            RecentArticleGrid.scanWithin(recent, lat, lon, radiusKm, minPublishedAt, matches);
+        }
+        matches.sort(NEWEST_FIRST);
+        List<NewsArticleView> candidates = matches.size() > maxCandidates ? matches.subList(0, maxCandidates) : matches;
+
+        long total = lookups.incrementAndGet();
+        long nanos = lookupNanos.addAndGet(System.nanoTime() - start);
+        if (total % LOG_INTERVAL == 0) {
+            logger.info("Recent article index: {} lookups, avg {} us, {} articles indexed, {} pending, {} sent to Postgres",
+                total, TimeUnit.NANOSECONDS.toMicros(nanos / total), current.size(), recent.size(), databaseLookups.get());
+        }
+        return candidates;
+    }
+
+    @Override
+    public void onArticlesIngested(List<NewsArticle> articles) {
+        if (!enabled) {
+            return;
+        }
+        long minPublishedAt = epochMillis(LocalDateTime.now().minus(WINDOW));
+        List<NewsArticleView> recent = new ArrayList<>(articles.size());
+        for (NewsArticle article : articles) {
+            if (article.getPublicationDate() != null && epochMillis(article.getPublicationDate()) >= minPublishedAt) {
+                recent.add(toView(article));
+            }
+        }
+        if (recent.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            List<NewsArticleView> merged = new ArrayList<>(pending.size() + recent.size());
+            merged.addAll(pending);
+            merged.addAll(recent);
+            pending = List.copyOf(merged);
+            RecentArticleGrid current = grid;
+            if (current != null && merged.size() > maxPending) {
+                swap(current.articles(), LocalDateTime.now().minus(WINDOW));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Runs once at startup and then every {@code geo.index.reload-ms}.
+     */
+    @Scheduled(fixedDelayString = "${geo.index.reload-ms:300000}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            LocalDateTime since = LocalDateTime.now().minus(WINDOW);
+            List<NewsArticleView> loaded = newsRepository.findRecentViews(since);
+            writeLock.lock();
+            try {
+                // Chunks ingested while the query ran are still pending and are folded in here
+                swap(loaded, since);
+            } finally {
+                writeLock.unlock();
+            }
+            logger.info("Recent article index loaded: {} articles since {} in {} ms",
+                grid.size(), since, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // Keep serving the previous grid; expired articles are still filtered per lookup
+            logger.error("Error loading recent article index: {}", e.getMessage(), e);
+        }
+    }
+
+    /** Callers hold {@link #writeLock}. */
+    private void swap(List<NewsArticleView> base, LocalDateTime since) {
+        long minPublishedAt = epochMillis(since);
+        Map<UUID, NewsArticleView> byId = new LinkedHashMap<>();
+        for (NewsArticleView article : base) {
+            byId.put(article.id(), article);
+        }
+        for (NewsArticleView article : pending) {
+            byId.put(article.id(), article);
+        }
+        byId.values().removeIf(article -> article.publicationDate() == null
+            || epochMillis(article.publicationDate()) < minPublishedAt);
+        grid = RecentArticleGrid.build(byId.values(), cellDegrees);
+        pending = List.of();
+    }
+
+    public boolean isLoaded() {
+        return grid != null;
+    }
+
+    /**
+     * Publication dates are zone-less {@link LocalDateTime}s read in the JVM's zone; they are
+     * only compared with each other, so mapping them as if UTC keeps the order.
+     */
+    static long epochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static NewsArticleView toView(NewsArticle article) {
+        return new NewsArticleView(article.getId(), article.getTitle(), null, article.getUrl(),
+            article.getPublicationDate(), article.getSourceName(), article.getCategory(), article.getRelevanceScore(),
+            article.getLatitude(), article.getLongitude());
+    }
+}
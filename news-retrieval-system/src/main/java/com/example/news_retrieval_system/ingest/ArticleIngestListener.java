@@ -0,0 +1,15 @@
+package com.example.news_retrieval_system.ingest;
+
+import java.util.List;
+
+import com.example.news_retrieval_system.model.NewsArticle;
+
+/**
+ * Notified after each chunk of articles is committed by {@link BulkArticleIngestService}, so
+ * in-process indexes can stay current without re-reading the table. Called from ingest worker
+ * threads, possibly concurrently.
+ */
+public interface ArticleIngestListener {
+
+    void onArticlesIngested(List<NewsArticle> articles);
+}
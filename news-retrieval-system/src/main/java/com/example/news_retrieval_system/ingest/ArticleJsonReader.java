@@ -0,0 +1,137 @@
+package com.example.news_retrieval_system.ingest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.news_retrieval_system.model.NewsArticle;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Token-level reader for article files. Accepts either a top-level JSON array (the format in
+ * {@code data/}) or newline-delimited objects, and never holds more than one article in memory.
+ * Articles missing a required field or violating the table's CHECK constraints are skipped, the
+ * same way {@code ingest.py} drops rows with missing keys.
+ */
+public class ArticleJsonReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleJsonReader.class);
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_TITLE = 1 << 1;
+    private static final int HAS_URL = 1 << 2;
+    private static final int HAS_DATE = 1 << 3;
+    private static final int HAS_SOURCE = 1 << 4;
+    private static final int HAS_SCORE = 1 << 5;
+    private static final int HAS_LAT = 1 << 6;
+    private static final int HAS_LON = 1 << 7;
+    private static final int REQUIRED = HAS_ID | HAS_TITLE | HAS_URL | HAS_DATE | HAS_SOURCE | HAS_SCORE | HAS_LAT | HAS_LON;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * Streams every valid article to {@code sink}.
+     *
+     * @return number of articles skipped as invalid
+     */
+    public long read(InputStream in, Consumer<NewsArticle> sink) throws IOException {
+        long skipped = 0;
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IOException("Expected article object at " + parser.currentLocation());
+                }
+                NewsArticle article = readArticle(parser);
+                if (article != null) {
+                    sink.accept(article);
+                } else {
+                    skipped++;
+                }
+                token = parser.nextToken();
+            }
+        }
+        return skipped;
+    }
+
+    private NewsArticle readArticle(JsonParser parser) throws IOException {
+        NewsArticle article = new NewsArticle();
+        int seen = 0;
+        boolean valid = true;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            try {
+                switch (field) {
+                    case "id" -> { article.setId(UUID.fromString(parser.getText())); seen |= HAS_ID; }
+                    case "title" -> { article.setTitle(parser.getText()); seen |= HAS_TITLE; }
+                    case "description" -> article.setDescription(parser.getText());
+                    case "url" -> { article.setUrl(parser.getText()); seen |= HAS_URL; }
+                    case "publication_date" -> { article.setPublicationDate(parseDate(parser.getText())); seen |= HAS_DATE; }
+                    case "source_name" -> { article.setSourceName(parser.getText()); seen |= HAS_SOURCE; }
+                    case "category" -> article.setCategory(readCategories(parser));
+                    case "relevance_score" -> { article.setRelevanceScore(parser.getValueAsDouble()); seen |= HAS_SCORE; }
+                    case "latitude" -> { article.setLatitude(parser.getValueAsDouble()); seen |= HAS_LAT; }
+                    case "longitude" -> { article.setLongitude(parser.getValueAsDouble()); seen |= HAS_LON; }
+                    default -> parser.skipChildren();
+                }
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                valid = false;
+                parser.skipChildren();
+            }
+        }
+
+        if (!valid || (seen & REQUIRED) != REQUIRED || !withinConstraints(article)) {
+            logger.warn("Skipping invalid article: id={}", article.getId());
+            return null;
+        }
+        return article;
+    }
+
+    private List<String> readCategories(JsonParser parser) throws IOException {
+        List<String> categories = new ArrayList<>(2);
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            categories.add(parser.getText());
+            return categories;
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            categories.add(parser.getText());
+        }
+        return categories;
+    }
+
+    // Dates without an offset are treated as UTC, matching how the Python loader's rows read back
+    private static LocalDateTime parseDate(String text) {
+        try {
+            return LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            return OffsetDateTime.parse(text).withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+        }
+    }
+
+    private static boolean withinConstraints(NewsArticle article) {
+        return article.getRelevanceScore() >= 0 && article.getRelevanceScore() <= 1
+            && article.getLatitude() >= -90 && article.getLatitude() <= 90
+            && article.getLongitude() >= -180 && article.getLongitude() <= 180;
+    }
+}
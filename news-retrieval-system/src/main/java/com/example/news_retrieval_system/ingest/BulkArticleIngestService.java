@@ -0,0 +1,307 @@
+package com.example.news_retrieval_system.ingest;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.news_retrieval_system.dedup.ArticleClusterService;
+import com.example.news_retrieval_system.model.NewsArticle;
+import com.example.news_retrieval_system.service.ArticlePartitionManager;
+
+/**
+ * Bulk loader for {@code news_articles}. The calling thread stream-parses the file and deals each
+ * article to one of {@code workers} lanes by id; every lane cuts its articles into chunks, and its
+ * worker binary-COPYs each chunk into a session-local staging table and upserts it in one
+ * statement. At most two chunks per worker are in flight, so memory stays bounded by
+ * {@code workers * chunkSize} regardless of file size.
+ *
+ * All copies of an id land in the same lane, whose chunks commit one after another in file order,
+ * so the last copy in the file wins: within a chunk the staging table's sequence picks it, and two
+ * chunks never upsert the same id concurrently. Re-running a file is idempotent: rows that are
+ * already identical in the table are left untouched rather than rewritten.
+ *
+ * {@code news_articles} is partitioned by week, so its key is {@code (id, publication_date)}: the
+ * weeks a chunk spans are created before its transaction starts, and an article whose date moved
+ * is deleted from its old week before the upsert writes it into the new one.
+ *
+ * Each chunk is assigned near-duplicate clusters before it is copied; an existing row keeps the
+ * cluster it has, and one written without one (by the Python ingest job) takes the chunk's.
+ */
+@Service
+public class BulkArticleIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkArticleIngestService.class);
+
+    private static final String CREATE_STAGE = """
+        CREATE TEMP TABLE IF NOT EXISTS news_articles_stage (
+          id UUID,
+          title TEXT,
+          description TEXT,
+          url TEXT,
+          publication_date TIMESTAMPTZ,
+          source_name TEXT,
+          category TEXT[],
+          relevance_score REAL,
+          latitude DOUBLE PRECISION,
+          longitude DOUBLE PRECISION,
+          geom GEOGRAPHY(Point,4326),
+          cluster_id UUID,
+          seq BIGINT GENERATED ALWAYS AS IDENTITY
+        ) ON COMMIT DELETE ROWS
+        """;
+
+    private static final String COPY_STAGE =
+        "COPY news_articles_stage (" + PgBinaryCopyWriter.COLUMNS + ") FROM STDIN (FORMAT binary)";
+
+    private static final String DELETE_MOVED = """
+        DELETE FROM news_articles n USING news_articles_stage s
+        WHERE n.id = s.id AND n.publication_date <> s.publication_date
+        """;
+
+    private static final String UPSERT_FROM_STAGE = """
+        INSERT INTO news_articles (%1$s)
+        SELECT DISTINCT ON (id) %1$s FROM news_articles_stage ORDER BY id, seq DESC
+        ON CONFLICT (id, publication_date) DO UPDATE SET
+          title = EXCLUDED.title,
+          description = EXCLUDED.description,
+          url = EXCLUDED.url,
+          source_name = EXCLUDED.source_name,
+          category = EXCLUDED.category,
+          relevance_score = EXCLUDED.relevance_score,
+          latitude = EXCLUDED.latitude,
+          longitude = EXCLUDED.longitude,
+          geom = EXCLUDED.geom,
+          cluster_id = COALESCE(news_articles.cluster_id, EXCLUDED.cluster_id)
+        WHERE (news_articles.cluster_id IS NULL AND EXCLUDED.cluster_id IS NOT NULL)
+           OR (news_articles.title, news_articles.description, news_articles.url,
+               news_articles.source_name, news_articles.category, news_articles.relevance_score,
+               news_articles.latitude, news_articles.longitude)
+          IS DISTINCT FROM
+              (EXCLUDED.title, EXCLUDED.description, EXCLUDED.url,
+               EXCLUDED.source_name, EXCLUDED.category, EXCLUDED.relevance_score,
+               EXCLUDED.latitude, EXCLUDED.longitude)
+        """.formatted(PgBinaryCopyWriter.COLUMNS);
+
+    private final DataSource dataSource;
+    private final ArticlePartitionManager partitionManager;
+    private final ArticleClusterService clusterService;
+    private final int workers;
+    private final int chunkSize;
+
+    private List<ArticleIngestListener> listeners = List.of();
+
+    public BulkArticleIngestService(DataSource dataSource, ArticlePartitionManager partitionManager,
+                                    ArticleClusterService clusterService,
+                                    @Value("${ingest.bulk.workers:4}") int workers,
+                                    @Value("${ingest.bulk.chunk-size:5000}") int chunkSize) {
+        this.dataSource = dataSource;
+        this.partitionManager = partitionManager;
+        this.clusterService = clusterService;
+        this.workers = Math.max(1, workers);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Autowired(required = false)
+    public void setListeners(List<ArticleIngestListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+    }
+
+    public IngestResult ingestFile(Path file) throws IOException {
+        logger.info("Bulk ingesting {} with {} workers, chunk size {}", file.getFileName(), workers, chunkSize);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            return ingestStream(in);
+        }
+    }
+
+    public IngestResult ingestStream(InputStream in) throws IOException {
+        long start = System.currentTimeMillis();
+        long failedChunks = 0;
+        long skipped;
+
+        List<ExecutorService> lanes = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            lanes.add(Executors.newSingleThreadExecutor());
+        }
+        ChunkDispatcher dispatcher = new ChunkDispatcher(lanes);
+        try {
+            skipped = new ArticleJsonReader().read(in, dispatcher);
+            dispatcher.flushAll();
+
+            for (Future<?> future : dispatcher.pending) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failedChunks++;
+                    logger.error("Bulk ingest chunk failed: {}", e.getCause().getMessage(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Bulk ingest interrupted", e);
+        } finally {
+            lanes.forEach(ExecutorService::shutdownNow);
+        }
+
+        IngestResult result = new IngestResult(dispatcher.parsed, skipped, dispatcher.upserted.get(), failedChunks,
+            System.currentTimeMillis() - start);
+        logger.info("Bulk ingest complete: parsed={}, skipped={}, upserted={}, failedChunks={}, rows/sec={}",
+            result.getParsed(), result.getSkipped(), result.getUpserted(), result.getFailedChunks(),
+            String.format("%.0f", result.rowsPerSecond()));
+        return result;
+    }
+
+    /**
+     * Upserts already-built articles (e.g. generated sample data) through the same COPY path,
+     * so {@code geom} is populated just like for file ingestion.
+     */
+    public long ingestArticles(List<NewsArticle> articles) {
+        long upserted = 0;
+        for (int from = 0; from < articles.size(); from += chunkSize) {
+            upserted += copyChunk(articles.subList(from, Math.min(articles.size(), from + chunkSize)));
+        }
+        return upserted;
+    }
+
+    /**
+     * Runs on the parsing thread: deals articles to lanes by id, cuts each lane's share into chunks
+     * and hands them to the lane's single worker, blocking once {@code workers * 2} chunks are in
+     * flight.
+     */
+    private final class ChunkDispatcher implements Consumer<NewsArticle> {
+        private final List<ExecutorService> lanes;
+        private final List<List<NewsArticle>> chunks;
+        private final Semaphore inFlight = new Semaphore(workers * 2);
+        private final List<Future<?>> pending = new ArrayList<>();
+        private final AtomicLong upserted = new AtomicLong();
+        private long parsed;
+
+        private ChunkDispatcher(List<ExecutorService> lanes) {
+            this.lanes = lanes;
+            this.chunks = new ArrayList<>(lanes.size());
+            for (int i = 0; i < lanes.size(); i++) {
+                chunks.add(new ArrayList<>(chunkSize));
+            }
+        }
+
+        @Override
+        public void accept(NewsArticle article) {
+            parsed++;
+            int lane = laneOf(article, lanes.size());
+            chunks.get(lane).add(article);
+            if (chunks.get(lane).size() >= chunkSize) {
+                flush(lane);
+            }
+        }
+
+        private void flushAll() {
+            for (int lane = 0; lane < lanes.size(); lane++) {
+                flush(lane);
+            }
+        }
+
+        private void flush(int lane) {
+            List<NewsArticle> batch = chunks.get(lane);
+            if (batch.isEmpty()) {
+                return;
+            }
+            chunks.set(lane, new ArrayList<>(chunkSize));
+            inFlight.acquireUninterruptibly();
+            pending.add(lanes.get(lane).submit(() -> {
+                try {
+                    upserted.addAndGet(copyChunk(batch));
+                } finally {
+                    inFlight.release();
+                }
+            }));
+        }
+    }
+
+    /** The lane every copy of an article's id goes to; the reader rejects articles without one. */
+    static int laneOf(NewsArticle article, int lanes) {
+        return Math.floorMod(article.getId().hashCode(), lanes);
+    }
+
+    private long copyChunk(List<NewsArticle> chunk) {
+        ensurePartitions(chunk);
+        clusterService.assign(chunk);
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGE);
+
+                PgBinaryCopyWriter writer = new PgBinaryCopyWriter(chunk.size());
+                for (NewsArticle article : chunk) {
+                    writer.write(article);
+                }
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                copyManager.copyIn(COPY_STAGE, new ByteArrayInputStream(writer.finish()));
+
+                statement.executeUpdate(DELETE_MOVED);
+                int rows = statement.executeUpdate(UPSERT_FROM_STAGE);
+                connection.commit();
+                notifyListeners(chunk);
+                return rows;
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Failed to copy chunk of " + chunk.size() + " articles", e);
+        }
+    }
+
+    private void ensurePartitions(List<NewsArticle> chunk) {
+        LocalDateTime min = null;
+        LocalDateTime max = null;
+        for (NewsArticle article : chunk) {
+            LocalDateTime publishedAt = article.getPublicationDate();
+            if (publishedAt != null) {
+                min = min == null || publishedAt.isBefore(min) ? publishedAt : min;
+                max = max == null || publishedAt.isAfter(max) ? publishedAt : max;
+            }
+        }
+        if (min != null) {
+            partitionManager.ensurePartitions(min, max);
+        }
+    }
+
+    private void notifyListeners(List<NewsArticle> chunk) {
+        for (ArticleIngestListener listener : listeners) {
+            try {
+                listener.onArticlesIngested(chunk);
+            } catch (RuntimeException e) {
+                // The rows are committed; a listener that falls behind catches up on its own
+                logger.error("Ingest listener {} failed: {}", listener.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+    }
+}
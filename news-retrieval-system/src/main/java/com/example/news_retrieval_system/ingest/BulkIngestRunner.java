@@ -0,0 +1,63 @@
+package com.example.news_retrieval_system.ingest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Java counterpart of {@code ingest/ingest.py}: loads every {@code *.json} / {@code *.ndjson} file in
+ * {@code ingest.bulk.path} at startup. Disabled unless {@code ingest.bulk.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "ingest.bulk.enabled", havingValue = "true")
+public class BulkIngestRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkIngestRunner.class);
+
+    private final BulkArticleIngestService ingestService;
+
+    @Value("${ingest.bulk.path:data}")
+    private String dataPath;
+
+    public BulkIngestRunner(BulkArticleIngestService ingestService) {
+        this.ingestService = ingestService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path dir = Paths.get(dataPath);
+        if (!Files.isDirectory(dir)) {
+            logger.warn("Bulk ingest directory not found: {}", dir.toAbsolutePath());
+            return;
+        }
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(dir)) {
+            files = listing
+                .filter(p -> p.toString().endsWith(".json") || p.toString().endsWith(".ndjson"))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+        logger.info("Found {} files to ingest in {}", files.size(), dir.toAbsolutePath());
+
+        for (Path file : files) {
+            try {
+                ingestService.ingestFile(file);
+            } catch (IOException e) {
+                logger.error("Error ingesting file {}: {}", file.getFileName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.news_retrieval_system.ingest;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class IngestResult {
+    private long parsed;
+    private long skipped;
+    private long upserted;
+    private long failedChunks;
+    private long elapsedMillis;
+
+    public double rowsPerSecond() {
+        return elapsedMillis == 0 ? parsed : parsed * 1000.0 / elapsedMillis;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.news_retrieval_system.ingest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import com.example.news_retrieval_system.model.NewsArticle;
+
+/**
+ * Encodes articles in PostgreSQL's binary COPY format for the column list in {@link #COLUMNS}.
+ * Binary COPY skips server-side text parsing of timestamps, arrays and floats, and lets us ship
+ * {@code geom} as EWKB instead of a WKT string the server has to parse.
+ */
+public class PgBinaryCopyWriter {
+
+    public static final String COLUMNS =
+        "id, title, description, url, publication_date, source_name, category, relevance_score, latitude, longitude, geom, cluster_id";
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final short FIELD_COUNT = 12;
+    private static final int TEXT_OID = 25;
+    private static final int WGS84_SRID = 4326;
+    private static final int EWKB_POINT_WITH_SRID = 0x20000001;
+    // PostgreSQL timestamps count microseconds from 2000-01-01T00:00:00Z
+    private static final long PG_EPOCH_SECONDS = 946_684_800L;
+
+    private final ByteArrayOutputStream buffer;
+    private final DataOutputStream out;
+
+    public PgBinaryCopyWriter(int expectedRows) {
+        this.buffer = new ByteArrayOutputStream(Math.max(1024, expectedRows * 512));
+        this.out = new DataOutputStream(buffer);
+        try {
+            out.write(SIGNATURE);
+            out.writeInt(0); // flags
+            out.writeInt(0); // header extension length
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // in-memory stream cannot fail
+        }
+    }
+
+    public void write(NewsArticle article) throws IOException {
+        out.writeShort(FIELD_COUNT);
+        writeUuid(article.getId());
+        writeText(article.getTitle());
+        writeText(article.getDescription());
+        writeText(article.getUrl());
+        writeTimestamp(article.getPublicationDate());
+        writeText(article.getSourceName());
+        writeTextArray(article.getCategory());
+        out.writeInt(4);
+        out.writeFloat((float) article.getRelevanceScore());
+        out.writeInt(8);
+        out.writeDouble(article.getLatitude());
+        out.writeInt(8);
+        out.writeDouble(article.getLongitude());
+        writePoint(article.getLongitude(), article.getLatitude());
+        writeUuid(article.getClusterId());
+    }
+
+    /** Appends the trailer and returns the complete COPY payload. */
+    public byte[] finish() throws IOException {
+        out.writeShort(-1);
+        out.flush();
+        return buffer.toByteArray();
+    }
+
+    private void writeUuid(UUID id) throws IOException {
+        if (id == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(16);
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private void writeText(String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeTimestamp(LocalDateTime value) throws IOException {
+        long micros = (value.toEpochSecond(ZoneOffset.UTC) - PG_EPOCH_SECONDS) * 1_000_000L + value.getNano() / 1_000;
+        out.writeInt(8);
+        out.writeLong(micros);
+    }
+
+    private void writeTextArray(List<String> values) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[][] elements = new byte[values.size()][];
+        int length = 12 + (values.isEmpty() ? 0 : 8);
+        boolean hasNull = false;
+        for (int i = 0; i < elements.length; i++) {
+            String value = values.get(i);
+            elements[i] = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+            hasNull |= value == null;
+            length += 4 + (elements[i] == null ? 0 : elements[i].length);
+        }
+
+        out.writeInt(length);
+        out.writeInt(values.isEmpty() ? 0 : 1); // dimensions
+        out.writeInt(hasNull ? 1 : 0);
+        out.writeInt(TEXT_OID);
+        if (!values.isEmpty()) {
+            out.writeInt(elements.length);
+            out.writeInt(1); // lower bound
+        }
+        for (byte[] element : elements) {
+            if (element == null) {
+                out.writeInt(-1);
+            } else {
+                out.writeInt(element.length);
+                out.write(element);
+            }
+        }
+    }
+
+    // geography's binary input accepts EWKB, which is little-endian regardless of the COPY framing
+    private void writePoint(double x, double y) throws IOException {
+        ByteBuffer ewkb = ByteBuffer.allocate(25).order(ByteOrder.LITTLE_ENDIAN);
+        ewkb.put((byte) 1);
+        ewkb.putInt(EWKB_POINT_WITH_SRID);
+        ewkb.putInt(WGS84_SRID);
+        ewkb.putDouble(x);
+        ewkb.putDouble(y);
+        out.writeInt(ewkb.capacity());
+        out.write(ewkb.array());
+    }
+}
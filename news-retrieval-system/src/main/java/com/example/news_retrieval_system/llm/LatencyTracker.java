@@ -0,0 +1,42 @@
+package com.example.news_retrieval_system.llm;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding window of the most recent successful call latencies, used to pick the hedge delay.
+ */
+public class LatencyTracker {
+
+    private static final int MIN_SAMPLES = 20;
+
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+
+    public LatencyTracker(int windowSize) {
+        this.samples = new AtomicLongArray(windowSize);
+    }
+
+    public void record(long nanos) {
+        long slot = recorded.getAndIncrement();
+        samples.set((int) (slot % samples.length()), nanos);
+    }
+
+    /**
+     * @return the given percentile of the window, or {@code fallback} until enough calls have been seen
+     */
+    public Duration percentile(double percentile, Duration fallback) {
+        int size = (int) Math.min(recorded.get(), samples.length());
+        if (size < MIN_SAMPLES) {
+            return fallback;
+        }
+        long[] window = new long[size];
+        for (int i = 0; i < size; i++) {
+            window[i] = samples.get(i);
+        }
+        Arrays.sort(window);
+        return Duration.ofNanos(window[Math.min(size - 1, (int) Math.ceil(percentile * size) - 1)]);
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.news_retrieval_system.llm;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.example.news_retrieval_system.dto.AnalysisResponse;
+import com.example.news_retrieval_system.dto.QueryRequest;
+import com.example.news_retrieval_system.dto.SummaryResponse;
+import com.example.news_retrieval_system.dto.TextRequest;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Calls to the LLM service under a caller-supplied time budget.
+ *
+ * Each endpoint keeps its own latency window and circuit breaker. When hedging is on, a duplicate
+ * request is sent once the first has been outstanding longer than the endpoint's recent p95, and
+ * whichever answers first wins; the other is cancelled. Both endpoints are pure functions of
+ * their input, so a duplicate is safe. A failed first request fails the call at once and cancels
+ * any hedge, so a rejected request is never sent twice; a failed hedge leaves the call to the
+ * first request.
+ *
+ * The breaker only counts what says something about the service: errors it answered with (other
+ * than 4xx) and attempts that outlived {@code llm.client.attempt-timeout-ms}. A call cut short
+ * because the caller's own budget ran out fails with {@link LlmUnavailableException} and is not
+ * counted, so callers left with little of their deadline cannot open the breaker for everyone.
+ */
+@Service
+// Bodies go through a generic call(), which AOT cannot trace back to these types for a native image
+@RegisterReflectionForBinding({QueryRequest.class, TextRequest.class, AnalysisResponse.class, SummaryResponse.class})
+public class LlmServiceClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(LlmServiceClient.class);
+    private static final int LATENCY_WINDOW = 512;
+
+    private final WebClient webClient;
+    private final boolean hedgingEnabled;
+    private final Duration initialHedgeDelay;
+    private final Duration minHedgeDelay;
+    private final Duration attemptTimeout;
+    private final Endpoint processQuery;
+    private final Endpoint summarize;
+
+    private final AtomicLong hedgesSent = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+
+    public LlmServiceClient(@Qualifier("llmServiceClient") WebClient webClient,
+                            @Value("${llm.client.hedge.enabled:true}") boolean hedgingEnabled,
+                            @Value("${llm.client.hedge.initial-delay-ms:1000}") long initialHedgeDelayMs,
+                            @Value("${llm.client.hedge.min-delay-ms:50}") long minHedgeDelayMs,
+                            @Value("${llm.client.attempt-timeout-ms:2000}") long attemptTimeoutMs,
+                            @Value("${llm.client.breaker.failure-threshold:5}") int failureThreshold,
+                            @Value("${llm.client.breaker.open-ms:10000}") long openMs) {
+        this.webClient = webClient;
+        this.hedgingEnabled = hedgingEnabled;
+        this.initialHedgeDelay = Duration.ofMillis(initialHedgeDelayMs);
+        this.minHedgeDelay = Duration.ofMillis(minHedgeDelayMs);
+        this.attemptTimeout = Duration.ofMillis(attemptTimeoutMs);
+        this.processQuery = new Endpoint("/process-query", failureThreshold, openMs);
+        this.summarize = new Endpoint("/summarize/", failureThreshold, openMs);
+    }
+
+    public Mono<AnalysisResponse> processQuery(String query, Duration budget) {
+        return call(processQuery, new QueryRequest(query), AnalysisResponse.class, budget);
+    }
+
+    public Mono<String> summarize(String text, Duration budget) {
+        return call(summarize, new TextRequest(text), SummaryResponse.class, budget)
+                .mapNotNull(SummaryResponse::getSummary);
+    }
+
+    private <T> Mono<T> call(Endpoint endpoint, Object body, Class<T> type, Duration budget) {
+        return Mono.defer(() -> {
+            if (budget.isZero() || budget.isNegative()) {
+                return Mono.error(new LlmUnavailableException(endpoint.path + ": request deadline exhausted"));
+            }
+            if (!endpoint.breaker.tryAcquire()) {
+                rejected.incrementAndGet();
+                return Mono.error(new LlmUnavailableException(endpoint.path + ": circuit breaker open"));
+            }
+
+            Mono<T> request = attempt(endpoint, body, type);
+            Duration hedgeDelay = hedgeDelay(endpoint);
+            if (hedgingEnabled && hedgeDelay.compareTo(budget) < 0) {
+                Mono<T> hedge = Mono.delay(hedgeDelay)
+                        .then(Mono.defer(() -> {
+                            hedgesSent.incrementAndGet();
+                            return attempt(endpoint, body, type).onErrorResume(e -> Mono.never());
+                        }));
+                request = Mono.firstWithSignal(request, hedge);
+            }
+
+            return request
+                    .timeout(budget, Mono.error(() -> new LlmUnavailableException(
+                            endpoint.path + ": request deadline exhausted after " + budget.toMillis() + " ms")))
+                    .doOnSuccess(result -> endpoint.breaker.onSuccess())
+                    .doOnError(e -> onFailure(endpoint, e));
+        });
+    }
+
+    private <T> Mono<T> attempt(Endpoint endpoint, Object body, Class<T> type) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return webClient.post()
+                    .uri(endpoint.path)
+                    .bodyValue(body)
+                    .retrieve()
+                    .bodyToMono(type)
+                    .timeout(attemptTimeout)
+                    // A cancelled attempt still took at least this long; dropping it would
+                    // hide exactly the slow tail the hedge delay is estimated from
+                    .doFinally(signal -> {
+                        if (signal != SignalType.ON_ERROR) {
+                            endpoint.latency.record(System.nanoTime() - start);
+                        }
+                    });
+        });
+    }
+
+    private Duration hedgeDelay(Endpoint endpoint) {
+        Duration p95 = endpoint.latency.percentile(0.95, initialHedgeDelay);
+        return p95.compareTo(minHedgeDelay) < 0 ? minHedgeDelay : p95;
+    }
+
+    private void onFailure(Endpoint endpoint, Throwable e) {
+        List<Throwable> causes = causes(e);
+        if (causes.stream().allMatch(cause -> cause instanceof WebClientResponseException response
+                && response.getStatusCode().is4xxClientError())) {
+            // The service answered; a bad request says nothing about its health
+            return;
+        }
+        if (causes.stream().allMatch(LlmUnavailableException.class::isInstance)) {
+            // The caller's budget ran out first; the service may simply not have had long enough
+            timeouts.incrementAndGet();
+            return;
+        }
+        if (causes.stream().anyMatch(TimeoutException.class::isInstance)) {
+            timeouts.incrementAndGet();
+        }
+        if (endpoint.breaker.onFailure()) {
+            logger.warn("Circuit breaker for LLM endpoint {} opened after: {}", endpoint.path, e.toString());
+        }
+    }
+
+    /**
+     * The errors behind a composite error, or behind the "no source had a value" error of a
+     * first-with-value race, or else the error itself. Other suppressed exceptions are Reactor's
+     * assembly tracebacks, not causes.
+     */
+    private static List<Throwable> causes(Throwable e) {
+        List<Throwable> causes = new ArrayList<>();
+        for (Throwable error : Exceptions.unwrapMultiple(e)) {
+            if (error instanceof NoSuchElementException && error.getSuppressed().length > 0) {
+                causes.addAll(Arrays.asList(error.getSuppressed()));
+            } else {
+                causes.add(error);
+            }
+        }
+        return causes;
+    }
+
+    /**
+     * Recent median /process-query latency, or zero before any call has been timed.
+     */
+    public Duration typicalProcessQueryLatency() {
+        return processQuery.latency.percentile(0.5, Duration.ZERO);
+    }
+
+    public long getHedgesSent() {
+        return hedgesSent.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    private static final class Endpoint {
+        private final String path;
+        private final CircuitBreaker breaker;
+        private final LatencyTracker latency = new LatencyTracker(LATENCY_WINDOW);
+
+        private Endpoint(String path, int failureThreshold, long openMs) {
+            this.path = path;
+            this.breaker = new CircuitBreaker(path, failureThreshold, openMs);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.news_retrieval_system.llm;
+
+/**
+ * Raised without a network call when an endpoint's circuit breaker is open or its share of the
+ * request deadline is already spent, and in place of a call still outstanding when that share
+ * runs out.
+ */
+public class LlmUnavailableException extends RuntimeException {
+
+    public LlmUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.news_retrieval_system.loadgen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Where synthetic users are: a weighted mixture of regions, each a Gaussian scatter of
+ * {@code spreadKm} around its centre. Parsed from {@code lat:lon:weight} entries separated by
+ * commas, e.g. {@code 19.076:72.878:3,28.614:77.209:2}.
+ */
+final class GeoMixture {
+
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private final double[] lat;
+    private final double[] lon;
+    private final double[] cumulativeWeight;
+    private final double spreadKm;
+
+    private GeoMixture(double[] lat, double[] lon, double[] cumulativeWeight, double spreadKm) {
+        this.lat = lat;
+        this.lon = lon;
+        this.cumulativeWeight = cumulativeWeight;
+        this.spreadKm = spreadKm;
+    }
+
+    static GeoMixture parse(String regions, double spreadKm) {
+        List<double[]> parsed = new ArrayList<>();
+        for (String entry : regions.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split(":");
+            double[] region;
+            try {
+                region = new double[] {
+                    Double.parseDouble(parts[0]), Double.parseDouble(parts[1]),
+                    parts.length > 2 ? Double.parseDouble(parts[2]) : 1};
+            } catch (RuntimeException e) {
+                region = null;
+            }
+            if (region == null || parts.length > 3 || Math.abs(region[0]) > 90 || Math.abs(region[1]) > 180
+                    || !(region[2] > 0)) {
+                throw new IllegalArgumentException("Invalid loadgen region: " + entry);
+            }
+            parsed.add(region);
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("At least one loadgen region is required");
+        }
+
+        double[] lat = new double[parsed.size()];
+        double[] lon = new double[parsed.size()];
+        double[] cumulative = new double[parsed.size()];
+        double total = 0;
+        for (int i = 0; i < parsed.size(); i++) {
+            lat[i] = parsed.get(i)[0];
+            lon[i] = parsed.get(i)[1];
+            total += parsed.get(i)[2];
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+        return new GeoMixture(lat, lon, cumulative, spreadKm);
+    }
+
+    int regions() {
+        return lat.length;
+    }
+
+    /** Fills {@code out} with a latitude and longitude. */
+    void sample(Random random, double[] out) {
+        double u = random.nextDouble();
+        int region = 0;
+        while (region < cumulativeWeight.length - 1 && cumulativeWeight[region] < u) {
+            region++;
+        }
+        double latitude = lat[region] + random.nextGaussian() * spreadKm / KM_PER_DEGREE;
+        latitude = Math.max(-90, Math.min(90, latitude));
+        double kmPerLonDegree = KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(latitude)), 1e-6);
+        double longitude = lon[region] + random.nextGaussian() * spreadKm / kmPerLonDegree;
+        // Wrap across the antimeridian
+        longitude -= 360 * Math.floor((longitude + 180) / 360);
+        out[0] = latitude;
+        out[1] = longitude;
+    }
+}
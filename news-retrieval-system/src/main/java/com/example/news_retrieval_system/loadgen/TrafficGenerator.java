@@ -0,0 +1,329 @@
+package com.example.news_retrieval_system.loadgen;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.sql.DataSource;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.stereotype.Service;
+
+import com.example.news_retrieval_system.model.UserEvent;
+
+/**
+ * Background synthetic traffic for {@code user_events}.
+ *
+ * Article ids are streamed from {@code news_articles}, newest first, into two primitive arrays
+ * (at most {@code loadgen.max-articles}), and each event picks one by Zipf rank so the newest
+ * articles are the most popular. Users are placed by a {@link GeoMixture} of regions. Each of
+ * {@code loadgen.workers} virtual threads paces itself to its share of the target rate, and all
+ * of them send through one producer tuned for batching (linger, large batches, lz4), separate
+ * from the low-latency producer behind {@code POST /api/v1/events}. When the broker cannot keep
+ * up, sends block on the producer's buffer and the achieved rate in {@link #getStatus()} drops
+ * below the target.
+ */
+@Service
+public class TrafficGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrafficGenerator.class);
+    private static final int FETCH_SIZE = 10_000;
+    // Most events a worker sends before checking the clock again
+    private static final int MAX_BURST = 1_000;
+    private static final long PROGRESS_INTERVAL_MS = 5_000;
+
+    private final DataSource dataSource;
+    private final ProducerFactory<String, UserEvent> producerFactory;
+    private final String topic;
+    private final int workers;
+    private final int maxArticles;
+    private final double zipfExponent;
+    private final GeoMixture users;
+    private final Map<String, Object> producerOverrides = new LinkedHashMap<>();
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile Run current;
+
+    public TrafficGenerator(DataSource dataSource, ProducerFactory<String, UserEvent> producerFactory,
+                            @Value("${spring.kafka.topics.user-events:user_events}") String topic,
+                            @Value("${loadgen.workers:4}") int workers,
+                            @Value("${loadgen.max-articles:100000}") int maxArticles,
+                            @Value("${loadgen.zipf-exponent:1.1}") double zipfExponent,
+                            @Value("${loadgen.regions}") String regions,
+                            @Value("${loadgen.spread-km:15}") double spreadKm,
+                            @Value("${loadgen.producer.linger-ms:20}") int lingerMs,
+                            @Value("${loadgen.producer.batch-size:262144}") int batchSize) {
+        this.dataSource = dataSource;
+        this.producerFactory = producerFactory;
+        this.topic = topic;
+        this.workers = Math.max(workers, 1);
+        this.maxArticles = maxArticles;
+        this.zipfExponent = zipfExponent;
+        this.users = GeoMixture.parse(regions, spreadKm);
+        producerOverrides.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        producerOverrides.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        producerOverrides.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        producerOverrides.put(ProducerConfig.ACKS_CONFIG, "1");
+    }
+
+    /**
+     * Starts a run in the background unless one is already going.
+     *
+     * @param eventsPerSecond target rate across all workers
+     * @param duration how long to run; the run also ends early when {@code maxEvents} is reached (0 for no limit)
+     * @return false if a run is already in progress
+     */
+    public boolean start(int eventsPerSecond, Duration duration, long maxEvents) {
+        if (eventsPerSecond <= 0 || duration.isNegative() || duration.isZero() || maxEvents < 0) {
+            throw new IllegalArgumentException("Rate and duration must be positive");
+        }
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        sent.set(0);
+        failed.set(0);
+        Run run = new Run(eventsPerSecond, duration, maxEvents, System.nanoTime());
+        current = run;
+        Thread.ofVirtual().name("loadgen-coordinator").start(() -> coordinate(run));
+        return true;
+    }
+
+    public void stop() {
+        Run run = current;
+        if (run != null) {
+            run.stopped = true;
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private void coordinate(Run run) {
+        ProducerFactory<String, UserEvent> batching = null;
+        KafkaTemplate<String, UserEvent> template = null;
+        try {
+            ArticleIds articles = loadArticleIds();
+            if (articles.size() == 0) {
+                logger.warn("Load generator: no articles to send events for");
+                return;
+            }
+            run.articles = articles.size();
+            ZipfSampler popularity = new ZipfSampler(articles.size(), zipfExponent);
+            batching = producerFactory.copyWithConfigurationOverride(producerOverrides);
+            template = new KafkaTemplate<>(batching);
+            logger.info("Load generator: {} events/s for {}s over {} articles with {} workers",
+                run.targetRate, run.duration.toSeconds(), articles.size(), workers);
+
+            List<Thread> threads = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                // Spread the remainder so the shares add up to the target exactly
+                int share = run.targetRate / workers + (i < run.targetRate % workers ? 1 : 0);
+                KafkaTemplate<String, UserEvent> producer = template;
+                threads.add(Thread.ofVirtual().name("loadgen-" + i)
+                    .start(() -> produce(run, share, articles, popularity, producer)));
+            }
+
+            run.lastReport = System.nanoTime();
+            for (Thread thread : threads) {
+                while (!thread.join(Duration.ofSeconds(1))) {
+                    reportProgress(run);
+                }
+            }
+            template.flush();
+            logger.info("Load generator finished: {} events sent, {} failed, {} events/s on average",
+                sent.get(), failed.get(), Math.round(achievedRate(run)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Load generator failed: {}", e.getMessage(), e);
+        } finally {
+            run.finishedAt = System.nanoTime();
+            if (batching != null) {
+                // Closes the run's producer once its buffer has drained
+                batching.reset();
+            }
+            running.set(false);
+        }
+    }
+
+    private void reportProgress(Run run) {
+        long now = System.nanoTime();
+        if (now - run.lastReport < TimeUnit.MILLISECONDS.toNanos(PROGRESS_INTERVAL_MS)) {
+            return;
+        }
+        long total = sent.get();
+        run.recentRate = (total - run.lastReportSent) * 1e9 / (now - run.lastReport);
+        run.lastReport = now;
+        run.lastReportSent = total;
+        logger.info("Load generator: {} events sent, {} failed, {} events/s",
+            total, failed.get(), Math.round(run.recentRate));
+    }
+
+    private void produce(Run run, int ratePerSecond, ArticleIds articles, ZipfSampler popularity,
+                         KafkaTemplate<String, UserEvent> template) {
+        if (ratePerSecond == 0) {
+            return;
+        }
+        Random random = ThreadLocalRandom.current();
+        double[] location = new double[2];
+        long start = System.nanoTime();
+        long end = start + run.duration.toNanos();
+        long produced = 0;
+        while (!run.stopped) {
+            long now = System.nanoTime();
+            if (now >= end) {
+                break;
+            }
+            long due = (long) ((now - start) * (ratePerSecond / 1e9)) + 1;
+            if (due <= produced) {
+                LockSupport.parkNanos(Math.min(TimeUnit.MILLISECONDS.toNanos(1), (long) (1e9 / ratePerSecond)));
+                continue;
+            }
+            long burst = Math.min(due - produced, MAX_BURST);
+            for (long i = 0; i < burst; i++) {
+                if (run.maxEvents > 0 && run.claimed.incrementAndGet() > run.maxEvents) {
+                    run.stopped = true;
+                    return;
+                }
+                users.sample(random, location);
+                UserEvent event = new UserEvent(articles.get(popularity.sample(random) - 1), randomEventType(random),
+                    LocalDateTime.now(), location[0], location[1]);
+                template.send(topic, event).whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        failed.incrementAndGet();
+                    }
+                });
+                sent.incrementAndGet();
+            }
+            produced += burst;
+        }
+    }
+
+    private static UserEvent.EventType randomEventType(Random random) {
+        int roll = random.nextInt(10);
+        if (roll < 5) return UserEvent.EventType.VIEW;
+        if (roll < 8) return UserEvent.EventType.CLICK;
+        return UserEvent.EventType.SHARE;
+    }
+
+    private ArticleIds loadArticleIds() throws SQLException {
+        ArticleIds ids = new ArticleIds(Math.min(maxArticles, FETCH_SIZE));
+        try (Connection connection = dataSource.getConnection()) {
+            // A cursor only streams with autocommit off; read-only routes to a replica when configured
+            connection.setReadOnly(true);
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setMaxRows(maxArticles);
+                try (ResultSet rs = statement.executeQuery(
+                        "SELECT id FROM news_articles ORDER BY publication_date DESC, id DESC")) {
+                    while (rs.next()) {
+                        ids.add(rs.getObject(1, UUID.class));
+                    }
+                }
+            } finally {
+                connection.commit();
+            }
+        }
+        return ids;
+    }
+
+    private double achievedRate(Run run) {
+        long end = run.finishedAt != 0 ? run.finishedAt : System.nanoTime();
+        return end > run.startedAt ? sent.get() * 1e9 / (end - run.startedAt) : 0;
+    }
+
+    /** Progress of the current or last run, for the test status endpoint. */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        Run run = current;
+        status.put("running", running.get());
+        if (run == null) {
+            return status;
+        }
+        long end = run.finishedAt != 0 ? run.finishedAt : System.nanoTime();
+        status.put("targetRate", run.targetRate);
+        status.put("achievedRate", Math.round(achievedRate(run)));
+        status.put("recentRate", Math.round(run.recentRate));
+        status.put("sent", sent.get());
+        status.put("failed", failed.get());
+        status.put("articles", run.articles);
+        status.put("elapsedSeconds", TimeUnit.NANOSECONDS.toSeconds(end - run.startedAt));
+        status.put("durationSeconds", run.duration.toSeconds());
+        return status;
+    }
+
+    private static final class Run {
+        final int targetRate;
+        final Duration duration;
+        final long maxEvents;
+        final long startedAt;
+        final AtomicLong claimed = new AtomicLong();
+        volatile boolean stopped;
+        volatile long finishedAt;
+        volatile int articles;
+        volatile double recentRate;
+        long lastReport;
+        long lastReportSent;
+
+        Run(int targetRate, Duration duration, long maxEvents, long startedAt) {
+            this.targetRate = targetRate;
+            this.duration = duration;
+            this.maxEvents = maxEvents;
+            this.startedAt = startedAt;
+        }
+    }
+
+    /** UUIDs as two primitive arrays: 16 bytes per article instead of an object each. */
+    private static final class ArticleIds {
+        private long[] most;
+        private long[] least;
+        private int size;
+
+        ArticleIds(int capacity) {
+            most = new long[Math.max(capacity, 16)];
+            least = new long[most.length];
+        }
+
+        void add(UUID id) {
+            if (size == most.length) {
+                most = Arrays.copyOf(most, size * 2);
+                least = Arrays.copyOf(least, size * 2);
+            }
+            most[size] = id.getMostSignificantBits();
+            least[size] = id.getLeastSignificantBits();
+            size++;
+        }
+
+        UUID get(int index) {
+            return new UUID(most[index], least[index]);
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
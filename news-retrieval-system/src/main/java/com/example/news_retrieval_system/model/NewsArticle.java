@@ -7,13 +7,16 @@ import java.util.UUID;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Data;
+import com.example.news_retrieval_system.service.ArticlePartitionListener;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 @Entity
 @Table(name = "news_articles") 
+@EntityListeners(ArticlePartitionListener.class)
 @Data
 public class NewsArticle implements Serializable { 
 
@@ -42,4 +45,8 @@ public class NewsArticle implements Serializable {
     private double latitude;
 
     private double longitude;
+
+    // Near-duplicate cluster, set by ArticleClusterService on ingest
+    @Column(name = "cluster_id")
+    private UUID clusterId;
 }
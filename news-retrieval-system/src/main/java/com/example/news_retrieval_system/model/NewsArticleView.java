@@ -0,0 +1,23 @@
+package com.example.news_retrieval_system.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read-only row for list endpoints. Carries exactly the columns the API returns, so list queries
+ * skip {@code geom}, {@code created_at} and Hibernate's managed-entity snapshots. Candidates
+ * read for ranking leave out the description; see NewsArticleViewRepository.
+ */
+public record NewsArticleView(
+    UUID id,
+    String title,
+    String description,
+    String url,
+    LocalDateTime publicationDate,
+    String sourceName,
+    List<String> category,
+    double relevanceScore,
+    double latitude,
+    double longitude
+) {}
@@ -0,0 +1,48 @@
+package com.example.news_retrieval_system.ranking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.news_retrieval_system.model.NewsArticleView;
+
+/**
+ * 1 / (1 + d / scale): 0.5 at {@code scale} km, with the same 1/d tail as the old distance bands
+ * but without the step at 10 km.
+ */
+@Component
+public class DistanceDecayScorer implements FeatureScorer {
+
+    private static final double EARTH_RADIUS_KM = 6371;
+
+    private final double scaleKm;
+
+    public DistanceDecayScorer(@Value("${ranking.distance.scale-km:10}") double scaleKm) {
+        this.scaleKm = scaleKm;
+    }
+
+    @Override
+    public String name() {
+        return "distance";
+    }
+
+    @Override
+    public double defaultWeight() {
+        return 1.0;
+    }
+
+    @Override
+    public double score(NewsArticleView article, RankingContext context) {
+        if (!context.hasLocation()) {
+            return 0;
+        }
+        return 1 / (1 + distanceKm(context.lat(), context.lon(), article.latitude(), article.longitude()) / scaleKm);
+    }
+
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
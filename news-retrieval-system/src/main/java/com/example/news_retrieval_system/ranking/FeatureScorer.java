@@ -0,0 +1,18 @@
+package com.example.news_retrieval_system.ranking;
+
+import com.example.news_retrieval_system.model.NewsArticleView;
+
+/**
+ * One ranking signal. {@link RankingEngine} multiplies each scorer's output by its weight and sums
+ * them, so scores should fall in [0, 1] and a scorer with nothing to say for a context (no
+ * location, no query text) should return 0 for every article.
+ */
+public interface FeatureScorer {
+
+    /** Key used for this scorer's weight, e.g. in {@code ranking.weights.<name>}. */
+    String name();
+
+    double defaultWeight();
+
+    double score(NewsArticleView article, RankingContext context);
+}
@@ -0,0 +1,38 @@
+package com.example.news_retrieval_system.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reciprocal rank fusion: an article scores {@code sum(1 / (k + rank))} over the rankings it
+ * appears in (rank starting at 1). Scores from different orderings (distance, recency, Redis
+ * trending score) are not comparable, but positions are, and an article several branches agree
+ * on outranks one that tops a single branch. {@code k = 60} is the value from the original paper.
+ */
+public final class RankFusion {
+
+    public static final int DEFAULT_K = 60;
+
+    private RankFusion() {
+    }
+
+    /**
+     * @return every id from {@code rankings}, best fused score first, ties broken by id descending
+     */
+    public static List<UUID> fuse(List<List<UUID>> rankings, int k) {
+        Map<UUID, Double> scores = new HashMap<>();
+        for (List<UUID> ranking : rankings) {
+            for (int i = 0; i < ranking.size(); i++) {
+                scores.merge(ranking.get(i), 1.0 / (k + i + 1), Double::sum);
+            }
+        }
+        List<UUID> fused = new ArrayList<>(scores.keySet());
+        fused.sort(Comparator.comparing((UUID id) -> scores.get(id)).reversed()
+            .thenComparing(Comparator.reverseOrder()));
+        return fused;
+    }
+}
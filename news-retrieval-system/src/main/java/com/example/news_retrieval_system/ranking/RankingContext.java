@@ -0,0 +1,39 @@
+package com.example.news_retrieval_system.ranking;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * What a ranking request knows about the reader: where they are, what they typed, and the live
+ * trending scores of candidates in their area. Absent parts are null or empty.
+ */
+public record RankingContext(Double lat, Double lon, List<String> queryTokens,
+                             Map<UUID, Double> trendingScores, LocalDateTime now) {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    public static RankingContext forLocation(double lat, double lon, Map<UUID, Double> trendingScores) {
+        return new RankingContext(lat, lon, List.of(), trendingScores, LocalDateTime.now());
+    }
+
+    public static RankingContext forQuery(String query) {
+        List<String> tokens = new ArrayList<>();
+        if (query != null) {
+            for (String token : TOKEN_SEPARATOR.split(query.toLowerCase(Locale.ROOT))) {
+                if (token.length() > 1) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return new RankingContext(null, null, tokens, Map.of(), LocalDateTime.now());
+    }
+
+    public boolean hasLocation() {
+        return lat != null && lon != null;
+    }
+}
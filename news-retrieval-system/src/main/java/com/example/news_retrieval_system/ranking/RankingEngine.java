@@ -0,0 +1,136 @@
+package com.example.news_retrieval_system.ranking;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import com.example.news_retrieval_system.model.NewsArticleView;
+
+/**
+ * Scores a candidate set with every registered {@link FeatureScorer} and keeps the best
+ * {@code limit} in a bounded heap, so cost is O(n log limit) over candidates the database has
+ * already narrowed with an index.
+ *
+ * Weights start from {@code ranking.weights.<name>} (else each scorer's default) and can be
+ * replaced at runtime; a request ranks with whichever weight map was current when it started.
+ * Pages resume after an anchor id whose score is recomputed against the same candidate set,
+ * so a cursor never carries a score that drifts as articles age.
+ */
+@Service
+public class RankingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(RankingEngine.class);
+
+    private final List<FeatureScorer> scorers;
+    private volatile Map<String, Double> weights;
+
+    public RankingEngine(List<FeatureScorer> scorers, Environment environment) {
+        this.scorers = List.copyOf(scorers);
+        Map<String, Double> initial = new LinkedHashMap<>();
+        for (FeatureScorer scorer : scorers) {
+            initial.put(scorer.name(),
+                environment.getProperty("ranking.weights." + scorer.name(), Double.class, scorer.defaultWeight()));
+        }
+        this.weights = Collections.unmodifiableMap(initial);
+        logger.info("Ranking weights: {}", this.weights);
+    }
+
+    public Map<String, Double> getWeights() {
+        return weights;
+    }
+
+    /**
+     * Merges {@code changes} into the current weights.
+     *
+     * @throws IllegalArgumentException for an unknown scorer name or a negative weight
+     */
+    public Map<String, Double> updateWeights(Map<String, Double> changes) {
+        Map<String, Double> updated = new LinkedHashMap<>(weights);
+        for (Map.Entry<String, Double> change : changes.entrySet()) {
+            if (!updated.containsKey(change.getKey())) {
+                throw new IllegalArgumentException("Unknown ranking feature: " + change.getKey());
+            }
+            if (change.getValue() == null || change.getValue() < 0 || change.getValue().isNaN()) {
+                throw new IllegalArgumentException("Weight for " + change.getKey() + " must be >= 0");
+            }
+            updated.put(change.getKey(), change.getValue());
+        }
+        weights = Collections.unmodifiableMap(updated);
+        logger.info("Ranking weights updated: {}", weights);
+        return weights;
+    }
+
+    /**
+     * @param afterId last article of the previous page, or null for the first page; if it is no
+     *                longer among the candidates the sequence ends
+     * @return up to {@code limit} candidates, best first, ties broken by id descending
+     */
+    public List<NewsArticleView> rank(List<NewsArticleView> candidates, RankingContext context, int limit, UUID afterId) {
+        if (candidates.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Map<String, Double> current = weights;
+        List<FeatureScorer> active = new ArrayList<>(scorers.size());
+        double[] activeWeights = new double[scorers.size()];
+        for (FeatureScorer scorer : scorers) {
+            double weight = current.getOrDefault(scorer.name(), 0.0);
+            if (weight > 0) {
+                activeWeights[active.size()] = weight;
+                active.add(scorer);
+            }
+        }
+
+        int n = candidates.size();
+        double[] scores = new double[n];
+        int anchor = -1;
+        for (int i = 0; i < n; i++) {
+            NewsArticleView article = candidates.get(i);
+            double score = 0;
+            for (int f = 0; f < active.size(); f++) {
+                score += activeWeights[f] * active.get(f).score(article, context);
+            }
+            scores[i] = score;
+            if (afterId != null && afterId.equals(article.id())) {
+                anchor = i;
+            }
+        }
+        if (afterId != null && anchor < 0) {
+            return List.of();
+        }
+
+        Comparator<Integer> best = (a, b) -> {
+            int byScore = Double.compare(scores[b], scores[a]);
+            return byScore != 0 ? byScore : candidates.get(b).id().compareTo(candidates.get(a).id());
+        };
+        // Min-heap on "best" order: the head is the weakest of the current top-k
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, best.reversed());
+        for (int i = 0; i < n; i++) {
+            if (anchor >= 0 && best.compare(i, anchor) <= 0) {
+                continue;
+            }
+            if (top.size() < limit) {
+                top.add(i);
+            } else if (best.compare(i, top.peek()) < 0) {
+                top.poll();
+                top.add(i);
+            }
+        }
+
+        List<NewsArticleView> ranked = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ranked.add(candidates.get(top.poll()));
+        }
+        Collections.reverse(ranked);
+        return ranked;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.news_retrieval_system.ranking;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.news_retrieval_system.model.NewsArticleView;
+
+/**
+ * Exponential decay with a configurable half-life, replacing the 24h/48h step.
+ */
+@Component
+public class RecencyScorer implements FeatureScorer {
+
+    private final double halfLifeHours;
+
+    public RecencyScorer(@Value("${ranking.recency.half-life-hours:24}") double halfLifeHours) {
+        this.halfLifeHours = halfLifeHours;
+    }
+
+    @Override
+    public String name() {
+        return "recency";
+    }
+
+    @Override
+    public double defaultWeight() {
+        return 1.0;
+    }
+
+    @Override
+    public double score(NewsArticleView article, RankingContext context) {
+        if (article.publicationDate() == null) {
+            return 0;
+        }
+        double hoursOld = Math.max(0, Duration.between(article.publicationDate(), context.now()).toMinutes() / 60.0);
+        return Math.pow(0.5, hoursOld / halfLifeHours);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.news_retrieval_system.ranking;
+
+import org.springframework.stereotype.Component;
+
+import com.example.news_retrieval_system.model.NewsArticleView;
+
+/**
+ * The article's stored relevance score, already in [0, 1].
+ */
+@Component
+public class RelevanceScorer implements FeatureScorer {
+
+    @Override
+    public String name() {
+        return "relevance";
+    }
+
+    @Override
+    public double defaultWeight() {
+        return 1.0;
+    }
+
+    @Override
+    public double score(NewsArticleView article, RankingContext context) {
+        return article.relevanceScore();
+    }
+}
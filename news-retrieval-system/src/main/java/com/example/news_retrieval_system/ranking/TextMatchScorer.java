@@ -0,0 +1,47 @@
+package com.example.news_retrieval_system.ranking;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.stereotype.Component;
+
+import com.example.news_retrieval_system.model.NewsArticleView;
+
+/**
+ * Share of query terms found in the article, counting a title hit fully and a description-only
+ * hit half.
+ */
+@Component
+public class TextMatchScorer implements FeatureScorer {
+
+    private static final double DESCRIPTION_HIT = 0.5;
+
+    @Override
+    public String name() {
+        return "text";
+    }
+
+    @Override
+    public double defaultWeight() {
+        return 2.0;
+    }
+
+    @Override
+    public double score(NewsArticleView article, RankingContext context) {
+        List<String> tokens = context.queryTokens();
+        if (tokens.isEmpty()) {
+            return 0;
+        }
+        String title = article.title() == null ? "" : article.title().toLowerCase(Locale.ROOT);
+        String description = article.description() == null ? "" : article.description().toLowerCase(Locale.ROOT);
+        double matched = 0;
+        for (String token : tokens) {
+            if (title.contains(token)) {
+                matched += 1;
+            } else if (description.contains(token)) {
+                matched += DESCRIPTION_HIT;
+            }
+        }
+        return matched / tokens.size();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.news_retrieval_system.ranking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.news_retrieval_system.model.NewsArticleView;
+
+/**
+ * Live engagement from the reader's trending cell, saturating as s / (s + scale) so one viral
+ * article cannot drown out every other signal. A score of {@code scale} (about one fresh share)
+ * maps to 0.5.
+ */
+@Component
+public class TrendingScorer implements FeatureScorer {
+
+    private final double scale;
+
+    public TrendingScorer(@Value("${ranking.trending.scale:5}") double scale) {
+        this.scale = scale;
+    }
+
+    @Override
+    public String name() {
+        return "trending";
+    }
+
+    @Override
+    public double defaultWeight() {
+        return 0.5;
+    }
+
+    @Override
+    public double score(NewsArticleView article, RankingContext context) {
+        Double trending = context.trendingScores().get(article.id());
+        if (trending == null || trending <= 0) {
+            return 0;
+        }
+        return trending / (trending + scale);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.news_retrieval_system.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import com.example.news_retrieval_system.model.NewsArticleView;
+
+/**
+ * List queries returning {@link NewsArticleView} projections. Each page method takes the keyset
+ * position of the previous page's last row; pass nulls for the first page. The id is always the
+ * final sort column so pages are stable when the leading sort key ties.
+ */
+public interface NewsArticleViewRepository {
+
+    // For "category" intent
+    List<NewsArticleView> findCategoryPage(String category, LocalDateTime afterPublishedAt, UUID afterId, int limit);
+
+    // For "source" intent - served by idx_news_source (source_name, publication_date DESC, id DESC)
+    List<NewsArticleView> findSourcePage(String sourceName, LocalDateTime afterPublishedAt, UUID afterId, int limit);
+
+    // For "score" intent - served by idx_news_score (relevance_score DESC, id DESC)
+    List<NewsArticleView> findScorePage(double minScore, Double afterScore, UUID afterId, int limit);
+
+    /**
+     * For "search" intent: substring matches of {@code query}, best stored relevance first, for
+     * RankingEngine to re-rank. In place of its description each row carries those of
+     * {@code terms} (lower case) the description contains, separated by spaces; load the ranked
+     * page with {@link #findViewsByIds} for the descriptions themselves.
+     */
+    List<NewsArticleView> findSearchCandidates(String query, List<String> terms, int maxCandidates);
+
+    // For "nearby" intent - ordered by Haversine distance
+    List<NewsArticleView> findNearbyPage(double lat, double lon, UUID afterId, int limit);
+
+    /**
+     * Articles from the last 48 hours within {@code maxDistanceKm}, newest first, for
+     * RankingEngine to order. The time window prunes to the one or two newest weekly partitions,
+     * whose hot (latitude, longitude, publication_date) index answers the bounding box before the
+     * exact distance is computed. Rows carry no description.
+     */
+    List<NewsArticleView> findFallbackCandidates(double lat, double lon, double maxDistanceKm, int maxCandidates);
+
+    /**
+     * Every article published at or after {@code since}, without descriptions, to load the
+     * in-memory recent article index.
+     */
+    List<NewsArticleView> findRecentViews(LocalDateTime since);
+
+    /** Every distinct source name, for the local intent parser's dictionary. */
+    List<String> findDistinctSourceNames();
+
+    /** Every distinct category tag, for the local intent parser's dictionary. */
+    List<String> findDistinctCategories();
+
+    /**
+     * Loads the given articles in one round-trip, in the order of {@code ids}; unknown ids are
+     * dropped. Nothing bounds publication_date, so every weekly partition is probed; prefer the
+     * bounded overload wherever the articles are likely recent.
+     */
+    List<NewsArticleView> findViewsByIds(Collection<UUID> ids);
+
+    /**
+     * Same as {@link #findViewsByIds(Collection)}, but first reads only the weeks from
+     * {@code since} on, which the planner prunes to. Ids not found there are then looked up in
+     * every week, so {@code since} only has to be a likely bound: a good one costs one pruned
+     * query, a wrong one a second unpruned query for the ids it missed. A null {@code since} is
+     * the unbounded lookup.
+     */
+    List<NewsArticleView> findViewsByIds(Collection<UUID> ids, LocalDateTime since);
+}
@@ -0,0 +1,229 @@
+package com.example.news_retrieval_system.repository;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.news_retrieval_system.model.NewsArticleView;
+
+/**
+ * Plain JDBC behind {@link NewsArticleViewRepository}: rows are mapped straight into records, so
+ * nothing enters the persistence context and only the listed columns cross the wire. The seek
+ * predicate is appended only for follow-up pages so first pages keep their simpler plan.
+ *
+ * {@code news_articles} is partitioned by week of publication_date. Time bounds are bound as
+ * parameters so the planner prunes to the weeks they cover, and pages ordered by publication_date
+ * read the weeks newest first and stop once the limit is filled.
+ *
+ * Candidate queries, whose rows are mostly ranked and dropped, leave out the description, by far
+ * the widest column; the page that is kept is read again through {@link #findViewsByIds}.
+ */
+@Transactional(readOnly = true)
+public class NewsArticleViewRepositoryImpl implements NewsArticleViewRepository {
+
+    private static final String COLUMNS_AFTER_DESCRIPTION =
+        "url, publication_date, source_name, category, relevance_score, latitude, longitude";
+
+    private static final String VIEW_COLUMNS = "id, title, description, " + COLUMNS_AFTER_DESCRIPTION;
+
+    private static final String CANDIDATE_COLUMNS = "id, title, NULL AS description, " + COLUMNS_AFTER_DESCRIPTION;
+
+    // The query terms the description contains, space-separated: all TextMatchScorer reads of it
+    private static final String MATCHED_TERMS = """
+        array_to_string(ARRAY(SELECT t.term FROM unnest(CAST(:terms AS text[])) AS t(term)
+        WHERE strpos(lower(n.description), t.term) > 0), ' ')""";
+
+    private static final String DISTANCE_KM = """
+        (6371 * acos(cos(radians(:lat)) * cos(radians(latitude)) *
+        cos(radians(longitude) - radians(:lon)) + sin(radians(:lat)) *
+        sin(radians(latitude))))""";
+
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private static final int FALLBACK_WINDOW_HOURS = 48;
+
+    private static final RowMapper<NewsArticleView> VIEW_MAPPER = NewsArticleViewRepositoryImpl::mapView;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public NewsArticleViewRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<NewsArticleView> findCategoryPage(String category, LocalDateTime afterPublishedAt, UUID afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("category", category).addValue("limit", limit);
+        String seek = "";
+        if (afterId != null) {
+            seek = " AND (n.publication_date, n.id) < (:afterPublishedAt, :afterId)";
+            params.addValue("afterPublishedAt", Timestamp.valueOf(afterPublishedAt)).addValue("afterId", afterId);
+        }
+        return jdbcTemplate.query(
+            "SELECT " + VIEW_COLUMNS + " FROM news_articles n WHERE n.category @> ARRAY[CAST(:category AS text)]" + seek
+                + " ORDER BY n.publication_date DESC, n.id DESC LIMIT :limit",
+            params, VIEW_MAPPER);
+    }
+
+    @Override
+    public List<NewsArticleView> findSourcePage(String sourceName, LocalDateTime afterPublishedAt, UUID afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("sourceName", sourceName).addValue("limit", limit);
+        String seek = "";
+        if (afterId != null) {
+            seek = " AND (n.publication_date, n.id) < (:afterPublishedAt, :afterId)";
+            params.addValue("afterPublishedAt", Timestamp.valueOf(afterPublishedAt)).addValue("afterId", afterId);
+        }
+        return jdbcTemplate.query(
+            "SELECT " + VIEW_COLUMNS + " FROM news_articles n WHERE n.source_name = :sourceName" + seek
+                + " ORDER BY n.publication_date DESC, n.id DESC LIMIT :limit",
+            params, VIEW_MAPPER);
+    }
+
+    @Override
+    public List<NewsArticleView> findScorePage(double minScore, Double afterScore, UUID afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("minScore", minScore).addValue("limit", limit);
+        String seek = "";
+        if (afterId != null) {
+            seek = " AND (n.relevance_score, n.id) < (:afterScore, :afterId)";
+            params.addValue("afterScore", afterScore).addValue("afterId", afterId);
+        }
+        return jdbcTemplate.query(
+            "SELECT " + VIEW_COLUMNS + " FROM news_articles n WHERE n.relevance_score > :minScore" + seek
+                + " ORDER BY n.relevance_score DESC, n.id DESC LIMIT :limit",
+            params, VIEW_MAPPER);
+    }
+
+    @Override
+    public List<NewsArticleView> findSearchCandidates(String query, List<String> terms, int maxCandidates) {
+        MapSqlParameterSource params = new MapSqlParameterSource("query", query).addValue("limit", maxCandidates)
+            .addValue("terms", terms.toArray(String[]::new));
+        return jdbcTemplate.query(
+            "SELECT id, title, " + MATCHED_TERMS + " AS description, " + COLUMNS_AFTER_DESCRIPTION
+                + " FROM news_articles n"
+                + " WHERE (lower(n.title) LIKE lower(concat('%', :query, '%')) OR lower(n.description) LIKE lower(concat('%', :query, '%')))"
+                + " ORDER BY n.relevance_score DESC, n.id DESC LIMIT :limit",
+            params, VIEW_MAPPER);
+    }
+
+    @Override
+    public List<NewsArticleView> findNearbyPage(double lat, double lon, UUID afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("lat", lat).addValue("lon", lon).addValue("limit", limit);
+        // The anchor's distance is recomputed from its row so the cursor never carries a float the client could round
+        String seek = "";
+        if (afterId != null) {
+            seek = " WHERE (distance, id) > (SELECT a.distance, a.id FROM located a WHERE a.id = :afterId)";
+            params.addValue("afterId", afterId);
+        }
+        return jdbcTemplate.query(
+            "WITH located AS (SELECT " + VIEW_COLUMNS + ", " + DISTANCE_KM + " AS distance FROM news_articles)"
+                + " SELECT " + VIEW_COLUMNS + " FROM located" + seek + " ORDER BY distance, id LIMIT :limit",
+            params, VIEW_MAPPER);
+    }
+
+    @Override
+    public List<NewsArticleView> findFallbackCandidates(double lat, double lon, double maxDistanceKm, int maxCandidates) {
+        double latDelta = maxDistanceKm / KM_PER_DEGREE;
+        // Longitude degrees shrink towards the poles; near them the box would wrap, so skip it
+        double lonDelta = maxDistanceKm / (KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(lat)), 1e-6));
+        MapSqlParameterSource params = new MapSqlParameterSource("lat", lat).addValue("lon", lon)
+            .addValue("maxDistanceKm", maxDistanceKm).addValue("limit", maxCandidates)
+            .addValue("since", Timestamp.valueOf(LocalDateTime.now().minusHours(FALLBACK_WINDOW_HOURS)))
+            .addValue("minLat", lat - latDelta).addValue("maxLat", lat + latDelta)
+            .addValue("minLon", lon - lonDelta).addValue("maxLon", lon + lonDelta);
+        String box = " AND latitude BETWEEN :minLat AND :maxLat";
+        if (lonDelta < 180) {
+            box += " AND longitude BETWEEN :minLon AND :maxLon";
+        }
+        return jdbcTemplate.query(
+            "SELECT " + CANDIDATE_COLUMNS + " FROM news_articles"
+                + " WHERE publication_date >= :since" + box
+                + " AND " + DISTANCE_KM + " <= :maxDistanceKm"
+                + " ORDER BY publication_date DESC, id DESC LIMIT :limit",
+            params, VIEW_MAPPER);
+    }
+
+    @Override
+    public List<NewsArticleView> findViewsByIds(Collection<UUID> ids) {
+        return findViewsByIds(ids, null);
+    }
+
+    @Override
+    public List<NewsArticleView> findViewsByIds(Collection<UUID> ids, LocalDateTime since) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, NewsArticleView> byId = new HashMap<>();
+        Collection<UUID> missing = ids;
+        if (since != null) {
+            MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("since", Timestamp.valueOf(since));
+            jdbcTemplate.query("SELECT " + VIEW_COLUMNS + " FROM news_articles"
+                    + " WHERE id IN (:ids) AND publication_date >= :since", params, VIEW_MAPPER)
+                .forEach(view -> byId.put(view.id(), view));
+            missing = ids.stream().filter(id -> !byId.containsKey(id)).collect(Collectors.toSet());
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.query("SELECT " + VIEW_COLUMNS + " FROM news_articles WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", missing), VIEW_MAPPER)
+                .forEach(view -> byId.put(view.id(), view));
+        }
+
+        List<NewsArticleView> ordered = new ArrayList<>(byId.size());
+        for (UUID id : ids) {
+            NewsArticleView view = byId.get(id);
+            if (view != null) {
+                ordered.add(view);
+            }
+        }
+        return ordered;
+    }
+
+    @Override
+    public List<NewsArticleView> findRecentViews(LocalDateTime since) {
+        return jdbcTemplate.query(
+            "SELECT " + CANDIDATE_COLUMNS + " FROM news_articles WHERE publication_date >= :since",
+            new MapSqlParameterSource("since", Timestamp.valueOf(since)), VIEW_MAPPER);
+    }
+
+    @Override
+    public List<String> findDistinctSourceNames() {
+        return jdbcTemplate.queryForList(
+            "SELECT DISTINCT source_name FROM news_articles WHERE source_name IS NOT NULL", Map.of(), String.class);
+    }
+
+    @Override
+    public List<String> findDistinctCategories() {
+        return jdbcTemplate.queryForList(
+            "SELECT DISTINCT unnest(category) FROM news_articles", Map.of(), String.class);
+    }
+
+    private static NewsArticleView mapView(ResultSet rs, int rowNum) throws SQLException {
+        Array category = rs.getArray("category");
+        Timestamp publishedAt = rs.getTimestamp("publication_date");
+        return new NewsArticleView(
+            rs.getObject("id", UUID.class),
+            rs.getString("title"),
+            rs.getString("description"),
+            rs.getString("url"),
+            publishedAt == null ? null : publishedAt.toLocalDateTime(),
+            rs.getString("source_name"),
+            category == null ? null : Arrays.asList((String[]) category.getArray()),
+            rs.getDouble("relevance_score"),
+            rs.getDouble("latitude"),
+            rs.getDouble("longitude"));
+    }
+}
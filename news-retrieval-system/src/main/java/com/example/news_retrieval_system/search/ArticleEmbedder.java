@@ -0,0 +1,13 @@
+package com.example.news_retrieval_system.search;
+
+/**
+ * Turns article or query text into a dense vector for {@link HnswIndex}. Implementations must be
+ * thread-safe and return L2-normalised vectors of {@link #dimensions()} components, so that a dot
+ * product is the cosine similarity.
+ */
+public interface ArticleEmbedder {
+
+    int dimensions();
+
+    float[] embed(String text);
+}
@@ -0,0 +1,79 @@
+package com.example.news_retrieval_system.search;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * Deterministic feature-hashing embedder: word unigrams, word bigrams and character trigrams are
+ * hashed into a fixed number of signed buckets. It needs no model or network and always maps the
+ * same text to the same vector, so it backs tests and works as a lexical default; a model-backed
+ * {@link ArticleEmbedder} bean replaces it.
+ */
+public class HashingEmbedder implements ArticleEmbedder {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final HashFunction HASH = Hashing.murmur3_32_fixed();
+
+    private static final float UNIGRAM_WEIGHT = 1.0f;
+    private static final float BIGRAM_WEIGHT = 0.5f;
+    private static final float TRIGRAM_WEIGHT = 0.25f;
+
+    private final int dimensions;
+
+    public HashingEmbedder(int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimensions];
+        if (text == null) {
+            return vector;
+        }
+        String previous = null;
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            add(vector, token, UNIGRAM_WEIGHT);
+            if (previous != null) {
+                add(vector, previous + ' ' + token, BIGRAM_WEIGHT);
+            }
+            // Trigrams let "elections" and "election" land near each other
+            String padded = '^' + token + '$';
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                add(vector, "#" + padded.substring(i, i + 3), TRIGRAM_WEIGHT);
+            }
+            previous = token;
+        }
+        return normalize(vector);
+    }
+
+    private void add(float[] vector, String feature, float weight) {
+        int hash = HASH.hashUnencodedChars(feature).asInt();
+        // Low bits pick the bucket, the top bit the sign, so collisions cancel out on average
+        vector[Math.floorMod(hash, dimensions)] += hash < 0 ? -weight : weight;
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float component : vector) {
+            norm += component * component;
+        }
+        if (norm > 0) {
+            float inverse = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= inverse;
+            }
+        }
+        return vector;
+    }
+}
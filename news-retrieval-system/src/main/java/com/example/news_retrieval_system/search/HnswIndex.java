@@ -0,0 +1,644 @@
+package com.example.news_retrieval_system.search;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hierarchical navigable small world graph (Malkov &amp; Yashunin) over article embeddings, for
+ * approximate cosine nearest-neighbour search.
+ *
+ * Everything lives in primitive arrays indexed by an internal node number: vectors are stored
+ * scalar-quantised to one signed byte per component plus a per-vector scale, which keeps a
+ * million 256-dimension articles around 256 MB, and level-0 links sit in one flat int array.
+ * Inserts take a write lock and are applied one at a time; searches share a read lock and keep
+ * nothing per thread, so they cost the same on virtual threads as on a pool.
+ *
+ * Re-adding an id tombstones the old node rather than unlinking it: the stale node keeps routing
+ * searches but is never returned.
+ */
+public class HnswIndex {
+
+    private static final int MAGIC = 0x484E5357; // "HNSW"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 9 * Integer.BYTES;
+
+    private final int dimensions;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int size;
+    private byte[] vectors;
+    private float[] scales;
+    private long[] idBits;
+    private byte[] levels;
+    private int[] level0Links;
+    private int[] level0Counts;
+    private int[][][] upperLinks;
+    private final BitSet deleted = new BitSet();
+    private final Map<UUID, Integer> nodeById = new HashMap<>();
+
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    public HnswIndex(int dimensions, int m, int efConstruction) {
+        this(dimensions, m, efConstruction, 1024);
+    }
+
+    private HnswIndex(int dimensions, int m, int efConstruction, int capacity) {
+        this.dimensions = dimensions;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(m);
+        allocate(capacity);
+    }
+
+    public record Hit(UUID id, float similarity) {
+    }
+
+    /**
+     * Adds or replaces the vector for {@code id}. The vector must be L2-normalised.
+     */
+    public void add(UUID id, float[] vector) {
+        byte[] quantized = new byte[dimensions];
+        float scale = quantize(vector, quantized);
+
+        lock.writeLock().lock();
+        try {
+            Integer previous = nodeById.get(id);
+            if (previous != null) {
+                deleted.set(previous);
+            }
+            int node = size++;
+            ensureCapacity(size);
+            System.arraycopy(quantized, 0, vectors, node * dimensions, dimensions);
+            scales[node] = scale;
+            idBits[node * 2] = id.getMostSignificantBits();
+            idBits[node * 2 + 1] = id.getLeastSignificantBits();
+            int level = randomLevel();
+            levels[node] = (byte) level;
+            if (level > 0) {
+                upperLinks[node] = new int[level][m + 1];
+            }
+            nodeById.put(id, node);
+            link(node, level);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(UUID id) {
+        lock.readLock().lock();
+        try {
+            return nodeById.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Number of live (non-replaced) articles. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param ef size of the dynamic candidate list; larger is slower and more accurate, and is
+     *           raised to {@code k} if smaller
+     * @return up to {@code k} hits, most similar first
+     */
+    public List<Hit> search(float[] query, int k, int ef) {
+        byte[] quantized = new byte[dimensions];
+        float scale = quantize(query, quantized);
+
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || k <= 0) {
+                return List.of();
+            }
+            int current = entryPoint;
+            for (int level = maxLevel; level > 0; level--) {
+                current = greedyClosest(quantized, 0, scale, current, level);
+            }
+            LongHeap results = searchLayer(quantized, 0, scale, current, Math.max(ef, k), 0);
+
+            long[] ordered = results.drainAscending();
+            List<Hit> hits = new ArrayList<>(Math.min(k, ordered.length));
+            for (long entry : ordered) {
+                int node = node(entry);
+                if (deleted.get(node)) {
+                    continue;
+                }
+                hits.add(new Hit(new UUID(idBits[node * 2], idBits[node * 2 + 1]), 1 - distance(entry)));
+                if (hits.size() == k) {
+                    break;
+                }
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void link(int node, int level) {
+        int nodeOffset = node * dimensions;
+        float nodeScale = scales[node];
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedyClosest(vectors, nodeOffset, nodeScale, current, l);
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            LongHeap candidates = searchLayer(vectors, nodeOffset, nodeScale, current, efConstruction, l);
+            long[] ordered = candidates.drainAscending();
+            current = node(ordered[0]);
+
+            int[] selected = selectNeighbors(ordered, m);
+            setLinks(node, l, selected, selected.length);
+            for (int neighbor : selected) {
+                addLink(neighbor, node, l);
+            }
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    /**
+     * Neighbour selection heuristic: walk candidates nearest first and keep one only if it is
+     * closer to the base than to every neighbour already kept, so links spread out in different
+     * directions instead of piling into one cluster. Remaining slots are filled nearest first.
+     */
+    private int[] selectNeighbors(long[] ascending, int max) {
+        int[] selected = new int[Math.min(max, ascending.length)];
+        int count = 0;
+        boolean[] taken = new boolean[ascending.length];
+        for (int i = 0; i < ascending.length && count < selected.length; i++) {
+            int candidate = node(ascending[i]);
+            float toBase = distance(ascending[i]);
+            boolean diverse = true;
+            for (int j = 0; j < count; j++) {
+                if (distanceBetween(candidate, selected[j]) < toBase) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected[count++] = candidate;
+                taken[i] = true;
+            }
+        }
+        for (int i = 0; i < ascending.length && count < selected.length; i++) {
+            if (!taken[i]) {
+                selected[count++] = node(ascending[i]);
+            }
+        }
+        return selected;
+    }
+
+    private void addLink(int from, int to, int level) {
+        int max = level == 0 ? maxM0 : m;
+        int count = linkCount(from, level);
+        if (count < max) {
+            if (level == 0) {
+                level0Links[from * maxM0 + count] = to;
+                level0Counts[from] = count + 1;
+            } else {
+                int[] links = upperLinks[from][level - 1];
+                links[count + 1] = to;
+                links[0] = count + 1;
+            }
+            return;
+        }
+
+        // Full: swap out the farthest link if the new node is closer, rather than re-running the
+        // diversity heuristic over every link on each insert
+        float toNew = distanceBetween(from, to);
+        int farthest = -1;
+        float farthestDistance = toNew;
+        for (int i = 0; i < count; i++) {
+            float d = distanceBetween(from, neighborAt(from, level, i));
+            if (d > farthestDistance) {
+                farthestDistance = d;
+                farthest = i;
+            }
+        }
+        if (farthest >= 0) {
+            if (level == 0) {
+                level0Links[from * maxM0 + farthest] = to;
+            } else {
+                upperLinks[from][level - 1][farthest + 1] = to;
+            }
+        }
+    }
+
+    private void setLinks(int node, int level, int[] links, int count) {
+        if (level == 0) {
+            System.arraycopy(links, 0, level0Links, node * maxM0, count);
+            level0Counts[node] = count;
+        } else {
+            int[] target = upperLinks[node][level - 1];
+            System.arraycopy(links, 0, target, 1, count);
+            target[0] = count;
+        }
+    }
+
+    private int linkCount(int node, int level) {
+        return level == 0 ? level0Counts[node] : upperLinks[node][level - 1][0];
+    }
+
+    private int neighborAt(int node, int level, int i) {
+        return level == 0 ? level0Links[node * maxM0 + i] : upperLinks[node][level - 1][i + 1];
+    }
+
+    private int greedyClosest(byte[] query, int offset, float scale, int start, int level) {
+        int current = start;
+        float best = distanceTo(query, offset, scale, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int count = linkCount(current, level);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighborAt(current, level, i);
+                float d = distanceTo(query, offset, scale, neighbor);
+                if (d < best) {
+                    best = d;
+                    current = neighbor;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Best-first search of one layer from {@code entry}.
+     *
+     * @return a max-heap of the {@code ef} closest nodes found
+     */
+    private LongHeap searchLayer(byte[] query, int offset, float scale, int entry, int ef, int level) {
+        // Sized for what one search usually reaches, not the graph; it grows if a search goes wider
+        VisitedSet visited = new VisitedSet(Math.min(size, ef * maxM0));
+        visited.add(entry);
+
+        long start = encode(distanceTo(query, offset, scale, entry), entry);
+        LongHeap candidates = new LongHeap(ef * 2, false);
+        LongHeap results = new LongHeap(ef + 1, true);
+        candidates.push(start);
+        results.push(start);
+
+        while (!candidates.isEmpty()) {
+            long closest = candidates.pop();
+            if (results.size() >= ef && distance(closest) > distance(results.peek())) {
+                break;
+            }
+            int node = node(closest);
+            int count = linkCount(node, level);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighborAt(node, level, i);
+                if (!visited.add(neighbor)) {
+                    continue;
+                }
+                float d = distanceTo(query, offset, scale, neighbor);
+                if (results.size() < ef || d < distance(results.peek())) {
+                    long entryValue = encode(d, neighbor);
+                    candidates.push(entryValue);
+                    results.push(entryValue);
+                    if (results.size() > ef) {
+                        results.pop();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private float distanceBetween(int a, int b) {
+        return distanceTo(vectors, a * dimensions, scales[a], b);
+    }
+
+    private float distanceTo(byte[] query, int offset, float scale, int node) {
+        int nodeOffset = node * dimensions;
+        int dot = 0;
+        for (int i = 0; i < dimensions; i++) {
+            dot += query[offset + i] * vectors[nodeOffset + i];
+        }
+        // Cosine distance; quantisation error can push similarity a hair above 1
+        return Math.max(0f, 1 - dot * scale * scales[node]);
+    }
+
+    private static float quantize(float[] vector, byte[] target) {
+        float max = 0;
+        for (float component : vector) {
+            max = Math.max(max, Math.abs(component));
+        }
+        if (max == 0) {
+            return 0;
+        }
+        float scale = max / 127;
+        for (int i = 0; i < vector.length; i++) {
+            target[i] = (byte) Math.round(vector[i] / scale);
+        }
+        return scale;
+    }
+
+    private int randomLevel() {
+        return Math.min(Byte.MAX_VALUE, (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier));
+    }
+
+    // Non-negative floats order the same as their bit patterns, so (distance, node) packs into a
+    // long that sorts by distance without boxing
+    private static long encode(float distance, int node) {
+        return ((long) Float.floatToIntBits(distance) << 32) | node;
+    }
+
+    private static float distance(long entry) {
+        return Float.intBitsToFloat((int) (entry >>> 32));
+    }
+
+    private static int node(long entry) {
+        return (int) entry;
+    }
+
+    private void allocate(int capacity) {
+        vectors = new byte[capacity * dimensions];
+        scales = new float[capacity];
+        idBits = new long[capacity * 2];
+        levels = new byte[capacity];
+        level0Links = new int[capacity * maxM0];
+        level0Counts = new int[capacity];
+        upperLinks = new int[capacity][][];
+    }
+
+    private void ensureCapacity(int required) {
+        int capacity = scales.length;
+        if (required <= capacity) {
+            return;
+        }
+        int grown = Math.max(required, capacity + (capacity >> 1));
+        vectors = Arrays.copyOf(vectors, grown * dimensions);
+        scales = Arrays.copyOf(scales, grown);
+        idBits = Arrays.copyOf(idBits, grown * 2);
+        levels = Arrays.copyOf(levels, grown);
+        level0Links = Arrays.copyOf(level0Links, grown * maxM0);
+        level0Counts = Arrays.copyOf(level0Counts, grown);
+        upperLinks = Arrays.copyOf(upperLinks, grown);
+    }
+
+    /**
+     * Writes the index through a memory-mapped file, replacing {@code file} atomically.
+     */
+    public void save(Path file) throws IOException {
+        lock.readLock().lock();
+        try {
+            long bytes = HEADER_BYTES;
+            for (int node = 0; node < size; node++) {
+                bytes += nodeBytes(levels[node]);
+            }
+            if (bytes > Integer.MAX_VALUE) {
+                throw new IOException("Index of " + bytes + " bytes exceeds a single mapping");
+            }
+
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+                buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(dimensions).putInt(m).putInt(efConstruction)
+                    .putInt(size).putInt(entryPoint).putInt(maxLevel).putInt(0);
+                for (int node = 0; node < size; node++) {
+                    buffer.putLong(idBits[node * 2]).putLong(idBits[node * 2 + 1]);
+                    buffer.putFloat(scales[node]);
+                    buffer.put(levels[node]).put((byte) (deleted.get(node) ? 1 : 0));
+                    buffer.put(vectors, node * dimensions, dimensions);
+                    buffer.putInt(level0Counts[node]);
+                    for (int i = 0; i < maxM0; i++) {
+                        buffer.putInt(level0Links[node * maxM0 + i]);
+                    }
+                    for (int level = 1; level <= levels[node]; level++) {
+                        for (int value : upperLinks[node][level - 1]) {
+                            buffer.putInt(value);
+                        }
+                    }
+                }
+                buffer.force();
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Maps a file written by {@link #save(Path)} and loads it onto the heap.
+     */
+    public static HnswIndex load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("Not an HNSW index file: " + file);
+            }
+            int dimensions = buffer.getInt();
+            int m = buffer.getInt();
+            int efConstruction = buffer.getInt();
+            int size = buffer.getInt();
+
+            HnswIndex index = new HnswIndex(dimensions, m, efConstruction, Math.max(size, 1024));
+            index.size = size;
+            index.entryPoint = buffer.getInt();
+            index.maxLevel = buffer.getInt();
+            buffer.getInt();
+            for (int node = 0; node < size; node++) {
+                long msb = buffer.getLong();
+                long lsb = buffer.getLong();
+                index.idBits[node * 2] = msb;
+                index.idBits[node * 2 + 1] = lsb;
+                index.scales[node] = buffer.getFloat();
+                byte level = buffer.get();
+                index.levels[node] = level;
+                if (buffer.get() == 1) {
+                    index.deleted.set(node);
+                } else {
+                    index.nodeById.put(new UUID(msb, lsb), node);
+                }
+                buffer.get(index.vectors, node * dimensions, dimensions);
+                index.level0Counts[node] = buffer.getInt();
+                for (int i = 0; i < index.maxM0; i++) {
+                    index.level0Links[node * index.maxM0 + i] = buffer.getInt();
+                }
+                if (level > 0) {
+                    index.upperLinks[node] = new int[level][m + 1];
+                    for (int l = 0; l < level; l++) {
+                        for (int i = 0; i <= m; i++) {
+                            index.upperLinks[node][l][i] = buffer.getInt();
+                        }
+                    }
+                }
+            }
+            return index;
+        }
+    }
+
+    private long nodeBytes(int level) {
+        return 2L * Long.BYTES + Float.BYTES + 2 + dimensions + Integer.BYTES
+            + (long) maxM0 * Integer.BYTES + (long) level * (m + 1) * Integer.BYTES;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Nodes seen during one search, as an open-addressing set of {@code node + 1} with linear
+     * probing; 0 marks a free slot. Kept at most half full.
+     */
+    private static final class VisitedSet {
+        private int[] slots;
+        private int count;
+
+        VisitedSet(int expected) {
+            slots = new int[Integer.highestOneBit(Math.max(8, expected) * 2 - 1) << 1];
+        }
+
+        /** Returns false if {@code node} was already in the set. */
+        boolean add(int node) {
+            int key = node + 1;
+            int mask = slots.length - 1;
+            for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+                if (slots[i] == key) {
+                    return false;
+                }
+                if (slots[i] == 0) {
+                    slots[i] = key;
+                    if (++count * 2 > slots.length) {
+                        grow();
+                    }
+                    return true;
+                }
+            }
+        }
+
+        private void grow() {
+            int[] old = slots;
+            slots = new int[old.length * 2];
+            int mask = slots.length - 1;
+            for (int key : old) {
+                if (key != 0) {
+                    int i = slot(key, mask);
+                    while (slots[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    slots[i] = key;
+                }
+            }
+        }
+
+        private static int slot(int key, int mask) {
+            int h = key * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+    }
+
+    /**
+     * Binary heap of packed (distance, node) longs.
+     */
+    private static final class LongHeap {
+        private long[] values;
+        private int size;
+        private final boolean max;
+
+        LongHeap(int capacity, boolean max) {
+            this.values = new long[Math.max(capacity, 4)];
+            this.max = max;
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long peek() {
+            return values[0];
+        }
+
+        void push(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(value, values[parent])) {
+                    break;
+                }
+                values[i] = values[parent];
+                i = parent;
+            }
+            values[i] = value;
+        }
+
+        long pop() {
+            long top = values[0];
+            long last = values[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && before(values[child + 1], values[child])) {
+                    child++;
+                }
+                if (!before(values[child], last)) {
+                    break;
+                }
+                values[i] = values[child];
+                i = child;
+            }
+            values[i] = last;
+            return top;
+        }
+
+        long[] drainAscending() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            size = 0;
+            return sorted;
+        }
+
+        private boolean before(long a, long b) {
+            return max ? a > b : a < b;
+        }
+    }
+}
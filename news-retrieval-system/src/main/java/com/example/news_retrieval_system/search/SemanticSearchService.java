@@ -0,0 +1,200 @@
+package com.example.news_retrieval_system.search;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.news_retrieval_system.ingest.ArticleIngestListener;
+import com.example.news_retrieval_system.model.NewsArticle;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Semantic retrieval for the "search" intent, backed by an in-process {@link HnswIndex}.
+ *
+ * On start the index is loaded from its snapshot file if one exists, then caught up with any
+ * articles in {@code news_articles} it has not seen (e.g. rows written by the Python ingest job).
+ * Articles loaded through {@code BulkArticleIngestService} are added as each chunk commits. The
+ * snapshot is rewritten after a catch-up that added rows and on shutdown.
+ */
+@Service
+public class SemanticSearchService implements ArticleIngestListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SemanticSearchService.class);
+    private static final int CATCH_UP_FETCH_SIZE = 10_000;
+
+    private final ArticleEmbedder embedder;
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final Path indexFile;
+    private final int efSearch;
+    private final int maxResults;
+
+    private volatile HnswIndex index;
+    private volatile boolean dirty;
+
+    public SemanticSearchService(ArticleEmbedder embedder, DataSource dataSource,
+                                 @Value("${search.semantic.enabled:false}") boolean enabled,
+                                 @Value("${search.semantic.index-file:data/articles.hnsw}") Path indexFile,
+                                 @Value("${search.semantic.m:16}") int m,
+                                 @Value("${search.semantic.ef-construction:100}") int efConstruction,
+                                 @Value("${search.semantic.ef-search:64}") int efSearch,
+                                 @Value("${search.semantic.max-results:200}") int maxResults) {
+        this.embedder = embedder;
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.indexFile = indexFile;
+        this.efSearch = efSearch;
+        this.maxResults = maxResults;
+        this.index = new HnswIndex(embedder.dimensions(), m, efConstruction);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Ids of the articles most similar to {@code query}, continuing after {@code afterId}.
+     *
+     * Results are capped at {@code search.semantic.max-results}; later pages re-run the search
+     * at that depth and resume after the anchor, so an anchor that has dropped out of the
+     * results ends the sequence.
+     */
+    public List<UUID> searchPage(String query, UUID afterId, int limit) {
+        if (!enabled) {
+            return List.of();
+        }
+        int k = afterId == null ? Math.min(limit, maxResults) : maxResults;
+        List<HnswIndex.Hit> hits = index.search(embedder.embed(query), k, Math.max(efSearch, k));
+
+        int from = 0;
+        if (afterId != null) {
+            from = -1;
+            for (int i = 0; i < hits.size(); i++) {
+                if (hits.get(i).id().equals(afterId)) {
+                    from = i + 1;
+                    break;
+                }
+            }
+            if (from < 0) {
+                return List.of();
+            }
+        }
+        List<UUID> ids = new ArrayList<>(limit);
+        for (int i = from; i < hits.size() && ids.size() < limit; i++) {
+            ids.add(hits.get(i).id());
+        }
+        return ids;
+    }
+
+    @Override
+    public void onArticlesIngested(List<NewsArticle> articles) {
+        if (!enabled) {
+            return;
+        }
+        for (NewsArticle article : articles) {
+            index.add(article.getId(), embedder.embed(textOf(article.getTitle(), article.getDescription())));
+        }
+        dirty = true;
+    }
+
+    /**
+     * Runs once at startup and then every {@code search.semantic.catch-up-ms}.
+     */
+    @Scheduled(fixedDelayString = "${search.semantic.catch-up-ms:600000}")
+    public void catchUp() {
+        if (!enabled) {
+            return;
+        }
+        if (!dirty && index.size() == 0 && Files.exists(indexFile)) {
+            loadSnapshot();
+        }
+        try {
+            long start = System.currentTimeMillis();
+            long added = indexMissingArticles();
+            if (added > 0) {
+                logger.info("Semantic index caught up: {} articles added in {} ms, {} indexed",
+                    added, System.currentTimeMillis() - start, index.size());
+                dirty = true;
+                saveSnapshot();
+            }
+        } catch (SQLException e) {
+            logger.error("Error catching up semantic index: {}", e.getMessage(), e);
+        }
+    }
+
+    private long indexMissingArticles() throws SQLException {
+        long added = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            // Read-only routes to a replica when configured; a transaction lets pgjdbc stream with a cursor
+            connection.setReadOnly(true);
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.setFetchSize(CATCH_UP_FETCH_SIZE);
+                try (ResultSet rs = statement.executeQuery("SELECT id, title, description FROM news_articles")) {
+                    while (rs.next()) {
+                        UUID id = rs.getObject("id", UUID.class);
+                        if (!index.contains(id)) {
+                            index.add(id, embedder.embed(textOf(rs.getString("title"), rs.getString("description"))));
+                            added++;
+                        }
+                    }
+                }
+            } finally {
+                connection.commit();
+            }
+        }
+        return added;
+    }
+
+    private void loadSnapshot() {
+        try {
+            HnswIndex loaded = HnswIndex.load(indexFile);
+            if (loaded.dimensions() != embedder.dimensions()) {
+                logger.warn("Ignoring semantic index snapshot {}: built for {} dimensions, embedder has {}",
+                    indexFile, loaded.dimensions(), embedder.dimensions());
+                return;
+            }
+            index = loaded;
+            logger.info("Loaded semantic index snapshot {} with {} articles", indexFile, loaded.size());
+        } catch (IOException e) {
+            logger.error("Error loading semantic index snapshot {}: {}", indexFile, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void saveSnapshot() {
+        if (!enabled || !dirty) {
+            return;
+        }
+        try {
+            Path parent = indexFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            index.save(indexFile);
+            dirty = false;
+        } catch (IOException e) {
+            logger.error("Error saving semantic index snapshot {}: {}", indexFile, e.getMessage());
+        }
+    }
+
+    private static String textOf(String title, String description) {
+        return (title == null ? "" : title) + "\n" + (description == null ? "" : description);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.news_retrieval_system.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.example.news_retrieval_system.model.NewsArticle;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Creates the week an article is about to be written to before JPA inserts or moves it, so entity
+ * writes go through {@code create_news_article_partitions} like the COPY path and ingest.py do;
+ * {@code news_articles} has no DEFAULT partition to catch them otherwise. Hibernate gets the
+ * instance from Spring, and runs it inside the writing transaction.
+ */
+@Component
+public class ArticlePartitionListener {
+
+    // The entity manager factory is built before the manager's JdbcTemplate may exist
+    private final ObjectProvider<ArticlePartitionManager> partitionManager;
+
+    public ArticlePartitionListener(ObjectProvider<ArticlePartitionManager> partitionManager) {
+        this.partitionManager = partitionManager;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void ensurePartition(NewsArticle article) {
+        if (article.getPublicationDate() != null) {
+            partitionManager.getObject().ensurePartitions(article.getPublicationDate(), article.getPublicationDate());
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.news_retrieval_system.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Maintains the weekly partitions of {@code news_articles} (see {@code postgres-init/init.sql}).
+ *
+ * Every {@code articles.partitions.maintain-ms}, starting at startup, it:
+ * <ul>
+ *   <li>creates the partitions of the next {@code articles.partitions.premake-weeks} weeks, so
+ *       writes never wait on DDL;</li>
+ *   <li>gives every partition that still overlaps the last {@code articles.partitions.hot-days}
+ *       (and every future one) its own {@code (latitude, longitude, publication_date)} index for the
+ *       trending fallback's bounding box, and drops it again once the week has cooled, so the
+ *       archive never pays for it;</li>
+ *   <li>with {@code articles.partitions.retention-weeks} set, detaches weeks older than that and
+ *       moves them to {@code articles.partitions.archive-schema}, or drops them when it is blank.</li>
+ * </ul>
+ * Writers call {@link #ensurePartitions} for the range they are about to insert, since articles
+ * can be published in any week. Nothing happens against a {@code news_articles} that is not
+ * partitioned, e.g. a database created before init.sql partitioned it.
+ */
+@Service
+public class ArticlePartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticlePartitionManager.class);
+
+    // Must match the names create_news_article_partitions gives: the Monday the week starts on
+    private static final Pattern PARTITION = Pattern.compile("news_articles_p(\\d{8})");
+    private static final DateTimeFormatter PARTITION_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final String HOT_INDEX_SUFFIX = "_hot_geo";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int premakeWeeks;
+    private final int hotDays;
+    private final int retentionWeeks;
+    private final String archiveSchema;
+
+    private volatile Boolean partitioned;
+
+    public ArticlePartitionManager(JdbcTemplate jdbcTemplate,
+                                   @Value("${articles.partitions.enabled:true}") boolean enabled,
+                                   @Value("${articles.partitions.premake-weeks:4}") int premakeWeeks,
+                                   @Value("${articles.partitions.hot-days:2}") int hotDays,
+                                   @Value("${articles.partitions.retention-weeks:0}") int retentionWeeks,
+                                   @Value("${articles.partitions.archive-schema:news_archive}") String archiveSchema) {
+        if (!archiveSchema.isBlank() && !IDENTIFIER.matcher(archiveSchema).matches()) {
+            throw new IllegalArgumentException("Invalid articles.partitions.archive-schema: " + archiveSchema);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.premakeWeeks = Math.max(1, premakeWeeks);
+        this.hotDays = Math.max(1, hotDays);
+        this.retentionWeeks = Math.max(0, retentionWeeks);
+        this.archiveSchema = archiveSchema;
+    }
+
+    @Scheduled(fixedDelayString = "${articles.partitions.maintain-ms:3600000}")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!isPartitioned()) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+            ensurePartitions(now, now.plusWeeks(premakeWeeks));
+
+            List<LocalDate> weeks = partitionWeeks();
+            Set<String> indexed = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT tablename FROM pg_indexes WHERE schemaname = current_schema() AND indexname LIKE ?",
+                String.class, "news\\_articles\\_p%" + HOT_INDEX_SUFFIX.replace("_", "\\_")));
+            for (LocalDate week : weeks) {
+                if (isExpired(week, now, retentionWeeks)) {
+                    archive(week);
+                } else if (isHot(week, now, hotDays)) {
+                    if (!indexed.contains(partitionName(week))) {
+                        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + hotIndexName(week)
+                            + " ON " + partitionName(week) + " (latitude, longitude, publication_date)");
+                        logger.info("Indexed hot partition {}", partitionName(week));
+                    }
+                } else if (indexed.contains(partitionName(week))) {
+                    jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + hotIndexName(week));
+                    logger.info("Dropped hot index of cooled partition {}", partitionName(week));
+                }
+            }
+        } catch (DataAccessException e) {
+            logger.error("Error maintaining news_articles partitions: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates any missing weekly partitions between {@code from} and {@code to} (UTC, inclusive).
+     * Runs in its own short transaction: creating a partition locks the whole table, which must
+     * not be held for the length of a bulk insert.
+     */
+    public void ensurePartitions(LocalDateTime from, LocalDateTime to) {
+        if (!enabled || !isPartitioned()) {
+            return;
+        }
+        Integer created = jdbcTemplate.queryForObject("SELECT create_news_article_partitions(?, ?)", Integer.class,
+            from.atOffset(ZoneOffset.UTC), to.atOffset(ZoneOffset.UTC));
+        if (created != null && created > 0) {
+            logger.info("Created {} news_articles partitions between {} and {}", created, from.toLocalDate(),
+                to.toLocalDate());
+        }
+    }
+
+    private boolean isPartitioned() {
+        Boolean known = partitioned;
+        if (known == null) {
+            known = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT COALESCE((SELECT relkind = 'p' FROM pg_class WHERE oid = to_regclass('news_articles')), false)",
+                Boolean.class));
+            if (!known) {
+                logger.info("news_articles is not partitioned; partition maintenance is off");
+            }
+            partitioned = known;
+        }
+        return known;
+    }
+
+    private List<LocalDate> partitionWeeks() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+                    + " WHERE i.inhparent = to_regclass('news_articles') ORDER BY c.relname",
+                String.class)
+            .stream()
+            .map(PARTITION::matcher)
+            .filter(Matcher::matches)
+            .map(matcher -> LocalDate.parse(matcher.group(1), PARTITION_DATE))
+            .toList();
+    }
+
+    private void archive(LocalDate week) {
+        String name = partitionName(week);
+        // Readers keep running while the partition is detached; needs autocommit
+        jdbcTemplate.execute("ALTER TABLE news_articles DETACH PARTITION " + name + " CONCURRENTLY");
+        if (archiveSchema.isBlank()) {
+            jdbcTemplate.execute("DROP TABLE " + name);
+            logger.info("Dropped expired partition {}", name);
+            return;
+        }
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+        String archived = archiveSchema + "." + name;
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, archived);
+        if (Boolean.TRUE.equals(exists)) {
+            // Late articles recreated an already archived week; fold them into the archived table
+            jdbcTemplate.execute("INSERT INTO " + archived + " SELECT * FROM " + name + " ON CONFLICT DO NOTHING");
+            jdbcTemplate.execute("DROP TABLE " + name);
+        } else {
+            jdbcTemplate.execute("ALTER TABLE " + name + " SET SCHEMA " + archiveSchema);
+        }
+        logger.info("Archived expired partition {} to {}", name, archiveSchema);
+    }
+
+    /** Monday (UTC) of the week holding {@code time}, as in create_news_article_partitions. */
+    static LocalDate weekStart(LocalDateTime time) {
+        return time.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    static boolean isHot(LocalDate week, LocalDateTime now, int hotDays) {
+        return week.plusWeeks(1).atStartOfDay().isAfter(now.minusDays(hotDays));
+    }
+
+    static boolean isExpired(LocalDate week, LocalDateTime now, int retentionWeeks) {
+        return retentionWeeks > 0 && week.isBefore(weekStart(now).minusWeeks(retentionWeeks));
+    }
+
+    static String partitionName(LocalDate week) {
+        return "news_articles_p" + week.format(PARTITION_DATE);
+    }
+
+    private static String hotIndexName(LocalDate week) {
+        return partitionName(week) + HOT_INDEX_SUFFIX;
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.news_retrieval_system.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.news_retrieval_system.dto.AnalysisResponse;
+import com.example.news_retrieval_system.llm.LlmServiceClient;
+import com.example.news_retrieval_system.repository.NewsArticleRepository;
+
+/**
+ * Answers simple queries ("ANI news", "sports", "news near 19.07,72.87") without the LLM.
+ *
+ * Source names and categories are read from the database into a token trie. A query is answered
+ * locally only when every token is accounted for: a known source or category, a coordinate pair,
+ * a relevance phrase, or filler like "latest news from". Anything left over means the query
+ * needs the LLM's understanding, and parse returns empty.
+ */
+@Service
+public class LocalIntentParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalIntentParser.class);
+    private static final int LOG_INTERVAL = 100;
+    private static final double HIGH_RELEVANCE_SCORE = 0.8;
+
+    private static final Pattern COORDINATES = Pattern.compile("(-?\\d{1,2}\\.\\d+)\\s*,\\s*(-?\\d{1,3}\\.\\d+)");
+    private static final Pattern SCORE_VALUE = Pattern.compile(
+        "\\b(?:relevance|score)\\b(?:\\s+(?:score|of|above|over|at least|greater than|>=?))*\\s*(0?\\.\\d+|1(?:\\.0+)?)\\b");
+    private static final Pattern HIGH_RELEVANCE = Pattern.compile(
+        "\\b(?:high(?:ly)?|most)\\s+relevan(?:t|ce)(?:\\s+score)?\\b");
+    private static final Pattern TIME_WINDOW = Pattern.compile(
+        "\\b(?:last|past)\\s+(?:(\\d{1,4})\\s*)?(h|hrs?|hours?|d|days?|weeks?)\\b");
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> FILLER = Set.of(
+        "news", "article", "articles", "story", "stories", "headlines", "updates", "latest", "recent", "today",
+        "show", "me", "get", "find", "give", "all", "any", "the", "a", "an", "from", "by", "on", "about", "in",
+        "of", "for", "near", "around", "nearby", "close", "to", "at", "with", "what", "whats", "is", "are",
+        "please", "lat", "lon", "location", "and");
+
+    private final NewsArticleRepository newsRepository;
+    private final LlmServiceClient llmClient;
+    private final boolean enabled;
+
+    private volatile PhraseTrie dictionary = new PhraseTrie();
+
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong localHits = new AtomicLong();
+    private final AtomicLong savedNanos = new AtomicLong();
+
+    public LocalIntentParser(NewsArticleRepository newsRepository, LlmServiceClient llmClient,
+                             @Value("${intent.local.enabled:true}") boolean enabled) {
+        this.newsRepository = newsRepository;
+        this.llmClient = llmClient;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(fixedDelayString = "${intent.local.refresh-ms:600000}")
+    public void refreshDictionary() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebuildDictionary(newsRepository.findDistinctSourceNames(), newsRepository.findDistinctCategories());
+        } catch (Exception e) {
+            // Keep the previous dictionary; an empty one only sends everything to the LLM
+            logger.error("Error refreshing intent dictionary: {}", e.getMessage());
+        }
+    }
+
+    void rebuildDictionary(Collection<String> sourceNames, Collection<String> categories) {
+        PhraseTrie trie = new PhraseTrie();
+        for (String category : categories) {
+            trie.add(tokenize(category), Kind.CATEGORY, category);
+        }
+        // Sources win a tie with a category of the same name, as in the LLM's examples
+        for (String sourceName : sourceNames) {
+            List<String> tokens = tokenize(sourceName);
+            trie.add(tokens, Kind.SOURCE, sourceName);
+            // "PTI" should find "PTI News"
+            if (tokens.size() > 1 && tokens.get(tokens.size() - 1).equals("news")) {
+                trie.add(tokens.subList(0, tokens.size() - 1), Kind.SOURCE, sourceName);
+            }
+        }
+        dictionary = trie;
+        logger.info("Intent dictionary loaded: {} sources, {} categories", sourceNames.size(), categories.size());
+    }
+
+    /**
+     * @return an analysis in the LLM service's shape, or empty when the query is not simple enough
+     */
+    public Optional<AnalysisResponse> parse(String query) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        Optional<AnalysisResponse> analysis = classify(query);
+        long elapsed = System.nanoTime() - start;
+
+        long total = queries.incrementAndGet();
+        if (analysis.isPresent()) {
+            localHits.incrementAndGet();
+            long llmNanos = llmClient.typicalProcessQueryLatency().toNanos();
+            savedNanos.addAndGet(Math.max(0, llmNanos - elapsed));
+        }
+        if (total % LOG_INTERVAL == 0) {
+            logger.info("Intent parsing: {} of {} queries answered locally ({}%), ~{} ms of LLM latency saved",
+                localHits.get(), total, localHits.get() * 100 / total, getSavedMillis());
+        }
+        return analysis;
+    }
+
+    Optional<AnalysisResponse> classify(String query) {
+        String text = query.toLowerCase(Locale.ROOT);
+        Map<String, Object> entities = new HashMap<>();
+
+        Matcher coordinates = COORDINATES.matcher(text);
+        if (coordinates.find()) {
+            double lat = Double.parseDouble(coordinates.group(1));
+            double lon = Double.parseDouble(coordinates.group(2));
+            if (Math.abs(lat) > 90 || Math.abs(lon) > 180) {
+                return Optional.empty();
+            }
+            entities.put("lat", lat);
+            entities.put("lon", lon);
+            text = text.substring(0, coordinates.start()) + " " + text.substring(coordinates.end());
+        }
+
+        Matcher scoreValue = SCORE_VALUE.matcher(text);
+        Matcher highRelevance = HIGH_RELEVANCE.matcher(text);
+        if (scoreValue.find()) {
+            entities.put("score", Double.parseDouble(scoreValue.group(1)));
+            text = text.substring(0, scoreValue.start()) + " " + text.substring(scoreValue.end());
+        } else if (highRelevance.find()) {
+            entities.put("score", HIGH_RELEVANCE_SCORE);
+            text = text.substring(0, highRelevance.start()) + " " + text.substring(highRelevance.end());
+        }
+
+        Matcher timeWindow = TIME_WINDOW.matcher(text);
+        if (timeWindow.find()) {
+            int count = timeWindow.group(1) == null ? 1 : Integer.parseInt(timeWindow.group(1));
+            String unit = timeWindow.group(2);
+            int hoursPerUnit = unit.startsWith("w") ? 24 * 7 : unit.startsWith("d") ? 24 : 1;
+            // Narrows a source or category query; on its own it is not an intent
+            entities.put("hours", count * hoursPerUnit);
+            text = text.substring(0, timeWindow.start()) + " " + text.substring(timeWindow.end());
+        }
+
+        List<String> tokens = tokenize(text);
+        PhraseTrie trie = dictionary;
+        int i = 0;
+        while (i < tokens.size()) {
+            PhraseTrie.Match match = trie.longestMatch(tokens, i);
+            if (match != null) {
+                String key = match.kind() == Kind.SOURCE ? "source_name" : "category";
+                Object previous = entities.putIfAbsent(key, match.value());
+                if (previous != null && !previous.equals(match.value())) {
+                    // Two sources or two categories: let the LLM decide what was meant
+                    return Optional.empty();
+                }
+                i += match.length();
+            } else if (FILLER.contains(tokens.get(i))) {
+                i++;
+            } else {
+                return Optional.empty();
+            }
+        }
+
+        // Same intent order the LLM uses; NewsService serves the first one
+        List<String> intents = new ArrayList<>();
+        if (entities.containsKey("lat")) {
+            intents.add("nearby");
+        }
+        if (entities.containsKey("source_name")) {
+            intents.add("source");
+        }
+        if (entities.containsKey("category")) {
+            intents.add("category");
+        }
+        if (entities.containsKey("score")) {
+            intents.add("score");
+        }
+        if (intents.isEmpty()) {
+            return Optional.empty();
+        }
+
+        AnalysisResponse analysis = new AnalysisResponse();
+        analysis.setIntents(intents);
+        analysis.setEntities(entities);
+        return Optional.of(analysis);
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    public long getQueries() {
+        return queries.get();
+    }
+
+    public long getLocalHits() {
+        return localHits.get();
+    }
+
+    public long getSavedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(savedNanos.get());
+    }
+
+    private enum Kind { SOURCE, CATEGORY }
+
+    /**
+     * Token-level prefix tree: each edge is one lower-cased word, so "hindustan times" and
+     * "hindustan" can both be entries and the longest one present in the query wins.
+     */
+    private static final class PhraseTrie {
+
+        private final Map<String, PhraseTrie> children = new LinkedHashMap<>();
+        private Kind kind;
+        private String value;
+
+        void add(List<String> tokens, Kind kind, String value) {
+            if (tokens.isEmpty()) {
+                return;
+            }
+            PhraseTrie node = this;
+            for (String token : tokens) {
+                node = node.children.computeIfAbsent(token, t -> new PhraseTrie());
+            }
+            if (node.value == null || kind == Kind.SOURCE) {
+                node.kind = kind;
+                node.value = value;
+            }
+        }
+
+        Match longestMatch(List<String> tokens, int from) {
+            Match longest = null;
+            PhraseTrie node = this;
+            for (int i = from; i < tokens.size(); i++) {
+                node = node.children.get(tokens.get(i));
+                if (node == null) {
+                    break;
+                }
+                if (node.value != null) {
+                    longest = new Match(node.kind, node.value, i - from + 1);
+                }
+            }
+            return longest;
+        }
+
+        record Match(Kind kind, String value, int length) {
+        }
+    }
+}
@@ -1,97 +1,263 @@
 package com.example.news_retrieval_system.service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import com.example.news_retrieval_system.dedup.ArticleClusterService;
 import com.example.news_retrieval_system.dto.AnalysisResponse;
+import com.example.news_retrieval_system.dto.ArticlePage;
 import com.example.news_retrieval_system.dto.NewsArticleDto;
-import com.example.news_retrieval_system.dto.QueryRequest;
-import com.example.news_retrieval_system.dto.SummaryResponse;
-import com.example.news_retrieval_system.dto.TextRequest;
-import com.example.news_retrieval_system.model.NewsArticle;
+import com.example.news_retrieval_system.dto.PageCursor;
+import com.example.news_retrieval_system.filter.ArticleFilter;
+import com.example.news_retrieval_system.filter.BitmapFilterService;
+import com.example.news_retrieval_system.llm.LlmServiceClient;
+import com.example.news_retrieval_system.model.NewsArticleView;
+import com.example.news_retrieval_system.ranking.RankFusion;
+import com.example.news_retrieval_system.ranking.RankingContext;
+import com.example.news_retrieval_system.ranking.RankingEngine;
 import com.example.news_retrieval_system.repository.NewsArticleRepository;
+import com.example.news_retrieval_system.search.SemanticSearchService;
+import com.example.news_retrieval_system.snapshot.ArticleSnapshotService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 @Service
 public class NewsService {
 
     private static final Logger logger = LoggerFactory.getLogger(NewsService.class);
-    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final Set<String> KEYSET_INTENTS = Set.of("source", "category", "nearby", "score", "search", "semantic", "filtered", "fused");
+    // Intents the bitmap index can combine into one filter
+    private static final Set<String> FILTER_INTENTS = Set.of("source", "category", "score");
 
     private final NewsArticleRepository newsRepository;
-    private final WebClient webClient;
+    private final LlmServiceClient llmClient;
+    private final LocalIntentParser localIntentParser;
+    private final SemanticSearchService semanticSearch;
+    private final RankingEngine rankingEngine;
+    private final ArticleSnapshotService articleSnapshot;
+    private final BitmapFilterService bitmapFilter;
+    private final RedisService redisService;
+    private final ArticleClusterService clusters;
+    private final Scheduler intentBranchScheduler;
+    private final ObjectMapper objectMapper;
+    // Summaries by near-duplicate cluster, so copies of a story share one LLM call
+    private final Cache<UUID, String> summaryCache;
 
-    @Value("${llm.service.url}")
-    private String llmServiceUrl;
+    // Total time a query may spend waiting on the LLM service, and the part of it
+    // /process-query may use; summaries get whatever is left
+    @Value("${llm.client.request-budget-ms:5000}")
+    private long requestBudgetMs;
 
-    public NewsService(NewsArticleRepository newsRepository, WebClient.Builder webClientBuilder) {
+    @Value("${llm.client.process-query-share:0.4}")
+    private double processQueryShare;
+
+    @Value("${ranking.max-candidates:2000}")
+    private int maxCandidates;
+
+    // How deep each branch of a compound query ranks, and how long branches may run
+    @Value("${intent.fusion.depth:100}")
+    private int fusionDepth;
+
+    @Value("${intent.fusion.budget-ms:1000}")
+    private long fusionBudgetMs;
+
+    // Trending articles are looked up in the weeks of this window first
+    @Value("${trending.lookup.recent-hours:48}")
+    private long trendingLookupHours;
+
+    public NewsService(NewsArticleRepository newsRepository, LlmServiceClient llmClient,
+                       LocalIntentParser localIntentParser, SemanticSearchService semanticSearch,
+                       RankingEngine rankingEngine, ArticleSnapshotService articleSnapshot,
+                       BitmapFilterService bitmapFilter, RedisService redisService,
+                       ArticleClusterService clusters,
+                       @Qualifier("intentBranchScheduler") Scheduler intentBranchScheduler,
+                       ObjectMapper objectMapper,
+                       @Value("${llm.summary.cache.max-size:10000}") long summaryCacheSize,
+                       @Value("${llm.summary.cache.ttl-minutes:60}") long summaryCacheTtlMinutes) {
         this.newsRepository = newsRepository;
-        this.webClient = webClientBuilder.build();
+        this.llmClient = llmClient;
+        this.localIntentParser = localIntentParser;
+        this.semanticSearch = semanticSearch;
+        this.rankingEngine = rankingEngine;
+        this.articleSnapshot = articleSnapshot;
+        this.bitmapFilter = bitmapFilter;
+        this.redisService = redisService;
+        this.clusters = clusters;
+        this.intentBranchScheduler = intentBranchScheduler;
+        this.objectMapper = objectMapper;
+        this.summaryCache = CacheBuilder.newBuilder()
+                .maximumSize(summaryCacheSize)
+                .expireAfterWrite(summaryCacheTtlMinutes, TimeUnit.MINUTES)
+                .build();
     }
 
-    public Mono<List<NewsArticleDto>> getNewsFromQuery(String query) {
+    public Mono<ArticlePage> getNewsFromQuery(String query, PageCursor cursor, int limit) {
         if (query == null || query.trim().isEmpty()) {
             logger.error("Query cannot be null or empty");
             return Mono.error(new IllegalArgumentException("Query cannot be null or empty"));
         }
 
         logger.info("Processing query: '{}'", query);
-        return webClient.post()
-                .uri(llmServiceUrl + "/process-query")
-                .bodyValue(new QueryRequest(query))
-                .retrieve()
-                .bodyToMono(AnalysisResponse.class)
-                .onErrorResume(WebClientResponseException.class, e -> {
-                    logger.error("LLM service error: {} - {}", e.getStatusCode(), e.getMessage());
-                    return Mono.error(new RuntimeException("Error processing query through LLM service"));
-                })
-                .flatMap(analysis -> {
-                    logger.info("Analysis received for query: '{}'", analysis);
-                    List<NewsArticle> articles = fetchArticles(analysis);
-                    return enrichArticlesWithSummaries(articles.stream().limit(5).collect(Collectors.toList()));
+        return Mono.defer(() -> {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(requestBudgetMs);
+            Duration analysisBudget = Duration.ofMillis((long) (requestBudgetMs * processQueryShare));
+            return analyze(query, cursor, analysisBudget)
+                    .flatMap(analysis -> {
+                        logger.info("Analysis received for query: '{}'", analysis);
+                        String intent = resolveIntent(analysis, cursor);
+                        if (intent == null) {
+                            return Mono.just(new ArticlePage(Collections.emptyList(), null));
+                        }
+
+                        // One extra row tells us whether another page exists without a COUNT, the
+                        // rest makes up for near-duplicates collapsed into their best-ranked copy
+                        int fetchSize = clusters.fetchSize(limit);
+                        ArticleFilter filter = intent.equals("filtered") ? filterOf(analysis.getEntities(), cursor) : null;
+                        Mono<List<NewsArticleView>> fetched = intent.equals("fused")
+                                ? fetchFused(analysis, cursor, fetchSize, deadline)
+                                : Mono.fromSupplier(() -> fetchArticles(intent, analysis.getEntities(), cursor, filter, fetchSize));
+                        return fetched.flatMap(articles -> {
+                            ArticleClusterService.Page<NewsArticleView> page =
+                                    clusters.page(articles, limit, NewsArticleView::id, new HashSet<>());
+                            String nextCursor = page.anchor() == null ? null
+                                    : nextCursor(intent, page.anchor(), filter).withContext(contextOf(analysis)).encode();
+                            return enrichArticlesWithSummaries(page.items(), deadline)
+                                    .map(dtos -> new ArticlePage(dtos, nextCursor));
+                        });
+                    });
+        });
+    }
+
+    /**
+     * Later pages reuse the analysis their cursor carries, so a page sequence costs one LLM call
+     * and every page reads the same entities. Cursors without one (or with one that no longer
+     * parses) are analyzed again.
+     */
+    private Mono<AnalysisResponse> analyze(String query, PageCursor cursor, Duration budget) {
+        if (cursor != null && cursor.getContext() != null) {
+            try {
+                return Mono.just(objectMapper.readValue(cursor.getContext(), AnalysisResponse.class));
+            } catch (JsonProcessingException e) {
+                logger.warn("Ignoring unreadable analysis in cursor: {}", e.getOriginalMessage());
+            }
+        }
+        Optional<AnalysisResponse> local = localIntentParser.parse(query);
+        if (local.isPresent()) {
+            logger.debug("Query '{}' answered by the local intent parser", query);
+            return Mono.just(local.get());
+        }
+        return llmClient.processQuery(query, budget)
+                .onErrorResume(e -> {
+                    // Plain full-text search still answers the query, just without intent detection
+                    logger.warn("Query analysis unavailable, falling back to search: {}", e.toString());
+                    return Mono.just(searchAnalysis(query));
                 });
     }
 
-    private List<NewsArticle> fetchArticles(AnalysisResponse analysis) {
+    private String contextOf(AnalysisResponse analysis) {
         try {
-            PageRequest pageable = PageRequest.of(0, DEFAULT_PAGE_SIZE);
+            return objectMapper.writeValueAsString(analysis);
+        } catch (JsonProcessingException e) {
+            logger.warn("Next cursor will not carry the query analysis: {}", e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private AnalysisResponse searchAnalysis(String query) {
+        AnalysisResponse analysis = new AnalysisResponse();
+        analysis.setIntents(List.of("search"));
+        analysis.setEntities(Map.of("search_query", query));
+        return analysis;
+    }
 
-            if (analysis == null || analysis.getIntents() == null || analysis.getIntents().isEmpty()) {
-                logger.warn("No intents found in LLM analysis");
-                return Collections.emptyList();
+    /**
+     * A cursor pins its page sequence to the intent of the first page, so a later LLM analysis
+     * that ranks intents differently cannot switch sort orders mid-way through.
+     */
+    private String resolveIntent(AnalysisResponse analysis, PageCursor cursor) {
+        if (cursor != null) {
+            return cursor.getIntent();
+        }
+        if (analysis == null || analysis.getIntents() == null || analysis.getIntents().isEmpty()) {
+            logger.warn("No intents found in LLM analysis");
+            return null;
+        }
+        // "sports from PTI in the last 24h": serve every constraint at once rather than just the first
+        if (FILTER_INTENTS.containsAll(analysis.getIntents())) {
+            ArticleFilter filter = filterOf(analysis.getEntities(), null);
+            if (filter.constraints() > 1 && bitmapFilter.covers(filter)) {
+                return "filtered";
             }
+        }
+        // "trending" is only ever served fused, even on its own, since no single-intent path reads Redis
+        List<String> branches = branchIntents(analysis);
+        if (branches.size() > 1 || branches.contains("trending")) {
+            return "fused";
+        }
+        String firstIntent = analysis.getIntents().get(0);
+        String intent = KEYSET_INTENTS.contains(firstIntent) ? firstIntent : "search";
+        // An empty search lists everything by relevance, which the database does better
+        if (intent.equals("search") && semanticSearch.isEnabled() && analysis.getEntities() != null
+                && analysis.getEntities().get("search_query") instanceof String text && !text.isBlank()) {
+            return "semantic";
+        }
+        return intent;
+    }
 
-            String firstIntent = analysis.getIntents().get(0);
-            Map<String, Object> entities = analysis.getEntities();
-            logger.debug("Processing intent: {} with entities: {}", firstIntent, entities);
+    private List<NewsArticleView> fetchArticles(String intent, Map<String, Object> entities, PageCursor cursor,
+                                                ArticleFilter filter, int size) {
+        try {
+            if (entities == null) {
+                entities = Collections.emptyMap();
+            }
+            logger.debug("Processing intent: {} with entities: {}", intent, entities);
+            UUID afterId = cursor == null ? null : cursor.getLastId();
 
-            switch (firstIntent) {
+            switch (intent) {
                 case "source":
                     String sourceName = (String) entities.get("source_name");
                     if (sourceName == null) {
                         logger.warn("Source name not found in entities");
                         return Collections.emptyList();
                     }
-                    return newsRepository.findBySourceNameOrderByPublicationDateDesc(sourceName, pageable);
+                    LocalDateTime afterSourceDate = cursor == null ? null : cursor.getPublishedAt();
+                    return articleSnapshot.findSourcePage(sourceName, afterSourceDate, afterId, size)
+                            .map(page -> newsRepository.findViewsByIds(page.ids(), page.oldest()))
+                            .orElseGet(() -> newsRepository.findSourcePage(sourceName, afterSourceDate, afterId, size));
                 case "category":
                     String category = (String) entities.get("category");
                     if (category == null) {
                         logger.warn("Category not found in entities");
                         return Collections.emptyList();
                     }
-                    return newsRepository.findByCategory(category, pageable);
+                    LocalDateTime afterCategoryDate = cursor == null ? null : cursor.getPublishedAt();
+                    return articleSnapshot.findCategoryPage(category, afterCategoryDate, afterId, size)
+                            .map(page -> newsRepository.findViewsByIds(page.ids(), page.oldest()))
+                            .orElseGet(() -> newsRepository.findCategoryPage(category, afterCategoryDate, afterId, size));
                 case "nearby":
                     double lat = (Double) entities.getOrDefault("lat", 0.0);
                     double lon = (Double) entities.getOrDefault("lon", 0.0);
@@ -99,13 +265,32 @@ public class NewsService {
                         logger.warn("Invalid coordinates: lat={}, lon={}", lat, lon);
                         return Collections.emptyList();
                     }
-                    return newsRepository.findNearbyArticles(lat, lon, pageable);
+                    return newsRepository.findNearbyPage(lat, lon, afterId, size);
                 case "score":
                     double score = (Double) entities.getOrDefault("score", 0.7);
-                    return newsRepository.findByRelevanceScoreGreaterThanOrderByRelevanceScoreDesc(score, pageable);
+                    Double afterScore = cursor == null ? null : cursor.getScore();
+                    return articleSnapshot.findScorePage(score, afterScore, afterId, size)
+                            .map(newsRepository::findViewsByIds)
+                            .orElseGet(() -> newsRepository.findScorePage(score, afterScore, afterId, size));
+                case "filtered":
+                    Optional<List<UUID>> filtered = bitmapFilter.findPage(filter, afterId, size);
+                    if (filtered.isEmpty()) {
+                        logger.warn("Bitmap filter index not loaded; cannot continue a filtered page sequence");
+                        return Collections.emptyList();
+                    }
+                    return newsRepository.findViewsByIds(filtered.get(), filter.since());
+                case "semantic":
+                    String semanticQuery = (String) entities.getOrDefault("search_query", "");
+                    return newsRepository.findViewsByIds(semanticSearch.searchPage(semanticQuery, afterId, size));
                 default: // "search"
                     String searchQuery = (String) entities.getOrDefault("search_query", "");
-                    return newsRepository.searchByTitleOrDescription(searchQuery, pageable);
+                    RankingContext context = RankingContext.forQuery(searchQuery);
+                    List<NewsArticleView> candidates =
+                            newsRepository.findSearchCandidates(searchQuery, context.queryTokens(), maxCandidates);
+                    // Candidates carry only the query terms found in their descriptions; read the page in full
+                    return newsRepository.findViewsByIds(rankingEngine.rank(candidates, context, size, afterId).stream()
+                            .map(NewsArticleView::id)
+                            .collect(Collectors.toList()));
             }
         } catch (Exception e) {
             logger.error("Error fetching articles: {}", e.getMessage(), e);
@@ -113,34 +298,152 @@ public class NewsService {
         }
     }
 
-    private Mono<List<NewsArticleDto>> enrichArticlesWithSummaries(List<NewsArticle> articles) {
+    /**
+     * The distinct intents of an analysis that map to a branch, in the analysis's order, with
+     * "search" swapped for "semantic" when that index serves it. "trending" needs coordinates.
+     */
+    private List<String> branchIntents(AnalysisResponse analysis) {
+        Map<String, Object> entities = analysis.getEntities() == null ? Collections.emptyMap() : analysis.getEntities();
+        Set<String> branches = new LinkedHashSet<>();
+        for (String intent : analysis.getIntents()) {
+            if (intent.equals("trending")) {
+                if (entities.get("lat") instanceof Number && entities.get("lon") instanceof Number) {
+                    branches.add(intent);
+                }
+            } else if (intent.equals("search")) {
+                branches.add(semanticSearch.isEnabled() && entities.get("search_query") instanceof String text
+                        && !text.isBlank() ? "semantic" : "search");
+            } else if (KEYSET_INTENTS.contains(intent) && !intent.equals("filtered")) {
+                branches.add(intent);
+            }
+        }
+        return new ArrayList<>(branches);
+    }
+
+    /**
+     * Runs every intent's first {@code intent.fusion.depth} results in parallel on the branch
+     * scheduler and fuses them by reciprocal rank. Branches still running when the fusion budget
+     * (or the request deadline, if sooner) runs out are left out, so a compound query costs
+     * about as much as its slowest branch that made it. Later pages re-run the branches and
+     * resume after the anchor; an anchor that dropped out ends the sequence.
+     */
+    private Mono<List<NewsArticleView>> fetchFused(AnalysisResponse analysis, PageCursor cursor, int size, long deadline) {
+        Map<String, Object> entities = analysis.getEntities() == null ? Collections.emptyMap() : analysis.getEntities();
+        Duration budget = Duration.ofMillis(Math.max(0, Math.min(fusionBudgetMs,
+                TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()))));
+        List<Mono<List<NewsArticleView>>> branches = new ArrayList<>();
+        for (String intent : branchIntents(analysis)) {
+            branches.add(Mono.fromCallable(() -> intent.equals("trending")
+                            ? fetchTrending(entities, fusionDepth) : fetchArticles(intent, entities, null, null, fusionDepth))
+                    .subscribeOn(intentBranchScheduler)
+                    .timeout(budget)
+                    .onErrorResume(e -> {
+                        logger.warn("Dropping '{}' branch from fused results: {}", intent, e.toString());
+                        return Mono.just(List.of());
+                    }));
+        }
+        return Flux.mergeSequential(branches)
+                .collectList()
+                .map(results -> {
+                    Map<UUID, NewsArticleView> byId = new HashMap<>();
+                    List<List<UUID>> rankings = new ArrayList<>(results.size());
+                    for (List<NewsArticleView> result : results) {
+                        rankings.add(result.stream().map(NewsArticleView::id).collect(Collectors.toList()));
+                        result.forEach(view -> byId.putIfAbsent(view.id(), view));
+                    }
+                    List<UUID> fused = RankFusion.fuse(rankings, RankFusion.DEFAULT_K);
+
+                    int from = 0;
+                    if (cursor != null) {
+                        from = fused.indexOf(cursor.getLastId()) + 1;
+                        if (from == 0) {
+                            return List.<NewsArticleView>of();
+                        }
+                    }
+                    return fused.subList(from, Math.min(fused.size(), from + size)).stream()
+                            .map(byId::get)
+                            .collect(Collectors.toList());
+                });
+    }
+
+    private List<NewsArticleView> fetchTrending(Map<String, Object> entities, int size) {
+        double lat = ((Number) entities.get("lat")).doubleValue();
+        double lon = ((Number) entities.get("lon")).doubleValue();
+        List<UUID> ids = redisService.getTrendingPage(RedisService.geohash(lat, lon, 5), null, null, size).stream()
+                .map(entry -> UUID.fromString(entry.getValue()))
+                .collect(Collectors.toList());
+        return newsRepository.findViewsByIds(ids, LocalDateTime.now().minusHours(trendingLookupHours));
+    }
+
+    /**
+     * Source, category, score threshold and time window ("hours") from an analysis, newest first.
+     * The window starts {@code hours} before the first page and later pages reuse the start their
+     * cursor carries, so the sequence does not slide forward between pages.
+     */
+    private static ArticleFilter filterOf(Map<String, Object> entities, PageCursor cursor) {
+        if (entities == null) {
+            entities = Collections.emptyMap();
+        }
+        Set<String> categories = entities.get("category") instanceof String category ? Set.of(category) : Set.of();
+        Set<String> sources = entities.get("source_name") instanceof String source ? Set.of(source) : Set.of();
+        LocalDateTime since;
+        if (cursor != null) {
+            since = cursor.getWindowStart();
+        } else {
+            since = entities.get("hours") instanceof Number hours
+                    ? LocalDateTime.now().minusHours(hours.longValue()) : null;
+        }
+        Double minScore = entities.get("score") instanceof Number score ? score.doubleValue() : null;
+        return new ArticleFilter(categories, sources, since, minScore, ArticleFilter.Order.RECENCY);
+    }
+
+    private PageCursor nextCursor(String intent, NewsArticleView last, ArticleFilter filter) {
+        return switch (intent) {
+            case "source", "category" -> PageCursor.of(intent, last.publicationDate(), last.id());
+            case "filtered" -> PageCursor.of(intent, filter.since(), last.id());
+            case "nearby", "semantic", "search", "fused" -> PageCursor.of(intent, last.id());
+            default -> PageCursor.of(intent, last.relevanceScore(), last.id());
+        };
+    }
+
+    /**
+     * Summaries share whatever is left of the request deadline; an article whose summary misses it,
+     * or whose call is refused by the open breaker, is served with its raw description. A summary
+     * is kept for the article's cluster, so near-duplicates served later reuse it without a call.
+     */
+    private Mono<List<NewsArticleDto>> enrichArticlesWithSummaries(List<NewsArticleView> articles, long deadline) {
         if (articles.isEmpty()) {
             logger.info("No articles to enrich with summaries");
             return Mono.just(Collections.emptyList());
         }
 
         return Flux.fromIterable(articles)
-                .flatMap(article -> {
-                    logger.info("Generating summary for article: '{}'", article.getTitle());
-                    return webClient.post()
-                            .uri(llmServiceUrl + "/summarize/")
-                            .bodyValue(new TextRequest(article.getDescription()))
-                            .retrieve()
-                            .bodyToMono(SummaryResponse.class)
-                            .doOnNext(summaryResponse -> 
-                                logger.info("Summary generated for article: '{}'", article.getTitle()))
+                .flatMapSequential(article -> {
+                    UUID cluster = clusters.clusterOf(article.id());
+                    String cached = summaryCache.getIfPresent(cluster);
+                    if (cached != null) {
+                        logger.debug("Reusing cluster summary for article: '{}'", article.title());
+                        return Mono.just(new NewsArticleDto(article, cached));
+                    }
+                    logger.info("Generating summary for article: '{}'", article.title());
+                    Duration remaining = Duration.ofNanos(deadline - System.nanoTime());
+                    return llmClient.summarize(article.description(), remaining)
+                            .doOnNext(summary -> {
+                                logger.info("Summary generated for article: '{}'", article.title());
+                                summaryCache.put(cluster, summary);
+                            })
                             .doOnError(e -> 
                                 logger.error("Error generating summary for article '{}': {}", 
-                                    article.getTitle(), e.getMessage()))
-                            .onErrorReturn(new SummaryResponse())
-                            .map(summaryResponse -> 
-                                new NewsArticleDto(article, summaryResponse.getSummary()));
+                                    article.title(), e.getMessage()))
+                            .onErrorResume(e -> Mono.empty())
+                            .defaultIfEmpty(article.description())
+                            .map(summary -> new NewsArticleDto(article, summary));
                 })
                 .collectList()
                 .onErrorResume(e -> {
                     logger.error("Error enriching articles with summaries: {}", e.getMessage(), e);
                     return Mono.just(articles.stream()
-                            .map(article -> new NewsArticleDto(article, article.getDescription()))
+                            .map(article -> new NewsArticleDto(article, article.description()))
                             .collect(Collectors.toList()));
                 });
     }
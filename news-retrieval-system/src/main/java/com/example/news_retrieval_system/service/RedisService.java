@@ -1,16 +1,28 @@
 package com.example.news_retrieval_system.service;
 
 import java.time.Duration;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import ch.hsr.geohash.GeoHash;
@@ -22,35 +34,377 @@ public class RedisService {
     @Autowired
     private StringRedisTemplate redisTemplate;
 
+    @Autowired
+    private TrendingKeyspace keyspace;
+
+    /**
+     * Adds to a member's score and to the key's activity counter (KEYS[2]), trims the leaderboard
+     * back to its top ARGV[3] and refreshes the TTLs in one round-trip. Only the lowest ranks are
+     * cut, so the top-M a reader sees is unaffected; the counter keeps what was trimmed.
+     *
+     * The increment is decayed to ARGV[5] (now), so the member's stored score is first brought
+     * there from the time recorded for it in KEYS[3], and the counter from the time in KEYS[4].
+     * TrendingCompactor then decays each from its own time rather than from its last sweep.
+     */
+    private static final RedisScript<Long> INCREMENT_AND_TRIM = new DefaultRedisScript<>("""
+            local now = tonumber(ARGV[5])
+            local rate = tonumber(ARGV[6])
+            local increment = tonumber(ARGV[1])
+            local at = tonumber(redis.call('HGET', KEYS[3], ARGV[2]))
+            local score = tonumber(redis.call('ZSCORE', KEYS[1], ARGV[2]))
+            if score and at and now > at then
+                redis.call('ZADD', KEYS[1], score * math.exp(-rate * (now - at) / 60000) + increment, ARGV[2])
+            else
+                redis.call('ZINCRBY', KEYS[1], increment, ARGV[2])
+            end
+            if not at or now > at then
+                redis.call('HSET', KEYS[3], ARGV[2], ARGV[5])
+            end
+            local heatAt = tonumber(redis.call('GET', KEYS[4]))
+            local heat = tonumber(redis.call('GET', KEYS[2])) or 0
+            if heatAt and now > heatAt then
+                heat = heat * math.exp(-rate * (now - heatAt) / 60000)
+            end
+            redis.call('SET', KEYS[2], tostring(heat + increment), 'EX', ARGV[4])
+            if not heatAt or now > heatAt then
+                redis.call('SET', KEYS[4], ARGV[5], 'EX', ARGV[4])
+            end
+            local overflow = redis.call('ZCARD', KEYS[1]) - tonumber(ARGV[3])
+            if overflow > 0 then
+                local trimmed = redis.call('ZRANGE', KEYS[1], 0, overflow - 1)
+                redis.call('ZREMRANGEBYRANK', KEYS[1], 0, overflow - 1)
+                redis.call('HDEL', KEYS[3], unpack(trimmed))
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[4])
+            redis.call('EXPIRE', KEYS[3], ARGV[4])
+            return math.max(overflow, 0)
+            """, Long.class);
+    /**
+     * Loads a rebuilt leaderboard (ARGV[4..] as score, member pairs) with its activity counter
+     * ARGV[3], all as of ARGV[1], only when the key does not exist. A key that exists already holds
+     * live counts, which the replay would double or overwrite. Returns 1 when loaded.
+     */
+    private static final RedisScript<Long> LOAD_IF_ABSENT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            local touched = {}
+            for i = 4, #ARGV, 2 do
+                touched[#touched + 1] = ARGV[i + 1]
+                touched[#touched + 1] = ARGV[1]
+            end
+            redis.call('ZADD', KEYS[1], unpack(ARGV, 4))
+            redis.call('HSET', KEYS[4], unpack(touched))
+            redis.call('SET', KEYS[2], ARGV[3], 'EX', ARGV[2])
+            redis.call('SET', KEYS[3], ARGV[1], 'EX', ARGV[2])
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            redis.call('EXPIRE', KEYS[4], ARGV[2])
+            return 1
+            """, Long.class);
+
+    private static final byte[] INCREMENT_AND_TRIM_SOURCE =
+            INCREMENT_AND_TRIM.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+
     @Value("${redis.ttl.seconds:300}")
     private int ttlSeconds; // 5 minutes TTL by default
 
+    // Each shard keeps the full top-M so the merged top-M of a sharded cell stays exact
+    @Value("${trending.leaderboard.max-size:500}")
+    private int maxLeaderboardSize;
+
+    // Brings stored scores up to the time of each increment, as TrendingCompactor does between them
+    @Value("${trending.decay.per-minute:0.05}")
+    private double decayPerMinute;
+
+    // Cells this instance has written to, for TrendingCompactor to sweep
+    private final Set<String> activeCells = ConcurrentHashMap.newKeySet();
+
     public void updateTrending(String geoKey, UUID articleId, double score) {
-        String key = getTrendingKey(geoKey);
+        String key = keyspace.keyFor(geoKey, articleId.toString());
         try {
-            redisTemplate.opsForZSet().incrementScore(key, articleId.toString(), score);
-            redisTemplate.expire(key, Duration.ofSeconds(ttlSeconds));
-            logger.debug("Updated trending score for article {} in {}", articleId, geoKey);
+            Long trimmed = redisTemplate.execute(INCREMENT_AND_TRIM,
+                    List.of(key, keyspace.heatKey(key), keyspace.touchedAtKey(key), keyspace.sweptAtKey(key)),
+                    String.valueOf(score), articleId.toString(), String.valueOf(maxLeaderboardSize),
+                    String.valueOf(ttlSeconds), String.valueOf(System.currentTimeMillis()),
+                    String.valueOf(decayPerMinute));
+            activeCells.add(geoKey);
+            logger.debug("Updated trending score for article {} in {} ({} trimmed)", articleId, geoKey, trimmed);
         } catch (Exception e) {
             logger.error("Error updating trending score: {}", e.getMessage());
         }
     }
 
+    /**
+     * Adds the same score to a cell and the tiles enclosing it in one pipelined round-trip. Each
+     * key lives in its own slot, so the script is sent per key with EVAL rather than as one call.
+     */
+    public void updateTrending(List<String> geoKeys, UUID articleId, double score) {
+        if (geoKeys.size() == 1) {
+            updateTrending(geoKeys.get(0), articleId, score);
+            return;
+        }
+        byte[] member = articleId.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] increment = String.valueOf(score).getBytes(StandardCharsets.UTF_8);
+        byte[] maxSize = String.valueOf(maxLeaderboardSize).getBytes(StandardCharsets.UTF_8);
+        byte[] ttl = String.valueOf(ttlSeconds).getBytes(StandardCharsets.UTF_8);
+        byte[] now = String.valueOf(System.currentTimeMillis()).getBytes(StandardCharsets.UTF_8);
+        byte[] decay = String.valueOf(decayPerMinute).getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String geoKey : geoKeys) {
+                    String key = keyspace.keyFor(geoKey, articleId.toString());
+                    connection.scriptingCommands().eval(INCREMENT_AND_TRIM_SOURCE, ReturnType.INTEGER, 4,
+                            key.getBytes(StandardCharsets.UTF_8),
+                            keyspace.heatKey(key).getBytes(StandardCharsets.UTF_8),
+                            keyspace.touchedAtKey(key).getBytes(StandardCharsets.UTF_8),
+                            keyspace.sweptAtKey(key).getBytes(StandardCharsets.UTF_8),
+                            increment, member, maxSize, ttl, now, decay);
+                }
+                return null;
+            });
+            activeCells.addAll(geoKeys);
+            logger.debug("Updated trending score for article {} in {}", articleId, geoKeys);
+        } catch (Exception e) {
+            logger.error("Error updating trending score: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Loads already-aggregated scores into a cell that has no leaderboard yet, one script per shard
+     * holding at most the top max-size of them, and sets the activity counter to their sum. The
+     * scores are decayed up to {@code sweptAtMillis}, which is stamped on every member and the
+     * counter so TrendingCompactor only decays them from there. Shards that already exist, e.g.
+     * kept warm by other instances through a rolling restart, are left as they are. Returns the
+     * number of shards loaded.
+     */
+    public int loadTrending(String geoKey, Map<UUID, Double> scores, long sweptAtMillis) {
+        Map<String, List<ZSetOperations.TypedTuple<String>>> byKey = new LinkedHashMap<>();
+        for (Map.Entry<UUID, Double> entry : scores.entrySet()) {
+            String member = entry.getKey().toString();
+            byKey.computeIfAbsent(keyspace.keyFor(geoKey, member), k -> new ArrayList<>())
+                    .add(ZSetOperations.TypedTuple.of(member, entry.getValue()));
+        }
+        int loaded = 0;
+        try {
+            String sweptAt = String.valueOf(sweptAtMillis);
+            for (Map.Entry<String, List<ZSetOperations.TypedTuple<String>>> shard : byKey.entrySet()) {
+                List<ZSetOperations.TypedTuple<String>> top = shard.getValue().stream()
+                        .sorted(Comparator.comparing((ZSetOperations.TypedTuple<String> t) -> t.getScore()).reversed())
+                        .limit(maxLeaderboardSize)
+                        .toList();
+                double heat = shard.getValue().stream().mapToDouble(ZSetOperations.TypedTuple::getScore).sum();
+                List<String> args = new ArrayList<>(3 + 2 * top.size());
+                args.add(sweptAt);
+                args.add(String.valueOf(ttlSeconds));
+                args.add(String.valueOf(heat));
+                top.forEach(entry -> {
+                    args.add(String.valueOf(entry.getScore()));
+                    args.add(entry.getValue());
+                });
+                String key = shard.getKey();
+                Long done = redisTemplate.execute(LOAD_IF_ABSENT,
+                        List.of(key, keyspace.heatKey(key), keyspace.sweptAtKey(key), keyspace.touchedAtKey(key)),
+                        args.toArray());
+                if (done != null && done == 1) {
+                    loaded++;
+                }
+            }
+            activeCells.add(geoKey);
+        } catch (Exception e) {
+            logger.error("Error loading trending data for {}: {}", geoKey, e.getMessage());
+        }
+        return loaded;
+    }
+
     public List<String> getTrendingArticles(String geoKey, int limit) {
-        String key = getTrendingKey(geoKey);
+        List<String> ids = getTrendingPage(geoKey, null, null, limit).stream()
+                .map(ZSetOperations.TypedTuple::getValue)
+                .toList();
+        if (ids.isEmpty()) {
+            logger.debug("No trending articles found for {}", geoKey);
+        }
+        return ids;
+    }
+
+    /**
+     * Keyset page over a cell's trending scores, highest first. Pass a null {@code afterScore} for
+     * the first page; otherwise entries up to and including ({@code afterScore}, {@code afterMember})
+     * are skipped. Redis orders equal scores by reverse member order in a reverse range, which is
+     * the tie-break mirrored here. A sharded cell is read shard by shard and merged in that order.
+     */
+    public List<ZSetOperations.TypedTuple<String>> getTrendingPage(String geoKey, Double afterScore, String afterMember, int count) {
+        List<String> keys = keyspace.keys(geoKey);
         try {
-            Set<String> ids = redisTemplate.opsForZSet().reverseRange(key, 0, limit - 1);
-            if (ids == null || ids.isEmpty()) {
-                logger.debug("No trending articles found for {}", geoKey);
-                return List.of();
+            if (keys.size() == 1) {
+                return getShardPage(keys.get(0), afterScore, afterMember, count);
             }
-            
+            List<ZSetOperations.TypedTuple<String>> merged = new ArrayList<>();
+            for (String key : keys) {
+                merged.addAll(getShardPage(key, afterScore, afterMember, count));
+            }
+            merged.sort(Comparator.comparing((ZSetOperations.TypedTuple<String> entry) -> entry.getScore())
+                    .thenComparing(ZSetOperations.TypedTuple::getValue)
+                    .reversed());
+            return merged.size() > count ? new ArrayList<>(merged.subList(0, count)) : merged;
+        } catch (Exception e) {
+            logger.error("Error fetching trending page: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * First page of several cells in one pipelined round-trip: a reverse range plus a TTL refresh
+     * per key, sharded cells merged as in {@link #getTrendingPage}. Cells map to their top
+     * {@code count} entries; empty or unreadable cells map to an empty list.
+     */
+    public Map<String, List<ZSetOperations.TypedTuple<String>>> getTrendingBatch(Collection<String> geoKeys, int count) {
+        List<String> keys = new ArrayList<>();
+        for (String geoKey : geoKeys) {
+            keys.addAll(keyspace.keys(geoKey));
+        }
+        Map<String, List<ZSetOperations.TypedTuple<String>>> byGeoKey = new LinkedHashMap<>();
+        geoKeys.forEach(geoKey -> byGeoKey.put(geoKey, List.of()));
+        if (keys.isEmpty()) {
+            return byGeoKey;
+        }
+        try {
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : keys) {
+                    byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+                    connection.zSetCommands().zRevRangeWithScores(rawKey, 0, count - 1);
+                    // A no-op for keys that do not exist
+                    connection.keyCommands().expire(rawKey, ttlSeconds);
+                }
+                return null;
+            });
+
+            int index = 0;
+            for (String geoKey : geoKeys) {
+                List<ZSetOperations.TypedTuple<String>> merged = new ArrayList<>();
+                for (int shard = 0; shard < keyspace.shards(geoKey); shard++, index += 2) {
+                    @SuppressWarnings("unchecked")
+                    Set<ZSetOperations.TypedTuple<String>> range = (Set<ZSetOperations.TypedTuple<String>>) results.get(index);
+                    if (range != null) {
+                        merged.addAll(range);
+                    }
+                }
+                if (keyspace.shards(geoKey) > 1) {
+                    merged.sort(Comparator.comparing((ZSetOperations.TypedTuple<String> entry) -> entry.getScore())
+                            .thenComparing(ZSetOperations.TypedTuple::getValue)
+                            .reversed());
+                }
+                byGeoKey.put(geoKey, merged.size() > count ? new ArrayList<>(merged.subList(0, count)) : merged);
+            }
+        } catch (Exception e) {
+            logger.error("Error fetching trending batch: {}", e.getMessage());
+        }
+        return byGeoKey;
+    }
+
+    /**
+     * Activity of several cells or tiles in one pipelined round-trip, summed over shards. Cells
+     * without activity are left out.
+     */
+    public Map<String, Double> getTrendingHeat(Collection<String> geoKeys) {
+        List<String> keys = new ArrayList<>();
+        for (String geoKey : geoKeys) {
+            keyspace.keys(geoKey).forEach(key -> keys.add(keyspace.heatKey(key)));
+        }
+        Map<String, Double> heat = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return heat;
+        }
+        try {
+            // Plain GETs rather than one MGET: the keys span slots on a cluster
+            List<Object> values = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : keys) {
+                    connection.stringCommands().get(key.getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+            int index = 0;
+            for (String geoKey : geoKeys) {
+                double total = 0;
+                for (int shard = 0; shard < keyspace.shards(geoKey); shard++, index++) {
+                    Object value = values.get(index);
+                    if (value != null) {
+                        total += Double.parseDouble(value.toString());
+                    }
+                }
+                if (total > 0) {
+                    heat.put(geoKey, total);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error fetching trending heat: {}", e.getMessage());
+        }
+        return heat;
+    }
+
+    private List<ZSetOperations.TypedTuple<String>> getShardPage(String key, Double afterScore, String afterMember, int count) {
+        List<ZSetOperations.TypedTuple<String>> page = new ArrayList<>(count);
+        if (afterScore == null) {
+            Set<ZSetOperations.TypedTuple<String>> first = redisTemplate.opsForZSet().reverseRangeWithScores(key, 0, count - 1);
+            if (first != null) {
+                page.addAll(first);
+            }
+        } else {
+            long offset = 0;
+            while (page.size() < count) {
+                Set<ZSetOperations.TypedTuple<String>> chunk = redisTemplate.opsForZSet()
+                        .reverseRangeByScoreWithScores(key, Double.NEGATIVE_INFINITY, afterScore, offset, count);
+                if (chunk == null || chunk.isEmpty()) {
+                    break;
+                }
+                for (ZSetOperations.TypedTuple<String> entry : chunk) {
+                    boolean seen = entry.getScore() != null && entry.getScore() == afterScore.doubleValue()
+                            && entry.getValue() != null && entry.getValue().compareTo(afterMember) >= 0;
+                    if (!seen && page.size() < count) {
+                        page.add(entry);
+                    }
+                }
+                if (chunk.size() < count) {
+                    break;
+                }
+                offset += chunk.size();
+            }
+        }
+
+        if (!page.isEmpty()) {
             // Refresh TTL when articles are accessed
             redisTemplate.expire(key, Duration.ofSeconds(ttlSeconds));
-            return new ArrayList<>(ids);
+        }
+        return page;
+    }
+
+    /**
+     * Current trending scores of the given articles in one cell, one ZMSCORE round-trip per shard;
+     * articles without a score are left out.
+     */
+    public Map<UUID, Double> getTrendingScores(String geoKey, List<UUID> articleIds) {
+        if (articleIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, List<UUID>> byKey = new LinkedHashMap<>();
+        for (UUID id : articleIds) {
+            byKey.computeIfAbsent(keyspace.keyFor(geoKey, id.toString()), k -> new ArrayList<>()).add(id);
+        }
+        try {
+            Map<UUID, Double> byId = new HashMap<>();
+            for (Map.Entry<String, List<UUID>> shard : byKey.entrySet()) {
+                List<UUID> ids = shard.getValue();
+                List<Double> scores = redisTemplate.opsForZSet().score(shard.getKey(),
+                        ids.stream().map(UUID::toString).toArray());
+                for (int i = 0; scores != null && i < scores.size(); i++) {
+                    if (scores.get(i) != null) {
+                        byId.put(ids.get(i), scores.get(i));
+                    }
+                }
+            }
+            return byId;
         } catch (Exception e) {
-            logger.error("Error fetching trending articles: {}", e.getMessage());
-            return List.of();
+            logger.error("Error fetching trending scores: {}", e.getMessage());
+            return Map.of();
         }
     }
 
@@ -63,14 +417,22 @@ public class RedisService {
         }
     }
 
-    private String getTrendingKey(String geoKey) {
-        return "trending:" + geoKey;
+    public Set<String> getActiveCells() {
+        return Set.copyOf(activeCells);
+    }
+
+    void forgetCell(String geoKey) {
+        activeCells.remove(geoKey);
     }
 
     public void clearTrendingData(String geoKey) {
-        String key = getTrendingKey(geoKey);
         try {
-            redisTemplate.delete(key);
+            // One DEL per key: a multi-key DEL across a sharded cell's slots is refused by a cluster
+            for (String key : keyspace.keys(geoKey)) {
+                redisTemplate.delete(key);
+                redisTemplate.delete(keyspace.heatKey(key));
+                redisTemplate.delete(keyspace.touchedAtKey(key));
+            }
             logger.info("Cleared trending data for {}", geoKey);
         } catch (Exception e) {
             logger.error("Error clearing trending data: {}", e.getMessage());
@@ -78,10 +440,14 @@ public class RedisService {
     }
 
     public boolean hasTrendingData(String geoKey) {
-        String key = getTrendingKey(geoKey);
         try {
-            Long size = redisTemplate.opsForZSet().size(key);
-            return size != null && size > 0;
+            for (String key : keyspace.keys(geoKey)) {
+                Long size = redisTemplate.opsForZSet().size(key);
+                if (size != null && size > 0) {
+                    return true;
+                }
+            }
+            return false;
         } catch (Exception e) {
             logger.error("Error checking trending data: {}", e.getMessage());
             return false;
@@ -1,20 +1,27 @@
 package com.example.news_retrieval_system.service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.news_retrieval_system.ingest.BulkArticleIngestService;
+import com.example.news_retrieval_system.loadgen.TrafficGenerator;
 import com.example.news_retrieval_system.model.NewsArticle;
-import com.example.news_retrieval_system.model.UserEvent;
 import com.example.news_retrieval_system.repository.NewsArticleRepository;
 
 @Service
@@ -25,91 +32,53 @@ public class TestDataLoaderService {
     private NewsArticleRepository newsArticleRepository;
 
     @Autowired
-    private KafkaTemplate<String, UserEvent> kafkaTemplate;
+    private RedisService redisService;
 
     @Autowired
-    private RedisService redisService;
+    private BulkArticleIngestService bulkArticleIngestService;
 
-    private final Random random = new Random();
-    private LocalDateTime lastGeneratedTime;
+    @Autowired
+    private TrafficGenerator trafficGenerator;
+
+    @Value("${loadgen.rate:1000}")
+    private int defaultRate;
+
+    @Value("${loadgen.duration-seconds:60}")
+    private int defaultDurationSeconds;
+
+    private volatile LocalDateTime lastGeneratedTime;
+
+    /**
+     * Seeds sample articles into an empty database, then starts synthetic traffic in the background.
+     * Null arguments take the {@code loadgen.*} defaults.
+     *
+     * @return false if a traffic run is already in progress
+     */
+    public boolean loadTestData(Integer eventsPerSecond, Integer durationSeconds, Long maxEvents) {
+        if (newsArticleRepository.count() == 0) {
+            logger.warn("No articles found in the database. Loading sample articles...");
+            List<NewsArticle> articles = createSampleArticles();
+            // COPY path rather than saveAll so geom is populated for the geo queries
+            bulkArticleIngestService.ingestArticles(articles);
+            logger.info("Created {} sample news articles", articles.size());
+        }
 
-    public void loadTestData() throws InterruptedException {
-        try {
+        boolean started = trafficGenerator.start(
+            eventsPerSecond != null ? eventsPerSecond : defaultRate,
+            Duration.ofSeconds(durationSeconds != null ? durationSeconds : defaultDurationSeconds),
+            maxEvents != null ? maxEvents : 0);
+        if (started) {
             lastGeneratedTime = LocalDateTime.now();
-            List<NewsArticle> articles = newsArticleRepository.findAll();
-            
-            if (articles.isEmpty()) {
-                logger.warn("No articles found in the database. Loading sample articles...");
-                articles = createSampleArticles();
-                articles = newsArticleRepository.saveAll(articles);
-                logger.info("Created {} sample news articles", articles.size());
-            } else {
-                logger.info("Found {} existing articles in database", articles.size());
-            }
-            
-            
-            articles.forEach(article -> 
-                logger.debug("Article loaded: id={}, title={}", article.getId(), article.getTitle())
-            );
-
-            generateUserEvents(articles);
-            Thread.sleep(1000); // Wait for events to be processed
-            verifyRedisData(articles);
-            
-            logger.info("Test data generation completed successfully");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.error("Test data generation was interrupted", e);
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error loading test data", e);
-            throw e;
         }
+        return started;
     }
 
-    private void verifyRedisData(List<NewsArticle> articles) {
-        String[][] cityLocations = {
-            {"Mumbai", "19.075983", "72.877655"},
-            {"Delhi", "28.613939", "77.209021"},
-            {"Chennai", "13.082680", "80.270718"},
-            {"Hyderabad", "17.385044", "78.486671"},
-            {"Bangalore", "12.971599", "77.594563"},
-            {"Central India", "21.754075", "80.560129"}
-        };
-
-        boolean foundAnyTrending = false;
-        for (String[] city : cityLocations) {
-            String cityName = city[0];
-            double lat = Double.parseDouble(city[1]);
-            double lon = Double.parseDouble(city[2]);
-            
-            String geoHash = RedisService.geohash(lat, lon, 5);
-            List<String> trending = redisService.getTrendingArticles(geoHash, 10);
-            
-            if (!trending.isEmpty()) {
-                foundAnyTrending = true;
-                logger.info("Found {} trending articles in {} area (geohash: {})", 
-                    trending.size(), cityName, geoHash);
-                
-                trending.forEach(articleId -> {
-                    boolean matched = articles.stream()
-                        .anyMatch(article -> article.getId().toString().equals(articleId));
-                    if (matched) {
-                        logger.info("Found trending article {} in {}", articleId, cityName);
-                    } else {
-                        logger.warn("Found trending article {} in {} but it's not in our test dataset", 
-                            articleId, cityName);
-                    }
-                });
-            } else {
-                logger.warn("No trending articles found in {} area (geohash: {})", 
-                    cityName, geoHash);
-            }
-        }
+    public void stopTestData() {
+        trafficGenerator.stop();
+    }
 
-        if (!foundAnyTrending) {
-            logger.warn("No trending articles found in Redis for any location!");
-        }
+    public Map<String, Object> getTrafficStatus() {
+        return trafficGenerator.getStatus();
     }
 
     private List<NewsArticle> createSampleArticles() {
@@ -149,10 +118,10 @@ public class TestDataLoaderService {
             article.setDescription(descriptions[i]);
             article.setUrl("https://example.com/news/" + (i + 1));
             article.setSourceName(i % 2 == 0 ? "ANI" : "PTI News");
-            article.setPublicationDate(LocalDateTime.now().minusHours(random.nextInt(48)));
+            article.setPublicationDate(LocalDateTime.now().minusHours(ThreadLocalRandom.current().nextInt(48)));
             article.setLatitude(locations[i][0]);
             article.setLongitude(locations[i][1]);
-            article.setRelevanceScore(0.5 + random.nextDouble() * 0.5);
+            article.setRelevanceScore(0.5 + ThreadLocalRandom.current().nextDouble() * 0.5);
             article.setCategory(List.of("national", "politics"));
             articles.add(article);
         }
@@ -160,69 +129,7 @@ public class TestDataLoaderService {
         return articles;
     }
 
-    private void generateUserEvents(List<NewsArticle> articles) {
-        logger.info("Generating user events for {} articles", articles.size());
-        
-        double[][] userLocations = {
-            {19.115983, 72.887655},
-            {28.623939, 77.219021},
-            {13.092680, 80.280718},
-            {17.395044, 78.496671},
-            {12.981599, 77.584563},
-            {21.764075, 80.570129},
-            {22.572645, 88.363892},
-            {23.022505, 72.571362},
-            {26.846694, 80.946166},
-            {18.520430, 73.856744} 
-        };
-
-        for (int i = 0; i < articles.size(); i++) {
-            NewsArticle article = articles.get(i);
-            int numEvents = 20 + random.nextInt(30);
-            
-            for (int j = 0; j < numEvents; j++) {
-                UserEvent event = new UserEvent();
-                event.setArticleId(article.getId());
-                
-                // More likely to select locations near the article's location
-                int locationIndex;
-                if (random.nextDouble() < 0.7) { 
-                    locationIndex = i % userLocations.length;
-                } else {
-                    locationIndex = random.nextInt(userLocations.length);
-                }
-                event.setLatitude(userLocations[locationIndex][0]);
-                event.setLongitude(userLocations[locationIndex][1]);
-                
-                event.setEventType(generateRandomEventType());
-                event.setTimestamp(generateRecentTimestamp());
-                
-                kafkaTemplate.send("user_events", event);
-                
-                if (j > 0 && j % 50 == 0) {
-                    try {
-                        Thread.sleep(100);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
-                }
-            }
-        }
-    }
-
-    private UserEvent.EventType generateRandomEventType() {
-        int roll = random.nextInt(10);
-        if (roll < 5) return UserEvent.EventType.VIEW;
-        if (roll < 8) return UserEvent.EventType.CLICK;
-        return UserEvent.EventType.SHARE;
-    }
-
-    private LocalDateTime generateRecentTimestamp() {
-        int minutesAgo = (int) (random.nextDouble() * random.nextDouble() * 60);
-        return LocalDateTime.now().minusMinutes(minutesAgo);
-    }
-
+    @Transactional
     public long getArticleCount() {
         return newsArticleRepository.count();
     }
@@ -237,15 +144,15 @@ public class TestDataLoaderService {
             {"Bangalore", "12.971599", "77.594563"}
         };
 
+        Map<String, String> cellByCity = new LinkedHashMap<>();
         for (String[] city : cities) {
-            String geoHash = RedisService.geohash(
-                Double.parseDouble(city[1]), 
-                Double.parseDouble(city[2]), 
-                5
-            );
-            List<String> trending = redisService.getTrendingArticles(geoHash, 5);
-            status.add(String.format("%s: %d trending articles", city[0], trending.size()));
+            cellByCity.put(city[0], RedisService.geohash(Double.parseDouble(city[1]), Double.parseDouble(city[2]), 5));
         }
+        // One pipelined read for every city
+        Map<String, List<ZSetOperations.TypedTuple<String>>> trending =
+            redisService.getTrendingBatch(new LinkedHashSet<>(cellByCity.values()), 5);
+        cellByCity.forEach((city, geoHash) ->
+            status.add(String.format("%s: %d trending articles", city, trending.getOrDefault(geoHash, List.of()).size())));
 
         return status;
     }
@@ -0,0 +1,173 @@
+package com.example.news_retrieval_system.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps trending leaderboards small between writes.
+ *
+ * Event scores are decayed to the time they arrive, and {@code RedisService} records that time
+ * per member, next to the leaderboard under the same hash tag. Every
+ * {@code trending.compaction.interval-ms} each cell this instance has written to is decayed in
+ * place, each member from its own recorded time, at the same per-minute rate the worker uses, and
+ * members that fall below {@code trending.compaction.min-score} are removed. A member written
+ * halfway through an interval is therefore only decayed for the half it was there. The cell's
+ * activity counter is decayed the same way from its own time. Heatmap tiles are swept like any
+ * other cell. Every decay moves the recorded time to now, so instances sweeping the same cell
+ * never decay it twice for the same interval.
+ *
+ * Each sweep also records the member count and {@code MEMORY USAGE} of every cell. A keyset page
+ * that spans a sweep may see shifted scores and repeat or skip an entry at the boundary.
+ */
+@Service
+public class TrendingCompactor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingCompactor.class);
+    private static final int REPORTED_CELLS = 5;
+
+    /** Returns the number of members removed, or -1 when the leaderboard no longer exists. */
+    private static final RedisScript<Long> DECAY_AND_SWEEP = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                redis.call('DEL', KEYS[2], KEYS[3], KEYS[4])
+                return -1
+            end
+            local now = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local minScore = tonumber(ARGV[3])
+            local last = tonumber(redis.call('GET', KEYS[2]))
+            if not last or now > last then
+                redis.call('SET', KEYS[2], ARGV[1], 'EX', ARGV[4])
+                local heat = tonumber(redis.call('GET', KEYS[3]))
+                if heat and last then
+                    heat = heat * math.exp(-rate * (now - last) / 60000)
+                    if heat < minScore then
+                        redis.call('DEL', KEYS[3])
+                    else
+                        redis.call('SET', KEYS[3], tostring(heat), 'KEEPTTL')
+                    end
+                end
+            end
+            local touched = {}
+            local stamps = redis.call('HGETALL', KEYS[4])
+            for i = 1, #stamps, 2 do
+                touched[stamps[i]] = tonumber(stamps[i + 1])
+            end
+            local entries = redis.call('ZRANGE', KEYS[1], 0, -1, 'WITHSCORES')
+            local removed = 0
+            for i = 1, #entries, 2 do
+                local member = entries[i]
+                -- Members loaded without a time of their own decay from the counter's
+                local at = touched[member] or last
+                if not at then
+                    redis.call('HSET', KEYS[4], member, ARGV[1])
+                elseif now > at then
+                    local score = tonumber(entries[i + 1]) * math.exp(-rate * (now - at) / 60000)
+                    if score < minScore then
+                        redis.call('ZREM', KEYS[1], member)
+                        redis.call('HDEL', KEYS[4], member)
+                        removed = removed + 1
+                    else
+                        redis.call('ZADD', KEYS[1], score, member)
+                        redis.call('HSET', KEYS[4], member, ARGV[1])
+                    end
+                end
+            end
+            local ttl = redis.call('PTTL', KEYS[1])
+            if ttl > 0 then
+                redis.call('PEXPIRE', KEYS[4], ttl)
+            end
+            return removed
+            """, Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> USAGE = new DefaultRedisScript<>("""
+            return {redis.call('ZCARD', KEYS[1]), redis.call('MEMORY', 'USAGE', KEYS[1]) or 0}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisService redisService;
+    private final TrendingKeyspace keyspace;
+    private final boolean enabled;
+    private final double decayPerMinute;
+    private final double minScore;
+    private final int ttlSeconds;
+
+    private volatile List<CellUsage> usage = List.of();
+
+    public TrendingCompactor(StringRedisTemplate redisTemplate, RedisService redisService, TrendingKeyspace keyspace,
+                             @Value("${trending.compaction.enabled:true}") boolean enabled,
+                             @Value("${trending.decay.per-minute:0.05}") double decayPerMinute,
+                             @Value("${trending.compaction.min-score:0.05}") double minScore,
+                             @Value("${redis.ttl.seconds:300}") int ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.redisService = redisService;
+        this.keyspace = keyspace;
+        this.enabled = enabled;
+        this.decayPerMinute = decayPerMinute;
+        this.minScore = minScore;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${trending.compaction.interval-ms:60000}")
+    public void compact() {
+        if (!enabled) {
+            return;
+        }
+        long removed = 0;
+        List<CellUsage> cells = new ArrayList<>();
+        for (String geoKey : redisService.getActiveCells()) {
+            try {
+                boolean live = false;
+                long members = 0;
+                long bytes = 0;
+                for (String key : keyspace.keys(geoKey)) {
+                    Long swept = redisTemplate.execute(DECAY_AND_SWEEP,
+                        List.of(key, keyspace.sweptAtKey(key), keyspace.heatKey(key), keyspace.touchedAtKey(key)),
+                        String.valueOf(System.currentTimeMillis()), String.valueOf(decayPerMinute),
+                        String.valueOf(minScore), String.valueOf(ttlSeconds));
+                    if (swept == null || swept < 0) {
+                        continue;
+                    }
+                    live = true;
+                    removed += swept;
+                    List<?> keyUsage = redisTemplate.execute(USAGE, List.of(key));
+                    if (keyUsage != null && keyUsage.size() == 2) {
+                        members += ((Number) keyUsage.get(0)).longValue();
+                        bytes += ((Number) keyUsage.get(1)).longValue();
+                    }
+                }
+                if (live) {
+                    cells.add(new CellUsage(geoKey, members, bytes));
+                } else {
+                    redisService.forgetCell(geoKey);
+                }
+            } catch (Exception e) {
+                logger.error("Error compacting trending cell {}: {}", geoKey, e.getMessage());
+            }
+        }
+        cells.sort(Comparator.comparingLong(CellUsage::bytes).reversed());
+        usage = List.copyOf(cells);
+
+        long totalBytes = cells.stream().mapToLong(CellUsage::bytes).sum();
+        logger.info("Trending compaction: {} cells, {} bytes, {} members removed; largest {}",
+            cells.size(), totalBytes, removed, cells.subList(0, Math.min(REPORTED_CELLS, cells.size())));
+    }
+
+    /** Cells seen by the last sweep, largest first. */
+    public List<CellUsage> getUsage() {
+        return usage;
+    }
+
+    public record CellUsage(String geoKey, long members, long bytes) {
+    }
+}
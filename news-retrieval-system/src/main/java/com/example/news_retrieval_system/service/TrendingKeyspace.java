@@ -0,0 +1,128 @@
+package com.example.news_retrieval_system.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Names the Redis keys behind each trending cell.
+ *
+ * A cell normally lives in one ZSET, {@code trending:{<geohash>}}. The braces are a Redis
+ * Cluster hash tag: only the geohash picks the slot, so anything else keyed by the same tag
+ * lands on the same node and can be used in one multi-key command. Cells listed in
+ * {@code trending.shards.hot-cells} ({@code geohash=shards,...}) are split across
+ * {@code trending:{<geohash>:<n>}} keys instead, each its own tag so the shards hash to
+ * different slots and therefore, on a cluster, usually to different nodes. An article always
+ * maps to the same shard, so its score is never split, and a cell's top-K is a merge of
+ * the shards' top-Ks.
+ *
+ * Heatmap tiles are written by every event beneath them, so a coarse tile is hotter than any
+ * cell. {@code trending.shards.tiles} ({@code precision=shards,...}) splits every tile of a level
+ * the same way; a geohash listed in {@code hot-cells} keeps its own count.
+ *
+ * Every instance must agree on the shard counts; changing one moves articles to other keys
+ * and effectively resets that cell until the TTL clears the old ones.
+ */
+@Component
+public class TrendingKeyspace {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingKeyspace.class);
+
+    private final Map<String, Integer> hotCells = new HashMap<>();
+    private final Map<Integer, Integer> tileShards = new HashMap<>();
+
+    public TrendingKeyspace(@Value("${trending.shards.hot-cells:}") String hotCells,
+                            @Value("${trending.shards.tiles:}") String tileShards) {
+        parse(hotCells, "trending.shards.hot-cells", (geoKey, shards) -> this.hotCells.put(geoKey, shards));
+        parse(tileShards, "trending.shards.tiles", (level, shards) -> {
+            int precision;
+            try {
+                precision = Integer.parseInt(level);
+            } catch (NumberFormatException e) {
+                precision = -1;
+            }
+            if (precision < 1 || precision >= TrendingTiles.CELL_PRECISION) {
+                throw new IllegalArgumentException("Invalid trending.shards.tiles precision: " + level);
+            }
+            this.tileShards.put(precision, shards);
+        });
+        if (!this.hotCells.isEmpty()) {
+            logger.info("Sharded trending cells: {}", this.hotCells);
+        }
+        if (!this.tileShards.isEmpty()) {
+            logger.info("Sharded trending tiles by precision: {}", this.tileShards);
+        }
+    }
+
+    private static void parse(String entries, String property, BiConsumer<String, Integer> sink) {
+        for (String entry : entries.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split("=");
+            int shards;
+            try {
+                shards = parts.length == 2 ? Integer.parseInt(parts[1].trim()) : -1;
+            } catch (NumberFormatException e) {
+                shards = -1;
+            }
+            if (shards < 1) {
+                throw new IllegalArgumentException("Invalid " + property + " entry: " + entry);
+            }
+            sink.accept(parts[0].trim(), shards);
+        }
+    }
+
+    public int shards(String geoKey) {
+        Integer shards = hotCells.get(geoKey);
+        if (shards != null) {
+            return shards;
+        }
+        return geoKey.length() < TrendingTiles.CELL_PRECISION ? tileShards.getOrDefault(geoKey.length(), 1) : 1;
+    }
+
+    /** Every key holding part of the cell. */
+    public List<String> keys(String geoKey) {
+        int shards = shards(geoKey);
+        if (shards == 1) {
+            return List.of("trending:{" + geoKey + "}");
+        }
+        List<String> keys = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            keys.add(shardKey(geoKey, shard));
+        }
+        return keys;
+    }
+
+    /** The key holding {@code member}'s score in the cell. */
+    public String keyFor(String geoKey, String member) {
+        int shards = shards(geoKey);
+        return shards == 1 ? "trending:{" + geoKey + "}" : shardKey(geoKey, Math.floorMod(member.hashCode(), shards));
+    }
+
+    /** Companion key recording the time {@code key}'s activity counter is decayed to; shares its hash tag. */
+    public String sweptAtKey(String key) {
+        return key + ":swept-at";
+    }
+
+    /** Companion hash recording, per member of {@code key}, the time its score is decayed to; shares its hash tag. */
+    public String touchedAtKey(String key) {
+        return key + ":touched-at";
+    }
+
+    /** Companion key holding the decayed total of every score added to {@code key}; shares its hash tag. */
+    public String heatKey(String key) {
+        return key + ":heat";
+    }
+
+    private static String shardKey(String geoKey, int shard) {
+        return "trending:{" + geoKey + ":" + shard + "}";
+    }
+}
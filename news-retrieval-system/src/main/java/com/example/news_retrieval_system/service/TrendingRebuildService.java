@@ -0,0 +1,282 @@
+package com.example.news_retrieval_system.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import com.example.news_retrieval_system.model.UserEvent;
+
+/**
+ * Warm start for trending: rebuilds the Redis leaderboards from the last
+ * {@code trending.rebuild.window-minutes} of {@code user_events} before live consumption starts.
+ *
+ * Each partition is replayed by its own consumer, from the offset for the start of the window up
+ * to the worker group's committed offset, so nothing the live listener will consume is counted
+ * twice. A partition the group has never committed is replayed to its end, and the group is then
+ * committed to where the replay stopped, since the listener would otherwise start from
+ * {@code auto-offset-reset=earliest} and count the window again. Each event's weight is decayed
+ * from its timestamp to one instant the whole rebuild is taken at, with the continuous per-minute
+ * decay {@link TrendingCompactor} applies to stored scores, and summed in memory. That instant is
+ * stamped on the loaded scores, so the next compaction decays only what is left.
+ *
+ * Only keys that do not exist are loaded (see {@link RedisService#loadTrending}): on a rolling
+ * restart the other instances of the group keep the leaderboards warm, and their counts win over
+ * a replay of the same events. The heatmap tiles of {@link TrendingTiles} are rebuilt along with
+ * the cells. The worker's listener is held back until the rebuild ends, successfully or not, and
+ * {@link #isReady()} stays false until then so trending endpoints answer 503 rather than serve
+ * half-built leaderboards.
+ *
+ * Switched by a flag rather than a bean condition so an AOT-processed build can still turn it off.
+ */
+@Service
+public class TrendingRebuildService implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingRebuildService.class);
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final ConsumerFactory<String, UserEvent> consumerFactory;
+    private final RedisService redisService;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final TrendingTiles tiles;
+
+    @Value("${trending.rebuild.enabled:false}")
+    private boolean enabled;
+
+    // Kafka Streams restores its own stores from their changelogs
+    @Value("${trending.streams.enabled:false}")
+    private boolean streamsEnabled;
+
+    @Value("${spring.kafka.topics.user-events:user_events}")
+    private String topic;
+
+    // The worker listener's group, whose committed offsets bound the replay
+    @Value(TrendingWorkerService.GROUP_ID)
+    private String groupId;
+
+    @Value("${trending.rebuild.window-minutes:120}")
+    private long windowMinutes;
+
+    @Value("${trending.rebuild.max-threads:8}")
+    private int maxThreads;
+
+    @Value("${trending.rebuild.timeout-ms:30000}")
+    private long timeoutMs;
+
+    // Same rate as the worker and the compactor
+    @Value("${trending.decay.per-minute:0.05}")
+    private double decayPerMinute;
+
+    private volatile boolean done;
+
+    public TrendingRebuildService(ConsumerFactory<String, UserEvent> consumerFactory, RedisService redisService,
+                                  KafkaListenerEndpointRegistry listenerRegistry, TrendingTiles tiles) {
+        this.consumerFactory = consumerFactory;
+        this.redisService = redisService;
+        this.listenerRegistry = listenerRegistry;
+        this.tiles = tiles;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || streamsEnabled) {
+            // The listener started on its own, or is not used at all
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // Fall back to a cold start: trending fills up again from live events
+            logger.error("Trending rebuild failed: {}", e.getMessage(), e);
+        } finally {
+            MessageListenerContainer listener = listenerRegistry.getListenerContainer(TrendingWorkerService.LISTENER_ID);
+            if (listener != null && !listener.isRunning()) {
+                listener.start();
+            }
+            done = true;
+        }
+    }
+
+    /** False while a rebuild is pending or running; the web server is up before runners start. */
+    public boolean isReady() {
+        return done || !enabled || streamsEnabled;
+    }
+
+    void rebuild() throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        long asOfMillis = System.currentTimeMillis();
+        LocalDateTime asOf = LocalDateTime.now();
+        Duration timeout = Duration.ofMillis(timeoutMs);
+
+        Map<TopicPartition, long[]> ranges = new HashMap<>();
+        // Partitions without a committed offset, and where the listener should start in them
+        Map<TopicPartition, Long> uncommitted = new HashMap<>();
+        try (Consumer<String, UserEvent> consumer = createConsumer("plan")) {
+            List<TopicPartition> partitions = new ArrayList<>();
+            for (PartitionInfo info : consumer.partitionsFor(topic, timeout)) {
+                partitions.add(new TopicPartition(topic, info.partition()));
+            }
+            long since = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(windowMinutes);
+            Map<TopicPartition, Long> timestamps = new HashMap<>();
+            partitions.forEach(partition -> timestamps.put(partition, since));
+
+            Map<TopicPartition, OffsetAndTimestamp> starts = consumer.offsetsForTimes(timestamps, timeout);
+            Map<TopicPartition, Long> ends = consumer.endOffsets(partitions, timeout);
+            Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(new HashSet<>(partitions), timeout);
+            for (TopicPartition partition : partitions) {
+                OffsetAndTimestamp from = starts.get(partition);
+                OffsetAndMetadata upTo = committed.get(partition);
+                long end = upTo != null ? Math.min(upTo.offset(), ends.get(partition)) : ends.get(partition);
+                if (upTo == null) {
+                    uncommitted.put(partition, end);
+                }
+                // No record newer than the window start: nothing to replay in this partition
+                if (from != null && from.offset() < end) {
+                    ranges.put(partition, new long[] {from.offset(), end});
+                }
+            }
+        }
+        if (ranges.isEmpty()) {
+            logger.info("Trending rebuild: no events in the last {} minutes of {}", windowMinutes, topic);
+            commitStart(uncommitted, timeout);
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(ranges.size(), Math.max(maxThreads, 1)));
+        Map<String, Map<UUID, Double>> cells = new HashMap<>();
+        long events = 0;
+        try {
+            Map<TopicPartition, Future<PartitionReplay>> replays = new HashMap<>();
+            for (Map.Entry<TopicPartition, long[]> range : ranges.entrySet()) {
+                replays.put(range.getKey(), executor.submit(() -> {
+                    try (Consumer<String, UserEvent> consumer = createConsumer(String.valueOf(range.getKey().partition()))) {
+                        return replay(consumer, range.getKey(), range.getValue()[0], range.getValue()[1], asOf, deadline);
+                    }
+                }));
+            }
+            for (Map.Entry<TopicPartition, Future<PartitionReplay>> replay : replays.entrySet()) {
+                // Each replay stops by itself at the deadline and returns what it has read
+                PartitionReplay result = replay.getValue().get();
+                events += result.events();
+                // A replay cut short leaves the rest of its range to the listener
+                uncommitted.computeIfPresent(replay.getKey(), (partition, end) -> result.position());
+                result.cells().forEach((geoKey, scores) -> {
+                    Map<UUID, Double> merged = cells.computeIfAbsent(geoKey, k -> new HashMap<>());
+                    scores.forEach((articleId, score) -> merged.merge(articleId, score, Double::sum));
+                });
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int loaded = 0;
+        for (Map.Entry<String, Map<UUID, Double>> cell : cells.entrySet()) {
+            loaded += redisService.loadTrending(cell.getKey(), cell.getValue(), asOfMillis);
+        }
+        commitStart(uncommitted, timeout);
+        logger.info("Trending rebuild: {} events from {} partitions into {} cells ({} keys loaded, the rest already warm)"
+            + " in {} ms", events, ranges.size(), cells.size(), loaded,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Commits the worker group at {@code offsets}, for partitions it has never committed, so its
+     * listener starts after what the rebuild replayed. Fails harmlessly when another instance of the
+     * group is already consuming: the group then has positions of its own.
+     */
+    void commitStart(Map<TopicPartition, Long> offsets, Duration timeout) {
+        if (offsets.isEmpty()) {
+            return;
+        }
+        Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+        offsets.forEach((partition, offset) -> commits.put(partition, new OffsetAndMetadata(offset)));
+        try (Consumer<String, UserEvent> consumer = createConsumer("commit")) {
+            consumer.assign(offsets.keySet());
+            consumer.commitSync(commits, timeout);
+            logger.info("Trending rebuild: started group {} after the replay in {}", groupId, commits);
+        } catch (KafkaException e) {
+            logger.warn("Trending rebuild: could not commit group {} after the replay: {}", groupId, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads [{@code from}, {@code to}) of one partition and sums event scores, decayed to
+     * {@code asOf}, per cell and article.
+     */
+    PartitionReplay replay(Consumer<String, UserEvent> consumer, TopicPartition partition, long from, long to,
+                           LocalDateTime asOf, long deadlineNanos) {
+        consumer.assign(List.of(partition));
+        consumer.seek(partition, from);
+        Map<String, Map<UUID, Double>> cells = new HashMap<>();
+        long events = 0;
+        while (consumer.position(partition) < to) {
+            if (System.nanoTime() > deadlineNanos) {
+                logger.warn("Trending rebuild of {} stopped at offset {} of {}: out of time",
+                    partition, consumer.position(partition), to);
+                break;
+            }
+            for (ConsumerRecord<String, UserEvent> record : consumer.poll(POLL_TIMEOUT)) {
+                UserEvent event = record.value();
+                // Undeserializable records arrive as null values; the live listener skips them too
+                if (record.offset() >= to || event == null || event.getArticleId() == null || event.getTimestamp() == null) {
+                    continue;
+                }
+                double score = decayedScore(event, asOf);
+                for (String geoKey : tiles.rollup(event.getLatitude(), event.getLongitude())) {
+                    cells.computeIfAbsent(geoKey, k -> new HashMap<>()).merge(event.getArticleId(), score, Double::sum);
+                }
+                events++;
+            }
+        }
+        return new PartitionReplay(cells, events, Math.min(consumer.position(partition), to));
+    }
+
+    /**
+     * The event's weight decayed by its age at {@code asOf} to the millisecond, unlike the worker's
+     * whole minutes, so it matches what the compactor would have left of it by then.
+     */
+    double decayedScore(UserEvent event, LocalDateTime asOf) {
+        long ageMillis = Math.max(0, Duration.between(event.getTimestamp(), asOf).toMillis());
+        return TrendingWorkerService.eventWeight(event.getEventType()) * Math.exp(-decayPerMinute * ageMillis / 60000.0);
+    }
+
+    private Consumer<String, UserEvent> createConsumer(String suffix) {
+        Properties overrides = new Properties();
+        // Manual assignment only: never auto-commit, or the live listener would skip these records
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 2000);
+        return consumerFactory.createConsumer(groupId, "trending-rebuild-", suffix, overrides);
+    }
+
+    /** What one partition contributed, and the offset its replay got to. */
+    record PartitionReplay(Map<String, Map<UUID, Double>> cells, long events, long position) {
+    }
+}
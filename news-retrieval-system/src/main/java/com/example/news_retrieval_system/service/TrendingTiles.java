@@ -0,0 +1,143 @@
+package com.example.news_retrieval_system.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import ch.hsr.geohash.GeoHash;
+import ch.hsr.geohash.WGS84Point;
+
+/**
+ * The geohash levels trending is rolled up to for the heatmap.
+ *
+ * Every event lands in its precision-5 cell and, in addition, in the enclosing tile of each
+ * coarser precision listed in {@code trending.heatmap.tile-precisions}. A tile is stored exactly
+ * like a cell, a capped leaderboard plus an activity counter, so it is capped, decayed and swept
+ * the same way, and split across {@code trending.shards.tiles} keys since a coarse tile takes the
+ * writes of every cell beneath it. A bounding box is then answered from the tiles covering it at one level, and the
+ * cost of a read depends on the number of tiles, not on how many events fell into them.
+ */
+@Component
+public class TrendingTiles {
+
+    public static final int CELL_PRECISION = 5;
+
+    private final List<Integer> precisions;
+    private final int maxTiles;
+
+    public TrendingTiles(@Value("${trending.heatmap.tile-precisions:2,3,4}") String tilePrecisions,
+                         @Value("${trending.heatmap.max-tiles:1024}") int maxTiles) {
+        TreeSet<Integer> levels = new TreeSet<>();
+        for (String entry : tilePrecisions.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int precision;
+            try {
+                precision = Integer.parseInt(entry.trim());
+            } catch (NumberFormatException e) {
+                precision = -1;
+            }
+            if (precision < 1 || precision >= CELL_PRECISION) {
+                throw new IllegalArgumentException("Invalid trending.heatmap.tile-precisions entry: " + entry);
+            }
+            levels.add(precision);
+        }
+        levels.add(CELL_PRECISION);
+        this.precisions = List.copyOf(levels);
+        this.maxTiles = maxTiles;
+    }
+
+    /** Every level a heatmap can be read at, coarsest first; the last one is the cell level. */
+    public List<Integer> precisions() {
+        return precisions;
+    }
+
+    public int maxTiles() {
+        return maxTiles;
+    }
+
+    /** The cell of a point followed by the tiles enclosing it, finest first. */
+    public List<String> rollup(double lat, double lon) {
+        String cell = RedisService.geohash(lat, lon, CELL_PRECISION);
+        List<String> keys = new ArrayList<>(precisions.size());
+        keys.add(cell);
+        for (int i = precisions.size() - 2; i >= 0; i--) {
+            keys.add(cell.substring(0, precisions.get(i)));
+        }
+        return keys;
+    }
+
+    /**
+     * The finest level at which the box is covered by at most {@code max-tiles} tiles, or -1 when
+     * not even the coarsest level is.
+     */
+    public int choosePrecision(double minLat, double minLon, double maxLat, double maxLon) {
+        for (int i = precisions.size() - 1; i >= 0; i--) {
+            if (countTiles(minLat, minLon, maxLat, maxLon, precisions.get(i)) <= maxTiles) {
+                return precisions.get(i);
+            }
+        }
+        return -1;
+    }
+
+    public long countTiles(double minLat, double minLon, double maxLat, double maxLon, int precision) {
+        Grid grid = new Grid(precision);
+        return (long) (grid.row(maxLat) - grid.row(minLat) + 1) * (grid.column(maxLon) - grid.column(minLon) + 1);
+    }
+
+    /** Geohashes of the tiles of one level that intersect the box, row by row from the south-west. */
+    public List<String> covering(double minLat, double minLon, double maxLat, double maxLon, int precision) {
+        Grid grid = new Grid(precision);
+        List<String> tiles = new ArrayList<>();
+        for (int row = grid.row(minLat); row <= grid.row(maxLat); row++) {
+            for (int column = grid.column(minLon); column <= grid.column(maxLon); column++) {
+                // The centre of a tile always hashes to that tile
+                tiles.add(RedisService.geohash(-90 + (row + 0.5) * grid.height, -180 + (column + 0.5) * grid.width,
+                    precision));
+            }
+        }
+        return tiles;
+    }
+
+    /** Degrees of latitude covered by one tile of the level. */
+    public double tileHeight(int precision) {
+        return new Grid(precision).height;
+    }
+
+    /** Degrees of longitude covered by one tile of the level. */
+    public double tileWidth(int precision) {
+        return new Grid(precision).width;
+    }
+
+    public WGS84Point center(String tile) {
+        return GeoHash.fromGeohashString(tile).getBoundingBox().getCenter();
+    }
+
+    /** A geohash level as a regular grid: 5 bits per character, longitude taking the odd one. */
+    private static final class Grid {
+        final int rows;
+        final int columns;
+        final double height;
+        final double width;
+
+        Grid(int precision) {
+            int bits = 5 * precision;
+            rows = 1 << (bits / 2);
+            columns = 1 << ((bits + 1) / 2);
+            height = 180.0 / rows;
+            width = 360.0 / columns;
+        }
+
+        int row(double lat) {
+            return Math.min((int) Math.floor((lat + 90) / height), rows - 1);
+        }
+
+        int column(double lon) {
+            return Math.min((int) Math.floor((lon + 180) / width), columns - 1);
+        }
+    }
+}
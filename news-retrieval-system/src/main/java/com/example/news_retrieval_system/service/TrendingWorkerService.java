@@ -2,10 +2,13 @@ package com.example.news_retrieval_system.service;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
@@ -19,23 +22,38 @@ public class TrendingWorkerService {
     @Autowired
     private RedisService redisService;
 
-    private int processedEvents = 0;
+    @Autowired
+    private TrendingTiles tiles;
+
+    // TrendingCompactor keeps decaying stored scores at the same rate
+    @Value("${trending.decay.per-minute:0.05}")
+    private double decayPerMinute;
+
+    // Listener threads may be virtual and concurrent; a plain int++ would lose counts
+    private final AtomicLong processedEvents = new AtomicLong();
     private static final int LOG_INTERVAL = 100;
+    static final String LISTENER_ID = "trendingWorker";
+    // Shared with TrendingRebuildService, which replays up to this group's committed offsets
+    static final String GROUP_ID = "${spring.kafka.consumer.group-id}";
 
-    @KafkaListener(topics = "user_events", groupId = "trending_worker")
+    // Held back while TrendingRebuildService replays the recent window into Redis, and never
+    // started when the Kafka Streams topology maintains trending instead
+    @KafkaListener(id = LISTENER_ID, topics = "${spring.kafka.topics.user-events:user_events}", groupId = GROUP_ID,
+        autoStartup = "#{!${trending.rebuild.enabled:false} && !${trending.streams.enabled:false}}")
     public void processUserEvent(UserEvent event) {
         try {
             // Calculate trending score based on event type and time decay
             double score = calculateScore(event);
-            String geoKey = RedisService.geohash(event.getLatitude(), event.getLongitude(), 5);
+            // The cell itself plus the coarser heatmap tiles around it
+            List<String> geoKeys = tiles.rollup(event.getLatitude(), event.getLongitude());
             
-            redisService.updateTrending(geoKey, event.getArticleId(), score);
+            redisService.updateTrending(geoKeys, event.getArticleId(), score);
             
             // Log progress
-            processedEvents++;
-            if (processedEvents % LOG_INTERVAL == 0) {
+            long processed = processedEvents.incrementAndGet();
+            if (processed % LOG_INTERVAL == 0) {
                 logger.info("Processed {} events. Last event: type={}, location=[{}, {}]", 
-                    processedEvents, event.getEventType(), event.getLatitude(), event.getLongitude());
+                    processed, event.getEventType(), event.getLatitude(), event.getLongitude());
             }
         } catch (Exception e) {
             logger.error("Error processing user event: {}", e.getMessage(), e);
@@ -43,18 +61,22 @@ public class TrendingWorkerService {
         }
     }
 
-    private double calculateScore(UserEvent event) {
-        // Weight based on event type
-        double eventWeight = switch (event.getEventType()) {
-            case SHARE -> 5.0;
-            case CLICK -> 3.0;
-            case VIEW -> 1.0;
-        };
+    double calculateScore(UserEvent event) {
+        double eventWeight = eventWeight(event.getEventType());
 
         // Time decay factor
         long minutesAgo = ChronoUnit.MINUTES.between(event.getTimestamp(), LocalDateTime.now());
-        double timeDecay = Math.exp(-0.05 * minutesAgo);
+        double timeDecay = Math.exp(-decayPerMinute * minutesAgo);
 
         return eventWeight * timeDecay;
     }
+
+    /** Undecayed score of one event, shared with the Kafka Streams topology. */
+    public static double eventWeight(UserEvent.EventType eventType) {
+        return switch (eventType) {
+            case SHARE -> 5.0;
+            case CLICK -> 3.0;
+            case VIEW -> 1.0;
+        };
+    }
 }
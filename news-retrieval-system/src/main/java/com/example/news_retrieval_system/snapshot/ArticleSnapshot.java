@@ -0,0 +1,254 @@
+package com.example.news_retrieval_system.snapshot;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.google.common.io.CountingInputStream;
+
+/**
+ * Read-only columnar copy of {@code news_articles} metadata in a memory-mapped file. Nothing is
+ * copied onto the heap except the source and category dictionaries; columns are read in place
+ * through buffer views, so opening a snapshot of any size takes milliseconds.
+ *
+ * Layout: a header (magic, version, row counts, build time, dictionaries), then 8-byte aligned
+ * columns. The first set is ordered like the source/category keyset queries,
+ * {@code (publication_date DESC NULLS FIRST, id DESC)}: id high and low longs, publication time
+ * in epoch microseconds (null as {@link Long#MAX_VALUE}, which sorts first), a 64-bit category
+ * mask, relevance score, latitude and longitude as floats, and a source dictionary id. The second
+ * set is ordered like the score query, {@code (relevance_score DESC, id DESC)}: id and score.
+ * Ids compare as unsigned longs, which is Postgres's uuid order. The score and coordinate
+ * columns of the first set are written for scan-time filters and ranking but not read yet.
+ */
+final class ArticleSnapshot {
+
+    static final int MAGIC = 0x4e414353; // "NACS"
+    static final int VERSION = 1;
+    static final int DATE_COLUMNS = 8;
+    static final int SCORE_COLUMNS = 3;
+    private static final int[] DATE_WIDTHS = {8, 8, 8, 8, 8, 4, 4, 4};
+    private static final int[] SCORE_WIDTHS = {8, 8, 8};
+
+    private final int rows;
+    private final int scoreRows;
+    private final LocalDateTime builtAt;
+    private final boolean categoryOverflow;
+    private final Map<String, Integer> sources;
+    private final Map<String, Integer> categories;
+
+    private final LongBuffer idHigh;
+    private final LongBuffer idLow;
+    private final LongBuffer publishedAt;
+    private final LongBuffer categoryMask;
+    private final IntBuffer source;
+
+    private final LongBuffer scoreIdHigh;
+    private final LongBuffer scoreIdLow;
+    private final DoubleBuffer scoreValue;
+
+    private ArticleSnapshot(int rows, int scoreRows, LocalDateTime builtAt, boolean categoryOverflow,
+                            Map<String, Integer> sources, Map<String, Integer> categories,
+                            MappedByteBuffer[] dateColumns, MappedByteBuffer[] scoreColumns) {
+        this.rows = rows;
+        this.scoreRows = scoreRows;
+        this.builtAt = builtAt;
+        this.categoryOverflow = categoryOverflow;
+        this.sources = sources;
+        this.categories = categories;
+        this.idHigh = dateColumns[0].asLongBuffer();
+        this.idLow = dateColumns[1].asLongBuffer();
+        this.publishedAt = dateColumns[2].asLongBuffer();
+        this.categoryMask = dateColumns[3].asLongBuffer();
+        this.source = dateColumns[7].asIntBuffer();
+        this.scoreIdHigh = scoreColumns[0].asLongBuffer();
+        this.scoreIdLow = scoreColumns[1].asLongBuffer();
+        this.scoreValue = scoreColumns[2].asDoubleBuffer();
+    }
+
+    static ArticleSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CountingInputStream counting = new CountingInputStream(
+                new BufferedInputStream(Channels.newInputStream(channel)));
+            DataInputStream header = new DataInputStream(counting);
+            if (header.readInt() != MAGIC || header.readInt() != VERSION) {
+                throw new IOException("Not an article snapshot: " + file);
+            }
+            int rows = header.readInt();
+            int scoreRows = header.readInt();
+            LocalDateTime builtAt = fromEpochMicros(header.readLong());
+            boolean categoryOverflow = header.readBoolean();
+            Map<String, Integer> sources = readDictionary(header);
+            Map<String, Integer> categories = readDictionary(header);
+
+            // Mappings stay valid after the channel is closed
+            long offset = align(counting.getCount());
+            MappedByteBuffer[] dateColumns = new MappedByteBuffer[DATE_COLUMNS];
+            for (int c = 0; c < DATE_COLUMNS; c++) {
+                long length = (long) rows * DATE_WIDTHS[c];
+                dateColumns[c] = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                offset = align(offset + length);
+            }
+            MappedByteBuffer[] scoreColumns = new MappedByteBuffer[SCORE_COLUMNS];
+            for (int c = 0; c < SCORE_COLUMNS; c++) {
+                long length = (long) scoreRows * SCORE_WIDTHS[c];
+                scoreColumns[c] = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                offset = align(offset + length);
+            }
+            if (offset > channel.size()) {
+                throw new IOException("Truncated article snapshot: " + file);
+            }
+            return new ArticleSnapshot(rows, scoreRows, builtAt, categoryOverflow, sources, categories,
+                dateColumns, scoreColumns);
+        }
+    }
+
+    int size() {
+        return rows;
+    }
+
+    LocalDateTime builtAt() {
+        return builtAt;
+    }
+
+    /** Ids of {@code sourceName}'s articles after the anchor, newest first. */
+    SnapshotPage findSourcePage(String sourceName, LocalDateTime afterPublishedAt, UUID afterId, int limit) {
+        Integer sourceId = sources.get(sourceName);
+        if (sourceId == null) {
+            return new SnapshotPage(List.of(), null);
+        }
+        List<UUID> ids = new ArrayList<>(limit);
+        int last = -1;
+        for (int i = dateStart(afterPublishedAt, afterId); i < rows && ids.size() < limit; i++) {
+            if (source.get(i) == sourceId) {
+                ids.add(new UUID(idHigh.get(i), idLow.get(i)));
+                last = i;
+            }
+        }
+        return new SnapshotPage(ids, publishedAt(last));
+    }
+
+    /**
+     * Ids of articles tagged {@code category} after the anchor, newest first; empty when the
+     * category did not fit in the 64-bit mask and only Postgres can answer.
+     */
+    Optional<SnapshotPage> findCategoryPage(String category, LocalDateTime afterPublishedAt, UUID afterId, int limit) {
+        Integer bit = categories.get(category);
+        if (bit == null) {
+            return categoryOverflow ? Optional.empty() : Optional.of(new SnapshotPage(List.of(), null));
+        }
+        long mask = 1L << bit;
+        List<UUID> ids = new ArrayList<>(limit);
+        int last = -1;
+        for (int i = dateStart(afterPublishedAt, afterId); i < rows && ids.size() < limit; i++) {
+            if ((categoryMask.get(i) & mask) != 0) {
+                ids.add(new UUID(idHigh.get(i), idLow.get(i)));
+                last = i;
+            }
+        }
+        return Optional.of(new SnapshotPage(ids, publishedAt(last)));
+    }
+
+    /** Publication date of a row of the date order, or null for no row or an undated one. */
+    private LocalDateTime publishedAt(int row) {
+        long micros = row < 0 ? Long.MAX_VALUE : publishedAt.get(row);
+        return micros == Long.MAX_VALUE ? null : fromEpochMicros(micros);
+    }
+
+    /** Ids of articles scoring above {@code minScore} after the anchor, best first. */
+    List<UUID> findScorePage(double minScore, Double afterScore, UUID afterId, int limit) {
+        int start = 0;
+        if (afterId != null) {
+            // First row that sorts after (afterScore, afterId) in descending order
+            int lo = 0;
+            int hi = scoreRows;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                int byScore = Double.compare(scoreValue.get(mid), afterScore);
+                boolean after = byScore < 0
+                    || byScore == 0 && compareId(scoreIdHigh.get(mid), scoreIdLow.get(mid), afterId) < 0;
+                if (after) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            start = lo;
+        }
+        List<UUID> ids = new ArrayList<>(limit);
+        for (int i = start; i < scoreRows && ids.size() < limit && scoreValue.get(i) > minScore; i++) {
+            ids.add(new UUID(scoreIdHigh.get(i), scoreIdLow.get(i)));
+        }
+        return ids;
+    }
+
+    private int dateStart(LocalDateTime afterPublishedAt, UUID afterId) {
+        if (afterId == null) {
+            return 0;
+        }
+        long anchor = epochMicros(afterPublishedAt);
+        int lo = 0;
+        int hi = rows;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            long published = publishedAt.get(mid);
+            boolean after = published < anchor
+                || published == anchor && compareId(idHigh.get(mid), idLow.get(mid), afterId) < 0;
+            if (after) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    private static int compareId(long high, long low, UUID id) {
+        int byHigh = Long.compareUnsigned(high, id.getMostSignificantBits());
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(low, id.getLeastSignificantBits());
+    }
+
+    /**
+     * Zone-less publication times map to microseconds as if UTC; they are only compared with
+     * each other. Microseconds match Postgres timestamp precision, so cursors round-trip exactly.
+     */
+    static long epochMicros(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return Long.MAX_VALUE;
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+            (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static Map<String, Integer> readDictionary(DataInputStream header) throws IOException {
+        int count = header.readInt();
+        Map<String, Integer> dictionary = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            dictionary.put(header.readUTF(), i);
+        }
+        return dictionary;
+    }
+
+    private static long align(long offset) {
+        return (offset + Long.BYTES - 1) / Long.BYTES * Long.BYTES;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.news_retrieval_system.snapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Serves the source, category and score intents from an {@link ArticleSnapshot} instead of
+ * Postgres. Each method returns the page's article ids (with the oldest publication date for the
+ * date-ordered pages), or empty when the snapshot cannot answer
+ * (disabled, not built yet, or a category outside its dictionary) and the caller should query
+ * the database.
+ *
+ * An existing snapshot file is mapped at startup, so a restart serves immediately. A background
+ * job rebuilds the file from {@code news_articles} every {@code snapshot.columnar.rebuild-ms} and
+ * swaps the new mapping in; results can lag the table by up to that interval.
+ */
+@Service
+public class ArticleSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleSnapshotService.class);
+    private static final int FETCH_SIZE = 10_000;
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final Path snapshotFile;
+    private final Duration rebuildInterval;
+
+    private volatile ArticleSnapshot snapshot;
+
+    public ArticleSnapshotService(DataSource dataSource,
+                                  @Value("${snapshot.columnar.enabled:false}") boolean enabled,
+                                  @Value("${snapshot.columnar.file:data/articles.columns}") Path snapshotFile,
+                                  @Value("${snapshot.columnar.rebuild-ms:600000}") long rebuildMillis) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.snapshotFile = snapshotFile;
+        this.rebuildInterval = Duration.ofMillis(rebuildMillis);
+    }
+
+    @PostConstruct
+    public void openExisting() {
+        if (!enabled || !Files.exists(snapshotFile)) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            snapshot = ArticleSnapshot.open(snapshotFile);
+            logger.info("Mapped article snapshot {} ({} articles, built {}) in {} us", snapshotFile,
+                snapshot.size(), snapshot.builtAt(), (System.nanoTime() - start) / 1000);
+        } catch (IOException e) {
+            logger.error("Error opening article snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    public Optional<SnapshotPage> findSourcePage(String sourceName, LocalDateTime afterPublishedAt, UUID afterId, int limit) {
+        ArticleSnapshot current = snapshot;
+        return current == null ? Optional.empty()
+            : Optional.of(current.findSourcePage(sourceName, afterPublishedAt, afterId, limit));
+    }
+
+    public Optional<SnapshotPage> findCategoryPage(String category, LocalDateTime afterPublishedAt, UUID afterId, int limit) {
+        ArticleSnapshot current = snapshot;
+        return current == null ? Optional.empty()
+            : current.findCategoryPage(category, afterPublishedAt, afterId, limit);
+    }
+
+    public Optional<List<UUID>> findScorePage(double minScore, Double afterScore, UUID afterId, int limit) {
+        ArticleSnapshot current = snapshot;
+        return current == null ? Optional.empty()
+            : Optional.of(current.findScorePage(minScore, afterScore, afterId, limit));
+    }
+
+    /**
+     * Runs at startup and then every {@code snapshot.columnar.rebuild-ms}; a snapshot mapped at
+     * startup that is younger than the interval is kept until it ages out.
+     */
+    @Scheduled(fixedDelayString = "${snapshot.columnar.rebuild-ms:600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        ArticleSnapshot current = snapshot;
+        LocalDateTime builtAt = LocalDateTime.now();
+        if (current != null && current.builtAt().plus(rebuildInterval).isAfter(builtAt)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Path workDir = snapshotFile.toAbsolutePath().resolveSibling(snapshotFile.getFileName() + ".build");
+        try (ArticleSnapshotWriter writer = new ArticleSnapshotWriter(workDir)) {
+            writeRows(writer);
+            writer.finish(snapshotFile, builtAt);
+            snapshot = ArticleSnapshot.open(snapshotFile);
+            logger.info("Article snapshot rebuilt: {} articles in {} ms", writer.rows(), System.currentTimeMillis() - start);
+        } catch (IOException | SQLException e) {
+            // Keep serving the previous snapshot
+            logger.error("Error rebuilding article snapshot: {}", e.getMessage(), e);
+        }
+    }
+
+    private void writeRows(ArticleSnapshotWriter writer) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            // Read-only routes to a replica when configured; repeatable read keeps both passes on the same rows
+            connection.setReadOnly(true);
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try (Statement statement = connection.createStatement()) {
+                statement.setFetchSize(FETCH_SIZE);
+                try (ResultSet rs = statement.executeQuery(
+                        "SELECT id, publication_date, latitude, longitude, relevance_score, source_name, category"
+                            + " FROM news_articles ORDER BY publication_date DESC, id DESC")) {
+                    while (rs.next()) {
+                        Timestamp publishedAt = rs.getTimestamp("publication_date");
+                        Array category = rs.getArray("category");
+                        writer.addByDate(rs.getObject("id", UUID.class),
+                            publishedAt == null ? null : publishedAt.toLocalDateTime(),
+                            rs.getDouble("latitude"), rs.getDouble("longitude"), rs.getDouble("relevance_score"),
+                            rs.getString("source_name"),
+                            category == null ? null : Arrays.asList((String[]) category.getArray()));
+                    }
+                }
+                try (ResultSet rs = statement.executeQuery(
+                        "SELECT id, relevance_score FROM news_articles ORDER BY relevance_score DESC, id DESC")) {
+                    while (rs.next()) {
+                        writer.addByScore(rs.getObject("id", UUID.class), rs.getDouble("relevance_score"));
+                    }
+                }
+            } finally {
+                connection.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.news_retrieval_system.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Streams rows into one temporary file per column, then writes the header and concatenates the
+ * columns into the snapshot file, so building never holds more than a write buffer per column
+ * on the heap. Rows must arrive in the orders {@link ArticleSnapshot} documents.
+ */
+final class ArticleSnapshotWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path workDir;
+    private final DataOutputStream[] byDate = new DataOutputStream[ArticleSnapshot.DATE_COLUMNS];
+    private final DataOutputStream[] byScore = new DataOutputStream[ArticleSnapshot.SCORE_COLUMNS];
+    private final Map<String, Integer> sources = new LinkedHashMap<>();
+    private final Map<String, Integer> categories = new LinkedHashMap<>();
+    private boolean categoryOverflow;
+    private int dateRows;
+    private int scoreRows;
+
+    ArticleSnapshotWriter(Path workDir) throws IOException {
+        this.workDir = Files.createDirectories(workDir);
+        for (int c = 0; c < byDate.length; c++) {
+            byDate[c] = open("date-" + c);
+        }
+        for (int c = 0; c < byScore.length; c++) {
+            byScore[c] = open("score-" + c);
+        }
+    }
+
+    /** Next row in (publication_date DESC NULLS FIRST, id DESC) order. */
+    void addByDate(UUID id, LocalDateTime publishedAt, double lat, double lon, double score,
+                   String sourceName, List<String> rowCategories) throws IOException {
+        long mask = 0;
+        if (rowCategories != null) {
+            for (String category : rowCategories) {
+                Integer bit = categories.get(category);
+                if (bit == null && categories.size() < Long.SIZE) {
+                    bit = categories.size();
+                    categories.put(category, bit);
+                } else if (bit == null) {
+                    categoryOverflow = true;
+                    continue;
+                }
+                mask |= 1L << bit;
+            }
+        }
+        byDate[0].writeLong(id.getMostSignificantBits());
+        byDate[1].writeLong(id.getLeastSignificantBits());
+        byDate[2].writeLong(ArticleSnapshot.epochMicros(publishedAt));
+        byDate[3].writeLong(mask);
+        byDate[4].writeDouble(score);
+        byDate[5].writeFloat((float) lat);
+        byDate[6].writeFloat((float) lon);
+        byDate[7].writeInt(sourceName == null ? -1 : sources.computeIfAbsent(sourceName, s -> sources.size()));
+        dateRows++;
+    }
+
+    /** Next row in (relevance_score DESC, id DESC) order. */
+    void addByScore(UUID id, double score) throws IOException {
+        byScore[0].writeLong(id.getMostSignificantBits());
+        byScore[1].writeLong(id.getLeastSignificantBits());
+        byScore[2].writeDouble(score);
+        scoreRows++;
+    }
+
+    int rows() {
+        return dateRows;
+    }
+
+    /**
+     * Writes the snapshot next to {@code target} and moves it into place in one step, so readers
+     * see either the old file or the complete new one.
+     */
+    void finish(Path target, LocalDateTime builtAt) throws IOException {
+        for (DataOutputStream column : byDate) {
+            column.close();
+        }
+        for (DataOutputStream column : byScore) {
+            column.close();
+        }
+
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        try (DataOutputStream header = new DataOutputStream(headerBytes)) {
+            header.writeInt(ArticleSnapshot.MAGIC);
+            header.writeInt(ArticleSnapshot.VERSION);
+            header.writeInt(dateRows);
+            header.writeInt(scoreRows);
+            header.writeLong(ArticleSnapshot.epochMicros(builtAt));
+            header.writeBoolean(categoryOverflow);
+            header.writeInt(sources.size());
+            for (String source : sources.keySet()) {
+                header.writeUTF(source);
+            }
+            header.writeInt(categories.size());
+            for (String category : categories.keySet()) {
+                header.writeUTF(category);
+            }
+        }
+
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(out, ByteBuffer.wrap(headerBytes.toByteArray()));
+            pad(out);
+            for (int c = 0; c < byDate.length; c++) {
+                append(out, "date-" + c);
+            }
+            for (int c = 0; c < byScore.length; c++) {
+                append(out, "score-" + c);
+            }
+            out.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataOutputStream column : byDate) {
+            column.close();
+        }
+        for (DataOutputStream column : byScore) {
+            column.close();
+        }
+        try (var files = Files.list(workDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(workDir);
+    }
+
+    private DataOutputStream open(String name) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(workDir.resolve(name)), BUFFER_SIZE));
+    }
+
+    private void append(FileChannel out, String name) throws IOException {
+        try (FileChannel in = FileChannel.open(workDir.resolve(name), StandardOpenOption.READ)) {
+            long size = in.size();
+            long copied = 0;
+            while (copied < size) {
+                copied += in.transferTo(copied, size - copied, out);
+            }
+        }
+        pad(out);
+    }
+
+    /** Columns start on 8-byte boundaries so the mapped long and double views stay aligned. */
+    private static void pad(FileChannel out) throws IOException {
+        int padding = (int) ((Long.BYTES - out.position() % Long.BYTES) % Long.BYTES);
+        if (padding > 0) {
+            writeFully(out, ByteBuffer.allocate(padding));
+        }
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.news_retrieval_system.snapshot;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ids of one page read from the snapshot's date order, newest first, with the publication date of
+ * the oldest one, so loading the page can be bounded to the weeks it spans. The date is null when
+ * the page is empty or holds only undated articles.
+ */
+public record SnapshotPage(List<UUID> ids, LocalDateTime oldest) {
+}
@@ -0,0 +1,222 @@
+package com.example.news_retrieval_system.streams;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.state.HostInfo;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyWindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.kafka.streams.KafkaStreamsInteractiveQueryService;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.example.news_retrieval_system.dto.TrendingEntry;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads trending from the {@link TrendingTopology} store with interactive queries.
+ *
+ * All windows of a cell live on the instance whose task owns the cell's partition. Queries for a
+ * cell owned here read the local store; anything else is forwarded to the owner's
+ * {@code /api/v1/internal/trending/streams/{geoKey}} (or {@code .../scores}), found through the
+ * {@code application.server} every instance advertises, without waiting on the response. The
+ * windows of the last {@code trending.streams.horizon-minutes} are decayed to now and summed, and
+ * pages follow the same (score, article id) order as Redis, so {@code TrendingController}'s
+ * cursors work unchanged. Only the entries asked for leave the store's owner: a page keeps its
+ * {@code count} best while it reads, and a score lookup sums only the requested articles.
+ *
+ * Without {@code trending.streams.enabled} the topology is not created, and nothing here is called.
+ */
+@Service
+public class TrendingStreamsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingStreamsService.class);
+    private static final ParameterizedTypeReference<List<TrendingEntry>> ENTRIES = new ParameterizedTypeReference<>() {};
+    private static final Comparator<ZSetOperations.TypedTuple<String>> HIGHEST_FIRST =
+        Comparator.comparing((ZSetOperations.TypedTuple<String> entry) -> entry.getScore())
+            .thenComparing(ZSetOperations.TypedTuple::getValue)
+            .reversed();
+
+    private final ObjectProvider<KafkaStreamsInteractiveQueryService> queries;
+    private final WebClient webClient;
+    private final boolean enabled;
+    private final long windowMs;
+    private final long horizonMs;
+    private final double decayPerMinute;
+    private final Duration forwardTimeout;
+
+    public TrendingStreamsService(ObjectProvider<KafkaStreamsInteractiveQueryService> queries,
+                                  WebClient.Builder webClientBuilder,
+                                  @Value("${trending.streams.enabled:false}") boolean enabled,
+                                  @Value("${trending.streams.window-minutes:5}") long windowMinutes,
+                                  @Value("${trending.streams.horizon-minutes:120}") long horizonMinutes,
+                                  @Value("${trending.decay.per-minute:0.05}") double decayPerMinute,
+                                  @Value("${trending.streams.forward-timeout-ms:1000}") long forwardTimeoutMs) {
+        this.queries = queries;
+        this.webClient = webClientBuilder.clone().build();
+        this.enabled = enabled;
+        this.windowMs = Duration.ofMinutes(windowMinutes).toMillis();
+        this.horizonMs = Duration.ofMinutes(horizonMinutes).toMillis();
+        this.decayPerMinute = decayPerMinute;
+        this.forwardTimeout = Duration.ofMillis(forwardTimeoutMs);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Same contract as {@code RedisService.getTrendingPage}, answered by the instance owning the cell. */
+    public Mono<List<ZSetOperations.TypedTuple<String>>> getTrendingPage(String geoKey, Double afterScore,
+                                                                        String afterMember, int count) {
+        return Mono.defer(() -> {
+                HostInfo owner = owner(geoKey);
+                return owner == null
+                    ? Mono.fromCallable(() -> getLocalPage(geoKey, afterScore, afterMember, count))
+                    : forward(owner, geoKey, afterScore, afterMember, count);
+            })
+            .onErrorResume(e -> {
+                logger.error("Error querying trending for {} from Kafka Streams: {}", geoKey, e.getMessage());
+                return Mono.just(List.of());
+            });
+    }
+
+    /** Scores of the given articles in the cell; articles outside its top lists are left out. */
+    public Mono<Map<UUID, Double>> getTrendingScores(String geoKey, List<UUID> articleIds) {
+        if (articleIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return Mono.defer(() -> {
+                HostInfo owner = owner(geoKey);
+                return owner == null
+                    ? Mono.fromCallable(() -> getLocalScores(geoKey, articleIds))
+                    : forwardScores(owner, geoKey, articleIds);
+            })
+            .onErrorResume(e -> {
+                logger.error("Error querying trending scores for {} from Kafka Streams: {}", geoKey, e.getMessage());
+                return Mono.just(Map.of());
+            });
+    }
+
+    /** A page read from this instance's store only, for cells it owns. */
+    public List<ZSetOperations.TypedTuple<String>> getLocalPage(String geoKey, Double afterScore, String afterMember,
+                                                               int count) {
+        return readPage(store(), geoKey, afterScore, afterMember, count, System.currentTimeMillis());
+    }
+
+    /** Scores read from this instance's store only, for cells it owns. */
+    public Map<UUID, Double> getLocalScores(String geoKey, List<UUID> articleIds) {
+        return readScores(store(), geoKey, articleIds, System.currentTimeMillis());
+    }
+
+    List<ZSetOperations.TypedTuple<String>> readPage(ReadOnlyWindowStore<String, TrendingTopK> store, String geoKey,
+                                                     Double afterScore, String afterMember, int count, long now) {
+        // Lowest first, so the head is the entry to drop once more than count are kept
+        PriorityQueue<ZSetOperations.TypedTuple<String>> best = new PriorityQueue<>(count + 1, HIGHEST_FIRST.reversed());
+        sumWindows(store, geoKey, null, now).forEach((articleId, score) -> {
+            String member = articleId.toString();
+            boolean seen = afterScore != null && (score > afterScore
+                || score == afterScore.doubleValue() && member.compareTo(afterMember) >= 0);
+            if (!seen) {
+                best.add(ZSetOperations.TypedTuple.of(member, score));
+                if (best.size() > count) {
+                    best.poll();
+                }
+            }
+        });
+        List<ZSetOperations.TypedTuple<String>> page = new ArrayList<>(best);
+        page.sort(HIGHEST_FIRST);
+        return page;
+    }
+
+    Map<UUID, Double> readScores(ReadOnlyWindowStore<String, TrendingTopK> store, String geoKey, List<UUID> articleIds,
+                                 long now) {
+        return sumWindows(store, geoKey, Set.copyOf(articleIds), now);
+    }
+
+    /** Decayed scores of the cell's articles, or only of {@code only} when given. */
+    private Map<UUID, Double> sumWindows(ReadOnlyWindowStore<String, TrendingTopK> store, String geoKey, Set<UUID> only,
+                                         long now) {
+        // Decayed to the start of the minute, so the score in a cursor still matches on the next page
+        long asOf = now - Math.floorMod(now, 60_000L);
+        Map<UUID, Double> scores = new HashMap<>();
+        try (WindowStoreIterator<TrendingTopK> windows =
+                 store.fetch(geoKey, Instant.ofEpochMilli(now - horizonMs), Instant.ofEpochMilli(now))) {
+            while (windows.hasNext()) {
+                KeyValue<Long, TrendingTopK> window = windows.next();
+                // Stored scores are as of the window's end, which may still be ahead
+                double decay = Math.exp(-decayPerMinute * (asOf - (window.key + windowMs)) / 60_000.0);
+                window.value.scores().forEach((articleId, score) -> {
+                    if (only == null || only.contains(articleId)) {
+                        scores.merge(articleId, score * decay, Double::sum);
+                    }
+                });
+            }
+        }
+        return scores;
+    }
+
+    private ReadOnlyWindowStore<String, TrendingTopK> store() {
+        return queries.getObject().retrieveQueryableStore(TrendingTopology.STORE, QueryableStoreTypes.windowStore());
+    }
+
+    /** The instance owning the cell, or null when it is this one. */
+    private HostInfo owner(String geoKey) {
+        KafkaStreamsInteractiveQueryService service = queries.getObject();
+        HostInfo owner = service.getKafkaStreamsApplicationHostInfo(TrendingTopology.STORE, geoKey,
+            Serdes.String().serializer());
+        return owner == null || owner.equals(service.getCurrentKafkaStreamsApplicationHostInfo()) ? null : owner;
+    }
+
+    private Mono<List<ZSetOperations.TypedTuple<String>>> forward(HostInfo owner, String geoKey, Double afterScore,
+                                                                 String afterMember, int count) {
+        return webClient.get()
+            .uri(uri -> uri.scheme("http").host(owner.host()).port(owner.port())
+                .path("/api/v1/internal/trending/streams/{geoKey}")
+                .queryParam("count", count)
+                .queryParamIfPresent("afterScore", Optional.ofNullable(afterScore))
+                .queryParamIfPresent("afterMember", Optional.ofNullable(afterMember))
+                .build(geoKey))
+            .retrieve()
+            .bodyToMono(ENTRIES)
+            .timeout(forwardTimeout)
+            .map(entries -> entries.stream()
+                .map(entry -> ZSetOperations.TypedTuple.of(entry.getArticleId(), entry.getScore()))
+                .toList());
+    }
+
+    private Mono<Map<UUID, Double>> forwardScores(HostInfo owner, String geoKey, List<UUID> articleIds) {
+        // Up to ranking.max-candidates ids, too many for a query string
+        return webClient.post()
+            .uri(uri -> uri.scheme("http").host(owner.host()).port(owner.port())
+                .path("/api/v1/internal/trending/streams/{geoKey}/scores")
+                .build(geoKey))
+            .bodyValue(articleIds)
+            .retrieve()
+            .bodyToMono(ENTRIES)
+            .timeout(forwardTimeout)
+            .map(entries -> {
+                Map<UUID, Double> byId = new HashMap<>();
+                entries.forEach(entry -> byId.put(UUID.fromString(entry.getArticleId()), entry.getScore()));
+                return byId;
+            });
+    }
+}
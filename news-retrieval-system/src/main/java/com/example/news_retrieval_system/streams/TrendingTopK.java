@@ -0,0 +1,43 @@
+package com.example.news_retrieval_system.streams;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Aggregate of one cell in one window: article scores as of the end of the window.
+ *
+ * Like a Redis leaderboard it only keeps the top scores, but trims in bulk: once it holds twice
+ * {@code maxSize} articles it drops back to the top {@code maxSize}, so the sort runs once per
+ * {@code maxSize} new articles rather than on every event.
+ */
+public class TrendingTopK {
+
+    private final Map<UUID, Double> scores;
+
+    public TrendingTopK() {
+        this(new HashMap<>());
+    }
+
+    TrendingTopK(Map<UUID, Double> scores) {
+        this.scores = scores;
+    }
+
+    public TrendingTopK add(UUID articleId, double score, int maxSize) {
+        scores.merge(articleId, score, Double::sum);
+        if (scores.size() > 2 * maxSize) {
+            Map<UUID, Double> top = scores.entrySet().stream()
+                .sorted(Map.Entry.<UUID, Double>comparingByValue(Comparator.reverseOrder()))
+                .limit(maxSize)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            scores.keySet().retainAll(top.keySet());
+        }
+        return this;
+    }
+
+    public Map<UUID, Double> scores() {
+        return scores;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.news_retrieval_system.streams;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Fixed-width binary form of {@link TrendingTopK}: a count, then 24 bytes per article (the two
+ * halves of its id and its score). Every update is written to RocksDB and the changelog topic, so
+ * it stays well under half the size of the JSON equivalent and needs no reflection.
+ */
+public class TrendingTopKSerde implements Serde<TrendingTopK> {
+
+    private static final int ENTRY_BYTES = 3 * Long.BYTES;
+
+    @Override
+    public Serializer<TrendingTopK> serializer() {
+        return (topic, topK) -> {
+            if (topK == null) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + topK.scores().size() * ENTRY_BYTES);
+            buffer.putInt(topK.scores().size());
+            topK.scores().forEach((articleId, score) -> buffer
+                .putLong(articleId.getMostSignificantBits())
+                .putLong(articleId.getLeastSignificantBits())
+                .putDouble(score));
+            return buffer.array();
+        };
+    }
+
+    @Override
+    public Deserializer<TrendingTopK> deserializer() {
+        return (topic, bytes) -> {
+            if (bytes == null) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            int size = buffer.getInt();
+            Map<UUID, Double> scores = new HashMap<>(Math.max(size * 4 / 3 + 1, 16));
+            for (int i = 0; i < size; i++) {
+                scores.put(new UUID(buffer.getLong(), buffer.getLong()), buffer.getDouble());
+            }
+            return new TrendingTopK(scores);
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.news_retrieval_system.streams;
+
+import java.time.Duration;
+
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.TimeWindows;
+import org.apache.kafka.streams.state.WindowStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.kafka.streams.KafkaStreamsInteractiveQueryService;
+import org.springframework.kafka.support.serializer.JsonSerde;
+
+import com.example.news_retrieval_system.model.UserEvent;
+import com.example.news_retrieval_system.service.RedisService;
+import com.example.news_retrieval_system.service.TrendingWorkerService;
+
+/**
+ * Kafka Streams alternative to the Redis write path of {@link TrendingWorkerService}.
+ *
+ * Events are re-keyed by their precision-5 cell, which repartitions them so that every cell is
+ * owned by exactly one stream task, and summed per cell into tumbling windows of
+ * {@code trending.streams.window-minutes}. Each window holds a {@link TrendingTopK} in a RocksDB
+ * store kept for {@code trending.streams.horizon-minutes}, backed by a changelog topic (and standby
+ * replicas when configured), so a restarted or reassigned task resumes from the changelog. Scores
+ * are stored decayed to the end of their window; {@link TrendingStreamsService} decays them the
+ * rest of the way when it reads them.
+ *
+ * The topology only exists with {@code trending.streams.enabled}; the Redis listener then stays
+ * stopped. Without it no streams client, store or interactive query service is created.
+ */
+@Configuration
+@ConditionalOnProperty(name = "trending.streams.enabled", havingValue = "true")
+@EnableKafkaStreams
+public class TrendingTopology {
+
+    public static final String STORE = "trending-cells";
+    private static final String REPARTITION = "trending-by-cell";
+
+    private final String topic;
+    private final Duration window;
+    private final Duration grace;
+    private final Duration horizon;
+    private final int maxSize;
+    private final double decayPerMinute;
+
+    public TrendingTopology(@Value("${spring.kafka.topics.user-events:user_events}") String topic,
+                            @Value("${trending.streams.window-minutes:5}") long windowMinutes,
+                            @Value("${trending.streams.grace-minutes:1}") long graceMinutes,
+                            @Value("${trending.streams.horizon-minutes:120}") long horizonMinutes,
+                            @Value("${trending.leaderboard.max-size:500}") int maxSize,
+                            @Value("${trending.decay.per-minute:0.05}") double decayPerMinute) {
+        this.topic = topic;
+        this.window = Duration.ofMinutes(windowMinutes);
+        this.grace = Duration.ofMinutes(graceMinutes);
+        this.horizon = Duration.ofMinutes(horizonMinutes);
+        this.maxSize = maxSize;
+        this.decayPerMinute = decayPerMinute;
+    }
+
+    @Bean
+    public KStream<String, UserEvent> trendingEvents(StreamsBuilder builder) {
+        JsonSerde<UserEvent> events = new JsonSerde<>(UserEvent.class).noTypeInfo().ignoreTypeHeaders();
+        KStream<String, UserEvent> stream = builder.stream(topic,
+            Consumed.with(Serdes.String(), events).withTimestampExtractor(new UserEventTimestampExtractor()));
+
+        long windowMs = window.toMillis();
+        stream
+            .filter((key, event) -> event != null && event.getArticleId() != null
+                && event.getEventType() != null && event.getTimestamp() != null)
+            .selectKey((key, event) -> RedisService.geohash(event.getLatitude(), event.getLongitude(), 5))
+            .groupByKey(Grouped.with(REPARTITION, Serdes.String(), events))
+            .windowedBy(TimeWindows.ofSizeAndGrace(window, grace))
+            .aggregate(TrendingTopK::new,
+                (cell, event, topK) -> topK.add(event.getArticleId(), scoreAtWindowEnd(event, windowMs), maxSize),
+                Materialized.<String, TrendingTopK, WindowStore<Bytes, byte[]>>as(STORE)
+                    .withKeySerde(Serdes.String())
+                    .withValueSerde(new TrendingTopKSerde())
+                    // The record cache folds bursts on the same cell into one store and changelog write
+                    .withCachingEnabled()
+                    .withRetention(horizon.plus(window).plus(grace)));
+        return stream;
+    }
+
+    @Bean
+    public KafkaStreamsInteractiveQueryService trendingQueries(StreamsBuilderFactoryBean streamsBuilder) {
+        return new KafkaStreamsInteractiveQueryService(streamsBuilder);
+    }
+
+    /** The event's weight decayed from when it happened to the end of its tumbling window. */
+    private double scoreAtWindowEnd(UserEvent event, long windowMs) {
+        long timestamp = UserEventTimestampExtractor.epochMillis(event);
+        long windowEnd = timestamp - Math.floorMod(timestamp, windowMs) + windowMs;
+        return TrendingWorkerService.eventWeight(event.getEventType())
+            * Math.exp(-decayPerMinute * (windowEnd - timestamp) / 60_000.0);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.news_retrieval_system.streams;
+
+import java.time.ZoneId;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.streams.processor.TimestampExtractor;
+
+import com.example.news_retrieval_system.model.UserEvent;
+
+/**
+ * Windows user events by when they happened rather than when they were produced, the same clock
+ * {@code TrendingWorkerService} decays by. Event timestamps are local times of the system zone.
+ */
+public class UserEventTimestampExtractor implements TimestampExtractor {
+
+    @Override
+    public long extract(ConsumerRecord<Object, Object> record, long partitionTime) {
+        if (record.value() instanceof UserEvent event && event.getTimestamp() != null) {
+            return epochMillis(event);
+        }
+        return record.timestamp() >= 0 ? record.timestamp() : partitionTime;
+    }
+
+    static long epochMillis(UserEvent event) {
+        return event.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.news_retrieval_system;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Opt-in timing of the in-process data structures. A method annotated {@link Run} is skipped
+ * unless {@code -Dbench=true}; it never asserts on a timing, it prints what {@link #time} measured
+ * so two builds can be compared on the same machine:
+ * <pre>
+ * mvn test -Dtest=HnswBenchmark -Dbench=true -Dbench.size=1000000
+ * </pre>
+ * Paths that need Postgres run against a scratch database named by {@code -Dbench.jdbc.url}
+ * (see {@link #scratchDatabase}) and are skipped without one. They may truncate
+ * {@code news_articles}, so never point them at data you want to keep. Correctness of those
+ * paths is covered by the container-backed tests.
+ */
+public final class Benchmarks {
+
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "bench", matches = "true")
+    public @interface Run {
+    }
+
+    private Benchmarks() {
+    }
+
+    /** {@code -Dbench.size}, or {@code defaultSize}: the number of items a benchmark builds. */
+    public static int size(int defaultSize) {
+        return Integer.getInteger("bench.size", defaultSize);
+    }
+
+    /**
+     * A pool on {@code -Dbench.jdbc.url} ({@code -Dbench.jdbc.user}, {@code -Dbench.jdbc.password}),
+     * a database initialised with {@code postgres-init/init.sql}; skips the benchmark when no
+     * URL is given. The caller closes it.
+     */
+    public static HikariDataSource scratchDatabase(int poolSize) {
+        String url = System.getProperty("bench.jdbc.url", "");
+        Assumptions.assumeFalse(url.isBlank(), "no -Dbench.jdbc.url scratch database");
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(System.getProperty("bench.jdbc.user", "news"));
+        dataSource.setPassword(System.getProperty("bench.jdbc.password", "secret"));
+        dataSource.setMaximumPoolSize(poolSize);
+        return dataSource;
+    }
+
+    /**
+     * Runs {@code task} {@code iterations} times to warm up, then {@code iterations} times timed
+     * one by one, and prints the median and 99th percentile.
+     */
+    public static void time(String name, int iterations, Runnable task) {
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            task.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-60s p50 %9.1f us   p99 %9.1f us%n", name,
+            nanos[iterations / 2] / 1e3, nanos[Math.min(iterations - 1, (int) (iterations * 0.99))] / 1e3);
+    }
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -59,7 +60,7 @@ import com.example.news_retrieval_system.repository.NewsArticleRepository;
         "spring.jpa.hibernate.ddl-auto=validate"
     }
 )
-@Testcontainers
+@Testcontainers(disabledWithoutDocker = true)
 @Import({TestConfig.class, KafkaTestConfig.class})
 public class TrendingControllerTest {
 
@@ -178,6 +179,35 @@ public class TrendingControllerTest {
         verifyTrendingArticles(bangaloreEvent.getLatitude(), bangaloreEvent.getLongitude(), articleId3);
     }
 
+    @Test
+    void shouldContinueIntoFallbackWithoutRepeatingTrendingArticles() throws Exception {
+        UUID nearbyId = UUID.randomUUID();
+        newsArticleRepository.save(
+            createArticle(nearbyId, "Title 4", "Description 4", "http://example.com/4", 19.08, 72.88));
+        sendUserEvents(createUserEvent(articleId1, 19.075983, 72.877655));
+
+        // The leaderboard holds one article, so it ends exactly at the end of a one-article page
+        String url = "/api/v1/trending?lat=19.075983&lon=72.877655&limit=1";
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            ResponseEntity<List<NewsArticleDto>> first = restTemplate.exchange(
+                url, HttpMethod.GET, null, new ParameterizedTypeReference<List<NewsArticleDto>>() {});
+            assertThat(first.getBody()).extracting(NewsArticleDto::getArticleId).containsExactly(articleId1);
+            assertThat(first.getHeaders().getFirst("X-Next-Cursor")).isNotNull();
+        });
+        String cursor = restTemplate.exchange(url, HttpMethod.GET, null,
+            new ParameterizedTypeReference<List<NewsArticleDto>>() {}).getHeaders().getFirst("X-Next-Cursor");
+
+        List<UUID> rest = new ArrayList<>();
+        while (cursor != null) {
+            ResponseEntity<List<NewsArticleDto>> page = restTemplate.exchange(url + "&cursor=" + cursor,
+                HttpMethod.GET, null, new ParameterizedTypeReference<List<NewsArticleDto>>() {});
+            assertThat(page.getStatusCode()).isEqualTo(HttpStatus.OK);
+            page.getBody().forEach(article -> rest.add(article.getArticleId()));
+            cursor = page.getHeaders().getFirst("X-Next-Cursor");
+        }
+        assertThat(rest).contains(nearbyId).doesNotContain(articleId1);
+    }
+
     private UserEvent createUserEvent(UUID articleId, double lat, double lon) {
         UserEvent event = new UserEvent();
         event.setArticleId(articleId);
@@ -0,0 +1,36 @@
+package com.example.news_retrieval_system.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.news_retrieval_system.dto.NewsArticleDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class AppConfigTest {
+
+    private final AppConfig config = new AppConfig();
+
+    @Test
+    void everyEncodingRoundTripsAPage() throws Exception {
+        List<NewsArticleDto> page = ResponseEncodingBenchmark.page(50);
+        byte[] json = config.objectMapper().writeValueAsBytes(page);
+
+        for (ObjectMapper mapper : List.of(config.objectMapper(), config.smileHttpMessageConverter().getObjectMapper(),
+                config.cborHttpMessageConverter().getObjectMapper())) {
+            byte[] body = mapper.writeValueAsBytes(page);
+
+            assertThat(mapper.readValue(body, NewsArticleDto[].class)).containsExactlyElementsOf(page);
+            assertThat(body.length).as(mapper.getFactory().getFormatName()).isLessThanOrEqualTo(json.length);
+        }
+    }
+
+    @Test
+    void datesStayIsoStringsInJson() throws Exception {
+        String json = config.objectMapper().writeValueAsString(ResponseEncodingBenchmark.page(1));
+
+        assertThat(json).containsPattern("\"publication_date\":\"\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\"");
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.news_retrieval_system.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class KafkaConfigTest {
+
+    @Test
+    void listenersRunOnVirtualThreadsOnlyInVirtualMode() throws Exception {
+        assertThat(listenerExecutor(false)).isNull();
+
+        AsyncTaskExecutor executor = listenerExecutor(true);
+        CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+        executor.execute(() -> virtual.complete(Thread.currentThread().isVirtual()));
+        assertThat(virtual.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static AsyncTaskExecutor listenerExecutor(boolean virtualThreads) {
+        KafkaConfig config = new KafkaConfig();
+        ReflectionTestUtils.setField(config, "bootstrapServers", "localhost:9092");
+        ReflectionTestUtils.setField(config, "groupId", "trending_worker");
+        ReflectionTestUtils.setField(config, "virtualThreads", virtualThreads);
+        return config.kafkaListenerContainerFactory().getContainerProperties().getListenerTaskExecutor();
+    }
+}
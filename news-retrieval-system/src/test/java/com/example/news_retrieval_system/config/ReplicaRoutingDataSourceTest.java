@@ -0,0 +1,115 @@
+package com.example.news_retrieval_system.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Routing checks against two independent Postgres containers. They are not replicating: each one
+ * holds a marker row naming itself, so every read reveals which node served it.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicaRoutingDataSourceTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Container
+    private static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private HikariDataSource primaryPool;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primaryPool = pool("primary", primary);
+        routing = new ReplicaRoutingDataSource(primaryPool, List.of(pool("replica-1", replica)), 5, 60_000);
+        mark(primary, "primary");
+        mark(replica, "replica");
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryPool);
+        dataSource.setReadOnlyDataSource(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager txManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(txManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(txManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+        primaryPool.close();
+    }
+
+    @Test
+    void shouldServeReadOnlyTransactionsFromHealthyReplica() {
+        await().atMost(5, TimeUnit.SECONDS).until(() -> routing.isHealthy("replica-1"));
+
+        String readOnlyNode = readOnly.execute(status -> node());
+        String readWriteNode = readWrite.execute(status -> node());
+
+        assertThat(readOnlyNode).isEqualTo("replica");
+        assertThat(readWriteNode).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaIsDown() {
+        await().atMost(5, TimeUnit.SECONDS).until(() -> routing.isHealthy("replica-1"));
+
+        replica.getDockerClient().pauseContainerCmd(replica.getContainerId()).exec();
+        try {
+            routing.checkReplicas();
+            assertThat(routing.isHealthy("replica-1")).isFalse();
+            String readOnlyNode = readOnly.execute(status -> node());
+            assertThat(readOnlyNode).isEqualTo("primary");
+        } finally {
+            replica.getDockerClient().unpauseContainerCmd(replica.getContainerId()).exec();
+        }
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static HikariDataSource pool(String name, PostgreSQLContainer<?> container) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(container.getJdbcUrl());
+        pool.setUsername(container.getUsername());
+        pool.setPassword(container.getPassword());
+        pool.setMaximumPoolSize(2);
+        pool.setConnectionTimeout(1000);
+        pool.setValidationTimeout(250);
+        // A paused container accepts TCP but never answers; without this the lag check would hang
+        pool.addDataSourceProperty("socketTimeout", "2");
+        return pool;
+    }
+
+    private static void mark(PostgreSQLContainer<?> container, String name) {
+        try (HikariDataSource setup = pool("setup", container)) {
+            JdbcTemplate jdbc = new JdbcTemplate(setup);
+            jdbc.execute("CREATE TABLE IF NOT EXISTS node (name TEXT)");
+            jdbc.update("DELETE FROM node");
+            jdbc.update("INSERT INTO node VALUES (?)", name);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.news_retrieval_system.config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import com.example.news_retrieval_system.Benchmarks;
+import com.example.news_retrieval_system.dto.NewsArticleDto;
+import com.example.news_retrieval_system.model.NewsArticleView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Serialization CPU for one page, as /trending and /news/query return it, in each encoding the
+ * API can negotiate, against a plain JSON mapper without Blackbird. Each label carries the encoded
+ * size and the size ZstdResponseFilter sends to a client accepting zstd, with the filter set up
+ * from the application.properties defaults.
+ */
+class ResponseEncodingBenchmark {
+
+    private static final List<String> MIME_TYPES =
+        List.of("application/json", "application/x-jackson-smile", "application/cbor");
+
+    @Benchmarks.Run
+    void writeAndReadAPage() throws IOException, ServletException {
+        List<NewsArticleDto> page = page(Benchmarks.size(50));
+        AppConfig config = new AppConfig();
+        ZstdResponseFilter zstd = config.zstdResponseFilter(DataSize.ofKilobytes(2), MIME_TYPES, 3).getFilter();
+
+        ObjectMapper plain = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        measure("json, no blackbird", plain, "application/json", zstd, page);
+        measure("json", config.objectMapper(), "application/json", zstd, page);
+        measure("smile", config.smileHttpMessageConverter().getObjectMapper(), "application/x-jackson-smile", zstd, page);
+        measure("cbor", config.cborHttpMessageConverter().getObjectMapper(), "application/cbor", zstd, page);
+    }
+
+    private static void measure(String name, ObjectMapper mapper, String contentType, ZstdResponseFilter zstd,
+            List<NewsArticleDto> page) throws IOException, ServletException {
+        byte[] body = mapper.writeValueAsBytes(page);
+        String label = name + " page of " + page.size() + " (" + body.length + " bytes, "
+            + sentWithZstd(zstd, contentType, body) + " zstd)";
+        Benchmarks.time("write " + label, 20_000, () -> {
+            try {
+                mapper.writeValueAsBytes(page);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        Benchmarks.time("read " + label, 20_000, () -> {
+            try {
+                mapper.readValue(body, NewsArticleDto[].class);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /** Bytes on the wire once the body has passed through the filter; bodies under its threshold go out as-is. */
+    private static int sentWithZstd(ZstdResponseFilter filter, String contentType, byte[] body)
+            throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/trending");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "zstd");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType(contentType);
+                resp.getOutputStream().write(body);
+            }
+        };
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return response.getContentAsByteArray().length;
+    }
+
+    static List<NewsArticleDto> page(int articles) {
+        Random random = new Random(7);
+        String[] sources = {"The Hindu", "Times of India", "Reuters", "NDTV", "Hindustan Times"};
+        String[] categories = {"General", "Business", "Sports", "Technology", "World"};
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        List<NewsArticleDto> page = new ArrayList<>(articles);
+        for (int i = 0; i < articles; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            NewsArticleView view = new NewsArticleView(id, "Monsoon rains disrupt traffic across the city, day " + i,
+                "Heavy rainfall led to waterlogging in several low-lying areas as commuters faced long delays on "
+                    + "arterial roads; officials urged residents to avoid non-essential travel. Update " + i,
+                "https://example.com/news/" + id, now.minusMinutes(random.nextInt(48 * 60)),
+                sources[random.nextInt(sources.length)], List.of(categories[random.nextInt(categories.length)]),
+                random.nextDouble(), 19.0 + random.nextDouble(), 72.8 + random.nextDouble());
+            page.add(new NewsArticleDto(view, view.description()));
+        }
+        return page;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.news_retrieval_system.config;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import com.example.news_retrieval_system.Benchmarks;
+
+/**
+ * Time to "Started NewsRetrievalSystemApplication" and resident memory at that point for each
+ * packaged variant found under target/: the plain jar, the extracted AOT jar with and without
+ * its CDS archive (mvn -Paot package) and the native executable (mvn -Pnative native:compile).
+ * Every variant starts for real, so Postgres, Redis and Kafka must be reachable, e.g. through
+ * docker-compose with the ports published and the SPRING_* variables pointing at localhost.
+ * Skipped when nothing has been packaged; {@code -Dbench.runs} is the number of starts per variant:
+ * <pre>
+ * mvn -Paot package -DskipTests
+ * mvn test -Dtest=StartupBenchmark -Dbench=true -Dbench.runs=5
+ * </pre>
+ */
+@EnabledOnOs(OS.LINUX)
+class StartupBenchmark {
+
+    private static final String STARTED = "Started NewsRetrievalSystemApplication";
+    private static final long START_TIMEOUT_SECONDS = 120;
+    // Free port, no warm-start replay, and nothing left behind for the next run
+    private static final List<String> APP_ARGS = List.of("--server.port=0", "--trending.rebuild.enabled=false");
+
+    private final Path target = Paths.get("target");
+    private final String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+
+    @Benchmarks.Run
+    void compareStartupVariants() throws Exception {
+        int runs = Integer.getInteger("bench.runs", 3);
+        String jar = "news-retrieval-system-0.0.1-SNAPSHOT.jar";
+        Path cds = target.resolve("cds");
+
+        List<Variant> variants = new ArrayList<>();
+        if (Files.exists(target.resolve(jar))) {
+            variants.add(new Variant("jar", target, List.of(java, "-jar", jar)));
+        }
+        if (Files.exists(cds.resolve(jar))) {
+            variants.add(new Variant("aot", cds, List.of(java, "-Dspring.aot.enabled=true", "-jar", jar)));
+        }
+        if (Files.exists(cds.resolve("application.jsa"))) {
+            variants.add(new Variant("aot + cds", cds, List.of(java, "-XX:SharedArchiveFile=application.jsa",
+                "-Dspring.aot.enabled=true", "-jar", jar)));
+        }
+        if (Files.isExecutable(target.resolve("news-retrieval-system"))) {
+            variants.add(new Variant("native", target, List.of("./news-retrieval-system")));
+        }
+        Assumptions.assumeFalse(variants.isEmpty(), "no packaged variants under target/");
+
+        System.out.printf("%n%-12s %12s %12s %12s%n", "variant", "best ms", "median ms", "RSS MB");
+        for (Variant variant : variants) {
+            long[] millis = new long[runs];
+            long rssKb = 0;
+            for (int run = 0; run < runs; run++) {
+                Sample sample = start(variant);
+                millis[run] = sample.millis();
+                rssKb = Math.max(rssKb, sample.rssKb());
+            }
+            Arrays.sort(millis);
+            System.out.printf("%-12s %12d %12d %12d%n", variant.name(), millis[0], millis[runs / 2], rssKb / 1024);
+        }
+    }
+
+    private Sample start(Variant variant) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(variant.command());
+        command.addAll(APP_ARGS);
+        long begin = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+            .directory(variant.directory().toFile())
+            .redirectErrorStream(true)
+            .start();
+        try (BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            long deadline = begin + TimeUnit.SECONDS.toNanos(START_TIMEOUT_SECONDS);
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (line.contains(STARTED)) {
+                    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+                    return new Sample(millis, residentKb(process.pid()));
+                }
+                if (System.nanoTime() > deadline) {
+                    break;
+                }
+            }
+            throw new IllegalStateException(variant.name() + " did not start within " + START_TIMEOUT_SECONDS + "s");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static long residentKb(long pid) throws IOException {
+        for (String line : Files.readAllLines(Paths.get("/proc", String.valueOf(pid), "status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D+", ""));
+            }
+        }
+        return 0;
+    }
+
+    private record Variant(String name, Path directory, List<String> command) {
+    }
+
+    private record Sample(long millis, long rssKb) {
+    }
+}
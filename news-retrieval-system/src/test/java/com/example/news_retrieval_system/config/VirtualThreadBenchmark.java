@@ -0,0 +1,106 @@
+package com.example.news_retrieval_system.config;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import com.example.news_retrieval_system.Benchmarks;
+
+/**
+ * Request throughput of the default 200-thread Tomcat pool against thread-per-request on virtual
+ * threads, for the blocking shape of {@code GET /api/v1/news/query}: a JDBC call bounded by the
+ * Hikari pool followed by a longer remote wait (Redis/LLM) that holds no connection.
+ *
+ * {@code -Dbench.size} is the number of requests:
+ * <pre>
+ * mvn test -Dtest=VirtualThreadBenchmark -Dbench=true -Dbench.size=20000
+ * </pre>
+ */
+class VirtualThreadBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int JDBC_POOL = 40;
+    private static final long DB_MILLIS = 5;
+    private static final long REMOTE_MILLIS = 50;
+
+    @Benchmarks.Run
+    void compareRequestExecutors() throws Exception {
+        int requests = Benchmarks.size(20_000);
+
+        Result platform;
+        try (ExecutorService executor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS)) {
+            platform = run("platform pool (" + TOMCAT_MAX_THREADS + ")", executor, requests);
+        }
+        Result virtual;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            virtual = run("virtual per request", executor, requests);
+        }
+
+        System.out.printf("%n%-28s %12s %10s %10s %14s %12s%n", "executor", "req/sec", "p50 ms", "p99 ms", "peak threads", "heap MB");
+        platform.print();
+        virtual.print();
+    }
+
+    private Result run(String name, ExecutorService executor, int requests) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        System.gc();
+        long heapBefore = usedHeap();
+
+        Semaphore jdbcPool = new Semaphore(JDBC_POOL);
+        AtomicIntegerArray latencies = new AtomicIntegerArray(requests);
+        AtomicInteger heapPeak = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(requests);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            long submitted = System.nanoTime();
+            executor.submit(() -> {
+                try {
+                    jdbcPool.acquire();
+                    try {
+                        Thread.sleep(DB_MILLIS);
+                    } finally {
+                        jdbcPool.release();
+                    }
+                    Thread.sleep(REMOTE_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                latencies.set(index, (int) ((System.nanoTime() - submitted) / 1_000_000));
+                if (index % 1000 == 0) {
+                    heapPeak.accumulateAndGet((int) ((usedHeap() - heapBefore) >> 20), Math::max);
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int[] sorted = new int[requests];
+        for (int i = 0; i < requests; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+        return new Result(name, requests / seconds, sorted[requests / 2], sorted[(int) (requests * 0.99)],
+            threads.getPeakThreadCount(), heapPeak.get());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private record Result(String name, double throughput, int p50, int p99, int peakThreads, int heapMb) {
+        void print() {
+            System.out.printf("%-28s %12.0f %10d %10d %14d %12d%n", name, throughput, p50, p99, peakThreads, heapMb);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.news_retrieval_system.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import com.github.luben.zstd.Zstd;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class ZstdResponseFilterTest {
+
+    private final ZstdResponseFilter filter =
+        new ZstdResponseFilter(DataSize.ofKilobytes(2), List.of("application/json"), 3);
+
+    @Test
+    void compressesLargeJsonForClientsAcceptingZstd() throws Exception {
+        String body = "[" + "{\"title\":\"Monsoon rains\"},".repeat(200) + "{}]";
+        MockHttpServletResponse response = filter(body, "application/json", "gzip, zstd");
+
+        byte[] compressed = response.getContentAsByteArray();
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("zstd");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(compressed.length).isLessThan(body.length());
+        assertThat(new String(Zstd.decompress(compressed, body.length()), StandardCharsets.UTF_8)).isEqualTo(body);
+    }
+
+    @Test
+    void leavesSmallOrOtherResponsesAlone() throws Exception {
+        String large = "x".repeat(4096);
+
+        assertThat(filter("{}", "application/json", "zstd").getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(filter(large, "text/plain", "zstd").getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        MockHttpServletResponse gzipOnly = filter(large, "application/json", "gzip");
+        assertThat(gzipOnly.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(gzipOnly.getContentAsString()).isEqualTo(large);
+    }
+
+    @Test
+    void honoursAZeroQuality() {
+        assertThat(ZstdResponseFilter.acceptsZstd("br;q=1.0, ZSTD;q=0.5")).isTrue();
+        assertThat(ZstdResponseFilter.acceptsZstd("gzip, zstd;q=0")).isFalse();
+        assertThat(ZstdResponseFilter.acceptsZstd("zstd;q=0.0")).isFalse();
+        assertThat(ZstdResponseFilter.acceptsZstd(null)).isFalse();
+    }
+
+    private MockHttpServletResponse filter(String body, String contentType, String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/trending");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType(contentType);
+                resp.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.news_retrieval_system.dedup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.news_retrieval_system.model.NewsArticle;
+
+class ArticleClusterServiceTest {
+
+    private static final String WIRE_TITLE = "Monsoon to arrive over Kerala by June 4, says IMD";
+    private static final String WIRE_BODY = "The southwest monsoon is likely to set in over Kerala by June 4, the India "
+        + "Meteorological Department said on Sunday, adding that conditions were becoming favourable for its onset "
+        + "over the southern peninsula in the coming days.";
+
+    private ArticleClusterService clusters;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // No database: the startup catch-up fails and clustering runs on what is assigned here
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenThrow(new SQLException("no database"));
+        clusters = new ArticleClusterService(dataSource, true, 32, 4, 3, 0.5, 72, 2);
+    }
+
+    @Test
+    void wireCopiesJoinTheFirstArticlesCluster() {
+        NewsArticle ani = article("ANI News", WIRE_TITLE, WIRE_BODY);
+        NewsArticle pti = article("PTI News", "Monsoon likely to arrive over Kerala by June 4: IMD",
+            WIRE_BODY.replace("on Sunday", "on Sunday evening"));
+        NewsArticle unrelated = article("NDTV", "India beat Australia by six wickets in the third ODI",
+            "Chasing 270, India rode on a century from the captain to win with two overs to spare and take the series.");
+
+        clusters.assign(List.of(ani, pti, unrelated));
+
+        assertThat(ani.getClusterId()).isEqualTo(ani.getId());
+        assertThat(pti.getClusterId()).isEqualTo(ani.getId());
+        assertThat(unrelated.getClusterId()).isEqualTo(unrelated.getId());
+        assertThat(clusters.clusterOf(pti.getId())).isEqualTo(ani.getId());
+
+        // Re-ingesting an article keeps its cluster
+        NewsArticle again = article("PTI News", "Something else entirely", "Different text altogether.");
+        again.setId(pti.getId());
+        clusters.assign(List.of(again));
+        assertThat(again.getClusterId()).isEqualTo(ani.getId());
+    }
+
+    @Test
+    void pagesKeepTheBestRankedCopyOfEachCluster() {
+        NewsArticle ani = article("ANI News", WIRE_TITLE, WIRE_BODY);
+        NewsArticle pti = article("PTI News", WIRE_TITLE, WIRE_BODY + " Kerala usually gets its first rains on June 1.");
+        NewsArticle b = article("NDTV", "Sensex ends 500 points higher on banking gains",
+            "Benchmark indices closed sharply higher on Monday led by gains in banking and financial stocks.");
+        NewsArticle c = article("News18", "Delhi metro extends timings for the weekend",
+            "The Delhi Metro Rail Corporation said trains on all lines will run an hour later on Saturday and Sunday.");
+        NewsArticle copy = article("Hindustan Times", WIRE_TITLE, WIRE_BODY);
+        clusters.assign(List.of(ani, pti, b, c, copy));
+        UUID unknown = UUID.randomUUID();
+
+        // fetchSize(2) = 5: four rows consumed plus one that says more follow
+        List<UUID> ranked = List.of(pti.getId(), ani.getId(), b.getId(), unknown, c.getId());
+        ArticleClusterService.Page<UUID> page = clusters.page(ranked, 2, Function.identity(), new HashSet<>());
+        assertThat(page.items()).containsExactly(pti.getId(), b.getId());
+        assertThat(page.anchor()).isEqualTo(b.getId());
+
+        // Copies collapsed at the end of a page are skipped by anchoring after them
+        Set<UUID> shown = new HashSet<>();
+        page = clusters.page(List.of(b.getId(), pti.getId(), ani.getId(), copy.getId(), c.getId()), 2,
+            Function.identity(), shown);
+        assertThat(page.items()).containsExactly(b.getId(), pti.getId());
+        assertThat(page.anchor()).isEqualTo(copy.getId());
+        assertThat(shown).containsExactlyInAnyOrder(b.getId(), ani.getId());
+
+        // The last page has no anchor
+        page = clusters.page(List.of(ani.getId(), copy.getId()), 2, Function.identity(), new HashSet<>());
+        assertThat(page.items()).containsExactly(ani.getId());
+        assertThat(page.anchor()).isNull();
+    }
+
+    @Test
+    void aRowAssignedByAnotherInstanceFirstTakesTheStoredCluster() throws SQLException {
+        UUID id = UUID.randomUUID();
+        UUID stored = UUID.randomUUID();
+        ResultSet unassigned = mock(ResultSet.class);
+        when(unassigned.next()).thenReturn(true, false);
+        when(unassigned.getObject("id", UUID.class)).thenReturn(id);
+        when(unassigned.getString("title")).thenReturn(WIRE_TITLE);
+        when(unassigned.getString("description")).thenReturn(WIRE_BODY);
+        when(unassigned.getTimestamp("publication_date")).thenReturn(Timestamp.valueOf(LocalDateTime.now()));
+        PreparedStatement select = mock(PreparedStatement.class);
+        when(select.executeQuery()).thenReturn(unassigned);
+        // The other instance's UPDATE committed between our SELECT and ours
+        PreparedStatement update = mock(PreparedStatement.class);
+        when(update.executeBatch()).thenReturn(new int[] {0});
+        ResultSet storedRow = mock(ResultSet.class);
+        when(storedRow.next()).thenReturn(true);
+        when(storedRow.getObject("cluster_id", UUID.class)).thenReturn(stored);
+        PreparedStatement reselect = mock(PreparedStatement.class);
+        when(reselect.executeQuery()).thenReturn(storedRow);
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            return sql.startsWith("UPDATE") ? update : sql.contains("created_at") ? select : reselect;
+        });
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        ArticleClusterService service = new ArticleClusterService(dataSource, true, 32, 4, 3, 0.5, 72, 2);
+        service.catchUp();
+
+        assertThat(service.clusterOf(id)).isEqualTo(stored);
+    }
+
+    private static NewsArticle article(String source, String title, String description) {
+        NewsArticle article = new NewsArticle();
+        article.setId(UUID.randomUUID());
+        article.setSourceName(source);
+        article.setTitle(title);
+        article.setDescription(description);
+        article.setPublicationDate(LocalDateTime.now());
+        return article;
+    }
+}
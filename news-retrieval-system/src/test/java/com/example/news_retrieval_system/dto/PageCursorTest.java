@@ -0,0 +1,73 @@
+package com.example.news_retrieval_system.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class PageCursorTest {
+
+    private final UUID id = UUID.fromString("0072f07c-922c-451f-baf6-0c5cf0655aca");
+
+    @Test
+    void shouldRoundTripPublicationDateCursor() {
+        LocalDateTime publishedAt = LocalDateTime.of(2025, 3, 26, 4, 46, 55);
+
+        PageCursor decoded = PageCursor.decode(PageCursor.of("category", publishedAt, id).encode());
+
+        assertThat(decoded.getIntent()).isEqualTo("category");
+        assertThat(decoded.getPublishedAt()).isEqualTo(publishedAt);
+        assertThat(decoded.getLastId()).isEqualTo(id);
+    }
+
+    @Test
+    void shouldRoundTripScoreWithoutLosingPrecision() {
+        double score = (double) 0.86f; // REAL column widened to double
+
+        PageCursor decoded = PageCursor.decode(PageCursor.of("score", score, id).encode());
+
+        assertThat(decoded.getScore()).isEqualTo(score);
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> PageCursor.decode("not-a-cursor"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRoundTripFilterWindowStart() {
+        LocalDateTime since = LocalDateTime.of(2025, 3, 25, 4, 46, 55);
+
+        assertThat(PageCursor.decode(PageCursor.of("filtered", since, id).encode()).getWindowStart()).isEqualTo(since);
+        assertThat(PageCursor.decode(PageCursor.of("filtered", (LocalDateTime) null, id).encode()).getWindowStart()).isNull();
+    }
+
+    @Test
+    void shouldRoundTripContextAndAcceptCursorsWithoutOne() {
+        String analysis = "{\"intents\":[\"search\"],\"entities\":{\"search_query\":\"a|b\"}}";
+
+        PageCursor decoded = PageCursor.decode(PageCursor.of("search", id).withContext(analysis).encode());
+
+        assertThat(decoded.getContext()).isEqualTo(analysis);
+        assertThat(decoded.getLastId()).isEqualTo(id);
+        assertThat(PageCursor.decode(PageCursor.of("search", id).encode()).getContext()).isNull();
+    }
+
+    @Test
+    void shouldRejectSortKeyThatDoesNotFitItsIntent() {
+        for (String raw : new String[] {"category|0.5|", "score|yesterday|", "trending|NaN|", "nearby|0.5|",
+                "filtered|soon|", "unknown||", "score|0.5|not-a-uuid"}) {
+            String token = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((raw.endsWith("|") ? raw + id : raw).getBytes(StandardCharsets.UTF_8));
+            assertThatThrownBy(() -> PageCursor.decode(token))
+                .as(raw)
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.news_retrieval_system.engagement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.example.news_retrieval_system.model.UserEvent;
+
+class EngagementAggregatorTest {
+
+    private static final String TOPIC = "user_events";
+    private static final LocalDateTime AT = LocalDateTime.of(2026, 1, 1, 12, 15);
+
+    private final EngagementStore store = mock(EngagementStore.class);
+    private final EngagementAggregator aggregator = new EngagementAggregator(store, TOPIC, 1000);
+
+    @Test
+    void flushesOneRowPerArticleAndHourWithTheNextOffsets() {
+        UUID article = UUID.randomUUID();
+        aggregator.onEvent(record(0, 0, article, UserEvent.EventType.VIEW, AT));
+        aggregator.onEvent(record(0, 1, article, UserEvent.EventType.VIEW, AT.plusMinutes(30)));
+        aggregator.onEvent(record(1, 7, article, UserEvent.EventType.SHARE, AT));
+        aggregator.onEvent(record(1, 8, article, UserEvent.EventType.CLICK, AT.plusHours(1)));
+        aggregator.onEvent(new ConsumerRecord<>(TOPIC, 1, 9, null, null));
+
+        aggregator.flush();
+
+        List<EngagementRow> rows = written(1).get(0);
+        assertThat(rows).containsExactly(
+            new EngagementRow(article, hour(AT), 2, 0, 1),
+            new EngagementRow(article, hour(AT.plusHours(1)), 0, 1, 0));
+        verify(store).write(TOPIC, rows, Map.of(0, 2L, 1, 10L));
+
+        // Nothing buffered: no write at all
+        aggregator.flush();
+        verify(store, times(1)).write(anyString(), anyList(), anyMap());
+    }
+
+    @Test
+    void keepsCountsOfAFailedFlushForTheNextOne() {
+        UUID article = UUID.randomUUID();
+        doThrow(new DataAccessResourceFailureException("down")).doNothing()
+            .when(store).write(anyString(), anyList(), anyMap());
+
+        aggregator.onEvent(record(0, 0, article, UserEvent.EventType.VIEW, AT));
+        aggregator.flush();
+        aggregator.onEvent(record(0, 1, article, UserEvent.EventType.VIEW, AT));
+        aggregator.flush();
+
+        assertThat(written(2).get(1)).containsExactly(new EngagementRow(article, hour(AT), 2, 0, 0));
+    }
+
+    @Test
+    void dropsRevokedPartitionsItCouldNotFlush() {
+        doThrow(new DataAccessResourceFailureException("down")).when(store).write(anyString(), anyList(), anyMap());
+        aggregator.onEvent(record(0, 0, UUID.randomUUID(), UserEvent.EventType.VIEW, AT));
+
+        aggregator.onPartitionsRevoked(List.of(new TopicPartition(TOPIC, 0)));
+        aggregator.flush();
+
+        // The failed flush on revocation only; the new owner replays from the stored offset
+        verify(store, times(1)).write(anyString(), anyList(), anyMap());
+    }
+
+    @Test
+    void flushesEarlyOnceTooManyArticleHoursArePending() {
+        EngagementAggregator small = new EngagementAggregator(store, TOPIC, 2);
+        small.onEvent(record(0, 0, UUID.randomUUID(), UserEvent.EventType.VIEW, AT));
+        verify(store, never()).write(any(), any(), any());
+
+        small.onEvent(record(0, 1, UUID.randomUUID(), UserEvent.EventType.VIEW, AT));
+
+        assertThat(written(1).get(0)).hasSize(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<EngagementRow>> written(int times) {
+        ArgumentCaptor<List<EngagementRow>> rows = ArgumentCaptor.forClass(List.class);
+        verify(store, times(times)).write(anyString(), rows.capture(), anyMap());
+        return rows.getAllValues();
+    }
+
+    private static ConsumerRecord<String, UserEvent> record(int partition, long offset, UUID articleId,
+                                                           UserEvent.EventType type, LocalDateTime at) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, null, new UserEvent(articleId, type, at, 19.07, 72.87));
+    }
+
+    private static Instant hour(LocalDateTime at) {
+        return at.withMinute(0).atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.news_retrieval_system.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class ArticleBitmapIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private final ArticleBitmapIndex index = new ArticleBitmapIndex();
+
+    @Test
+    void combinesCategorySourceAndTimeWindow() {
+        index.add(id(1), NOW.minusHours(1), 0.9, "PTI", List.of("sports"));
+        index.add(id(2), NOW.minusHours(30), 0.9, "PTI", List.of("sports"));
+        index.add(id(3), NOW.minusHours(2), 0.9, "ANI", List.of("sports"));
+        index.add(id(4), NOW.minusHours(3), 0.4, "PTI", List.of("sports", "national"));
+        index.add(id(5), NOW.minusMinutes(10), 0.9, "PTI", List.of("world"));
+
+        ArticleFilter sportsFromPtiToday = new ArticleFilter(Set.of("sports"), Set.of("PTI"), NOW.minusHours(24), null,
+            ArticleFilter.Order.RECENCY);
+        assertThat(index.find(sportsFromPtiToday, null, 10)).containsExactly(id(1), id(4));
+
+        ArticleFilter sportsOrWorldAboveHalf = new ArticleFilter(Set.of("sports", "world"), Set.of(), null, 0.5,
+            ArticleFilter.Order.RECENCY);
+        assertThat(index.find(sportsOrWorldAboveHalf, null, 10)).containsExactly(id(5), id(1), id(3), id(2));
+
+        assertThat(index.find(new ArticleFilter(Set.of("weather"), Set.of(), null, null, ArticleFilter.Order.RECENCY),
+            null, 10)).isEmpty();
+    }
+
+    @Test
+    void pagesByScoreAndRetiresReplacedRows() {
+        for (int i = 0; i < 100; i++) {
+            index.add(id(i), NOW.minusMinutes(i), (i % 10) / 10.0, "PTI", List.of("sports"));
+        }
+        // Re-ingested with a new category: only the new row may match
+        index.add(id(7), NOW, 0.95, "PTI", List.of("world"));
+
+        ArticleFilter bySport = new ArticleFilter(Set.of("sports"), Set.of("PTI"), null, null, ArticleFilter.Order.SCORE);
+        List<UUID> all = new ArrayList<>();
+        UUID afterId = null;
+        List<UUID> page;
+        while (!(page = index.find(bySport, afterId, 7)).isEmpty()) {
+            all.addAll(page);
+            afterId = page.get(page.size() - 1);
+        }
+
+        assertThat(all).hasSize(99).doesNotContain(id(7)).doesNotHaveDuplicates();
+        assertThat(all.subList(0, 9)).containsExactly(id(99), id(89), id(79), id(69), id(59), id(49), id(39), id(29), id(19));
+        assertThat(index.size()).isEqualTo(100);
+    }
+
+    @Test
+    void findsAnchorsAndReplacementsPastTheFirstIdTable() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            index.add(id, NOW.minusMinutes(i), 0.5, "PTI", List.of("sports"));
+        }
+        // Move the newest article to another category, after the table has grown twice
+        index.add(ids.get(0), NOW, 0.5, "PTI", List.of("world"));
+
+        ArticleFilter sports = new ArticleFilter(Set.of("sports"), Set.of(), null, null, ArticleFilter.Order.RECENCY);
+        assertThat(index.size()).isEqualTo(5000);
+        assertThat(index.find(sports, null, 1)).containsExactly(ids.get(1));
+        assertThat(index.find(sports, ids.get(4000), 2)).containsExactly(ids.get(4001), ids.get(4002));
+        assertThat(index.find(sports, UUID.randomUUID(), 2)).isEmpty();
+    }
+
+    private static UUID id(int n) {
+        return new UUID(0, n);
+    }
+}
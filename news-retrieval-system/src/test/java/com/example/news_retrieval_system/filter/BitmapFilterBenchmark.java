@@ -0,0 +1,46 @@
+package com.example.news_retrieval_system.filter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import com.example.news_retrieval_system.Benchmarks;
+
+/**
+ * Lookup latency of combined filters over a synthetic catalogue spread over the default 30-day
+ * window of {@link BitmapFilterService}.
+ */
+class BitmapFilterBenchmark {
+
+    private static final String[] SOURCES = {"PTI", "ANI", "Reuters", "The Hindu", "Hindustan Times", "NDTV",
+        "Times of India", "Indian Express", "Mint", "News18"};
+    private static final String[] CATEGORIES = {"sports", "business", "world", "national", "technology",
+        "entertainment", "politics", "science", "health", "general"};
+
+    @Benchmarks.Run
+    void combinedFilters() {
+        int size = Benchmarks.size(1_000_000);
+        Random random = new Random(2);
+        LocalDateTime now = LocalDateTime.now();
+        ArticleBitmapIndex index = new ArticleBitmapIndex();
+        long start = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            index.add(new UUID(random.nextLong(), random.nextLong()), now.minusMinutes(random.nextInt(30 * 24 * 60)),
+                random.nextDouble(), SOURCES[random.nextInt(SOURCES.length)],
+                List.of(CATEGORIES[random.nextInt(CATEGORIES.length)]));
+        }
+        System.out.printf("Indexed %d articles in %d ms%n", size, (System.nanoTime() - start) / 1_000_000);
+
+        List<ArticleFilter> filters = List.of(
+            new ArticleFilter(Set.of("sports"), Set.of("PTI"), now.minusHours(24), null, ArticleFilter.Order.RECENCY),
+            new ArticleFilter(Set.of("sports", "business"), Set.of("PTI", "ANI"), now.minusDays(30), 0.7,
+                ArticleFilter.Order.RECENCY),
+            new ArticleFilter(Set.of("world"), Set.of(), now.minusDays(7), null, ArticleFilter.Order.SCORE));
+        for (ArticleFilter filter : filters) {
+            Benchmarks.time(filter.categories() + " " + filter.sources() + " " + filter.constraints() + " constraints",
+                200, () -> index.find(filter, null, 11));
+        }
+    }
+}
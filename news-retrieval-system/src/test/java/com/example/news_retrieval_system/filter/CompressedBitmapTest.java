@@ -0,0 +1,58 @@
+package com.example.news_retrieval_system.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class CompressedBitmapTest {
+
+    @Test
+    void andOrMatchBitSetAcrossSparseAndDenseChunks() {
+        Random random = new Random(4);
+        for (int round = 0; round < 20; round++) {
+            BitSet expectedA = new BitSet();
+            BitSet expectedB = new BitSet();
+            CompressedBitmap a = fill(random, expectedA);
+            CompressedBitmap b = fill(random, expectedB);
+
+            BitSet and = (BitSet) expectedA.clone();
+            and.and(expectedB);
+            BitSet or = (BitSet) expectedA.clone();
+            or.or(expectedB);
+
+            assertThat(toBitSet(CompressedBitmap.and(a, b))).isEqualTo(and);
+            assertThat(toBitSet(CompressedBitmap.or(a, b))).isEqualTo(or);
+            assertThat(toBitSet(CompressedBitmap.orAll(List.of(a, b)))).isEqualTo(or);
+            assertThat(a.cardinality()).isEqualTo(expectedA.cardinality());
+        }
+    }
+
+    /** A mix of chunk densities so array, bitmap and mixed container pairs all meet. */
+    private static CompressedBitmap fill(Random random, BitSet expected) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int chunk = 0; chunk < 6; chunk++) {
+            int density = new int[] {0, 20, 3_000, 5_000, 40_000}[random.nextInt(5)];
+            for (int i = 0; i < density; i++) {
+                int value = (chunk << 16) | random.nextInt(1 << 16);
+                bitmap.add(value);
+                expected.set(value);
+            }
+        }
+        return bitmap;
+    }
+
+    private static BitSet toBitSet(CompressedBitmap bitmap) {
+        BitSet bits = new BitSet();
+        int[] previous = {-1};
+        bitmap.forEach(value -> {
+            assertThat(value).isGreaterThan(previous[0]);
+            previous[0] = value;
+            bits.set(value);
+        });
+        return bits;
+    }
+}
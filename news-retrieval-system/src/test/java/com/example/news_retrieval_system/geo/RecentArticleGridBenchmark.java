@@ -0,0 +1,49 @@
+package com.example.news_retrieval_system.geo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import com.example.news_retrieval_system.Benchmarks;
+import com.example.news_retrieval_system.model.NewsArticleView;
+
+/**
+ * Build time and radius lookup latency of the recent article grid, with articles spread over
+ * Indian cities like the seed data.
+ */
+class RecentArticleGridBenchmark {
+
+    private static final double[][] CITIES = {{19.07, 72.87}, {28.61, 77.21}, {12.97, 77.59}, {13.08, 80.27},
+        {22.57, 88.36}, {17.38, 78.48}, {18.52, 73.85}, {23.02, 72.57}, {26.85, 80.95}, {26.91, 75.79}};
+
+    @Benchmarks.Run
+    void radiusLookups() {
+        int size = Benchmarks.size(200_000);
+        Random random = new Random(5);
+        LocalDateTime now = LocalDateTime.now();
+        List<NewsArticleView> articles = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            double[] city = CITIES[random.nextInt(CITIES.length)];
+            articles.add(new NewsArticleView(new UUID(0, i), "Title", "Description", "https://example.com/" + i,
+                now.minusMinutes(random.nextInt(48 * 60)), "Source", List.of("General"), random.nextDouble(),
+                city[0] + random.nextGaussian() * 0.5, city[1] + random.nextGaussian() * 0.5));
+        }
+
+        long start = System.nanoTime();
+        RecentArticleGrid grid = RecentArticleGrid.build(articles, 0.25);
+        System.out.printf("Grid of %d articles built in %d ms%n", size, (System.nanoTime() - start) / 1_000_000);
+
+        long minPublishedAt = RecentArticleIndex.epochMillis(now.minusHours(48));
+        List<NewsArticleView> out = new ArrayList<>();
+        for (int radiusKm : new int[] {10, 50}) {
+            Benchmarks.time("radius " + radiusKm + " km around a city", 2000, () -> {
+                double[] city = CITIES[random.nextInt(CITIES.length)];
+                out.clear();
+                grid.collectWithin(city[0] + random.nextGaussian() * 0.2, city[1] + random.nextGaussian() * 0.2,
+                    radiusKm, minPublishedAt, out);
+            });
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.news_retrieval_system.geo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.news_retrieval_system.model.NewsArticleView;
+
+class RecentArticleGridTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @Test
+    void radiusLookupsMatchABruteForceScan() {
+        Random random = new Random(11);
+        List<NewsArticleView> articles = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            articles.add(article(i, random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180,
+                random.nextInt(72)));
+        }
+        // Clusters on the antimeridian and near a pole, where the bounding box wraps or widens
+        for (int i = 0; i < 2_000; i++) {
+            articles.add(article(20_000 + i, -16 + random.nextGaussian(), 179.5 + random.nextGaussian(), 1));
+            articles.add(article(30_000 + i, 89 + random.nextDouble(), random.nextDouble() * 360 - 180, 1));
+        }
+        RecentArticleGrid grid = RecentArticleGrid.build(articles, 0.25);
+        long minPublishedAt = RecentArticleIndex.epochMillis(NOW.minusHours(48));
+
+        double[][] queries = {{19.07, 72.87, 100}, {-16.2, 179.9, 150}, {-16.2, -179.9, 80}, {89.5, 10, 200},
+            {0, 0, 1}, {45, -120, 500}};
+        for (double[] query : queries) {
+            List<NewsArticleView> found = new ArrayList<>();
+            grid.collectWithin(query[0], query[1], query[2], minPublishedAt, found);
+
+            List<NewsArticleView> expected = new ArrayList<>();
+            RecentArticleGrid.scanWithin(articles, query[0], query[1], query[2], minPublishedAt, expected);
+
+            assertThat(found).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    void skipsArticlesOutsideTheWindow() {
+        RecentArticleGrid grid = RecentArticleGrid.build(List.of(article(1, 19.0, 72.8, 2), article(2, 19.0, 72.8, 60)), 0.25);
+
+        List<NewsArticleView> found = new ArrayList<>();
+        grid.collectWithin(19.0, 72.8, 5, RecentArticleIndex.epochMillis(NOW.minusHours(48)), found);
+
+        assertThat(found).extracting(NewsArticleView::id).containsExactly(new UUID(0, 1));
+    }
+
+    private static NewsArticleView article(int id, double lat, double lon, int hoursOld) {
+        return new NewsArticleView(new UUID(0, id), "Title", "Description", "https://example.com/" + id,
+            NOW.minusHours(hoursOld), "Source", List.of("General"), 0.5, lat, lon);
+    }
+}
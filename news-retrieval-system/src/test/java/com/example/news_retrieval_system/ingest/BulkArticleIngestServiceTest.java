@@ -0,0 +1,74 @@
+package com.example.news_retrieval_system.ingest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.news_retrieval_system.dedup.ArticleClusterService;
+import com.example.news_retrieval_system.model.NewsArticle;
+import com.example.news_retrieval_system.service.ArticlePartitionManager;
+
+class BulkArticleIngestServiceTest {
+
+    private static final int IDS = 10;
+    private static final int COPIES = 6;
+
+    @Test
+    void copiesOfAnIdAreChunkedInFileOrderOnOneWorker() throws Exception {
+        // Chunks stop at the connection; clustering runs just before it, in the worker that owns the chunk
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenThrow(new SQLException("no database"));
+        ArticleClusterService clusters = mock(ArticleClusterService.class);
+        List<String> seen = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<NewsArticle> chunk = invocation.getArgument(0);
+            synchronized (seen) {
+                chunk.forEach(article -> seen.add(Thread.currentThread().getName() + " " + article.getId()
+                    + " " + article.getTitle()));
+            }
+            return null;
+        }).when(clusters).assign(anyList());
+        BulkArticleIngestService service = new BulkArticleIngestService(dataSource, mock(ArticlePartitionManager.class),
+            clusters, 4, 4);
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int copy = 0; copy < COPIES; copy++) {
+            for (int i = 0; i < IDS; i++) {
+                ndjson.append(article(new UUID(0, i), "v" + copy)).append('\n');
+            }
+        }
+        IngestResult result = service.ingestStream(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getParsed()).isEqualTo(IDS * COPIES);
+        assertThat(seen).hasSize(IDS * COPIES);
+        Map<String, List<String[]>> byId = seen.stream().map(line -> line.split(" "))
+            .collect(Collectors.groupingBy(parts -> parts[1], HashMap::new, Collectors.toList()));
+        byId.forEach((id, copies) -> {
+            assertThat(copies.stream().map(parts -> parts[0]).distinct()).as(id).hasSize(1);
+            assertThat(copies.stream().map(parts -> parts[2])).as(id).containsExactly("v0", "v1", "v2", "v3", "v4", "v5");
+        });
+    }
+
+    private static String article(UUID id, String title) {
+        return """
+            {"id":"%s","title":"%s","url":"https://example.com/%s","publication_date":"2025-06-01T12:00:00",\
+            "source_name":"PTI","relevance_score":0.5,"latitude":19.07,"longitude":72.87}\
+            """.formatted(id, title, id);
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.news_retrieval_system.ingest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.news_retrieval_system.Benchmarks;
+import com.example.news_retrieval_system.dedup.ArticleClusterService;
+import com.example.news_retrieval_system.model.NewsArticle;
+import com.example.news_retrieval_system.service.ArticlePartitionManager;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Rows/sec of the binary COPY pipeline against the two existing write paths, emulated over JDBC:
+ * JPA {@code saveAll} on assigned UUIDs (a SELECT + INSERT per row in one transaction) and
+ * {@code ingest.py}'s {@code execute_values} (100-row multi-VALUES pages).
+ *
+ * It truncates {@code news_articles} of the scratch database ({@link Benchmarks#scratchDatabase}).
+ * <pre>
+ * mvn test -Dtest=BulkIngestBenchmark -Dbench=true -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/newsdb \
+ *     -Dbench.size=2000000 -Dbench.baseline.rows=100000
+ * </pre>
+ * The baselines run on a prefix of the file because row-by-row inserts of millions of rows take
+ * too long to be useful; rows/sec is what is compared.
+ */
+class BulkIngestBenchmark {
+
+    private static final String[] SOURCES = {"ANI News", "PTI News", "News18", "Hindustan Times", "NDTV"};
+    private static final String[] CATEGORIES = {"national", "world", "sports", "business", "technology", "politics"};
+
+    private static HikariDataSource dataSource;
+
+    @TempDir
+    static Path tempDir;
+
+    @AfterAll
+    static void close() {
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    @Benchmarks.Run
+    void compareIngestPaths() throws Exception {
+        int rows = Benchmarks.size(2_000_000);
+        int baselineRows = Math.min(rows, Integer.getInteger("bench.baseline.rows", 100_000));
+        int workers = Integer.getInteger("bench.workers", 4);
+        dataSource = Benchmarks.scratchDatabase(workers + 1);
+        Path file = generateNdjson(tempDir.resolve("articles.ndjson"), rows);
+
+        truncate();
+        ArticlePartitionManager partitions = new ArticlePartitionManager(new JdbcTemplate(dataSource), true, 4, 2, 0, "");
+        // -Dbench.dedup=true adds near-duplicate clustering to the COPY path's cost
+        ArticleClusterService clusters = new ArticleClusterService(dataSource, Boolean.getBoolean("bench.dedup"),
+            32, 4, 3, 0.5, 72, 2);
+        BulkArticleIngestService copyPath = new BulkArticleIngestService(dataSource, partitions, clusters, workers, 5000);
+        IngestResult copy = copyPath.ingestFile(file);
+        assertThat(copy.getFailedChunks()).isZero();
+        assertThat(countRows()).isEqualTo(rows);
+
+        // Re-ingesting the same file must not change or duplicate anything
+        IngestResult rerun = copyPath.ingestFile(file);
+        assertThat(rerun.getUpserted()).isZero();
+
+        List<NewsArticle> sample = readPrefix(file, baselineRows);
+
+        truncate();
+        long start = System.nanoTime();
+        insertRowByRow(sample);
+        double rowByRow = sample.size() / ((System.nanoTime() - start) / 1e9);
+
+        truncate();
+        start = System.nanoTime();
+        insertMultiValues(sample, 100);
+        double multiValues = sample.size() / ((System.nanoTime() - start) / 1e9);
+
+        System.out.printf("%n%-40s %12s %14s%n", "path", "rows", "rows/sec");
+        System.out.printf("%-40s %12d %14.0f%n", "binary COPY, " + workers + " workers", copy.getParsed(), copy.rowsPerSecond());
+        System.out.printf("%-40s %12d %14.0f%n", "JPA saveAll (SELECT+INSERT per row)", sample.size(), rowByRow);
+        System.out.printf("%-40s %12d %14.0f%n", "execute_values (100-row pages)", sample.size(), multiValues);
+    }
+
+    private static Path generateNdjson(Path file, int rows) throws IOException {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < rows; i++) {
+                out.write(String.format(
+                    "{\"id\":\"%s\",\"title\":\"Synthetic article %d\",\"description\":\"%s\",\"url\":\"https://example.com/%d\","
+                        + "\"publication_date\":\"%s\",\"source_name\":\"%s\",\"category\":[\"%s\"],"
+                        + "\"relevance_score\":%.2f,\"latitude\":%.6f,\"longitude\":%.6f}%n",
+                    new UUID(random.nextLong(), random.nextLong()), i,
+                    "Body text for synthetic article ".repeat(6) + i, i,
+                    now.minusMinutes(random.nextInt(60 * 24 * 30)),
+                    SOURCES[random.nextInt(SOURCES.length)], CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    random.nextDouble(), 8 + random.nextDouble() * 27, 68 + random.nextDouble() * 29));
+            }
+        }
+        return file;
+    }
+
+    private static List<NewsArticle> readPrefix(Path file, int rows) throws IOException {
+        List<NewsArticle> articles = new ArrayList<>(rows);
+        try (InputStream in = Files.newInputStream(file)) {
+            new ArticleJsonReader().read(in, article -> {
+                if (articles.size() < rows) {
+                    articles.add(article);
+                }
+            });
+        }
+        return articles;
+    }
+
+    private static void insertRowByRow(List<NewsArticle> articles) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement("SELECT id FROM news_articles WHERE id = ?");
+             PreparedStatement insert = connection.prepareStatement(
+                 "INSERT INTO news_articles (id, title, description, url, publication_date, source_name, category, "
+                     + "relevance_score, latitude, longitude) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            connection.setAutoCommit(false);
+            for (NewsArticle article : articles) {
+                select.setObject(1, article.getId());
+                try (ResultSet ignored = select.executeQuery()) {
+                    // merge() looks the row up before inserting
+                }
+                bind(connection, insert, article, 1);
+                insert.executeUpdate();
+            }
+            connection.commit();
+        }
+    }
+
+    private static void insertMultiValues(List<NewsArticle> articles, int pageSize) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            for (int from = 0; from < articles.size(); from += pageSize) {
+                List<NewsArticle> page = articles.subList(from, Math.min(articles.size(), from + pageSize));
+                StringBuilder sql = new StringBuilder("INSERT INTO news_articles (id, title, description, url, "
+                    + "publication_date, source_name, category, relevance_score, latitude, longitude, geom) VALUES ");
+                for (int i = 0; i < page.size(); i++) {
+                    sql.append(i == 0 ? "" : ",").append("(?,?,?,?,?,?,?,?,?,?,CAST(? AS geography))");
+                }
+                sql.append(" ON CONFLICT DO NOTHING");
+                try (PreparedStatement insert = connection.prepareStatement(sql.toString())) {
+                    int index = 1;
+                    for (NewsArticle article : page) {
+                        index = bind(connection, insert, article, index);
+                        insert.setString(index++, String.format("SRID=4326;POINT(%s %s)", article.getLongitude(), article.getLatitude()));
+                    }
+                    insert.executeUpdate();
+                }
+            }
+            connection.commit();
+        }
+    }
+
+    private static int bind(Connection connection, PreparedStatement statement, NewsArticle article, int index) throws SQLException {
+        statement.setObject(index++, article.getId());
+        statement.setString(index++, article.getTitle());
+        statement.setString(index++, article.getDescription());
+        statement.setString(index++, article.getUrl());
+        statement.setTimestamp(index++, Timestamp.valueOf(article.getPublicationDate()));
+        statement.setString(index++, article.getSourceName());
+        statement.setArray(index++, connection.createArrayOf("text", article.getCategory().toArray()));
+        statement.setFloat(index++, (float) article.getRelevanceScore());
+        statement.setDouble(index++, article.getLatitude());
+        statement.setDouble(index++, article.getLongitude());
+        return index;
+    }
+
+    private static void truncate() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE news_articles");
+        }
+    }
+
+    private static long countRows() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT count(*) FROM news_articles")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.news_retrieval_system.llm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker("test", 3, 1000, now::get);
+
+    @Test
+    void opensAfterConsecutiveFailuresAndRejectsUntilIntervalPasses() {
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        assertThat(breaker.onFailure()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        advanceMillis(999);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void letsOneProbeThroughPerIntervalAndClosesOnSuccess() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        advanceMillis(1000);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        // A failed probe re-opens for a full interval
+        breaker.onFailure();
+        advanceMillis(500);
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        advanceMillis(500);
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    private void advanceMillis(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
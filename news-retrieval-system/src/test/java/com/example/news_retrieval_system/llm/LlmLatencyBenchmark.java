@@ -0,0 +1,130 @@
+package com.example.news_retrieval_system.llm;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.example.news_retrieval_system.Benchmarks;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * End-to-end latency of the query shape NewsService drives (one /process-query, then five
+ * summaries) against a local stub that injects a Gemini-like long tail: most answers in
+ * 20-60ms, 5% in 300ms and 2% in 3s. The plain client waits for every answer; the tuned one
+ * runs under a deadline with hedging, as configured by default. Prints latency percentiles per
+ * query and the share of summaries served as raw descriptions.
+ * <pre>
+ * mvn test -Dtest=LlmLatencyBenchmark -Dbench=true -Dbench.size=2000
+ * </pre>
+ * {@code -Dbench.size} is the number of queries.
+ */
+class LlmLatencyBenchmark {
+
+    private static final int SUMMARIES_PER_QUERY = 5;
+    private static final int CONCURRENCY = 32;
+    private static final long BUDGET_MS = 1500;
+
+    private static DisposableServer stub;
+
+    @BeforeAll
+    static void startStub() {
+        stub = HttpServer.create()
+            .port(0)
+            .route(routes -> routes
+                .post("/process-query", (request, response) -> request.receive().then(injectedLatency())
+                    .then(response.header("Content-Type", "application/json")
+                        .sendString(Mono.just("{\"intents\":[\"search\"],\"entities\":{\"search_query\":\"india\"}}"))
+                        .then()))
+                .post("/summarize/", (request, response) -> request.receive().then(injectedLatency())
+                    .then(response.header("Content-Type", "application/json")
+                        .sendString(Mono.just("{\"summary\":\"stub summary\"}"))
+                        .then())))
+            .bindNow();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.disposeNow();
+    }
+
+    @Benchmarks.Run
+    void compareUnboundedWithHedgedAndDeadlined() {
+        int queries = Benchmarks.size(2000);
+
+        Result plain = run("no deadline, no hedging",
+            new LlmServiceClient(webClient(), false, 1000, 50, 60_000, 1_000_000, 10_000), Duration.ofSeconds(60), queries);
+        LlmServiceClient hedged = new LlmServiceClient(webClient(), true, 1000, 50, 2000, 5, 10_000);
+        Result tuned = run("deadline " + BUDGET_MS + "ms + hedging", hedged, Duration.ofMillis(BUDGET_MS), queries);
+
+        System.out.printf("%n%-30s %8s %8s %8s %8s %12s%n", "client", "p50 ms", "p95 ms", "p99 ms", "max ms", "raw desc %");
+        plain.print();
+        tuned.print();
+        System.out.printf("hedges sent: %d (%.1f%% of calls), breaker rejections: %d%n", hedged.getHedgesSent(),
+            100.0 * hedged.getHedgesSent() / (queries * (SUMMARIES_PER_QUERY + 1)), hedged.getRejected());
+    }
+
+    private Result run(String name, LlmServiceClient client, Duration budget, int queries) {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(queries));
+        long[] fallbacks = new long[1];
+
+        Flux.range(0, queries)
+            .flatMap(i -> Mono.defer(() -> {
+                long start = System.nanoTime();
+                long deadline = start + budget.toNanos();
+                return client.processQuery("india", Duration.ofMillis((long) (budget.toMillis() * 0.4)))
+                    .onErrorResume(e -> Mono.empty())
+                    .thenMany(Flux.range(0, SUMMARIES_PER_QUERY)
+                        .flatMapSequential(n -> client.summarize("description " + n, Duration.ofNanos(deadline - System.nanoTime()))
+                            .onErrorResume(e -> Mono.empty())
+                            .defaultIfEmpty("raw description")))
+                    .filter("raw description"::equals)
+                    .count()
+                    .doOnNext(raw -> {
+                        synchronized (fallbacks) {
+                            fallbacks[0] += raw;
+                        }
+                        latencies.add((System.nanoTime() - start) / 1_000_000);
+                    });
+            }), CONCURRENCY)
+            .blockLast();
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new Result(name, sorted.get(sorted.size() / 2), sorted.get((int) (sorted.size() * 0.95)),
+            sorted.get((int) (sorted.size() * 0.99)), sorted.get(sorted.size() - 1),
+            100.0 * fallbacks[0] / (queries * SUMMARIES_PER_QUERY));
+    }
+
+    private static Mono<Long> injectedLatency() {
+        double roll = ThreadLocalRandom.current().nextDouble();
+        long millis = roll < 0.02 ? 3000 : roll < 0.07 ? 300 : 20 + ThreadLocalRandom.current().nextLong(40);
+        return Mono.delay(Duration.ofMillis(millis));
+    }
+
+    private static WebClient webClient() {
+        HttpClient httpClient = HttpClient.create(ConnectionProvider.builder("bench").maxConnections(200).build());
+        return WebClient.builder()
+            .baseUrl("http://localhost:" + stub.port())
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+    }
+
+    private record Result(String name, long p50, long p95, long p99, long max, double rawPercent) {
+        void print() {
+            System.out.printf("%-30s %8d %8d %8d %8d %12.1f%n", name, p50, p95, p99, max, rawPercent);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.news_retrieval_system.llm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class LlmServiceClientTest {
+
+    private static final int FAILURE_THRESHOLD = 3;
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void aRejectedRequestIsSentOnceAndLeavesTheBreakerClosed() throws InterruptedException {
+        LlmServiceClient client = client(HttpStatus.BAD_REQUEST);
+
+        for (int i = 0; i < FAILURE_THRESHOLD + 1; i++) {
+            StepVerifier.create(client.summarize("text", Duration.ofSeconds(1)))
+                .expectError(WebClientResponseException.BadRequest.class)
+                .verify();
+        }
+        // Well past the hedge delay: no duplicate goes out after the fast failure
+        Thread.sleep(100);
+
+        assertThat(calls).hasValue(FAILURE_THRESHOLD + 1);
+        assertThat(client.getHedgesSent()).isZero();
+        assertThat(client.getRejected()).isZero();
+    }
+
+    @Test
+    void serverErrorsOpenTheBreaker() {
+        LlmServiceClient client = client(HttpStatus.SERVICE_UNAVAILABLE);
+
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            StepVerifier.create(client.summarize("text", Duration.ofSeconds(1)))
+                .expectError(WebClientResponseException.ServiceUnavailable.class)
+                .verify();
+        }
+        StepVerifier.create(client.summarize("text", Duration.ofSeconds(1)))
+            .expectError(LlmUnavailableException.class)
+            .verify();
+
+        assertThat(calls).hasValue(FAILURE_THRESHOLD);
+        assertThat(client.getRejected()).isOne();
+    }
+
+    @Test
+    void runningOutOfTheCallersBudgetLeavesTheBreakerClosed() {
+        LlmServiceClient client = new LlmServiceClient(unanswered(), false, 10, 10, 5_000, FAILURE_THRESHOLD, 60_000);
+
+        for (int i = 0; i < FAILURE_THRESHOLD + 1; i++) {
+            StepVerifier.create(client.summarize("text", Duration.ofMillis(20)))
+                .expectErrorMatches(e -> e instanceof LlmUnavailableException && e.getMessage().contains("deadline"))
+                .verify();
+        }
+
+        assertThat(calls).hasValue(FAILURE_THRESHOLD + 1);
+        assertThat(client.getRejected()).isZero();
+        assertThat(client.getTimeouts()).isEqualTo(FAILURE_THRESHOLD + 1);
+    }
+
+    @Test
+    void attemptsOutlivingTheirTimeoutOpenTheBreaker() {
+        LlmServiceClient client = new LlmServiceClient(unanswered(), false, 10, 10, 20, FAILURE_THRESHOLD, 60_000);
+
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            StepVerifier.create(client.summarize("text", Duration.ofSeconds(1)))
+                .expectError(TimeoutException.class)
+                .verify();
+        }
+        StepVerifier.create(client.summarize("text", Duration.ofSeconds(1)))
+            .expectErrorMatches(e -> e instanceof LlmUnavailableException && e.getMessage().contains("breaker"))
+            .verify();
+
+        assertThat(calls).hasValue(FAILURE_THRESHOLD);
+        assertThat(client.getRejected()).isOne();
+    }
+
+    @Test
+    void aSlowRequestIsAnsweredByItsHedge() {
+        WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> {
+                // The first attempt lands in the slow tail, the duplicate does not
+                boolean first = calls.incrementAndGet() == 1;
+                Mono<ClientResponse> response = Mono.just(summary(first ? "slow" : "fast"));
+                return first ? response.delayElement(Duration.ofSeconds(2)) : response;
+            })
+            .build();
+        LlmServiceClient client = new LlmServiceClient(webClient, true, 10, 10, 5_000, FAILURE_THRESHOLD, 60_000);
+
+        StepVerifier.create(client.summarize("text", Duration.ofSeconds(1)))
+            .expectNext("fast")
+            .verifyComplete();
+
+        assertThat(calls).hasValue(2);
+        assertThat(client.getHedgesSent()).isOne();
+    }
+
+    private static ClientResponse summary(String summary) {
+        return ClientResponse.create(HttpStatus.OK)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body("{\"summary\":\"" + summary + "\"}")
+            .build();
+    }
+
+    /** A service that never answers. */
+    private WebClient unanswered() {
+        return WebClient.builder()
+            .exchangeFunction(request -> {
+                calls.incrementAndGet();
+                return Mono.never();
+            })
+            .build();
+    }
+
+    /** A client whose every request is answered with {@code status}, hedging after 10 ms. */
+    private LlmServiceClient client(HttpStatus status) {
+        WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> {
+                calls.incrementAndGet();
+                return Mono.just(ClientResponse.create(status).build());
+            })
+            .build();
+        return new LlmServiceClient(webClient, true, 10, 10, 5_000, FAILURE_THRESHOLD, 60_000);
+    }
+}
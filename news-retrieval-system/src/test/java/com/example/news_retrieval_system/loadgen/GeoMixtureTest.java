@@ -0,0 +1,51 @@
+package com.example.news_retrieval_system.loadgen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class GeoMixtureTest {
+
+    @Test
+    void placesUsersAroundRegionsInProportionToWeight() {
+        GeoMixture mixture = GeoMixture.parse("19.076:72.878:3, 28.614:77.209:1", 10);
+        assertThat(mixture.regions()).isEqualTo(2);
+
+        Random random = new Random(1);
+        double[] location = new double[2];
+        int mumbai = 0;
+        int draws = 20_000;
+        for (int i = 0; i < draws; i++) {
+            mixture.sample(random, location);
+            boolean nearMumbai = Math.abs(location[0] - 19.076) < 1 && Math.abs(location[1] - 72.878) < 1;
+            boolean nearDelhi = Math.abs(location[0] - 28.614) < 1 && Math.abs(location[1] - 77.209) < 1;
+            assertThat(nearMumbai || nearDelhi).isTrue();
+            mumbai += nearMumbai ? 1 : 0;
+        }
+        assertThat((double) mumbai / draws).isCloseTo(0.75, within(0.02));
+    }
+
+    @Test
+    void keepsCoordinatesValidNearThePolesAndAntimeridian() {
+        GeoMixture mixture = GeoMixture.parse("89.9:179.9", 50);
+        Random random = new Random(3);
+        double[] location = new double[2];
+        for (int i = 0; i < 1_000; i++) {
+            mixture.sample(random, location);
+            assertThat(location[0]).isBetween(-90.0, 90.0);
+            assertThat(location[1]).isBetween(-180.0, 180.0);
+        }
+    }
+
+    @Test
+    void rejectsMalformedRegions() {
+        assertThatThrownBy(() -> GeoMixture.parse("", 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GeoMixture.parse("19.0", 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GeoMixture.parse("95:72:1", 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GeoMixture.parse("19:72:0", 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
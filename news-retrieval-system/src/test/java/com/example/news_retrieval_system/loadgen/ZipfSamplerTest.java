@@ -0,0 +1,57 @@
+package com.example.news_retrieval_system.loadgen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ZipfSamplerTest {
+
+    @Test
+    void drawsRanksWithZipfFrequencies() {
+        int n = 1000;
+        double exponent = 1.0;
+        ZipfSampler sampler = new ZipfSampler(n, exponent);
+        Random random = new Random(42);
+
+        int draws = 200_000;
+        int[] counts = new int[n + 1];
+        for (int i = 0; i < draws; i++) {
+            int rank = sampler.sample(random);
+            assertThat(rank).isBetween(1, n);
+            counts[rank]++;
+        }
+
+        double harmonic = 0;
+        for (int k = 1; k <= n; k++) {
+            harmonic += 1 / Math.pow(k, exponent);
+        }
+        for (int k : new int[] {1, 2, 10}) {
+            double expected = 1 / Math.pow(k, exponent) / harmonic;
+            assertThat((double) counts[k] / draws).as("rank %d", k).isCloseTo(expected, within(expected * 0.05));
+        }
+    }
+
+    @Test
+    void handlesSingleItemAndSteepExponents() {
+        Random random = new Random(7);
+        assertThat(new ZipfSampler(1, 1.1).sample(random)).isEqualTo(1);
+
+        ZipfSampler steep = new ZipfSampler(1_000_000, 3.0);
+        int top = 0;
+        for (int i = 0; i < 10_000; i++) {
+            top += steep.sample(random) == 1 ? 1 : 0;
+        }
+        // 1 / zeta(3) ~= 0.83
+        assertThat(top / 10_000.0).isCloseTo(0.83, within(0.02));
+    }
+
+    @Test
+    void rejectsInvalidParameters() {
+        assertThatThrownBy(() -> new ZipfSampler(0, 1.0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ZipfSampler(10, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
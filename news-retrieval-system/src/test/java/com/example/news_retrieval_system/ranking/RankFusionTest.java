@@ -0,0 +1,25 @@
+package com.example.news_retrieval_system.ranking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class RankFusionTest {
+
+    @Test
+    void articlesSeveralBranchesAgreeOnRankFirst() {
+        UUID nearTop = new UUID(0, 1);
+        UUID both = new UUID(0, 2);
+        UUID searchTop = new UUID(0, 3);
+        UUID tail = new UUID(0, 4);
+
+        List<UUID> fused = RankFusion.fuse(List.of(
+            List.of(nearTop, both, tail),
+            List.of(searchTop, both)), RankFusion.DEFAULT_K);
+
+        assertThat(fused).containsExactly(both, searchTop, nearTop, tail);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.news_retrieval_system.ranking;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.springframework.mock.env.MockEnvironment;
+
+import com.example.news_retrieval_system.Benchmarks;
+import com.example.news_retrieval_system.model.NewsArticleView;
+
+/**
+ * Cost of ranking one fallback or search candidate set in the JVM.
+ */
+class RankingBenchmark {
+
+    @Benchmarks.Run
+    void rankCandidateSet() {
+        int size = Benchmarks.size(2000);
+        Random random = new Random(3);
+        LocalDateTime now = LocalDateTime.now();
+        List<NewsArticleView> candidates = new ArrayList<>(size);
+        Map<UUID, Double> trending = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            UUID id = UUID.randomUUID();
+            candidates.add(new NewsArticleView(id, "Monsoon flood update " + i, "Rainfall and traffic in the city",
+                "https://example.com/" + i, now.minusMinutes(random.nextInt(48 * 60)), "Source",
+                List.of("General"), random.nextDouble(), 19.0 + random.nextDouble(), 72.8 + random.nextDouble()));
+            if (random.nextInt(10) == 0) {
+                trending.put(id, random.nextDouble() * 20);
+            }
+        }
+        RankingEngine engine = new RankingEngine(
+            List.of(new DistanceDecayScorer(10), new RecencyScorer(24), new RelevanceScorer(), new TrendingScorer(5),
+                new TextMatchScorer()),
+            new MockEnvironment());
+        RankingContext nearby = RankingContext.forLocation(19.5, 73.2, trending);
+        RankingContext search = RankingContext.forQuery("monsoon flood traffic");
+
+        Benchmarks.time("rank " + size + " candidates by location", 2000, () -> engine.rank(candidates, nearby, 11, null));
+        Benchmarks.time("rank " + size + " candidates by query", 2000, () -> engine.rank(candidates, search, 11, null));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.news_retrieval_system.ranking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.example.news_retrieval_system.model.NewsArticleView;
+
+class RankingEngineTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private final RankingEngine engine = new RankingEngine(
+        List.of(new DistanceDecayScorer(10), new RecencyScorer(24), new RelevanceScorer(), new TrendingScorer(5),
+            new TextMatchScorer()),
+        new MockEnvironment().withProperty("ranking.weights.trending", "0.5"));
+
+    @Test
+    void pagesWalkTheFullOrderWithoutGapsOrRepeats() {
+        Random random = new Random(7);
+        List<NewsArticleView> candidates = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            // Coarse values so ties on score happen and the id tie-break is exercised
+            candidates.add(article(new UUID(0, i), random.nextInt(5) / 4.0, random.nextInt(3) * 12,
+                19.0 + random.nextInt(4) * 0.1));
+        }
+        RankingContext context = new RankingContext(19.0, 72.8, List.of(), Map.of(), NOW);
+
+        List<NewsArticleView> all = engine.rank(candidates, context, candidates.size(), null);
+        List<NewsArticleView> paged = new ArrayList<>();
+        UUID afterId = null;
+        List<NewsArticleView> page;
+        while (!(page = engine.rank(candidates, context, 15, afterId)).isEmpty()) {
+            paged.addAll(page);
+            afterId = page.get(page.size() - 1).id();
+        }
+
+        assertThat(all).hasSize(candidates.size());
+        assertThat(paged).containsExactlyElementsOf(all);
+    }
+
+    @Test
+    void weightsDecideBetweenNearbyAndRelevantArticles() {
+        NewsArticleView near = article(new UUID(0, 1), 0.1, 0, 19.0);
+        NewsArticleView relevant = article(new UUID(0, 2), 1.0, 0, 19.3);
+        RankingContext context = new RankingContext(19.0, 72.8, List.of(), Map.of(), NOW);
+
+        assertThat(engine.rank(List.of(relevant, near), context, 1, null)).containsExactly(relevant);
+
+        engine.updateWeights(Map.of("distance", 5.0));
+        assertThat(engine.rank(List.of(relevant, near), context, 1, null)).containsExactly(near);
+    }
+
+    @Test
+    void missingAnchorEndsTheSequence() {
+        NewsArticleView article = article(new UUID(0, 1), 0.5, 0, 19.0);
+        RankingContext context = RankingContext.forQuery("flood");
+
+        assertThat(engine.rank(List.of(article), context, 10, new UUID(0, 99))).isEmpty();
+    }
+
+    @Test
+    void rejectsUnknownFeaturesAndNegativeWeights() {
+        assertThatThrownBy(() -> engine.updateWeights(Map.of("popularity", 1.0)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> engine.updateWeights(Map.of("recency", -1.0)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(engine.getWeights()).containsEntry("recency", 1.0).containsEntry("trending", 0.5);
+    }
+
+    private static NewsArticleView article(UUID id, double relevance, int hoursOld, double lat) {
+        return new NewsArticleView(id, "Title " + id, "Description", "https://example.com/" + id,
+            NOW.minusHours(hoursOld), "Source", List.of("General"), relevance, lat, 72.8);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.news_retrieval_system.repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.example.news_retrieval_system.Benchmarks;
+import com.example.news_retrieval_system.service.ArticlePartitionManager;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Latency of the {@link NewsArticleViewRepositoryImpl} queries on the weekly-partitioned
+ * {@code news_articles} as history grows. After every growth step the trending fallback, a
+ * category page, the recent article load and an id lookup of recent articles are timed; the id
+ * lookup runs both unbounded, which probes every week, and bounded to the last 48 hours, which
+ * the planner prunes to the newest weeks. Each step adds only older weeks, so the rows the
+ * queries return stay the same and only the history around them grows.
+ * <pre>
+ * mvn test -Dtest=PartitionedHistoryBenchmark -Dbench=true -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/newsdb \
+ *     -Dbench.weeks=4,16,64,256 -Dbench.size=20000
+ * </pre>
+ * {@code -Dbench.size} is the number of rows per week.
+ */
+class PartitionedHistoryBenchmark {
+
+    private static final String GENERATE = """
+        INSERT INTO news_articles (id, title, description, url, publication_date, source_name, category,
+          relevance_score, latitude, longitude)
+        SELECT gen_random_uuid(), 'Synthetic article ' || g, 'Body text for synthetic article ' || g,
+          'https://example.com/' || g, ?::timestamptz + random() * interval '7 days',
+          (ARRAY['ANI News', 'PTI News', 'News18', 'Hindustan Times', 'NDTV'])[1 + floor(random() * 5)::int],
+          ARRAY[(ARRAY['national', 'world', 'sports', 'business', 'technology', 'politics'])[1 + floor(random() * 6)::int]],
+          random(), 8 + random() * 27, 68 + random() * 29
+        FROM generate_series(1, ?) g
+        """;
+
+    private static final String[] CATEGORIES = {"national", "world", "sports", "business", "technology", "politics"};
+
+    @Benchmarks.Run
+    void latencyAsHistoryGrows() {
+        int[] steps = Arrays.stream(System.getProperty("bench.weeks", "4,16,64").split(","))
+            .mapToInt(step -> Integer.parseInt(step.trim())).toArray();
+        int rowsPerWeek = Benchmarks.size(20_000);
+        try (HikariDataSource dataSource = Benchmarks.scratchDatabase(2)) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            NewsArticleViewRepositoryImpl repository =
+                new NewsArticleViewRepositoryImpl(new NamedParameterJdbcTemplate(dataSource));
+            ArticlePartitionManager partitions = new ArticlePartitionManager(jdbcTemplate, true, 4, 2, 0, "");
+            jdbcTemplate.execute("TRUNCATE news_articles");
+
+            LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+            LocalDateTime since = now.minusHours(48);
+            int loaded = 0;
+            for (int weeks : steps) {
+                partitions.ensurePartitions(now.minusWeeks(weeks), now.plusWeeks(1));
+                for (int week = loaded; week < weeks; week++) {
+                    jdbcTemplate.update(GENERATE, now.minusWeeks(week + 1).atOffset(ZoneOffset.UTC), rowsPerWeek);
+                }
+                loaded = Math.max(loaded, weeks);
+                jdbcTemplate.execute("VACUUM ANALYZE news_articles");
+                partitions.maintain();
+
+                List<UUID> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM news_articles WHERE publication_date >= ? ORDER BY random() LIMIT 20",
+                    UUID.class, since.atOffset(ZoneOffset.UTC));
+                Random random = new Random(7);
+                String step = loaded + " weeks, " + (long) loaded * rowsPerWeek + " rows: ";
+                Benchmarks.time(step + "fallback", 100, () -> {
+                    double lat = 8 + random.nextDouble() * 27;
+                    double lon = 68 + random.nextDouble() * 29;
+                    repository.findFallbackCandidates(lat, lon, 100, 2000);
+                });
+                Benchmarks.time(step + "category page", 100, () ->
+                    repository.findCategoryPage(CATEGORIES[random.nextInt(CATEGORIES.length)], null, null, 21));
+                Benchmarks.time(step + "recent load", 10, () -> repository.findRecentViews(since));
+                Benchmarks.time(step + "20 ids, every week", 100, () -> repository.findViewsByIds(ids));
+                Benchmarks.time(step + "20 ids, since 48h", 100, () -> repository.findViewsByIds(ids, since));
+            }
+        }
+    }
+}
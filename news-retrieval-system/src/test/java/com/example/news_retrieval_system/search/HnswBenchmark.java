@@ -0,0 +1,47 @@
+package com.example.news_retrieval_system.search;
+
+import java.util.Random;
+import java.util.UUID;
+
+import com.example.news_retrieval_system.Benchmarks;
+
+/**
+ * Build and query time of the semantic index over synthetic headlines embedded with
+ * {@link HashingEmbedder}; recall is checked by {@link HnswIndexTest}. A million articles needs
+ * about -Xmx2g.
+ */
+class HnswBenchmark {
+
+    private static final String[] WORDS = ("election minister parliament monsoon flood cricket match stadium market "
+        + "stocks rupee inflation budget startup funding technology satellite launch isro railway metro traffic "
+        + "hospital vaccine school exam university court verdict police arrest festival temple film box office "
+        + "airport airline fuel price farmer crop rainfall cyclone coast navy army border trade export import "
+        + "mumbai delhi chennai kolkata bengaluru hyderabad pune ahmedabad lucknow jaipur").split(" ");
+
+    @Benchmarks.Run
+    void buildAndQuery() {
+        int articles = Benchmarks.size(200_000);
+        HashingEmbedder embedder = new HashingEmbedder(256);
+        Random random = new Random(1);
+        HnswIndex index = new HnswIndex(embedder.dimensions(), 16, 100);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < articles; i++) {
+            index.add(new UUID(0, i), embedder.embed(headline(random, 8 + random.nextInt(8))));
+        }
+        System.out.printf("%d articles indexed in %d ms%n", articles, (System.nanoTime() - start) / 1_000_000);
+
+        float[] query = embedder.embed(headline(random, 3));
+        Benchmarks.time("search k=10 ef=64", 1000, () -> index.search(query, 10, 64));
+    }
+
+    private static String headline(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            // Skewed word choice so some terms are common and others rare, as in real headlines
+            int index = (int) (WORDS.length * Math.pow(random.nextDouble(), 2));
+            text.append(WORDS[index]).append(' ');
+        }
+        return text.toString();
+    }
+}
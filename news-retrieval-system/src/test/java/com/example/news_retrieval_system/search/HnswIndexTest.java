@@ -0,0 +1,120 @@
+package com.example.news_retrieval_system.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HnswIndexTest {
+
+    private static final int DIMENSIONS = 32;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void findsMostTrueNeighboursAndSurvivesSaveAndLoad() throws Exception {
+        Random random = new Random(7);
+        List<UUID> ids = new ArrayList<>();
+        List<float[]> vectors = new ArrayList<>();
+        HnswIndex index = new HnswIndex(DIMENSIONS, 16, 100);
+        for (int i = 0; i < 3000; i++) {
+            UUID id = new UUID(0, i);
+            float[] vector = randomUnitVector(random);
+            ids.add(id);
+            vectors.add(vector);
+            index.add(id, vector);
+        }
+
+        int found = 0;
+        int queries = 50;
+        for (int q = 0; q < queries; q++) {
+            float[] query = randomUnitVector(random);
+            Set<UUID> exact = IntStream.range(0, ids.size()).boxed()
+                .sorted(Comparator.comparingDouble(i -> -dot(query, vectors.get(i))))
+                .limit(10).map(ids::get).collect(Collectors.toSet());
+            found += (int) index.search(query, 10, 64).stream().filter(hit -> exact.contains(hit.id())).count();
+        }
+        assertThat(found / (queries * 10.0)).isGreaterThan(0.9);
+
+        Path file = tempDir.resolve("index.hnsw");
+        index.save(file);
+        HnswIndex loaded = HnswIndex.load(file);
+        float[] probe = vectors.get(42);
+        assertThat(loaded.size()).isEqualTo(index.size());
+        assertThat(loaded.search(probe, 10, 64)).isEqualTo(index.search(probe, 10, 64));
+        assertThat(loaded.search(probe, 1, 64).get(0).id()).isEqualTo(ids.get(42));
+    }
+
+    @Test
+    void replacedVectorsAreNotReturned() {
+        HashingEmbedder embedder = new HashingEmbedder(128);
+        HnswIndex index = new HnswIndex(embedder.dimensions(), 8, 50);
+        UUID id = UUID.randomUUID();
+        index.add(id, embedder.embed("Monsoon floods hit Mumbai suburbs"));
+        index.add(UUID.randomUUID(), embedder.embed("Cricket team wins series in Australia"));
+        index.add(id, embedder.embed("Stock markets rally on rate cut"));
+
+        assertThat(index.size()).isEqualTo(2);
+        List<HnswIndex.Hit> hits = index.search(embedder.embed("markets rally"), 5, 16);
+        assertThat(hits).hasSize(2);
+        assertThat(hits.get(0).id()).isEqualTo(id);
+        assertThat(hits.stream().filter(hit -> hit.id().equals(id))).hasSize(1);
+    }
+
+    @Test
+    void concurrentSearchesOnVirtualThreadsMatchSequentialOnes() throws Exception {
+        Random random = new Random(11);
+        HnswIndex index = new HnswIndex(DIMENSIONS, 8, 64);
+        for (int i = 0; i < 1000; i++) {
+            index.add(new UUID(0, i), randomUnitVector(random));
+        }
+        List<float[]> queries = IntStream.range(0, 200).mapToObj(i -> randomUnitVector(random)).toList();
+        // A wide ef visits much of the graph, so the visited sets grow mid-search
+        List<List<HnswIndex.Hit>> expected = queries.stream().map(query -> index.search(query, 10, 400)).toList();
+
+        List<Future<List<HnswIndex.Hit>>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (float[] query : queries) {
+                futures.add(executor.submit(() -> index.search(query, 10, 400)));
+            }
+        }
+        for (int i = 0; i < queries.size(); i++) {
+            assertThat(futures.get(i).get()).isEqualTo(expected.get(i));
+        }
+    }
+
+    private static float[] randomUnitVector(Random random) {
+        float[] vector = new float[DIMENSIONS];
+        double norm = 0;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) random.nextGaussian();
+            norm += vector[i] * vector[i];
+        }
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] /= (float) Math.sqrt(norm);
+        }
+        return vector;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
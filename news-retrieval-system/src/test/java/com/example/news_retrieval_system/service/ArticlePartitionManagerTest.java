@@ -0,0 +1,82 @@
+package com.example.news_retrieval_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class ArticlePartitionManagerTest {
+
+    // A Wednesday
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 14, 9, 30);
+
+    @Test
+    void namesWeeksAfterTheirMonday() {
+        assertThat(ArticlePartitionManager.weekStart(NOW)).isEqualTo(LocalDate.of(2026, 10, 12));
+        assertThat(ArticlePartitionManager.weekStart(LocalDateTime.of(2026, 10, 12, 0, 0)))
+            .isEqualTo(LocalDate.of(2026, 10, 12));
+        assertThat(ArticlePartitionManager.partitionName(LocalDate.of(2026, 10, 12)))
+            .isEqualTo("news_articles_p20261012");
+    }
+
+    @Test
+    void keepsWeeksHotWhileTheyOverlapTheHotWindow() {
+        LocalDate thisWeek = LocalDate.of(2026, 10, 12);
+
+        assertThat(ArticlePartitionManager.isHot(thisWeek, NOW, 2)).isTrue();
+        assertThat(ArticlePartitionManager.isHot(thisWeek.plusWeeks(1), NOW, 2)).isTrue();
+        // Last week ended on Monday, more than two days ago
+        assertThat(ArticlePartitionManager.isHot(thisWeek.minusWeeks(1), NOW, 2)).isFalse();
+        assertThat(ArticlePartitionManager.isHot(thisWeek.minusWeeks(1), NOW.minusDays(1), 2)).isTrue();
+    }
+
+    @Test
+    void expiresOnlyWeeksBeyondTheRetention() {
+        LocalDate thisWeek = LocalDate.of(2026, 10, 12);
+
+        assertThat(ArticlePartitionManager.isExpired(thisWeek.minusWeeks(52), NOW, 0)).isFalse();
+        assertThat(ArticlePartitionManager.isExpired(thisWeek.minusWeeks(4), NOW, 4)).isFalse();
+        assertThat(ArticlePartitionManager.isExpired(thisWeek.minusWeeks(5), NOW, 4)).isTrue();
+    }
+
+    @Test
+    void indexesHotWeeksUnindexesCooledOnesAndArchivesExpiredOnes() {
+        LocalDate thisWeek = ArticlePartitionManager.weekStart(LocalDateTime.now(ZoneOffset.UTC));
+        String hot = ArticlePartitionManager.partitionName(thisWeek);
+        String cooled = ArticlePartitionManager.partitionName(thisWeek.minusWeeks(3));
+        String expired = ArticlePartitionManager.partitionName(thisWeek.minusWeeks(10));
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(contains("relkind"), eq(Boolean.class))).thenReturn(true);
+        when(jdbcTemplate.queryForObject(contains("create_news_article_partitions"), eq(Integer.class), any(), any()))
+            .thenReturn(0);
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class)))
+            .thenReturn(List.of(expired, cooled, hot, "news_articles_legacy"));
+        when(jdbcTemplate.queryForList(contains("pg_indexes"), eq(String.class), any())).thenReturn(List.of(cooled));
+        when(jdbcTemplate.queryForObject(contains("to_regclass(?)"), eq(Boolean.class), any())).thenReturn(false);
+        List<String> statements = new ArrayList<>();
+        doAnswer(invocation -> statements.add(invocation.getArgument(0))).when(jdbcTemplate).execute(anyString());
+
+        new ArticlePartitionManager(jdbcTemplate, true, 4, 2, 8, "news_archive").maintain();
+
+        assertThat(statements).containsExactly(
+            "ALTER TABLE news_articles DETACH PARTITION " + expired + " CONCURRENTLY",
+            "CREATE SCHEMA IF NOT EXISTS news_archive",
+            "ALTER TABLE " + expired + " SET SCHEMA news_archive",
+            "DROP INDEX CONCURRENTLY IF EXISTS " + cooled + "_hot_geo",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + hot + "_hot_geo ON " + hot
+                + " (latitude, longitude, publication_date)");
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.news_retrieval_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.news_retrieval_system.dto.AnalysisResponse;
+import com.example.news_retrieval_system.llm.LlmServiceClient;
+import com.example.news_retrieval_system.repository.NewsArticleRepository;
+
+class LocalIntentParserTest {
+
+    private final LocalIntentParser parser =
+        new LocalIntentParser(mock(NewsArticleRepository.class), mock(LlmServiceClient.class), true);
+
+    @BeforeEach
+    void loadDictionary() {
+        parser.rebuildDictionary(List.of("ANI News", "PTI News", "Hindustan Times"), List.of("sports", "national", "world"));
+    }
+
+    @Test
+    void answersSourceCategoryAndLocationQueries() {
+        AnalysisResponse source = parser.classify("ANI news").orElseThrow();
+        assertThat(source.getIntents()).containsExactly("source");
+        assertThat(source.getEntities()).containsEntry("source_name", "ANI News");
+
+        assertThat(parser.classify("Latest Sports").orElseThrow().getEntities()).containsEntry("category", "sports");
+
+        AnalysisResponse both = parser.classify("world news from Hindustan Times").orElseThrow();
+        assertThat(both.getIntents()).containsExactly("source", "category");
+
+        AnalysisResponse nearby = parser.classify("news near 19.07, 72.87").orElseThrow();
+        assertThat(nearby.getIntents()).containsExactly("nearby");
+        assertThat(nearby.getEntities()).containsAllEntriesOf(Map.of("lat", 19.07, "lon", 72.87));
+
+        assertThat(parser.classify("articles with relevance score above 0.9").orElseThrow().getEntities())
+            .containsEntry("score", 0.9);
+        assertThat(parser.classify("highly relevant news").orElseThrow().getEntities()).containsEntry("score", 0.8);
+
+        AnalysisResponse recent = parser.classify("sports from PTI in the last 24h").orElseThrow();
+        assertThat(recent.getIntents()).containsExactly("source", "category");
+        assertThat(recent.getEntities()).containsEntry("hours", 24);
+        assertThat(parser.classify("world news past 2 days").orElseThrow().getEntities()).containsEntry("hours", 48);
+    }
+
+    @Test
+    void leavesAmbiguousQueriesToTheLlm() {
+        assertThat(parser.classify("Elon Musk Twitter acquisition")).isEmpty();
+        assertThat(parser.classify("sports news about cricket")).isEmpty();
+        assertThat(parser.classify("ANI and PTI news")).isEmpty();
+        assertThat(parser.classify("latest news")).isEmpty();
+        assertThat(parser.classify("news from the last week")).isEmpty();
+        assertThat(parser.classify("news near 123.4, 72.8")).isEmpty();
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.news_retrieval_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.FixedHostPortGenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Sharded trending cells against a six-node Redis Cluster (three masters, three replicas). The
+ * nodes announce 0.0.0.0 with their own ports, so the ports are bound one-to-one on the host and
+ * MOVED redirects resolve without address mapping.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ShardedTrendingClusterTest {
+
+    private static final String HOT_CELL = "te7ud";
+
+    @Container
+    @SuppressWarnings("deprecation")
+    private static final FixedHostPortGenericContainer<?> cluster =
+        new FixedHostPortGenericContainer<>("grokzen/redis-cluster:7.0.10")
+            .withEnv("IP", "0.0.0.0")
+            .withFixedExposedPort(7000, 7000).withFixedExposedPort(7001, 7001).withFixedExposedPort(7002, 7002)
+            .withFixedExposedPort(7003, 7003).withFixedExposedPort(7004, 7004).withFixedExposedPort(7005, 7005)
+            .waitingFor(Wait.forLogMessage(".*Cluster state changed: ok.*", 1));
+
+    private LettuceConnectionFactory connectionFactory;
+    private TrendingKeyspace keyspace;
+    private RedisService redisService;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+            new RedisClusterConfiguration(List.of("localhost:7000", "localhost:7001", "localhost:7002")));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        keyspace = new TrendingKeyspace(HOT_CELL + "=4", "");
+        redisService = new RedisService();
+        ReflectionTestUtils.setField(redisService, "redisTemplate", new StringRedisTemplate(connectionFactory));
+        ReflectionTestUtils.setField(redisService, "keyspace", keyspace);
+        ReflectionTestUtils.setField(redisService, "ttlSeconds", 300);
+        ReflectionTestUtils.setField(redisService, "maxLeaderboardSize", 500);
+        redisService.clearTrendingData(HOT_CELL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void shouldPlaceShardsOfAHotCellOnDifferentMasters() {
+        try (RedisClusterConnection connection = connectionFactory.getClusterConnection()) {
+            Set<String> masters = new HashSet<>();
+            for (String key : keyspace.keys(HOT_CELL)) {
+                RedisClusterNode node = connection.clusterGetNodeForKey(key.getBytes());
+                masters.add(node.getId());
+            }
+            assertThat(masters).hasSizeGreaterThan(1);
+        }
+    }
+
+    @Test
+    void shouldPageThroughMergedShardsInScoreOrder() {
+        List<ZSetOperations.TypedTuple<String>> expected = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            UUID id = UUID.randomUUID();
+            // Every score appears three times so ties cross shard boundaries
+            double score = i / 3;
+            redisService.updateTrending(HOT_CELL, id, score);
+            expected.add(ZSetOperations.TypedTuple.of(id.toString(), score));
+        }
+        expected.sort(Comparator.comparing((ZSetOperations.TypedTuple<String> entry) -> entry.getScore())
+            .thenComparing(ZSetOperations.TypedTuple::getValue)
+            .reversed());
+
+        List<String> paged = new ArrayList<>();
+        Double afterScore = null;
+        String afterMember = null;
+        List<ZSetOperations.TypedTuple<String>> page;
+        do {
+            page = redisService.getTrendingPage(HOT_CELL, afterScore, afterMember, 7);
+            page.forEach(entry -> paged.add(entry.getValue()));
+            if (!page.isEmpty()) {
+                afterScore = page.get(page.size() - 1).getScore();
+                afterMember = page.get(page.size() - 1).getValue();
+            }
+        } while (page.size() == 7);
+
+        assertThat(paged).containsExactlyElementsOf(expected.stream().map(ZSetOperations.TypedTuple::getValue).toList());
+        assertThat(redisService.getTrendingScores(HOT_CELL, List.of(UUID.fromString(paged.get(0)))))
+            .containsValue(expected.get(0).getScore());
+        assertThat(redisService.hasTrendingData(HOT_CELL)).isTrue();
+    }
+
+    @Test
+    void shouldReadManyCellsInOnePipeline() {
+        List<String> plainCells = List.of("tdr1v", "ttnfv", "tepf1");
+        redisService.clearTrendingData(HOT_CELL);
+        plainCells.forEach(redisService::clearTrendingData);
+        for (int i = 0; i < 12; i++) {
+            redisService.updateTrending(HOT_CELL, UUID.randomUUID(), i);
+            redisService.updateTrending(plainCells.get(i % plainCells.size()), UUID.randomUUID(), i);
+        }
+
+        List<String> cells = new ArrayList<>(plainCells);
+        cells.add(HOT_CELL);
+        cells.add("xxxxx");
+        var batch = redisService.getTrendingBatch(cells, 3);
+
+        assertThat(batch.get(HOT_CELL)).extracting(ZSetOperations.TypedTuple::getScore).containsExactly(11.0, 10.0, 9.0);
+        assertThat(batch.get("tdr1v")).extracting(ZSetOperations.TypedTuple::getScore).containsExactly(9.0, 6.0, 3.0);
+        assertThat(batch.get("xxxxx")).isEmpty();
+        for (String cell : plainCells) {
+            assertThat(batch.get(cell)).extracting(ZSetOperations.TypedTuple::getValue)
+                .containsExactlyElementsOf(redisService.getTrendingArticles(cell, 3));
+        }
+    }
+
+    @Test
+    void shouldClearEveryShardOfACell() {
+        for (int i = 0; i < 20; i++) {
+            redisService.updateTrending(HOT_CELL, UUID.randomUUID(), i);
+        }
+        redisService.clearTrendingData(HOT_CELL);
+
+        assertThat(redisService.hasTrendingData(HOT_CELL)).isFalse();
+        assertThat(redisService.getTrendingArticles(HOT_CELL, 10)).isEmpty();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.news_retrieval_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+class TrendingCompactorTest {
+
+    private static final String CELL = "te7ud";
+    private static final String KEY = "trending:{" + CELL + "}";
+
+    @Container
+    private static final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private RedisService redisService;
+    private TrendingCompactor compactor;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+            new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+
+        TrendingKeyspace keyspace = new TrendingKeyspace("", "");
+        redisService = new RedisService();
+        ReflectionTestUtils.setField(redisService, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(redisService, "keyspace", keyspace);
+        ReflectionTestUtils.setField(redisService, "ttlSeconds", 300);
+        ReflectionTestUtils.setField(redisService, "maxLeaderboardSize", 10);
+        ReflectionTestUtils.setField(redisService, "decayPerMinute", 0.05);
+        compactor = new TrendingCompactor(redisTemplate, redisService, keyspace, true, 0.05, 0.05, 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void shouldKeepOnlyTheTopMembersOnWrite() {
+        for (int i = 1; i <= 100; i++) {
+            redisService.updateTrending(CELL, UUID.randomUUID(), i);
+        }
+
+        assertThat(redisTemplate.opsForZSet().size(KEY)).isEqualTo(10);
+        assertThat(redisService.getTrendingPage(CELL, null, null, 10))
+            .extracting(entry -> entry.getScore())
+            .containsExactly(100.0, 99.0, 98.0, 97.0, 96.0, 95.0, 94.0, 93.0, 92.0, 91.0);
+    }
+
+    @Test
+    void shouldDecayScoresAndDropMembersBelowTheThreshold() {
+        for (int i = 1; i <= 10; i++) {
+            redisService.updateTrending(CELL, UUID.randomUUID(), i);
+        }
+        backdate(60);
+        compactor.compact();
+
+        // exp(-0.05 * 60) ~= 0.0498, so only the article scored 1 falls under 0.05
+        List<Double> scores = redisService.getTrendingPage(CELL, null, null, 20).stream()
+            .map(entry -> entry.getScore()).toList();
+        assertThat(scores).hasSize(9);
+        assertThat(scores.get(0)).isCloseTo(10 * Math.exp(-3), within(1e-3));
+        // The activity counter keeps the trimmed and dropped scores and decays with the cell
+        assertThat(redisService.getTrendingHeat(List.of(CELL)).get(CELL)).isCloseTo(55 * Math.exp(-3), within(1e-3));
+
+        assertThat(compactor.getUsage()).singleElement().satisfies(usage -> {
+            assertThat(usage.geoKey()).isEqualTo(CELL);
+            assertThat(usage.members()).isEqualTo(9);
+            assertThat(usage.bytes()).isPositive();
+        });
+    }
+
+    @Test
+    void shouldDecayMembersOnlyFromWhenTheyWereWritten() {
+        UUID early = UUID.randomUUID();
+        UUID again = UUID.randomUUID();
+        UUID late = UUID.randomUUID();
+        redisService.updateTrending(CELL, early, 10);
+        redisService.updateTrending(CELL, again, 10);
+        backdate(60);
+        // Written during the interval: the earlier score is brought to now before adding, the new one starts there
+        redisService.updateTrending(CELL, again, 1);
+        redisService.updateTrending(CELL, late, 10);
+
+        compactor.compact();
+
+        assertThat(redisTemplate.opsForZSet().score(KEY, early.toString())).isCloseTo(10 * Math.exp(-3), within(1e-3));
+        assertThat(redisTemplate.opsForZSet().score(KEY, again.toString())).isCloseTo(10 * Math.exp(-3) + 1, within(1e-3));
+        assertThat(redisTemplate.opsForZSet().score(KEY, late.toString())).isCloseTo(10, within(1e-3));
+        assertThat(redisService.getTrendingHeat(List.of(CELL)).get(CELL)).isCloseTo(20 * Math.exp(-3) + 11, within(1e-3));
+
+        // A second instance sweeping right after finds nothing left to decay
+        compactor.compact();
+        assertThat(redisTemplate.opsForZSet().score(KEY, early.toString())).isCloseTo(10 * Math.exp(-3), within(1e-3));
+    }
+
+    @Test
+    void shouldLoadRebuiltScoresOnlyIntoColdCells() {
+        UUID live = UUID.randomUUID();
+        UUID replayed = UUID.randomUUID();
+        long asOf = System.currentTimeMillis();
+        redisService.updateTrending(CELL, live, 3);
+
+        // Another instance kept the cell warm: its live count is neither overwritten nor added to
+        assertThat(redisService.loadTrending(CELL, Map.of(live, 7.0, replayed, 2.0), asOf)).isZero();
+        assertThat(redisTemplate.opsForZSet().score(KEY, live.toString())).isEqualTo(3.0);
+        assertThat(redisTemplate.opsForZSet().score(KEY, replayed.toString())).isNull();
+
+        redisService.clearTrendingData(CELL);
+        assertThat(redisService.loadTrending(CELL, Map.of(live, 7.0, replayed, 2.0), asOf)).isOne();
+        assertThat(redisTemplate.opsForZSet().score(KEY, live.toString())).isEqualTo(7.0);
+        assertThat(redisService.getTrendingHeat(List.of(CELL)).get(CELL)).isEqualTo(9.0);
+        assertThat(redisTemplate.opsForHash().get(KEY + ":touched-at", replayed.toString())).isEqualTo(String.valueOf(asOf));
+    }
+
+    @Test
+    void shouldForgetCellsWhoseLeaderboardExpired() {
+        redisService.updateTrending(CELL, UUID.randomUUID(), 1);
+        redisService.clearTrendingData(CELL);
+
+        compactor.compact();
+
+        assertThat(redisService.getActiveCells()).isEmpty();
+        assertThat(compactor.getUsage()).isEmpty();
+    }
+
+    /** Moves the time every score and the activity counter are decayed to {@code minutes} back. */
+    private void backdate(int minutes) {
+        String then = String.valueOf(System.currentTimeMillis() - minutes * 60_000L);
+        redisTemplate.opsForValue().set(KEY + ":swept-at", then);
+        for (Object member : redisTemplate.opsForHash().keys(KEY + ":touched-at")) {
+            redisTemplate.opsForHash().put(KEY + ":touched-at", member, then);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.news_retrieval_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import io.lettuce.core.cluster.SlotHash;
+
+class TrendingKeyspaceTest {
+
+    private final TrendingKeyspace keyspace = new TrendingKeyspace("te7ud=4, tdr1v=2, te=1", "2=8, 3=4");
+
+    @Test
+    void keepsOrdinaryCellsInOneHashTaggedKey() {
+        assertThat(keyspace.shards("tsq4b")).isEqualTo(1);
+        assertThat(keyspace.keys("tsq4b")).containsExactly("trending:{tsq4b}");
+        assertThat(keyspace.keyFor("tsq4b", UUID.randomUUID().toString())).isEqualTo("trending:{tsq4b}");
+    }
+
+    @Test
+    void routesEachMemberOfAHotCellToOneStableShard() {
+        List<String> keys = keyspace.keys("te7ud");
+        assertThat(keys).containsExactly(
+            "trending:{te7ud:0}", "trending:{te7ud:1}", "trending:{te7ud:2}", "trending:{te7ud:3}");
+
+        Set<String> used = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            String member = UUID.randomUUID().toString();
+            String key = keyspace.keyFor("te7ud", member);
+            assertThat(keys).contains(key);
+            assertThat(keyspace.keyFor("te7ud", member)).isEqualTo(key);
+            used.add(key);
+        }
+        assertThat(used).hasSize(4);
+    }
+
+    @Test
+    void spreadsShardsOfAHotCellAcrossClusterSlots() {
+        Set<Integer> slots = new HashSet<>();
+        for (String key : keyspace.keys("te7ud")) {
+            slots.add(SlotHash.getSlot(key));
+        }
+        assertThat(slots).hasSize(4);
+        // Only the tag is hashed, so other keys of an ordinary cell share its slot
+        assertThat(SlotHash.getSlot("trending:{tsq4b}")).isEqualTo(SlotHash.getSlot("other:{tsq4b}"));
+    }
+
+    @Test
+    void shardsEveryTileOfAConfiguredLevel() {
+        assertThat(keyspace.keys("tq")).hasSize(8).contains("trending:{tq:0}", "trending:{tq:7}");
+        assertThat(keyspace.shards("tdr")).isEqualTo(4);
+        assertThat(keyspace.shards("tdr1")).isEqualTo(1);
+        // An explicit hot-cells entry wins over its level
+        assertThat(keyspace.keys("te")).containsExactly("trending:{te}");
+    }
+
+    @Test
+    void rejectsMalformedHotCellEntries() {
+        assertThatThrownBy(() -> new TrendingKeyspace("te7ud", "")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TrendingKeyspace("te7ud=0", "")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TrendingKeyspace("te7ud=many", "")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(new TrendingKeyspace("", "").shards("te7ud")).isEqualTo(1);
+        assertThatThrownBy(() -> new TrendingKeyspace("", "5=4")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TrendingKeyspace("", "2")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
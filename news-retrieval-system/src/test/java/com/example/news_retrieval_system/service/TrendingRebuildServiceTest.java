@@ -0,0 +1,189 @@
+package com.example.news_retrieval_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.news_retrieval_system.model.UserEvent;
+
+class TrendingRebuildServiceTest {
+
+    private static final String TOPIC = "user_events";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    private final TrendingRebuildService rebuild = rebuild();
+
+    @Test
+    void sumsScoresPerCellAndArticleWithinTheRange() {
+        UUID popular = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+
+        MockConsumer<String, UserEvent> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(List.of(PARTITION));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        consumer.addRecord(record(0, new UserEvent(popular, UserEvent.EventType.SHARE, now, 19.07, 72.87)));
+        consumer.addRecord(record(1, new UserEvent(popular, UserEvent.EventType.CLICK, now, 19.07, 72.87)));
+        consumer.addRecord(record(2, null));
+        consumer.addRecord(record(3, new UserEvent(other, UserEvent.EventType.VIEW, now, 28.61, 77.20)));
+        // At the committed offset: the live listener will count this one
+        consumer.addRecord(record(4, new UserEvent(other, UserEvent.EventType.SHARE, now, 28.61, 77.20)));
+
+        TrendingRebuildService.PartitionReplay replay = rebuild.replay(consumer, PARTITION, 0, 4, now,
+            System.nanoTime() + TimeUnit.SECONDS.toNanos(5));
+
+        assertThat(replay.events()).isEqualTo(3);
+        assertThat(replay.cells()).containsOnlyKeys(
+            RedisService.geohash(19.07, 72.87, 5), RedisService.geohash(28.61, 77.20, 5),
+            RedisService.geohash(19.07, 72.87, 3), RedisService.geohash(28.61, 77.20, 3));
+        assertThat(replay.cells().get(RedisService.geohash(19.07, 72.87, 5)).get(popular)).isEqualTo(8.0);
+        assertThat(replay.cells().get(RedisService.geohash(19.07, 72.87, 3)).get(popular)).isEqualTo(8.0);
+        assertThat(replay.cells().get(RedisService.geohash(28.61, 77.20, 5)).get(other)).isEqualTo(1.0);
+    }
+
+    @Test
+    void startsFromTheRequestedOffset() {
+        UUID article = UUID.randomUUID();
+        MockConsumer<String, UserEvent> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(List.of(PARTITION));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        for (int offset = 0; offset < 10; offset++) {
+            consumer.addRecord(record(offset,
+                new UserEvent(article, UserEvent.EventType.VIEW, LocalDateTime.now(), 19.07, 72.87)));
+        }
+
+        TrendingRebuildService.PartitionReplay replay = rebuild.replay(consumer, PARTITION, 6, 10, LocalDateTime.now(),
+            System.nanoTime() + TimeUnit.SECONDS.toNanos(5));
+
+        assertThat(replay.events()).isEqualTo(4);
+        assertThat(replay.position()).isEqualTo(10);
+
+        // Out of time before the first poll: the listener is left the whole range
+        consumer.seek(PARTITION, 6);
+        assertThat(rebuild.replay(consumer, PARTITION, 6, 10, LocalDateTime.now(), System.nanoTime() - 1).position())
+            .isEqualTo(6);
+    }
+
+    @Test
+    void startsAGroupWithoutCommitsAfterTheReplay() throws Exception {
+        UUID article = UUID.randomUUID();
+        Map<TopicPartition, OffsetAndMetadata> committed = new HashMap<>();
+        MockConsumer<String, UserEvent> commits = new MockConsumer<>(OffsetResetStrategy.EARLIEST) {
+            @Override
+            public void commitSync(Map<TopicPartition, OffsetAndMetadata> offsets, Duration timeout) {
+                committed.putAll(offsets);
+            }
+        };
+        @SuppressWarnings("unchecked")
+        ConsumerFactory<String, UserEvent> consumerFactory = mock(ConsumerFactory.class);
+        when(consumerFactory.createConsumer(eq("trending_worker"), anyString(), anyString(), any(Properties.class)))
+            .thenAnswer(invocation -> {
+                if ("commit".equals(invocation.getArgument(2))) {
+                    return commits;
+                }
+                MockConsumer<String, UserEvent> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST) {
+                    @Override
+                    public Map<TopicPartition, OffsetAndTimestamp> offsetsForTimes(Map<TopicPartition, Long> timestamps,
+                                                                                   Duration timeout) {
+                        // Every record is inside the window
+                        return Map.of(PARTITION, new OffsetAndTimestamp(0, timestamps.get(PARTITION)));
+                    }
+                };
+                consumer.updatePartitions(TOPIC, List.of(new PartitionInfo(TOPIC, 0, Node.noNode(), null, null)));
+                consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+                consumer.updateEndOffsets(Map.of(PARTITION, 3L));
+                consumer.schedulePollTask(() -> {
+                    for (int offset = 0; offset < 3; offset++) {
+                        consumer.addRecord(record(offset,
+                            new UserEvent(article, UserEvent.EventType.VIEW, LocalDateTime.now(), 19.07, 72.87)));
+                    }
+                });
+                return consumer;
+            });
+        RedisService redisService = mock(RedisService.class);
+        TrendingRebuildService service = new TrendingRebuildService(consumerFactory, redisService,
+            mock(KafkaListenerEndpointRegistry.class), new TrendingTiles("3", 1024));
+        ReflectionTestUtils.setField(service, "topic", TOPIC);
+        ReflectionTestUtils.setField(service, "groupId", "trending_worker");
+        ReflectionTestUtils.setField(service, "windowMinutes", 120L);
+        ReflectionTestUtils.setField(service, "maxThreads", 2);
+        ReflectionTestUtils.setField(service, "timeoutMs", 5000L);
+        ReflectionTestUtils.setField(service, "decayPerMinute", 0.05);
+
+        service.rebuild();
+
+        verify(redisService).loadTrending(eq(RedisService.geohash(19.07, 72.87, 5)), anyMap(), anyLong());
+        // Without this the listener would start from the earliest offset and count the window twice
+        assertThat(committed).containsExactly(Map.entry(PARTITION, new OffsetAndMetadata(3)));
+    }
+
+    @Test
+    void decaysEachEventToTheRebuildInstantAsTheCompactorWould() {
+        LocalDateTime asOf = LocalDateTime.now();
+        UserEvent share = new UserEvent(UUID.randomUUID(), UserEvent.EventType.SHARE, asOf.minusSeconds(630), 19.07, 72.87);
+
+        // 10.5 minutes at 0.05 per minute, not truncated to 10
+        assertThat(rebuild.decayedScore(share, asOf)).isCloseTo(5.0 * Math.exp(-0.525), within(1e-9));
+        // An event stamped after the rebuild started is not boosted
+        assertThat(rebuild.decayedScore(new UserEvent(UUID.randomUUID(), UserEvent.EventType.VIEW,
+            asOf.plusSeconds(5), 19.07, 72.87), asOf)).isEqualTo(1.0);
+    }
+
+    @Test
+    void aDisabledRebuildIsSkippedAtRuntime() {
+        // A runtime flag rather than a bean condition, so an AOT build made with it on can still turn it off
+        ConsumerFactory<?, ?> consumerFactory = mock(ConsumerFactory.class);
+        KafkaListenerEndpointRegistry registry = mock(KafkaListenerEndpointRegistry.class);
+        @SuppressWarnings("unchecked")
+        TrendingRebuildService disabled = new TrendingRebuildService((ConsumerFactory<String, UserEvent>) consumerFactory,
+            mock(RedisService.class), registry, new TrendingTiles("3", 1024));
+        ReflectionTestUtils.setField(disabled, "enabled", false);
+
+        disabled.run(null);
+
+        verifyNoInteractions(consumerFactory, registry);
+        assertThat(disabled.isReady()).isTrue();
+    }
+
+    private static ConsumerRecord<String, UserEvent> record(long offset, UserEvent event) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, null, event);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TrendingRebuildService rebuild() {
+        TrendingRebuildService rebuild = new TrendingRebuildService(mock(ConsumerFactory.class), mock(RedisService.class),
+            mock(KafkaListenerEndpointRegistry.class), new TrendingTiles("3", 1024));
+        ReflectionTestUtils.setField(rebuild, "decayPerMinute", 0.05);
+        return rebuild;
+    }
+}
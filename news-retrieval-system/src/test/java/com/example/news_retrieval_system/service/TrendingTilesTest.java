@@ -0,0 +1,50 @@
+package com.example.news_retrieval_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TrendingTilesTest {
+
+    private final TrendingTiles tiles = new TrendingTiles("2,3,4", 1024);
+
+    @Test
+    void rollsACellUpToEveryCoarserLevel() {
+        assertThat(tiles.precisions()).containsExactly(2, 3, 4, 5);
+        String cell = RedisService.geohash(19.07, 72.87, 5);
+
+        assertThat(tiles.rollup(19.07, 72.87))
+            .containsExactly(cell, cell.substring(0, 4), cell.substring(0, 3), cell.substring(0, 2));
+    }
+
+    @Test
+    void coversTheBoxWithDistinctTilesOfOneLevel() {
+        // Mumbai and its surroundings
+        double minLat = 18.8, minLon = 72.7, maxLat = 19.4, maxLon = 73.2;
+        List<String> covering = tiles.covering(minLat, minLon, maxLat, maxLon, 4);
+
+        assertThat(covering).hasSize((int) tiles.countTiles(minLat, minLon, maxLat, maxLon, 4));
+        assertThat(covering).doesNotHaveDuplicates().allMatch(tile -> tile.length() == 4);
+        assertThat(covering).contains(
+            RedisService.geohash(minLat, minLon, 4), RedisService.geohash(maxLat, maxLon, 4),
+            RedisService.geohash(minLat, maxLon, 4), RedisService.geohash(maxLat, minLon, 4));
+    }
+
+    @Test
+    void choosesTheFinestLevelWithinTheTileLimit() {
+        assertThat(tiles.choosePrecision(18.8, 72.7, 19.4, 73.2)).isEqualTo(5);
+        // All of India: about 500 tiles at precision 3, far too many at 4
+        assertThat(tiles.choosePrecision(6, 68, 36, 98)).isEqualTo(3);
+        assertThat(tiles.countTiles(-90, -180, 90, 180, 2)).isEqualTo(1024);
+        assertThat(tiles.choosePrecision(-90, -180, 90, 180)).isEqualTo(2);
+        assertThat(new TrendingTiles("3", 100).choosePrecision(-90, -180, 90, 180)).isEqualTo(-1);
+    }
+
+    @Test
+    void rejectsLevelsNotCoarserThanACell() {
+        assertThatThrownBy(() -> new TrendingTiles("3,5", 1024)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
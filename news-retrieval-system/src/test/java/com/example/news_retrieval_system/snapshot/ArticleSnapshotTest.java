@@ -0,0 +1,124 @@
+package com.example.news_retrieval_system.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ArticleSnapshotTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 6, 1, 12, 0, 0, 123_456_000);
+    private static final String[] SOURCES = {"ANI", "PTI", "Reuters", "The Hindu"};
+    private static final String[] CATEGORIES = {"sports", "business", "world", "technology", "politics"};
+
+    @TempDir
+    Path tempDir;
+
+    /** Unsigned comparison of the id halves, as Postgres orders uuids. */
+    private static final Comparator<UUID> PG_UUID = Comparator
+        .comparing((UUID id) -> id.getMostSignificantBits(), Long::compareUnsigned)
+        .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    record Row(UUID id, LocalDateTime publishedAt, double score, String source, List<String> categories) {
+    }
+
+    @Test
+    void keysetPagesMatchTheDatabaseOrder() throws Exception {
+        Random random = new Random(9);
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            // Few distinct timestamps and scores so the id tie-break carries real weight
+            rows.add(new Row(new UUID(random.nextLong(), random.nextLong()),
+                BASE.minusMinutes(random.nextInt(200)),
+                random.nextInt(20) / 20.0,
+                SOURCES[random.nextInt(SOURCES.length)],
+                List.of(CATEGORIES[random.nextInt(CATEGORIES.length)], CATEGORIES[random.nextInt(CATEGORIES.length)])));
+        }
+        List<Row> byDate = new ArrayList<>(rows);
+        byDate.sort(Comparator.comparing(Row::publishedAt).thenComparing(Row::id, PG_UUID).reversed());
+        List<Row> byScore = new ArrayList<>(rows);
+        byScore.sort(Comparator.comparingDouble(Row::score).thenComparing(Row::id, PG_UUID).reversed());
+
+        Path file = tempDir.resolve("articles.columns");
+        try (ArticleSnapshotWriter writer = new ArticleSnapshotWriter(tempDir.resolve("build"))) {
+            for (Row row : byDate) {
+                writer.addByDate(row.id(), row.publishedAt(), 19.0, 72.8, row.score(), row.source(), row.categories());
+            }
+            for (Row row : byScore) {
+                writer.addByScore(row.id(), row.score());
+            }
+            writer.finish(file, BASE);
+        }
+        ArticleSnapshot snapshot = ArticleSnapshot.open(file);
+        assertThat(snapshot.size()).isEqualTo(rows.size());
+        assertThat(snapshot.builtAt()).isEqualTo(BASE);
+
+        List<UUID> expectedSource = byDate.stream().filter(r -> r.source().equals("PTI")).map(Row::id).toList();
+        List<UUID> source = new ArrayList<>();
+        LocalDateTime afterDate = null;
+        UUID afterId = null;
+        List<UUID> page;
+        while (!(page = snapshot.findSourcePage("PTI", afterDate, afterId, 37).ids()).isEmpty()) {
+            source.addAll(page);
+            afterId = page.get(page.size() - 1);
+            afterDate = publishedAt(rows, afterId);
+            assertThat(snapshot.findSourcePage("PTI", null, null, source.size()).oldest()).isEqualTo(afterDate);
+        }
+        assertThat(source).containsExactlyElementsOf(expectedSource);
+
+        List<UUID> expectedCategory = byDate.stream().filter(r -> r.categories().contains("world")).map(Row::id).toList();
+        List<UUID> category = new ArrayList<>();
+        afterDate = null;
+        afterId = null;
+        while (!(page = snapshot.findCategoryPage("world", afterDate, afterId, 50).orElseThrow().ids()).isEmpty()) {
+            category.addAll(page);
+            afterId = page.get(page.size() - 1);
+            afterDate = publishedAt(rows, afterId);
+        }
+        assertThat(category).containsExactlyElementsOf(expectedCategory);
+        assertThat(snapshot.findCategoryPage("weather", null, null, 10)).map(SnapshotPage::ids).contains(List.of());
+
+        List<UUID> expectedScore = byScore.stream().filter(r -> r.score() > 0.7).map(Row::id).toList();
+        List<UUID> score = new ArrayList<>();
+        Double afterScore = null;
+        afterId = null;
+        while (!(page = snapshot.findScorePage(0.7, afterScore, afterId, 41)).isEmpty()) {
+            score.addAll(page);
+            afterId = page.get(page.size() - 1);
+            UUID last = afterId;
+            afterScore = rows.stream().filter(r -> r.id().equals(last)).findFirst().orElseThrow().score();
+        }
+        assertThat(score).containsExactlyElementsOf(expectedScore);
+    }
+
+    @Test
+    void categoriesBeyondTheMaskAreLeftToPostgres() throws Exception {
+        Path file = tempDir.resolve("articles.columns");
+        try (ArticleSnapshotWriter writer = new ArticleSnapshotWriter(tempDir.resolve("build"))) {
+            for (int i = 0; i < 70; i++) {
+                writer.addByDate(new UUID(0, 70 - i), BASE, 0, 0, 0.5, "ANI", List.of("category-" + i));
+            }
+            writer.finish(file, BASE);
+        }
+        ArticleSnapshot snapshot = ArticleSnapshot.open(file);
+
+        assertThat(snapshot.findCategoryPage("category-63", null, null, 10))
+            .map(page -> page.ids().stream().map(UUID::getLeastSignificantBits).collect(Collectors.toList()))
+            .contains(List.of(7L));
+        assertThat(snapshot.findCategoryPage("category-64", null, null, 10)).isEqualTo(Optional.empty());
+    }
+
+    private static LocalDateTime publishedAt(List<Row> rows, UUID id) {
+        return rows.stream().filter(r -> r.id().equals(id)).findFirst().orElseThrow().publishedAt();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.news_retrieval_system.streams;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.kafka.streams.state.HostInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.kafka.streams.KafkaStreamsInteractiveQueryService;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class TrendingStreamsServiceTest {
+
+    private static final String CELL = "te7ud";
+    private static final UUID ARTICLE = UUID.randomUUID();
+
+    private final List<String> requests = new ArrayList<>();
+
+    @Test
+    void forwardsAPageToTheOwnerOfTheCell() {
+        TrendingStreamsService service = service(Mono.just(entries()), 5000);
+
+        StepVerifier.create(service.getTrendingPage(CELL, 4.0, "b", 6))
+            .assertNext(page -> {
+                assertThat(page).singleElement().satisfies(entry -> {
+                    assertThat(entry.getValue()).isEqualTo(ARTICLE.toString());
+                    assertThat(entry.getScore()).isEqualTo(2.5);
+                });
+            })
+            .verifyComplete();
+
+        assertThat(requests).singleElement().satisfies(request -> assertThat(request)
+            .startsWith("GET http://owner:8081/api/v1/internal/trending/streams/" + CELL + "?")
+            .contains("count=6", "afterScore=4.0", "afterMember=b"));
+    }
+
+    @Test
+    void forwardsOnlyTheRequestedScores() {
+        TrendingStreamsService service = service(Mono.just(entries()), 5000);
+
+        StepVerifier.create(service.getTrendingScores(CELL, List.of(ARTICLE, UUID.randomUUID())))
+            .expectNext(Map.of(ARTICLE, 2.5))
+            .verifyComplete();
+
+        assertThat(requests).containsExactly(
+            "POST http://owner:8081/api/v1/internal/trending/streams/" + CELL + "/scores");
+    }
+
+    @Test
+    void anOwnerThatDoesNotAnswerYieldsNoTrending() {
+        TrendingStreamsService service = service(Mono.never(), 50);
+
+        StepVerifier.create(service.getTrendingPage(CELL, null, null, 6))
+            .expectNext(List.of())
+            .verifyComplete();
+        StepVerifier.create(service.getTrendingScores(CELL, List.of(ARTICLE)))
+            .expectNext(Map.of())
+            .verifyComplete();
+    }
+
+    private static ClientResponse entries() {
+        return ClientResponse.create(HttpStatus.OK)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body("[{\"articleId\":\"" + ARTICLE + "\",\"score\":2.5}]")
+            .build();
+    }
+
+    /** A service on "self" whose cell is owned by "owner", which answers with {@code response}. */
+    private TrendingStreamsService service(Mono<ClientResponse> response, long forwardTimeoutMs) {
+        KafkaStreamsInteractiveQueryService queries = mock(KafkaStreamsInteractiveQueryService.class);
+        when(queries.getKafkaStreamsApplicationHostInfo(eq(TrendingTopology.STORE), eq(CELL), any()))
+            .thenReturn(new HostInfo("owner", 8081));
+        when(queries.getCurrentKafkaStreamsApplicationHostInfo()).thenReturn(new HostInfo("self", 8080));
+        @SuppressWarnings("unchecked")
+        ObjectProvider<KafkaStreamsInteractiveQueryService> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(queries);
+        WebClient.Builder webClient = WebClient.builder()
+            .exchangeFunction(request -> {
+                requests.add(request.method().name() + " " + request.url());
+                return response;
+            });
+        return new TrendingStreamsService(provider, webClient, true, 5, 120, 0.05, forwardTimeoutMs);
+    }
+}
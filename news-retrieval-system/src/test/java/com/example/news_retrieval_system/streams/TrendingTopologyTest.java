@@ -0,0 +1,144 @@
+package com.example.news_retrieval_system.streams;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.WindowStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.example.news_retrieval_system.model.UserEvent;
+import com.example.news_retrieval_system.service.RedisService;
+
+class TrendingTopologyTest {
+
+    private static final String TOPIC = "user_events";
+    private static final double DECAY = 0.05;
+    private static final String MUMBAI = RedisService.geohash(19.07, 72.87, 5);
+
+    @TempDir
+    Path stateDir;
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, UserEvent> events;
+    private final TrendingStreamsService service = new TrendingStreamsService(null, WebClient.builder(),
+        true, 5, 120, DECAY, 1000);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StreamsBuilder builder = new StreamsBuilder();
+        new TrendingTopology(TOPIC, 5, 1, 120, 3, DECAY).trendingEvents(builder);
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "trending-topology-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        props.put(StreamsConfig.STATE_DIR_CONFIG, Files.createDirectories(stateDir).toString());
+        driver = new TopologyTestDriver(builder.build(), props);
+        JsonSerializer<UserEvent> serializer = new JsonSerializer<>();
+        serializer.setAddTypeInfo(false);
+        events = driver.createInputTopic(TOPIC, new StringSerializer(), serializer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    void ranksArticlesPerCellAcrossWindowsWithDecay() {
+        UUID shared = UUID.randomUUID();
+        UUID viewed = UUID.randomUUID();
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 12, 0);
+        // Ten minutes apart: two windows, the share decayed by the ten minutes since
+        events.pipeInput(new UserEvent(shared, UserEvent.EventType.SHARE, start, 19.07, 72.87));
+        events.pipeInput(new UserEvent(viewed, UserEvent.EventType.VIEW, start.plusMinutes(10), 19.07, 72.87));
+        events.pipeInput(new UserEvent(viewed, UserEvent.EventType.VIEW, start.plusMinutes(10), 28.61, 77.20));
+
+        long now = millis(start.plusMinutes(10));
+        List<ZSetOperations.TypedTuple<String>> page = service.readPage(store(), MUMBAI, null, null, 10, now);
+
+        assertThat(page).extracting(ZSetOperations.TypedTuple::getValue)
+            .containsExactly(shared.toString(), viewed.toString());
+        assertThat(page.get(0).getScore()).isCloseTo(5 * Math.exp(-DECAY * 10), within(1e-9));
+        assertThat(page.get(1).getScore()).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    void pagesAfterTheCursorInRedisOrder() {
+        LocalDateTime at = LocalDateTime.of(2026, 1, 1, 12, 0);
+        for (int i = 0; i < 3; i++) {
+            events.pipeInput(new UserEvent(UUID.randomUUID(), UserEvent.EventType.CLICK, at, 19.07, 72.87));
+        }
+        long now = millis(at);
+
+        List<ZSetOperations.TypedTuple<String>> first = service.readPage(store(), MUMBAI, null, null, 2, now);
+        ZSetOperations.TypedTuple<String> last = first.get(1);
+        List<ZSetOperations.TypedTuple<String>> second =
+            service.readPage(store(), MUMBAI, last.getScore(), last.getValue(), 2, now);
+
+        // Equal scores: highest article id first, as in a Redis reverse range
+        assertThat(first.get(0).getValue()).isGreaterThan(last.getValue());
+        assertThat(second).singleElement().satisfies(entry -> assertThat(entry.getValue()).isLessThan(last.getValue()));
+    }
+
+    @Test
+    void scoresOnlyTheRequestedArticles() {
+        LocalDateTime at = LocalDateTime.of(2026, 1, 1, 12, 0);
+        UUID shared = UUID.randomUUID();
+        UUID clicked = UUID.randomUUID();
+        events.pipeInput(new UserEvent(shared, UserEvent.EventType.SHARE, at, 19.07, 72.87));
+        events.pipeInput(new UserEvent(clicked, UserEvent.EventType.CLICK, at, 19.07, 72.87));
+        long now = millis(at);
+        UUID unknown = UUID.randomUUID();
+
+        Map<UUID, Double> scores = service.readScores(store(), MUMBAI, List.of(clicked, unknown), now);
+
+        assertThat(scores).containsOnlyKeys(clicked);
+        assertThat(scores.get(clicked)).isEqualTo(service.readPage(store(), MUMBAI, null, null, 10, now).stream()
+            .filter(entry -> entry.getValue().equals(clicked.toString()))
+            .findFirst().orElseThrow().getScore());
+    }
+
+    @Test
+    void keepsOnlyTheTopArticlesOfAWindow() {
+        LocalDateTime at = LocalDateTime.of(2026, 1, 1, 12, 0);
+        UUID top = UUID.randomUUID();
+        events.pipeInput(new UserEvent(top, UserEvent.EventType.SHARE, at, 19.07, 72.87));
+        for (int i = 0; i < 10; i++) {
+            events.pipeInput(new UserEvent(UUID.randomUUID(), UserEvent.EventType.VIEW, at, 19.07, 72.87));
+        }
+
+        WindowStore<String, TrendingTopK> store = store();
+        try (var windows = store.fetch(MUMBAI, Instant.EPOCH, Instant.ofEpochMilli(millis(at)))) {
+            // Trimmed to 3 whenever it passes 6
+            assertThat(windows.next().value.scores()).hasSizeLessThanOrEqualTo(6).containsKey(top);
+        }
+    }
+
+    private WindowStore<String, TrendingTopK> store() {
+        return driver.getWindowStore(TrendingTopology.STORE);
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -1,10 +1,16 @@
 -- Enable required extensions
 CREATE EXTENSION IF NOT EXISTS postgis;
-CREATE EXTENSION IF NOT EXISTS btree_gin; 
+CREATE EXTENSION IF NOT EXISTS btree_gin;
 
--- Create the news articles table
+-- Create the news articles table, range-partitioned by week of publication_date (UTC, Monday
+-- to Monday). The primary key has to include the partition key, so id uniqueness across weeks is
+-- kept by the writers: BulkArticleIngestService and ingest.py delete an article's row from its old
+-- week when its publication_date moves. Partitions are created ahead by ArticlePartitionManager
+-- and on demand by every writer through create_news_article_partitions below (the COPY path and
+-- ingest.py per chunk, JPA writes through ArticlePartitionListener); there is deliberately no
+-- DEFAULT partition, which would stop the planner from scanning weeks in order for LIMIT queries.
 CREATE TABLE news_articles (
-  id UUID PRIMARY KEY,
+  id UUID NOT NULL,
   title TEXT NOT NULL,
   description TEXT,
   url TEXT NOT NULL,
@@ -16,13 +22,66 @@ CREATE TABLE news_articles (
   longitude DOUBLE PRECISION CHECK (longitude BETWEEN -180 AND 180),
   geom GEOGRAPHY(Point,4326),
   created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
-  CONSTRAINT valid_geom CHECK (ST_IsValid(geom::geometry))
-);
+  -- Near-duplicate cluster (the id of its first member), assigned by ArticleClusterService
+  cluster_id UUID,
+  CONSTRAINT valid_geom CHECK (ST_IsValid(geom::geometry)),
+  PRIMARY KEY (id, publication_date)
+) PARTITION BY RANGE (publication_date);
 
--- Create indexes for common query patterns
+-- Create indexes for optimizing common query patterns (each partition gets its own copy)
 CREATE INDEX idx_news_geom ON news_articles USING GIST(geom);
 CREATE INDEX idx_news_category ON news_articles USING GIN(category);
-CREATE INDEX idx_news_score ON news_articles(relevance_score);
-CREATE INDEX idx_news_pubdate ON news_articles(publication_date DESC);
-CREATE INDEX idx_news_source ON news_articles(source_name);
-CREATE INDEX idx_news_created ON news_articles(created_at DESC);
\ No newline at end of file
+CREATE INDEX idx_news_score ON news_articles(relevance_score DESC, id DESC);
+CREATE INDEX idx_news_pubdate ON news_articles(publication_date DESC, id DESC);
+CREATE INDEX idx_news_source ON news_articles(source_name, publication_date DESC, id DESC);
+CREATE INDEX idx_news_created ON news_articles(created_at DESC);
+
+-- Hourly engagement per article, written behind the event stream by EngagementAggregator. The
+-- offsets table records how far into user_events each partition's counts go; it is updated in
+-- the same transaction as the counts, so a restart resumes exactly after the last flush.
+CREATE TABLE article_engagement (
+  article_id UUID NOT NULL,
+  hour_start TIMESTAMPTZ NOT NULL,
+  views BIGINT NOT NULL DEFAULT 0,
+  clicks BIGINT NOT NULL DEFAULT 0,
+  shares BIGINT NOT NULL DEFAULT 0,
+  updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  PRIMARY KEY (article_id, hour_start)
+);
+
+CREATE INDEX idx_engagement_hour ON article_engagement(hour_start);
+
+CREATE TABLE article_engagement_offsets (
+  topic TEXT NOT NULL,
+  kafka_partition INTEGER NOT NULL,
+  next_offset BIGINT NOT NULL,
+  updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  PRIMARY KEY (topic, kafka_partition)
+);
+
+-- Creates the missing weekly partitions (news_articles_pYYYYMMDD, named after the Monday they
+-- start on) covering [from_ts, to_ts], and returns how many were created. Serialized with an
+-- advisory lock so concurrent writers don't race on the same week.
+CREATE OR REPLACE FUNCTION create_news_article_partitions(from_ts TIMESTAMPTZ, to_ts TIMESTAMPTZ)
+RETURNS INTEGER LANGUAGE plpgsql AS $$
+DECLARE
+  week_start TIMESTAMP := date_trunc('week', from_ts AT TIME ZONE 'UTC');
+  partition_name TEXT;
+  created INTEGER := 0;
+BEGIN
+  PERFORM pg_advisory_xact_lock(hashtext('news_articles_partitions'));
+  WHILE week_start <= to_ts AT TIME ZONE 'UTC' LOOP
+    partition_name := 'news_articles_p' || to_char(week_start, 'YYYYMMDD');
+    IF to_regclass(quote_ident(partition_name)) IS NULL THEN
+      EXECUTE format('CREATE TABLE %I PARTITION OF news_articles FOR VALUES FROM (%L) TO (%L)',
+        partition_name, week_start AT TIME ZONE 'UTC', (week_start + INTERVAL '7 days') AT TIME ZONE 'UTC');
+      created := created + 1;
+    END IF;
+    week_start := week_start + INTERVAL '7 days';
+  END LOOP;
+  RETURN created;
+END
+$$;
+
+-- The current week and the next four, so the first writes after startup have somewhere to go
+SELECT create_news_article_partitions(NOW(), NOW() + INTERVAL '4 weeks');